@@ -0,0 +1,173 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.check.algorithm;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.check.CheckErrorResult;
+import org.wikipediacleaner.api.configuration.CWConfiguration;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.analysis.BenchmarkPage;
+import org.wikipediacleaner.api.data.analysis.PageAnalysis;
+
+/**
+ * Benchmark for the analysis and the fixes of CheckWiki algorithms.
+ * 
+ * The page is analyzed once, so only the algorithms are measured.
+ * Other algorithms can be selected with JMH parameters, for example -p algorithm=1,2,3,
+ * and "all" runs every algorithm one after the other.
+ * All algorithms are activated, without specific parameters unless a CheckWiki configuration file is given.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CheckErrorAlgorithmBenchmark {
+
+  /** Code of the wiki */
+  @Param({ "en" })
+  public String wiki;
+
+  /** Name of a test file or path to a text file */
+  @Param({
+    "PageAnalysisTest_en_2020_in_science",
+    "PageAnalysisTest_en_Windows_10_version_history" })
+  public String page;
+
+  /** Path to a CheckWiki configuration file for the wiki (empty for none) */
+  @Param({ "" })
+  public String cwConfiguration;
+
+  /** Error number of the algorithm, or all */
+  @Param({ "2", "16", "28", "48", "61", "91", "all" })
+  public String algorithm;
+
+  /** Page analysis */
+  private PageAnalysis analysis;
+
+  /** Algorithms */
+  private List<CheckErrorAlgorithmBase> algorithms;
+
+  /**
+   * Analyze the page and initialize the algorithms.
+   * 
+   * @throws IOException Error reading the page.
+   * @throws APIException Error reading the CheckWiki configuration.
+   */
+  @Setup
+  public void setup() throws IOException, APIException {
+    BenchmarkPage benchmarkPage = new BenchmarkPage(wiki, page);
+    analysis = benchmarkPage.analyze();
+
+    // Activate all algorithms
+    EnumWikipedia benchmarkWiki = benchmarkPage.getWiki();
+    String code = benchmarkWiki.getSettings().getCodeCheckWiki();
+    StringBuilder configuration = new StringBuilder();
+    for (int errorNumber = 1; errorNumber <= CWConfiguration.MAX_ERROR_NUMBER; errorNumber++) {
+      configuration.append(String.format(" error_%03d_prio_%s=3 END\n", errorNumber, code));
+    }
+    benchmarkWiki.getCWConfiguration().setWikiConfiguration(new StringReader(configuration.toString()));
+    if (!cwConfiguration.isEmpty()) {
+      benchmarkWiki.getCWConfiguration().setWikiConfiguration(
+          Files.newBufferedReader(Paths.get(cwConfiguration), StandardCharsets.UTF_8));
+    }
+    CheckErrorAlgorithms.initializeAlgorithms(benchmarkWiki);
+
+    // Select algorithms
+    algorithms = new ArrayList<>();
+    if ("all".equals(algorithm)) {
+      for (CheckErrorAlgorithm tmpAlgorithm : CheckErrorAlgorithms.getAlgorithms(benchmarkWiki)) {
+        if (tmpAlgorithm instanceof CheckErrorAlgorithmBase) {
+          algorithms.add((CheckErrorAlgorithmBase) tmpAlgorithm);
+        }
+      }
+    } else {
+      CheckErrorAlgorithm tmpAlgorithm = CheckErrorAlgorithms.getAlgorithm(
+          benchmarkWiki, Integer.parseInt(algorithm));
+      if (!(tmpAlgorithm instanceof CheckErrorAlgorithmBase)) {
+        throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+      }
+      algorithms.add((CheckErrorAlgorithmBase) tmpAlgorithm);
+    }
+  }
+
+  /**
+   * @param blackhole Consumer of the results.
+   */
+  @Benchmark
+  public void analyze(Blackhole blackhole) {
+    for (CheckErrorAlgorithmBase tmpAlgorithm : algorithms) {
+      List<CheckErrorResult> errors = new ArrayList<>();
+      blackhole.consume(tmpAlgorithm.analyze(analysis, errors, false));
+      blackhole.consume(errors);
+    }
+  }
+
+  /**
+   * @param blackhole Consumer of the results.
+   */
+  @Benchmark
+  public void fixUsingFirstReplacement(Blackhole blackhole) {
+    for (CheckErrorAlgorithmBase tmpAlgorithm : algorithms) {
+      blackhole.consume(tmpAlgorithm.fixUsingFirstReplacement(null, analysis));
+    }
+  }
+
+  /**
+   * @param blackhole Consumer of the results.
+   */
+  @Benchmark
+  public void fixUsingAutomaticReplacement(Blackhole blackhole) {
+    for (CheckErrorAlgorithmBase tmpAlgorithm : algorithms) {
+      blackhole.consume(tmpAlgorithm.fixUsingAutomaticReplacement(analysis));
+    }
+  }
+
+  /**
+   * @param blackhole Consumer of the results.
+   */
+  @Benchmark
+  public void fixUsingAutomaticBotReplacement(Blackhole blackhole) {
+    for (CheckErrorAlgorithmBase tmpAlgorithm : algorithms) {
+      blackhole.consume(tmpAlgorithm.fixUsingAutomaticBotReplacement(analysis));
+    }
+  }
+
+  /**
+   * @param blackhole Consumer of the results.
+   */
+  @Benchmark
+  public void fixUsingRemove(Blackhole blackhole) {
+    for (CheckErrorAlgorithmBase tmpAlgorithm : algorithms) {
+      blackhole.consume(tmpAlgorithm.fixUsingRemove(null, analysis));
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.data.analysis;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.EnumWikipediaUtils;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+
+/**
+ * Page used in benchmarks.
+ * 
+ * A page is either the name of a test file in test/org/wikipediacleaner/api/data/analysis
+ * (without the .txt extension), or the path to a text file, for example a page extracted from a dump
+ * with {@link org.wikipediacleaner.api.dump.DumpSampleExtractor}.
+ */
+public class BenchmarkPage {
+
+  /** Directory containing the test files */
+  private final static String TEST_DIR = "test/org/wikipediacleaner/api/data/analysis/";
+
+  /** Wiki */
+  private final EnumWikipedia wiki;
+
+  /** Page */
+  private final Page page;
+
+  /** Page contents */
+  private final String contents;
+
+  /**
+   * @param wikiCode Code of the wiki (en or fr).
+   * @param name Name of a test file or path to a text file.
+   * @throws IOException Error reading the page.
+   */
+  public BenchmarkPage(String wikiCode, String name) throws IOException {
+    this.wiki = "fr".equals(wikiCode) ? EnumWikipediaUtils.getFR() : EnumWikipediaUtils.getEN();
+    File file = new File(name);
+    if (!file.isFile()) {
+      file = new File(TEST_DIR + name + ".txt");
+    }
+    String title = file.getName();
+    if (title.endsWith(".txt")) {
+      title = title.substring(0, title.length() - 4);
+    }
+    this.page = DataManager.createSimplePage(wiki, title, null, null, null);
+    this.contents = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return Wiki.
+   */
+  public EnumWikipedia getWiki() {
+    return wiki;
+  }
+
+  /**
+   * @return Page contents.
+   */
+  public String getContents() {
+    return contents;
+  }
+
+  /**
+   * @return New full analysis of the page.
+   */
+  public PageAnalysis analyze() {
+    PageAnalysis analysis = new PageAnalysis(page, contents);
+    analysis.performFullPageAnalysis(new AnalysisPerformance());
+    return analysis;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.data.analysis;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the full analysis of a page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PageAnalysisBenchmark {
+
+  /** Code of the wiki */
+  @Param({ "en" })
+  public String wiki;
+
+  /** Name of a test file or path to a text file */
+  @Param({
+    "PageAnalysisTest_en_2020_in_science",
+    "PageAnalysisTest_en_Windows_10_version_history" })
+  public String page;
+
+  /** Page */
+  private BenchmarkPage benchmarkPage;
+
+  /**
+   * Load the page.
+   * 
+   * @throws IOException Error reading the page.
+   */
+  @Setup
+  public void setup() throws IOException {
+    benchmarkPage = new BenchmarkPage(wiki, page);
+  }
+
+  /**
+   * @return Full analysis of the page.
+   */
+  @Benchmark
+  public PageAnalysis performFullPageAnalysis() {
+    return benchmarkPage.analyze();
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.dump;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+
+/**
+ * Extract pages from a wiki dump, to be used as samples in benchmarks.
+ * 
+ * Usage: DumpSampleExtractor &lt;dump file&gt; &lt;output directory&gt; &lt;title&gt;...
+ * 
+ * The contents of each page is written in a text file named after the page title.
+ * Only the streams containing the pages are read for a multistream dump with its index next to it,
+ * otherwise the whole dump is read.
+ */
+public class DumpSampleExtractor implements PageProcessor {
+
+  /** Titles of the pages to extract */
+  private final Set<String> titles;
+
+  /** Output directory */
+  private final File outputDir;
+
+  /**
+   * @param titles Titles of the pages to extract.
+   * @param outputDir Output directory.
+   */
+  private DumpSampleExtractor(Set<String> titles, File outputDir) {
+    this.titles = titles;
+    this.outputDir = outputDir;
+  }
+
+  /**
+   * @param args Dump file, output directory and titles.
+   * @throws IOException Error reading the dump index.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.err.println("Usage: DumpSampleExtractor <dump file> <output directory> <title>...");
+      System.exit(1);
+    }
+    File dumpFile = new File(args[0]);
+    File outputDir = new File(args[1]);
+    outputDir.mkdirs();
+    List<String> titles = Arrays.asList(args).subList(2, args.length);
+    DumpSampleExtractor extractor = new DumpSampleExtractor(new HashSet<>(titles), outputDir);
+    DumpProcessor processor = new DumpProcessor(extractor);
+    File indexFile = DumpIndex.findIndexFile(dumpFile);
+    if (indexFile != null) {
+      processor.processPages(dumpFile, DumpIndex.load(indexFile), titles);
+    } else {
+      processor.processDump(dumpFile);
+    }
+  }
+
+  /**
+   * @return Wiki.
+   * @see org.wikipediacleaner.api.dump.PageProcessor#getWiki()
+   */
+  @Override
+  public EnumWikipedia getWiki() {
+    return EnumWikipedia.EN;
+  }
+
+  /**
+   * @param namespace Namespace.
+   * @return True if the processor should work on the namespace.
+   * @see org.wikipediacleaner.api.dump.PageProcessor#isForNamespace(java.lang.Integer)
+   */
+  @Override
+  public boolean isForNamespace(Integer namespace) {
+    return true;
+  }
+
+  /**
+   * @param namespace Namespace.
+   * @param title Page title.
+   * @param redirect True if the page is a redirect.
+   * @return True if the processor should work on the page.
+   * @see org.wikipediacleaner.api.dump.PageProcessor#isForPage(java.lang.Integer, java.lang.String, boolean)
+   */
+  @Override
+  public boolean isForPage(Integer namespace, String title, boolean redirect) {
+    return titles.contains(title);
+  }
+
+  /**
+   * @param page Page to be processed.
+   * @see org.wikipediacleaner.api.dump.PageProcessor#processPage(org.wikipediacleaner.api.data.Page)
+   */
+  @Override
+  public void processPage(Page page) {
+    if ((page == null) || (page.getContents() == null)) {
+      return;
+    }
+    String fileName = page.getTitle().replaceAll("[^\\p{L}\\p{N}_.-]", "_") + ".txt";
+    File file = new File(outputDir, fileName);
+    try {
+      FileUtils.writeStringToFile(file, page.getContents(), StandardCharsets.UTF_8);
+      System.out.println("Extracted " + page.getTitle() + " to " + file.getPath());
+    } catch (IOException e) {
+      System.err.println("Unable to write " + file.getPath() + ": " + e.getMessage());
+    }
+  }
+}
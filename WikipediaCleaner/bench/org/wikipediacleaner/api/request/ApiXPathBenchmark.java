@@ -0,0 +1,128 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.request;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.filter.Filters;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the XPath part of reading an XML answer of a revisions request,
+ * with expressions compiled for each request (previous behavior) or precompiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ApiXPathBenchmark {
+
+  /** Number of pages in the answer */
+  @Param({ "1", "50" })
+  public int pages;
+
+  /** Root of the answer */
+  private Element root;
+
+  /**
+   * Build the answer.
+   * 
+   * @throws IOException Error reading the answer.
+   * @throws JDOMException Error parsing the answer.
+   */
+  @Setup
+  public void setup() throws JDOMException, IOException {
+    StringBuilder answer = new StringBuilder();
+    answer.append("<?xml version=\"1.0\"?><api batchcomplete=\"\" curtimestamp=\"2021-03-01T10:00:00Z\">");
+    answer.append("<warnings><main xml:space=\"preserve\">Unrecognized parameter</main></warnings>");
+    answer.append("<query><normalized><n from=\"page 0\" to=\"Page 0\" /></normalized><pages>");
+    for (int page = 0; page < pages; page++) {
+      answer.append("<page pageid=\"").append(page + 1).append("\" ns=\"0\" title=\"Page ").append(page).append("\">");
+      answer.append("<protection><pr type=\"edit\" level=\"sysop\" expiry=\"infinity\" /></protection>");
+      answer.append("<revisions><rev revid=\"").append(1000 + page).append("\" timestamp=\"2021-02-01T10:00:00Z\">");
+      answer.append("<slots><slot contentmodel=\"wikitext\" contentformat=\"text/x-wiki\" role=\"main\" xml:space=\"preserve\">");
+      answer.append("Some [[text]] for page ").append(page);
+      answer.append("</slot></slots></rev></revisions></page>");
+    }
+    answer.append("</pages></query></api>");
+    root = new SAXBuilder().build(new StringReader(answer.toString())).getRootElement();
+  }
+
+  /**
+   * @return Number of elements found, with expressions compiled for each request.
+   */
+  @Benchmark
+  public int compileForEachRequest() {
+    int count = 0;
+    count += compile("/api/error").evaluate(root).size();
+    count += compile("/api/warnings/*").evaluate(root).size();
+    count += compile("/api/query/normalized/n").evaluate(root).size();
+    for (Element page : compile("/api/query/pages/page").evaluate(root)) {
+      count += compile("protection/pr[@type=\"edit\"]").evaluate(page).size();
+      Element rev = compile("revisions/rev").evaluateFirst(page);
+      if (rev != null) {
+        count += (compile("slots/slot").evaluateFirst(rev) != null) ? 1 : 0;
+      }
+    }
+    count += compile("/api/query-continue/revisions").evaluate(root).size();
+    count += compile("/api/continue").evaluate(root).size();
+    return count;
+  }
+
+  /**
+   * @return Number of elements found, with precompiled expressions.
+   */
+  @Benchmark
+  public int precompiled() {
+    int count = 0;
+    count += ApiXPath.ERROR.evaluate(root).size();
+    count += ApiXPath.WARNINGS.evaluate(root).size();
+    count += ApiXPath.QUERY_NORMALIZED.evaluate(root).size();
+    ApiXPath xpaProtection = ApiXPath.PROTECTION_EDIT;
+    ApiXPath xpaRevisions = ApiXPath.REVISIONS;
+    ApiXPath xpaSlots = ApiXPath.SLOTS;
+    for (Element page : ApiXPath.QUERY_PAGES.evaluate(root)) {
+      count += xpaProtection.evaluate(page).size();
+      Element rev = xpaRevisions.evaluateFirst(page);
+      if (rev != null) {
+        count += (xpaSlots.evaluateFirst(rev) != null) ? 1 : 0;
+      }
+    }
+    count += ApiXPath.of("/api/query-continue/revisions").evaluate(root).size();
+    count += ApiXPath.CONTINUE.evaluate(root).size();
+    return count;
+  }
+
+  /**
+   * @param path XPath expression.
+   * @return Compiled expression.
+   */
+  private static XPathExpression<Element> compile(String path) {
+    return XPathFactory.instance().compile(path, Filters.element());
+  }
+}
@@ -35,4 +35,4 @@ if ! [[ -f "${tasks_dir}/${task}" ]]; then
 fi
 
 echo "Executing task ${tasks_dir}/${task}"
-java -cp "${wpcleaner_jar}" org.wikipediacleaner.Bot -credentials "${credentials}" "${language}" DoTasks "${tasks_dir}/${task}"
+java -cp "${wpcleaner_jar}" org.wikipediacleaner.Bot -credentials "${credentials}" -contentcache "build/cache" "${language}" DoTasks "${tasks_dir}/${task}"
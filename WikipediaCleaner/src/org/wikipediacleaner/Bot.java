@@ -28,6 +28,7 @@ import org.apache.commons.lang3.JavaVersion;
 import org.apache.commons.lang3.SystemUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wikipediacleaner.api.cache.PageContentStore;
 import org.wikipediacleaner.api.check.algorithm.CheckErrorAlgorithm;
 import org.wikipediacleaner.api.check.algorithm.CheckErrorAlgorithms;
 import org.wikipediacleaner.api.check.algorithm.a5xx.a50x.a501.CheckErrorAlgorithm501;
@@ -150,6 +151,13 @@ public class Bot implements BasicWorkerListener {
           }
           prefix = args[currentArg + 1].replaceAll("_", " ");
           currentArg += 2;
+        } else if ("-contentcache".equals(arg)) {
+          if (args.length <= currentArg + 1) {
+            log.warn("When using parameter '-contentcache', you must specify the directory used for storing page contents");
+            return;
+          }
+          PageContentStore.setDirectory(new File(args[currentArg + 1]));
+          currentArg += 2;
         } else {
           done = true;
         }
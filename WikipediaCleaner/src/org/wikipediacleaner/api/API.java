@@ -21,6 +21,7 @@ import org.wikipediacleaner.api.data.RecentChange;
 import org.wikipediacleaner.api.data.Section;
 import org.wikipediacleaner.api.data.TemplateData;
 import org.wikipediacleaner.api.data.User;
+import org.wikipediacleaner.api.request.ApiContinuation;
 
 
 /**
@@ -253,6 +254,18 @@ public interface API {
       Collection<Page> pages, boolean usePageId,
       boolean withRedirects) throws APIException;
 
+  /**
+   * Iterates over the members of a category, without sub-categories, with their contents.
+   * (<code>action=query</code>, <code>generator=categorymembers</code>, <code>prop=revisions</code>).
+   * 
+   * @param wiki Wiki.
+   * @param category Category.
+   * @return Iterator on the category members, loaded with their contents.
+   * @see <a href="http://www.mediawiki.org/wiki/API:Categorymembers">API:Categorymembers</a>
+   */
+  public ApiContinuation<Page> iterateCategoryMembersContents(
+      EnumWikipedia wiki, Page category);
+
   /**
    * Initialize the disambiguation flags of a list of <code>pages</code>.
    * (<code>action=query</code>, <code>prop=categories</code>) or
@@ -7,14 +7,18 @@
 
 package org.wikipediacleaner.api;
 
-import org.apache.commons.httpclient.HttpClient;
-import org.apache.commons.httpclient.HttpConnectionManager;
-import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
-import org.apache.commons.httpclient.params.HttpMethodParams;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
 import org.wikipediacleaner.Version;
 import org.wikipediacleaner.api.check.CheckWiki;
 import org.wikipediacleaner.api.http.HttpServer;
-import org.wikipediacleaner.api.http.hc3.Hc3HttpServer;
+import org.wikipediacleaner.api.http.hc5.Hc5HttpServer;
 import org.wikipediacleaner.api.impl.MediaWikiAPI;
 
 
@@ -32,30 +36,34 @@ public class APIFactory {
   /** Check Wiki project */
   private static final CheckWiki checkWiki;
 
+  /** Maximum number of connections in the pool */
+  private static final int MAX_CONNECTIONS = 40;
+
+  /** Maximum number of connections to a single host */
+  private static final int MAX_CONNECTIONS_PER_ROUTE = 6;
+
+  /** Delay (in seconds) before an idle connection is closed */
+  private static final int KEEP_ALIVE = 30;
+
   // Initialize static members
   static {
 
+    // Initialize the connection pool shared by all accesses
+    HttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create().
+        setMaxConnTotal(MAX_CONNECTIONS).
+        setMaxConnPerRoute(MAX_CONNECTIONS_PER_ROUTE).
+        setValidateAfterInactivity(TimeValue.ofSeconds(5)).
+        build();
+    CloseableHttpClient httpClient = createHttpClient(connectionManager);
+
     // Initialize MediaWiki API
-    HttpConnectionManager connectionManager = new MultiThreadedHttpConnectionManager();
-    HttpClient httpClient = createHttpClient(connectionManager);
-    httpClient.getParams().setParameter("http.protocol.single-cookie-header", Boolean.TRUE);
     api = new MediaWikiAPI(httpClient);
 
     // Initialize MediaWiki REST API
-    connectionManager = new MultiThreadedHttpConnectionManager();
-    httpClient = createHttpClient(connectionManager);
-    httpClient.getParams().setParameter("http.protocol.single-cookie-header", Boolean.TRUE);
     restApi = new MediaWikiRESTAPI(httpClient);
 
     // Initialize WMF Labs access
-    /* HttpComponents 5
-    PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager();
-    connManager.setMaxTotal(200);
-    connManager.setDefaultMaxPerRoute(50);
-    HttpServer labs = new Hc5HttpServer(createHttpClient(connManager), "https://checkwiki.toolforge.org/"); */
-    connectionManager = new MultiThreadedHttpConnectionManager();
-    httpClient = createHttpClient(connectionManager);
-    HttpServer labs = new Hc3HttpServer(httpClient, "https://checkwiki.toolforge.org/");
+    HttpServer labs = new Hc5HttpServer(httpClient, "https://checkwiki.toolforge.org/");
 
     // Initialize Check Wiki project
     checkWiki = new CheckWiki(labs, "");
@@ -83,28 +91,29 @@ public class APIFactory {
   }
 
   /**
-   * Create an HTTP connection.
-   * 
-   * @return An HTTP connection.
-   */
-  private static HttpClient createHttpClient(HttpConnectionManager manager) {
-    HttpClient client = new HttpClient(manager);
-    client.getParams().setParameter(HttpMethodParams.USER_AGENT, userAgent());
-    return client;
-  }
-
-  /*
    * Create an HTTP client.
    * 
+   * Answers are decompressed and requests are retried by the callers,
+   * so the HTTP client is configured to do neither.
+   * 
    * @param manager Connection manager.
    * @return HTTP client.
    */
-  /*private static CloseableHttpClient createHttpClient(HttpClientConnectionManager manager) {
+  private static CloseableHttpClient createHttpClient(HttpClientConnectionManager manager) {
+    RequestConfig requestConfig = RequestConfig.custom().
+        setConnectionRequestTimeout(5, TimeUnit.MINUTES).
+        setResponseTimeout(60, TimeUnit.SECONDS).
+        setDefaultKeepAlive(KEEP_ALIVE, TimeUnit.SECONDS).
+        build();
     return HttpClients.custom().
         setConnectionManager(manager).
+        setDefaultRequestConfig(requestConfig).
+        evictIdleConnections(TimeValue.ofSeconds(KEEP_ALIVE)).
+        disableContentCompression().
+        disableAutomaticRetries().
         setUserAgent(userAgent()).
         build();
-  }*/
+  }
 
   private static String userAgent() {
     return "%s %s (+%s)".formatted(Version.PROGRAM, Version.VERSION, "https://en.wikipedia.org/wiki/User:NicoV/Wikipedia_Cleaner/Documentation");
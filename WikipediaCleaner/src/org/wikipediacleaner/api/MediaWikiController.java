@@ -7,20 +7,31 @@
 
 package org.wikipediacleaner.api;
 
+import java.lang.reflect.Method;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.execution.MediaWikiCallable;
 import org.wikipediacleaner.utils.Configuration;
+import org.wikipediacleaner.utils.ConfigurationValueBoolean;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
@@ -29,12 +40,24 @@ import org.wikipediacleaner.utils.ConfigurationValueInteger;
  */
 public abstract class MediaWikiController implements MediaWikiListener {
 
+  /** Logger */
+  private static final Logger log = LoggerFactory.getLogger(MediaWikiController.class);
+
   static private ExecutorService staticExecutor;
 
+  /** True if tasks are run on virtual threads */
+  static private boolean virtualThreads;
+
+  /** Limit of concurrent tasks for each wiki when tasks are run on virtual threads */
+  static private final Map<EnumWikipedia, Semaphore> wikiLimits = new ConcurrentHashMap<>();
+
   private final MediaWikiListener listener;
   private final ExecutorService executor;
   private final List<Future<?>> results;
 
+  /** Tasks completed, in order of completion */
+  private final BlockingQueue<Future<?>> completed;
+
   /**
    * Create a MediaWikiController.
    * 
@@ -44,6 +67,7 @@ public abstract class MediaWikiController implements MediaWikiListener {
     this.listener = listener;
     this.executor = getStaticExecutor();
     results = new LinkedList<>();
+    completed = new LinkedBlockingQueue<>();
   }
 
   /**
@@ -52,6 +76,14 @@ public abstract class MediaWikiController implements MediaWikiListener {
   static private synchronized ExecutorService getStaticExecutor() {
     if (staticExecutor == null) {
       Configuration config = Configuration.getConfiguration();
+      if (config.getBoolean(null, ConfigurationValueBoolean.VIRTUAL_THREADS)) {
+        staticExecutor = createVirtualThreadExecutor();
+        if (staticExecutor != null) {
+          virtualThreads = true;
+          return staticExecutor;
+        }
+        log.warn("Virtual threads are not available, using a pool of threads");
+      }
       int nThreads = config.getInt(
           null,
           ConfigurationValueInteger.INTERROG_THREAD);
@@ -64,12 +96,55 @@ public abstract class MediaWikiController implements MediaWikiListener {
     return staticExecutor;
   }
 
+  /**
+   * @return Executor starting a virtual thread for each task, null if not available.
+   */
+  static private ExecutorService createVirtualThreadExecutor() {
+    try {
+      // Virtual threads are only available from Java 21
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Limit the number of tasks running concurrently for a wiki.
+   * 
+   * With a pool of threads, the size of the pool is already the limit.
+   * With virtual threads, each wiki gets its own limit,
+   * and API requests to a wiki are still limited by its {@link org.wikipediacleaner.api.request.ApiScheduler}.
+   * 
+   * @param task Task.
+   * @return Task waiting for its turn before running.
+   */
+  static private <T> Callable<T> limitTask(Callable<T> task) {
+    if (!virtualThreads || !(task instanceof MediaWikiCallable)) {
+      return task;
+    }
+    EnumWikipedia wiki = ((MediaWikiCallable<?>) task).getWikipedia();
+    if (wiki == null) {
+      return task;
+    }
+    Semaphore limit = wikiLimits.computeIfAbsent(wiki, key -> new Semaphore(Math.max(1,
+        Configuration.getConfiguration().getInt(null, ConfigurationValueInteger.INTERROG_THREAD))));
+    return () -> {
+      limit.acquire();
+      try {
+        return task.call();
+      } finally {
+        limit.release();
+      }
+    };
+  }
+
   /**
    * @param task Task.
    * @return Future result
    */
   static public Future<?> addSimpleTask(Callable<?> task) {
-    return getStaticExecutor().submit(task);
+    return getStaticExecutor().submit(limitTask(task));
   }
 
   /**
@@ -79,7 +154,8 @@ public abstract class MediaWikiController implements MediaWikiListener {
    */
   protected void addTask(Callable<?> task) {
     synchronized (results) {
-      Future<?> result = executor.submit(task);
+      TrackedTask<?> result = new TrackedTask<>(limitTask(task), completed);
+      executor.execute(result);
       if (!shouldStop()) {
         results.add(result);
       }
@@ -105,13 +181,14 @@ public abstract class MediaWikiController implements MediaWikiListener {
   }
 
   /**
-   * Stop remaining tasks.
+   * Stop remaining tasks: tasks not started are discarded, running tasks are interrupted.
    */
   protected void stopRemainingTasks() {
     synchronized (results) {
       for (Future<?> result : results) {
-        result.cancel(false);
+        result.cancel(true);
       }
+      results.clear();
     }
   }
 
@@ -121,10 +198,21 @@ public abstract class MediaWikiController implements MediaWikiListener {
    */
   protected Object getNextResult() throws APIException {
     while (hasRemainingTask()) {
-      Future<?> result = getNextDoneResult();
+      Future<?> result = null;
+      try {
+        result = completed.poll(1, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        // Nothing to do
+      }
       if (result != null) {
+        synchronized (results) {
+          if (!results.remove(result)) {
+            // Already retrieved or stopped
+            continue;
+          }
+        }
         try {
-          return result.get(10, TimeUnit.MILLISECONDS);
+          return result.get();
         } catch (InterruptedException e) {
           // Nothing to do
         } catch (ExecutionException e) {
@@ -133,17 +221,10 @@ public abstract class MediaWikiController implements MediaWikiListener {
             throw (APIException) cause;
           }
           return cause;
-        } catch (TimeoutException e) {
-          // Shouldn't arrive
         } catch (CancellationException e) {
           //
         }
       }
-      try {
-        Thread.sleep(100);
-      } catch (InterruptedException e) {
-        // Nothing to do
-      }
     }
     return null;
   }
@@ -166,23 +247,6 @@ public abstract class MediaWikiController implements MediaWikiListener {
     return null;
   }
 
-  /**
-   * @return The result of one of the completed remaining tasks.
-   */
-  protected Future<?> getNextDoneResult() {
-    if (hasRemainingTask()) {
-      synchronized (results) {
-        for (Future<?> result : results) {
-          if (result.isDone()) {
-            results.remove(result);
-            return result;
-          }
-        }
-      }
-    }
-    return null;
-  }
-
   /**
    * @param text Text to display.
    */
@@ -203,4 +267,34 @@ public abstract class MediaWikiController implements MediaWikiListener {
     }
     return false;
   }
+
+  /**
+   * Task notifying its completion.
+   * 
+   * @param <T> Type of the result.
+   */
+  private static class TrackedTask<T> extends FutureTask<T> {
+
+    /** Queue receiving the task when it's completed */
+    private final BlockingQueue<Future<?>> completed;
+
+    /**
+     * @param task Task.
+     * @param completed Queue receiving the task when it's completed.
+     */
+    TrackedTask(Callable<T> task, BlockingQueue<Future<?>> completed) {
+      super(task);
+      this.completed = completed;
+    }
+
+    /**
+     * Notify the completion of the task.
+     * 
+     * @see java.util.concurrent.FutureTask#done()
+     */
+    @Override
+    protected void done() {
+      completed.offer(this);
+    }
+  }
 }
@@ -10,7 +10,7 @@ package org.wikipediacleaner.api;
 
 import java.util.List;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.linter.LinterError;
 import org.wikipediacleaner.api.rest.transform.RestApiTransformWikitextToLintRequest;
@@ -23,14 +23,14 @@ import org.wikipediacleaner.api.rest.transform.RestApiTransformWikitextToLintRes
 public class MediaWikiRESTAPI {
 
   /** HTTP client */
-  private HttpClient httpClient;
+  private CloseableHttpClient httpClient;
 
   /**
    * Constructor.
    * 
    * @param httpClient HTTP client.
    */
-  MediaWikiRESTAPI(HttpClient httpClient) {
+  MediaWikiRESTAPI(CloseableHttpClient httpClient) {
     this.httpClient = httpClient;
   }
 
@@ -14,8 +14,9 @@ import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 import org.wikipediacleaner.api.check.CheckErrorResult;
 import org.wikipediacleaner.api.check.CheckErrorPage;
@@ -191,10 +192,7 @@ public class AlgorithmError {
           // Waiting for <pre>
         }
         while (((line = reader.readLine()) != null) && !line.startsWith("</pre>")) {
-          line = line.replaceAll(Pattern.quote("&#039;"), "'");
-          line = line.replaceAll(Pattern.quote("&quot;"), "\"");
-          line = line.replaceAll(Pattern.quote("&amp;"), "&");
-          error.addPage(line, null);
+          error.addPage(unescape(line), null);
         }
       } catch (UnsupportedEncodingException e) {
         //
@@ -276,10 +274,7 @@ public class AlgorithmError {
           }
           // System.err.println("Line: " + tmpLine);
           if ((pageName != null) && (pageName.trim().length() > 0)) {
-            pageName = pageName.replaceAll(Pattern.quote("&#039;"), "'");
-            pageName = pageName.replaceAll(Pattern.quote("&quot;"), "\"");
-            pageName = pageName.replaceAll(Pattern.quote("&amp;"), "&");
-            error.addPage(pageName, pageId);
+            error.addPage(unescape(pageName), pageId);
           }
         }
       } catch (UnsupportedEncodingException e) {
@@ -342,11 +337,51 @@ public class AlgorithmError {
     errors.add(error);
   }
 
+  /**
+   * Unescape the HTML entities used in the lists of pages.
+   * 
+   * @param text Text with entities.
+   * @return Text with the entities replaced.
+   */
+  private static String unescape(String text) {
+    if (text.indexOf('&') < 0) {
+      return text;
+    }
+    StringBuilder result = new StringBuilder(text.length());
+    int index = 0;
+    while (index < text.length()) {
+      char currentChar = text.charAt(index);
+      if (currentChar == '&') {
+        if (text.startsWith("&#039;", index)) {
+          result.append('\'');
+          index += 6;
+          continue;
+        }
+        if (text.startsWith("&quot;", index)) {
+          result.append('"');
+          index += 6;
+          continue;
+        }
+        if (text.startsWith("&amp;", index)) {
+          result.append('&');
+          index += 5;
+          continue;
+        }
+      }
+      result.append(currentChar);
+      index++;
+    }
+    return result.toString();
+  }
+
   private final EnumWikipedia wikipedia;
   private final int errorNumber;
   private final CheckErrorAlgorithm algorithm;
   private final List<Page> errors;
 
+  /** Pages in the list of errors, for checking duplicates */
+  private final Set<Page> errorsSet;
+
   /**
    * Constructor
    * 
@@ -359,6 +394,7 @@ public class AlgorithmError {
     this.algorithm = CheckErrorAlgorithms.getAlgorithm(wikipedia, errorNumber);
     this.errorNumber = errorNumber;
     this.errors = new ArrayList<>();
+    this.errorsSet = new HashSet<>();
   }
   
   /**
@@ -402,7 +438,7 @@ public class AlgorithmError {
   private void addPage(String page, Integer pageId) {
     Page tmpPage = DataManager.createSimplePage(
         wikipedia, page, pageId, null, null);
-    if (!errors.contains(tmpPage)) {
+    if (errorsSet.add(tmpPage)) {
       errors.add(tmpPage);
     }
   }
@@ -440,7 +476,7 @@ public class AlgorithmError {
     synchronized (errors) {
       for (int i = errors.size(); i > 0; i--) {
         if (Page.areSameTitle(page.getTitle(), errors.get(i - 1).getTitle())) {
-          errors.remove(i - 1);
+          errorsSet.remove(errors.remove(i - 1));
           removed = true;
         }
       }
@@ -0,0 +1,157 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.cache;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * Off-heap index of a content store: for each page, the last stored revision and its position.
+ *
+ * Entries are kept in a direct buffer with open addressing and linear probing,
+ * so an index of millions of pages doesn't create millions of objects on the heap.
+ */
+class PageContentIndex {
+
+  /** Size of an entry: page id, revision id, position */
+  private static final int ENTRY_SIZE = 4 + 8 + 8;
+
+  /** Entries (a page id of 0 marks an empty entry) */
+  private ByteBuffer entries;
+
+  /** Number of entries available */
+  private int capacity;
+
+  /** Number of entries used */
+  private int size;
+
+  /**
+   * @param initialCapacity Initial number of entries (power of 2).
+   */
+  PageContentIndex(int initialCapacity) {
+    this.capacity = Integer.highestOneBit(Math.max(16, initialCapacity));
+    this.entries = ByteBuffer.allocateDirect(capacity * ENTRY_SIZE);
+    this.size = 0;
+  }
+
+  /**
+   * @param pageId Page identifier.
+   * @param revisionId Revision identifier.
+   * @return Position of the revision if it's the one stored for the page, -1 otherwise.
+   */
+  long get(int pageId, long revisionId) {
+    int slot = findSlot(pageId);
+    int offset = slot * ENTRY_SIZE;
+    if ((entries.getInt(offset) != pageId) || (entries.getLong(offset + 4) != revisionId)) {
+      return -1;
+    }
+    return entries.getLong(offset + 12);
+  }
+
+  /**
+   * Record the position of the last stored revision of a page.
+   *
+   * @param pageId Page identifier (strictly positive).
+   * @param revisionId Revision identifier.
+   * @param position Position of the revision.
+   */
+  void put(int pageId, long revisionId, long position) {
+    if (pageId <= 0) {
+      return;
+    }
+    if (2 * (size + 1) > capacity) {
+      grow();
+    }
+    int offset = findSlot(pageId) * ENTRY_SIZE;
+    if (entries.getInt(offset) == 0) {
+      size++;
+    }
+    entries.putInt(offset, pageId);
+    entries.putLong(offset + 4, revisionId);
+    entries.putLong(offset + 12, position);
+  }
+
+  /**
+   * @return Number of pages in the index.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Apply an action on each entry of the index.
+   *
+   * @param consumer Action.
+   */
+  void forEach(EntryConsumer consumer) {
+    for (int slot = 0; slot < capacity; slot++) {
+      int offset = slot * ENTRY_SIZE;
+      int pageId = entries.getInt(offset);
+      if (pageId != 0) {
+        consumer.accept(pageId, entries.getLong(offset + 4), entries.getLong(offset + 12));
+      }
+    }
+  }
+
+  /**
+   * @param pageId Page identifier.
+   * @return Slot containing the page, or empty slot where it should be added.
+   */
+  private int findSlot(int pageId) {
+    int mask = capacity - 1;
+    int slot = mix(pageId) & mask;
+    while (true) {
+      int current = entries.getInt(slot * ENTRY_SIZE);
+      if ((current == 0) || (current == pageId)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Double the capacity of the index.
+   */
+  private void grow() {
+    ByteBuffer oldEntries = entries;
+    int oldCapacity = capacity;
+    capacity = 2 * oldCapacity;
+    entries = ByteBuffer.allocateDirect(capacity * ENTRY_SIZE);
+    size = 0;
+    for (int slot = 0; slot < oldCapacity; slot++) {
+      int offset = slot * ENTRY_SIZE;
+      int pageId = oldEntries.getInt(offset);
+      if (pageId != 0) {
+        put(pageId, oldEntries.getLong(offset + 4), oldEntries.getLong(offset + 12));
+      }
+    }
+  }
+
+  /**
+   * @param value Value.
+   * @return Hash of the value, with bits well distributed.
+   */
+  private static int mix(int value) {
+    int hash = value * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Action on an entry of the index.
+   */
+  @FunctionalInterface
+  interface EntryConsumer {
+
+    /**
+     * @param pageId Page identifier.
+     * @param revisionId Revision identifier.
+     * @param position Position of the revision.
+     */
+    void accept(int pageId, long revisionId, long position);
+  }
+}
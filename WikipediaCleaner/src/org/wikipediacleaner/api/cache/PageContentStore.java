@@ -0,0 +1,434 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+
+
+/**
+ * Local store of page contents, keyed by page identifier and revision identifier.
+ *
+ * Contents are compressed and appended to a segment file (one per wiki),
+ * and an off-heap index gives the position of the last stored revision of each page.
+ * The index is rebuilt by reading the record headers when the store is opened.
+ */
+public class PageContentStore {
+
+  /** Logs */
+  private static final Logger log = LoggerFactory.getLogger(PageContentStore.class);
+
+  /** Magic number at the beginning of a segment file */
+  private static final int MAGIC = 0x57504343;
+
+  /** Version of the segment file format */
+  private static final int VERSION = 1;
+
+  /** Size of the file header: magic number and version */
+  private static final int FILE_HEADER_SIZE = 8;
+
+  /** Size of a record header: page id, revision id, timestamp length, contents length */
+  private static final int RECORD_HEADER_SIZE = 4 + 8 + 2 + 4;
+
+  /** Directory containing the stores (null if stores are disabled) */
+  private static File directory;
+
+  /** Opened stores */
+  private static final Map<EnumWikipedia, PageContentStore> stores = new HashMap<>();
+
+  /** Segment file */
+  private final File file;
+
+  /** Channel on the segment file */
+  private FileChannel channel;
+
+  /** Index of the records */
+  private PageContentIndex index;
+
+  /**
+   * Enable or disable the stores.
+   *
+   * @param dir Directory containing the stores (null to disable the stores).
+   */
+  public static synchronized void setDirectory(File dir) {
+    for (PageContentStore store : stores.values()) {
+      store.close();
+    }
+    stores.clear();
+    directory = dir;
+  }
+
+  /**
+   * @param wiki Wiki.
+   * @return Store for the wiki (null if stores are disabled).
+   */
+  public static synchronized PageContentStore getStore(EnumWikipedia wiki) {
+    if ((directory == null) || (wiki == null)) {
+      return null;
+    }
+    PageContentStore store = stores.get(wiki);
+    if (store == null) {
+      try {
+        directory.mkdirs();
+        store = new PageContentStore(new File(directory, wiki.getSettings().getCode() + ".dat"));
+        stores.put(wiki, store);
+      } catch (IOException e) {
+        log.error("Unable to open content store for {}, disabling it", wiki, e);
+        directory = null;
+        return null;
+      }
+    }
+    return store;
+  }
+
+  /**
+   * Open a store.
+   *
+   * @param file Segment file.
+   * @throws IOException Error opening the segment file.
+   */
+  public PageContentStore(File file) throws IOException {
+    this.file = file;
+    this.channel = FileChannel.open(
+        file.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.index = new PageContentIndex(1024);
+    try {
+      load();
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Read the segment file to build the index.
+   *
+   * A file with an unknown format is emptied, and an incomplete last record is removed.
+   *
+   * @throws IOException Error reading the segment file.
+   */
+  private void load() throws IOException {
+    long size = channel.size();
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    if ((size < FILE_HEADER_SIZE) || !readFully(header.limit(FILE_HEADER_SIZE), 0) ||
+        (header.getInt(0) != MAGIC) || (header.getInt(4) != VERSION)) {
+      if (size > 0) {
+        log.warn("Content store {} has an unknown format, emptying it", file);
+      }
+      channel.truncate(0);
+      header.clear();
+      header.putInt(MAGIC).putInt(VERSION).flip();
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+      return;
+    }
+    long position = FILE_HEADER_SIZE;
+    int records = 0;
+    while (position < size) {
+      header.clear();
+      if (!readFully(header, position)) {
+        break;
+      }
+      int pageId = header.getInt(0);
+      long revisionId = header.getLong(4);
+      int timestampLength = header.getShort(12) & 0xFFFF;
+      int contentsLength = header.getInt(14);
+      long next = position + RECORD_HEADER_SIZE + timestampLength + contentsLength;
+      if ((contentsLength < 0) || (next > size)) {
+        break;
+      }
+      index.put(pageId, revisionId, position);
+      records++;
+      position = next;
+    }
+    if (position < size) {
+      log.warn("Content store {} ends with an incomplete record, removing it", file);
+      channel.truncate(position);
+    }
+    if (records > 2 * index.size() + 1000) {
+      compact();
+    }
+  }
+
+  /**
+   * Rewrite the segment file with only the last revision of each page.
+   *
+   * @throws IOException Error rewriting the segment file.
+   */
+  private void compact() throws IOException {
+    log.info("Compacting content store {}", file);
+    File tmpFile = new File(file.getPath() + ".tmp");
+    PageContentIndex newIndex = new PageContentIndex(2 * index.size());
+    try (FileChannel output = FileChannel.open(
+        tmpFile.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+      header.putInt(MAGIC).putInt(VERSION).flip();
+      output.write(header);
+      IOException[] error = new IOException[1];
+      index.forEach((pageId, revisionId, position) -> {
+        if (error[0] != null) {
+          return;
+        }
+        try {
+          ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+          readFully(recordHeader, position);
+          int length = RECORD_HEADER_SIZE +
+              (recordHeader.getShort(12) & 0xFFFF) + recordHeader.getInt(14);
+          long newPosition = output.position();
+          long count = 0;
+          while (count < length) {
+            count += channel.transferTo(position + count, length - count, output);
+          }
+          newIndex.put(pageId, revisionId, newPosition);
+        } catch (IOException e) {
+          error[0] = e;
+        }
+      });
+      if (error[0] != null) {
+        throw error[0];
+      }
+    }
+    channel.close();
+    Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+    index = newIndex;
+  }
+
+  /**
+   * Fill a page with its contents if its last revision is in the store.
+   *
+   * @param page Page with its identifier and last revision identifier.
+   * @return True if the contents have been found in the store.
+   */
+  public boolean fill(Page page) {
+    Integer pageId = page.getPageId();
+    Integer revisionId = page.getRevisionId();
+    if ((pageId == null) || (revisionId == null) || (revisionId.intValue() <= 0)) {
+      return false;
+    }
+    Content content = get(pageId.intValue(), revisionId.longValue());
+    if (content == null) {
+      return false;
+    }
+    page.setContents(content.contents);
+    page.setContentsTimestamp(content.timestamp);
+    page.setExisting(Boolean.TRUE);
+    return true;
+  }
+
+  /**
+   * Store the contents of a page.
+   *
+   * @param page Page with its contents, identifier and revision identifier.
+   */
+  public void store(Page page) {
+    Integer pageId = page.getPageId();
+    Integer revisionId = page.getRevisionId();
+    if ((pageId == null) || (revisionId == null) || (revisionId.intValue() <= 0) ||
+        (page.getContents() == null)) {
+      return;
+    }
+    put(pageId.intValue(), revisionId.longValue(), page.getContentsTimestamp(), page.getContents());
+  }
+
+  /**
+   * @param pageId Page identifier.
+   * @param revisionId Revision identifier.
+   * @return Contents of the revision if it's the one stored for the page.
+   */
+  public synchronized Content get(int pageId, long revisionId) {
+    long position = index.get(pageId, revisionId);
+    if ((position < 0) || !channel.isOpen()) {
+      return null;
+    }
+    try {
+      ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+      if (!readFully(header, position) ||
+          (header.getInt(0) != pageId) || (header.getLong(4) != revisionId)) {
+        log.warn("Content store {} is inconsistent for page {}", file, pageId);
+        return null;
+      }
+      int timestampLength = header.getShort(12) & 0xFFFF;
+      int contentsLength = header.getInt(14);
+      ByteBuffer data = ByteBuffer.allocate(timestampLength + contentsLength);
+      if (!readFully(data, position + RECORD_HEADER_SIZE)) {
+        return null;
+      }
+      String timestamp = (timestampLength > 0) ?
+          new String(data.array(), 0, timestampLength, StandardCharsets.UTF_8) : null;
+      String contents = inflate(data.array(), timestampLength, contentsLength);
+      return new Content(timestamp, contents);
+    } catch (IOException | DataFormatException e) {
+      log.warn("Unable to read page {} from content store {}", pageId, file, e);
+      return null;
+    }
+  }
+
+  /**
+   * Store the contents of a revision.
+   *
+   * @param pageId Page identifier.
+   * @param revisionId Revision identifier.
+   * @param timestamp Timestamp of the revision.
+   * @param contents Contents of the revision.
+   */
+  public synchronized void put(int pageId, long revisionId, String timestamp, String contents) {
+    if ((index.get(pageId, revisionId) >= 0) || !channel.isOpen()) {
+      return;
+    }
+    byte[] timestampBytes = (timestamp != null) ?
+        timestamp.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    byte[] compressed = deflate(contents);
+    ByteBuffer record = ByteBuffer.allocate(
+        RECORD_HEADER_SIZE + timestampBytes.length + compressed.length);
+    record.putInt(pageId);
+    record.putLong(revisionId);
+    record.putShort((short) timestampBytes.length);
+    record.putInt(compressed.length);
+    record.put(timestampBytes);
+    record.put(compressed);
+    record.flip();
+    try {
+      long position = channel.size();
+      long current = position;
+      while (record.hasRemaining()) {
+        current += channel.write(record, current);
+      }
+      index.put(pageId, revisionId, position);
+    } catch (IOException e) {
+      log.warn("Unable to write page {} in content store {}", pageId, file, e);
+    }
+  }
+
+  /**
+   * @return Number of pages in the store.
+   */
+  public synchronized int size() {
+    return index.size();
+  }
+
+  /**
+   * Close the store.
+   */
+  public synchronized void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      log.warn("Error closing content store {}", file, e);
+    }
+  }
+
+  /**
+   * Read bytes from the segment file.
+   *
+   * @param buffer Buffer to be filled completely.
+   * @param position Position in the segment file.
+   * @return True if the buffer has been filled.
+   * @throws IOException Error reading the segment file.
+   */
+  private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+    long current = position;
+    while (buffer.hasRemaining()) {
+      int count = channel.read(buffer, current);
+      if (count < 0) {
+        return false;
+      }
+      current += count;
+    }
+    return true;
+  }
+
+  /**
+   * @param contents Contents.
+   * @return Compressed contents.
+   */
+  private static byte[] deflate(String contents) {
+    byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+    Deflater deflater = new Deflater();
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+      ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 3 + 64);
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        int count = deflater.deflate(buffer);
+        output.write(buffer, 0, count);
+      }
+      return output.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * @param data Compressed contents.
+   * @param offset Offset of the compressed contents.
+   * @param length Length of the compressed contents.
+   * @return Contents.
+   * @throws DataFormatException Error in the compressed contents.
+   */
+  private static String inflate(byte[] data, int offset, int length) throws DataFormatException {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(data, offset, length);
+      ByteArrayOutputStream output = new ByteArrayOutputStream(length * 4);
+      byte[] buffer = new byte[8192];
+      while (!inflater.finished()) {
+        int count = inflater.inflate(buffer);
+        if ((count == 0) && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new DataFormatException("Truncated contents");
+        }
+        output.write(buffer, 0, count);
+      }
+      return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Contents of a revision read from the store.
+   */
+  public static class Content {
+
+    /** Timestamp of the revision */
+    public final String timestamp;
+
+    /** Contents of the revision */
+    public final String contents;
+
+    /**
+     * @param timestamp Timestamp of the revision.
+     * @param contents Contents of the revision.
+     */
+    Content(String timestamp, String contents) {
+      this.timestamp = timestamp;
+      this.contents = contents;
+    }
+  }
+}
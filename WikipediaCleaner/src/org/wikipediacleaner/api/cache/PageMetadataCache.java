@@ -0,0 +1,548 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.wikipediacleaner.api.configuration.WikiConfiguration;
+import org.wikipediacleaner.api.constants.EnumCaseSensitiveness;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Namespace;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.PageRedirect;
+import org.wikipediacleaner.api.data.RecentChange;
+import org.wikipediacleaner.utils.Configuration;
+import org.wikipediacleaner.utils.ConfigurationValueInteger;
+
+
+/**
+ * In-memory cache of page metadata (existence, name space, redirects, disambiguation status).
+ *
+ * The cache is bounded: entries expire after a delay,
+ * and the least recently used entries are evicted when the cache is full.
+ * Entries are invalidated when the pages are modified.
+ */
+public class PageMetadataCache {
+
+  // ==========================================================================
+  // Configuration
+  // ==========================================================================
+
+  /** Maximum number of entries in each cache */
+  private static int maxSize = ConfigurationValueInteger.PAGE_CACHE_SIZE.getDefaultValue();
+
+  /** Time to live (in ms) of the entries */
+  private static long timeToLive = 1000L * ConfigurationValueInteger.PAGE_CACHE_TTL.getDefaultValue();
+
+  /**
+   * Update configuration.
+   */
+  public static void updateConfiguration() {
+    Configuration config = Configuration.getConfiguration();
+    maxSize = config.getInt(null, ConfigurationValueInteger.PAGE_CACHE_SIZE);
+    timeToLive = 1000L * config.getInt(null, ConfigurationValueInteger.PAGE_CACHE_TTL);
+  }
+
+  // ==========================================================================
+  // Caches
+  // ==========================================================================
+
+  /** Cache for each wiki */
+  private static final Map<EnumWikipedia, PageMetadataCache> caches = new ConcurrentHashMap<>();
+
+  /**
+   * @param wiki Wiki.
+   * @return Cache of page metadata for the wiki.
+   */
+  public static PageMetadataCache getCache(EnumWikipedia wiki) {
+    return caches.computeIfAbsent(wiki, key -> new PageMetadataCache(key));
+  }
+
+  // ==========================================================================
+  // Cache management
+  // ==========================================================================
+
+  /** Wiki */
+  private final EnumWikipedia wiki;
+
+  /** Entries by normalized title, in access order */
+  private final LinkedHashMap<String, Entry> entries;
+
+  /** Normalized titles of the redirects cached for each normalized target title */
+  private final Map<String, Set<String>> redirectsByTarget;
+
+  /** Number of pages found in the cache */
+  private long hitCount;
+
+  /** Number of pages not found in the cache */
+  private long missCount;
+
+  /** Number of entries evicted because the cache was full */
+  private long evictionCount;
+
+  /** Number of entries invalidated because the pages were modified */
+  private long invalidationCount;
+
+  /**
+   * @param wiki Wiki.
+   */
+  PageMetadataCache(EnumWikipedia wiki) {
+    this.wiki = wiki;
+    this.entries = new LinkedHashMap<>(1024, 0.75f, true) {
+
+      /** Serialisation */
+      private static final long serialVersionUID = 1L;
+
+      /**
+       * @param eldest Least recently used entry.
+       * @return True if the entry should be removed.
+       * @see java.util.LinkedHashMap#removeEldestEntry(java.util.Map.Entry)
+       */
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        if (size() > maxSize) {
+          evictionCount++;
+          unlink(eldest.getKey(), eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+    this.redirectsByTarget = new HashMap<>();
+  }
+
+  /**
+   * Fill pages with their redirect information if it's in the cache.
+   *
+   * @param pages Pages.
+   * @return Pages not found in the cache.
+   */
+  public List<Page> fillRedirects(Collection<Page> pages) {
+    return fill(pages, false);
+  }
+
+  /**
+   * Fill pages with their disambiguation status (and redirect information) if it's in the cache.
+   *
+   * @param pages Pages.
+   * @return Pages not found in the cache.
+   */
+  public List<Page> fillDisambiguationStatus(Collection<Page> pages) {
+    return fill(pages, true);
+  }
+
+  /**
+   * Fill pages with their metadata if it's in the cache.
+   *
+   * @param pages Pages.
+   * @param disambiguation True if the disambiguation status is needed.
+   * @return Pages not found in the cache.
+   */
+  private synchronized List<Page> fill(Collection<Page> pages, boolean disambiguation) {
+    List<Page> missingPages = new ArrayList<>();
+    long now = System.currentTimeMillis();
+    for (Page page : pages) {
+      Entry entry = get(page.getTitle(), now);
+      if ((entry == null) || (disambiguation && (entry.disambiguation == null))) {
+        missCount++;
+        missingPages.add(page);
+      } else {
+        hitCount++;
+        entry.apply(wiki, page, disambiguation);
+      }
+    }
+    return missingPages;
+  }
+
+  /**
+   * Store the redirect information of pages.
+   *
+   * @param pages Pages with their redirect information.
+   */
+  public void storeRedirects(Collection<Page> pages) {
+    store(pages, false);
+  }
+
+  /**
+   * Store the disambiguation status and redirect information of pages.
+   *
+   * @param pages Pages with their disambiguation status and redirect information.
+   */
+  public void storeDisambiguationStatus(Collection<Page> pages) {
+    store(pages, true);
+  }
+
+  /**
+   * Store the metadata of pages.
+   *
+   * @param pages Pages.
+   * @param disambiguation True if the disambiguation status is known.
+   */
+  private synchronized void store(Collection<Page> pages, boolean disambiguation) {
+    if ((maxSize <= 0) || (timeToLive <= 0)) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    for (Page page : pages) {
+      if (page.getTitle() == null) {
+        continue;
+      }
+      Entry entry = new Entry(page, disambiguation, now + timeToLive, this::getKey);
+      if (entry.disambiguation == null) {
+        Entry previous = get(page.getTitle(), now);
+        if (previous != null) {
+          entry.disambiguation = previous.disambiguation;
+        }
+      }
+      String key = getKey(page.getTitle());
+      Entry previous = entries.put(key, entry);
+      if (previous != null) {
+        unlink(key, previous);
+      }
+      if (entry.redirects != null) {
+        for (Target target : entry.redirects) {
+          redirectsByTarget.computeIfAbsent(target.key, k -> new HashSet<>()).add(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param title Page title.
+   * @param now Current time.
+   * @return Entry for the page if it's still valid.
+   */
+  private Entry get(String title, long now) {
+    if (title == null) {
+      return null;
+    }
+    String key = getKey(title);
+    Entry entry = entries.get(key);
+    if ((entry != null) && (entry.expiration < now)) {
+      remove(key);
+      entry = null;
+    }
+    return entry;
+  }
+
+  /**
+   * Remove an entry.
+   *
+   * @param key Normalized page title.
+   * @return True if an entry has been removed.
+   */
+  private boolean remove(String key) {
+    Entry entry = entries.remove(key);
+    if (entry == null) {
+      return false;
+    }
+    unlink(key, entry);
+    return true;
+  }
+
+  /**
+   * Forget the redirect targets of an entry removed from the cache.
+   *
+   * @param key Normalized page title.
+   * @param entry Entry removed from the cache.
+   */
+  private void unlink(String key, Entry entry) {
+    if (entry.redirects == null) {
+      return;
+    }
+    for (Target target : entry.redirects) {
+      Set<String> redirects = redirectsByTarget.get(target.key);
+      if (redirects != null) {
+        redirects.remove(key);
+        if (redirects.isEmpty()) {
+          redirectsByTarget.remove(target.key);
+        }
+      }
+    }
+  }
+
+  /**
+   * Normalize a page title with the case sensitiveness of its name space.
+   *
+   * @param title Page title.
+   * @return Normalized page title.
+   */
+  String getKey(String title) {
+    if (title == null) {
+      return null;
+    }
+    WikiConfiguration config = wiki.getWikiConfiguration();
+    int colonIndex = title.indexOf(':');
+    if (colonIndex > 0) {
+      int namespaceId = Namespace.getNamespace(config.getNamespaces(), title.substring(0, colonIndex));
+      if (namespaceId != Namespace.MAIN) {
+        return config.getPageTitle(namespaceId, title);
+      }
+    }
+
+    // Without the configuration, titles differing only by case are kept apart
+    Namespace namespace = config.getNamespace(Namespace.MAIN);
+    EnumCaseSensitiveness caseSensitiveness = (namespace != null) ?
+        namespace.getCaseSensitiveness() : EnumCaseSensitiveness.CASE_SENSITIVE;
+    return caseSensitiveness.normalize(title);
+  }
+
+  /**
+   * Invalidate the entries of pages modified in recent changes.
+   *
+   * @param changes Recent changes.
+   */
+  public void invalidate(Collection<RecentChange> changes) {
+    Set<String> titles = new HashSet<>();
+    for (RecentChange change : changes) {
+      if (change.getTitle() != null) {
+        titles.add(change.getTitle());
+      }
+    }
+    invalidateTitles(titles);
+  }
+
+  /**
+   * Invalidate the entry of a page.
+   *
+   * @param title Page title.
+   */
+  public void invalidate(String title) {
+    if (title != null) {
+      invalidateTitles(Set.of(title));
+    }
+  }
+
+  /**
+   * Invalidate the entries of pages, and of the redirects to these pages.
+   *
+   * @param titles Page titles.
+   */
+  private synchronized void invalidateTitles(Set<String> titles) {
+    if (titles.isEmpty() || entries.isEmpty()) {
+      return;
+    }
+    for (String title : titles) {
+      String key = getKey(title);
+      if (remove(key)) {
+        invalidationCount++;
+      }
+      Set<String> redirects = redirectsByTarget.get(key);
+      if (redirects != null) {
+        for (String redirect : new ArrayList<>(redirects)) {
+          if (remove(redirect)) {
+            invalidationCount++;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    redirectsByTarget.clear();
+  }
+
+  // ==========================================================================
+  // Metrics
+  // ==========================================================================
+
+  /**
+   * @return Number of entries in the cache.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return Number of pages found in the cache.
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return Number of pages not found in the cache.
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * @return Number of entries evicted because the cache was full.
+   */
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * @return Number of entries invalidated because the pages were modified.
+   */
+  public synchronized long getInvalidationCount() {
+    return invalidationCount;
+  }
+
+  /**
+   * @return Textual description of the cache metrics.
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public synchronized String toString() {
+    return "PageMetadataCache[" + wiki +
+        ", size=" + entries.size() +
+        ", hits=" + hitCount +
+        ", misses=" + missCount +
+        ", evictions=" + evictionCount +
+        ", invalidations=" + invalidationCount + "]";
+  }
+
+  // ==========================================================================
+  // Entries
+  // ==========================================================================
+
+  /**
+   * Metadata of a page.
+   */
+  private static class Entry {
+
+    /** Expiration time */
+    final long expiration;
+
+    /** Page identifier */
+    final Integer pageId;
+
+    /** Name space */
+    final Integer namespace;
+
+    /** True if the page exists */
+    final Boolean existing;
+
+    /** Disambiguation status (of the final target for a redirect), null if unknown */
+    Boolean disambiguation;
+
+    /** Redirect targets with their fragment, null if the page is not a redirect */
+    final List<Target> redirects;
+
+    /**
+     * @param page Page.
+     * @param disambiguation True if the disambiguation status is known.
+     * @param expiration Expiration time.
+     * @param keys Normalization of page titles.
+     */
+    Entry(Page page, boolean disambiguation, long expiration, Function<String, String> keys) {
+      this.expiration = expiration;
+      this.pageId = page.getPageId();
+      this.namespace = page.getNamespace();
+      this.existing = page.isExisting();
+      this.disambiguation = disambiguation ? page.isDisambiguationPage() : null;
+      PageRedirect pageRedirects = page.getRedirects();
+      if (pageRedirects.isRedirect()) {
+        redirects = new ArrayList<>();
+        if (pageRedirects.getList() != null) {
+          for (Pair<Page, String> redirect : pageRedirects.getList()) {
+            Page target = redirect.getLeft();
+            redirects.add(new Target(target, keys.apply(target.getTitle()), redirect.getRight()));
+          }
+        }
+      } else {
+        redirects = null;
+      }
+    }
+
+    /**
+     * Fill a page with the metadata.
+     *
+     * @param wiki Wiki.
+     * @param page Page.
+     * @param withDisambiguation True if the disambiguation status should be filled.
+     */
+    void apply(EnumWikipedia wiki, Page page, boolean withDisambiguation) {
+      if ((pageId != null) && (page.getPageId() == null)) {
+        page.setPageId(pageId);
+      }
+      if (namespace != null) {
+        page.setNamespace(namespace);
+      }
+      if (existing != null) {
+        page.setExisting(existing);
+      }
+      PageRedirect pageRedirects = page.getRedirects();
+      if (redirects != null) {
+        pageRedirects.isRedirect(true);
+        if ((pageRedirects.getPageList() == null) || pageRedirects.getPageList().isEmpty()) {
+          for (Target target : redirects) {
+            Page targetPage = DataManager.createSimplePage(
+                wiki, target.title, target.pageId, null, target.namespace);
+            if (target.existing != null) {
+              targetPage.setExisting(target.existing);
+            }
+            if (withDisambiguation) {
+              targetPage.setDisambiguationPage(disambiguation);
+            }
+            pageRedirects.add(targetPage, target.fragment);
+          }
+        }
+      }
+      if (withDisambiguation) {
+        page.setDisambiguationPage(disambiguation);
+      }
+    }
+  }
+
+  /**
+   * Target of a redirect.
+   */
+  private static class Target {
+
+    /** Page title */
+    final String title;
+
+    /** Normalized page title */
+    final String key;
+
+    /** Page identifier */
+    final Integer pageId;
+
+    /** Name space */
+    final Integer namespace;
+
+    /** True if the page exists */
+    final Boolean existing;
+
+    /** Fragment */
+    final String fragment;
+
+    /**
+     * @param page Target page.
+     * @param key Normalized page title.
+     * @param fragment Fragment.
+     */
+    Target(Page page, String key, String fragment) {
+      this.title = page.getTitle();
+      this.key = key;
+      this.pageId = page.getPageId();
+      this.namespace = page.getNamespace();
+      this.existing = page.isExisting();
+      this.fragment = fragment;
+    }
+  }
+}
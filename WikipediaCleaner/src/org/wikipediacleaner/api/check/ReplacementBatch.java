@@ -0,0 +1,122 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.check;
+
+import java.util.Arrays;
+
+
+/**
+ * Batch of replacements applied to a text in a single pass.
+ *
+ * Replacements are expressed with positions in the original text.
+ * They are sorted once by begin position (keeping the order of addition for equal positions),
+ * a replacement overlapping an already kept replacement is ignored,
+ * and the result is built with a single StringBuilder.
+ */
+public class ReplacementBatch {
+
+  /** Original text */
+  private final String contents;
+
+  /** Replacements packed as (begin position &lt;&lt; 32) | order of addition */
+  private long[] keys;
+
+  /** End position of each replacement, by order of addition */
+  private int[] endPositions;
+
+  /** Replacement text of each replacement, by order of addition */
+  private String[] texts;
+
+  /** Number of replacements */
+  private int size;
+
+  /**
+   * @param contents Original text.
+   */
+  public ReplacementBatch(String contents) {
+    this.contents = contents;
+    this.keys = new long[16];
+    this.endPositions = new int[16];
+    this.texts = new String[16];
+    this.size = 0;
+  }
+
+  /**
+   * Add a replacement.
+   *
+   * @param beginPosition Begin position of the replaced text in the original text.
+   * @param endPosition End position of the replaced text in the original text.
+   * @param text Replacement text (null to remove the text).
+   * @return True if the replacement has been added.
+   */
+  public boolean add(int beginPosition, int endPosition, String text) {
+    if ((contents == null) ||
+        (beginPosition < 0) ||
+        (endPosition < beginPosition) ||
+        (endPosition > contents.length())) {
+      return false;
+    }
+    if (size >= keys.length) {
+      keys = Arrays.copyOf(keys, 2 * keys.length);
+      endPositions = Arrays.copyOf(endPositions, 2 * endPositions.length);
+      texts = Arrays.copyOf(texts, 2 * texts.length);
+    }
+    keys[size] = (((long) beginPosition) << 32) | size;
+    endPositions[size] = endPosition;
+    texts[size] = (text != null) ? text : "";
+    size++;
+    return true;
+  }
+
+  /**
+   * Add a replacement for an error.
+   *
+   * @param error Error.
+   * @param text Replacement text (null to remove the text).
+   * @return True if the replacement has been added.
+   */
+  public boolean add(CheckErrorResult error, String text) {
+    if (error == null) {
+      return false;
+    }
+    return add(error.getStartPosition(), error.getEndPosition(), text);
+  }
+
+  /**
+   * @return Number of replacements.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Apply the replacements.
+   *
+   * @return Text after the replacements.
+   */
+  public String apply() {
+    if (size == 0) {
+      return contents;
+    }
+    long[] sortedKeys = Arrays.copyOf(keys, size);
+    Arrays.sort(sortedKeys);
+    StringBuilder result = new StringBuilder(contents.length() + 16 * size);
+    int lastPosition = 0;
+    for (long key : sortedKeys) {
+      int beginPosition = (int) (key >>> 32);
+      int index = (int) key;
+      if (beginPosition >= lastPosition) {
+        result.append(contents, lastPosition, beginPosition);
+        result.append(texts[index]);
+        lastPosition = endPositions[index];
+      }
+    }
+    result.append(contents, lastPosition, contents.length());
+    return result.toString();
+  }
+}
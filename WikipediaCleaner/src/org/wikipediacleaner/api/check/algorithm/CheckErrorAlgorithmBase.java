@@ -22,6 +22,7 @@ import org.wikipediacleaner.api.algorithm.AlgorithmBase;
 import org.wikipediacleaner.api.algorithm.AlgorithmParameter;
 import org.wikipediacleaner.api.algorithm.AlgorithmParameterElement;
 import org.wikipediacleaner.api.check.CheckErrorResult;
+import org.wikipediacleaner.api.check.ReplacementBatch;
 import org.wikipediacleaner.api.check.SpecialCharacters;
 import org.wikipediacleaner.api.check.CheckErrorResult.ErrorLevel;
 import org.wikipediacleaner.api.configuration.CWConfiguration;
@@ -405,22 +406,17 @@ public abstract class CheckErrorAlgorithmBase extends AlgorithmBase implements C
    * @return Page contents after fix.
    */
   public String fixUsingFirstReplacement(String fixName, PageAnalysis analysis) {
-    String result = analysis.getContents();
+    ReplacementBatch batch = new ReplacementBatch(analysis.getContents());
     List<CheckErrorResult> errors = new ArrayList<>();
     if (analyze(analysis, errors, false)) {
-      for (int i = errors.size(); i > 0; i--) {
-        CheckErrorResult errorResult = errors.get(i - 1);
+      for (CheckErrorResult errorResult : errors) {
         String newText = errorResult.getFirstReplacement();
         if (newText != null) {
-          String tmp =
-            result.substring(0, errorResult.getStartPosition()) +
-            newText +
-            result.substring(errorResult.getEndPosition());
-          result = tmp;
+          batch.add(errorResult, newText);
         }
       }
     }
-    return result;
+    return batch.apply();
   }
 
   /**
@@ -430,31 +426,24 @@ public abstract class CheckErrorAlgorithmBase extends AlgorithmBase implements C
    * @return Page contents after fix.
    */
   public String fixUsingAutomaticReplacement(PageAnalysis analysis) {
-    String result = analysis.getContents();
+    ReplacementBatch batch = new ReplacementBatch(analysis.getContents());
     List<CheckErrorResult> errors = new ArrayList<>();
     if (analyze(analysis, errors, true)) {
       Collections.sort(errors);
-      for (int i = errors.size(); i > 0; i--) {
-        CheckErrorResult errorResult = errors.get(i - 1);
-        boolean shouldTry = true;
-        for (int j = 0; j < i - 1; j++) {
-          if (errors.get(j).getEndPosition() > errorResult.getStartPosition()) {
-            shouldTry = false;
-          }
-        }
-        if (shouldTry) {
+
+      // Errors overlapping a previous error are not fixed, even if the previous one is not fixed
+      int maxEndPosition = 0;
+      for (CheckErrorResult errorResult : errors) {
+        if (maxEndPosition <= errorResult.getStartPosition()) {
           String newText = errorResult.getAutomaticReplacement();
           if (newText != null) {
-            String tmp =
-              result.substring(0, errorResult.getStartPosition()) +
-              newText +
-              result.substring(errorResult.getEndPosition());
-            result = tmp;
+            batch.add(errorResult, newText);
           }
         }
+        maxEndPosition = Math.max(maxEndPosition, errorResult.getEndPosition());
       }
     }
-    return result;
+    return batch.apply();
   }
 
   /**
@@ -464,23 +453,18 @@ public abstract class CheckErrorAlgorithmBase extends AlgorithmBase implements C
    * @return Page contents after fix.
    */
   public String fixUsingAutomaticBotReplacement(PageAnalysis analysis) {
-    String result = analysis.getContents();
+    ReplacementBatch batch = new ReplacementBatch(analysis.getContents());
     List<CheckErrorResult> errors = new ArrayList<>();
     if (analyze(analysis, errors, true)) {
       Collections.sort(errors);
-      for (int i = errors.size(); i > 0; i--) {
-        CheckErrorResult errorResult = errors.get(i - 1);
+      for (CheckErrorResult errorResult : errors) {
         String newText = errorResult.getAutomaticBotReplacement();
         if (newText != null) {
-          String tmp =
-            result.substring(0, errorResult.getStartPosition()) +
-            newText +
-            result.substring(errorResult.getEndPosition());
-          result = tmp;
+          batch.add(errorResult, newText);
         }
       }
     }
-    return result;
+    return batch.apply();
   }
 
   /**
@@ -491,18 +475,14 @@ public abstract class CheckErrorAlgorithmBase extends AlgorithmBase implements C
    * @return Page contents after fix.
    */
   public String fixUsingRemove(String fixName, PageAnalysis analysis) {
-    String result = analysis.getContents();
+    ReplacementBatch batch = new ReplacementBatch(analysis.getContents());
     List<CheckErrorResult> errors = new ArrayList<>();
     if (analyze(analysis, errors, false)) {
-      for (int i = errors.size(); i > 0; i--) {
-        CheckErrorResult errorResult = errors.get(i - 1);
-        String tmp =
-          result.substring(0, errorResult.getStartPosition()) +
-          result.substring(errorResult.getEndPosition());
-        result = tmp;
+      for (CheckErrorResult errorResult : errors) {
+        batch.add(errorResult, null);
       }
     }
-    return result;
+    return batch.apply();
   }
 
   /**
@@ -8,6 +8,7 @@
 package org.wikipediacleaner.api.check.algorithm.a5xx.a50x.a501;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -232,18 +233,24 @@ public class CheckErrorAlgorithm501 extends CheckErrorAlgorithmBase {
     String performanceName = String.format("Slow regular expression (%s)", analysis.getPage().getTitle());
 
     // Check every suggestion
-    List<Interval> chunks = chunkAnalyzer.computeContentsChunks(analysis, true);
+    List<Interval> chunks = new ArrayList<>(chunkAnalyzer.computeContentsChunks(analysis, true));
     String contents = analysis.getContents();
+    SuggestionIndex.Matches matches = getSuggestionIndex(suggestions).findLiterals(contents, chunks);
     Iterator<Suggestion> itSuggestion = suggestions.iterator();
     List<Replacement> tmpReplacements = new ArrayList<>();
     while (itSuggestion.hasNext()) {
       Suggestion suggestion = itSuggestion.next();
       if (!suggestion.isOtherPattern()) {
+        itSuggestion.remove();
+        BitSet candidateChunks = matches.getChunks(suggestion);
+        if (candidateChunks.isEmpty()) {
+          continue;
+        }
         Performance perf = Performance.getInstance(performanceName);
         perf.setThreshold(slowRegexp);
-        itSuggestion.remove();
         Matcher matcher = suggestion.initMatcher(contents);
-        for (Interval chunk : chunks) {
+        for (int chunkNum = candidateChunks.nextSetBit(0); chunkNum >= 0; chunkNum = candidateChunks.nextSetBit(chunkNum + 1)) {
+          Interval chunk = chunks.get(chunkNum);
           matcher.region(chunk.getBeginIndex(), chunk.getEndIndex());
           int authorizedBegin = chunk.getBeginIndex();
           while (matcher.find()) {
@@ -305,18 +312,24 @@ public class CheckErrorAlgorithm501 extends CheckErrorAlgorithmBase {
     String performanceName = String.format("Slow regular expression (%s)", analysis.getPage().getTitle());
 
     // Check every suggestion
-    List<Interval> chunks = chunkAnalyzer.computeContentsChunks(analysis, false);
+    List<Interval> chunks = new ArrayList<>(chunkAnalyzer.computeContentsChunks(analysis, false));
     String contents = analysis.getContents();
+    SuggestionIndex.Matches matches = getSuggestionIndex(suggestions).findLiterals(contents, chunks);
     Iterator<Suggestion> itSuggestion = suggestions.iterator();
     List<Replacement> tmpReplacements = new ArrayList<>();
     while (itSuggestion.hasNext()) {
       Suggestion suggestion = itSuggestion.next();
       if (suggestion.isOtherPattern()) {
+        itSuggestion.remove();
+        BitSet candidateChunks = matches.getChunks(suggestion);
+        if (candidateChunks.isEmpty()) {
+          continue;
+        }
         Performance perf = Performance.getInstance(performanceName);
         perf.setThreshold(slowRegexp);
-        itSuggestion.remove();
         Matcher matcher = suggestion.initMatcher(contents);
-        for (Interval chunk : chunks) {
+        for (int chunkNum = candidateChunks.nextSetBit(0); chunkNum >= 0; chunkNum = candidateChunks.nextSetBit(chunkNum + 1)) {
+          Interval chunk = chunks.get(chunkNum);
           matcher.region(chunk.getBeginIndex(), chunk.getEndIndex());
           int authorizedBegin = chunk.getBeginIndex();
           while (matcher.find()) {
@@ -766,6 +779,12 @@ public class CheckErrorAlgorithm501 extends CheckErrorAlgorithmBase {
       }
     }
 
+    // Index suggestions, only when they have changed
+    SuggestionIndex index = suggestionIndex;
+    if ((index == null) || !index.isFor(allActiveSuggestions)) {
+      suggestionIndex = new SuggestionIndex(allActiveSuggestions);
+    }
+
     // Initialize limit for slow regular expressions
     Configuration config = Configuration.getConfiguration();
     slowRegexp = config.getInt(null, ConfigurationValueInteger.SLOW_REGEXP);
@@ -782,6 +801,24 @@ public class CheckErrorAlgorithm501 extends CheckErrorAlgorithmBase {
   @Nonnull
   private final List<Suggestion> automaticActiveSuggestions = new LinkedList<>();
 
+  /** Index of active suggestions by required literal */
+  @Nullable
+  private volatile SuggestionIndex suggestionIndex;
+
+  /**
+   * @param suggestions Suggestions to be analyzed.
+   * @return Index of active suggestions.
+   */
+  @Nonnull
+  private SuggestionIndex getSuggestionIndex(List<Suggestion> suggestions) {
+    SuggestionIndex index = suggestionIndex;
+    if (index == null) {
+      // Suggestions not coming from the configuration, other suggestions are analyzed on every chunk
+      index = new SuggestionIndex(suggestions);
+    }
+    return index;
+  }
+
   /** Limit for reporting a regular expression as being slow */
   private int slowRegexp = 1000;
 
@@ -0,0 +1,266 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.check.algorithm.a5xx.a50x.a501;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+
+import org.wikipediacleaner.api.data.Suggestion;
+import org.wikipediacleaner.api.data.contents.Interval;
+
+/**
+ * Index of suggestions by the literal text required in their matches.
+ *
+ * An Aho-Corasick automaton finds all the required literals in a single pass on the text,
+ * so regular expressions are only run on the chunks containing their required literal.
+ * The index is immutable and can be used concurrently.
+ */
+class SuggestionIndex {
+
+  /** Empty set of chunks */
+  static final BitSet EMPTY = new BitSet();
+
+  /** Suggestions used to build the index */
+  @Nonnull
+  private final List<Suggestion> suggestions;
+
+  /** Literal required by each suggestion */
+  @Nonnull
+  private final Map<Suggestion, Integer> literalBySuggestion;
+
+  /** Number of literals */
+  private final int literalCount;
+
+  /** First transition of each state (with an extra element at the end) */
+  private final int[] transitionStart;
+
+  /** Character of each transition, sorted for each state */
+  private final char[] transitionChars;
+
+  /** Target state of each transition */
+  private final int[] transitionTargets;
+
+  /** Failure state of each state */
+  private final int[] failures;
+
+  /** Literal ending at each state (-1 if none) */
+  private final int[] outputs;
+
+  /** Nearest state with a literal among the failure states of each state (-1 if none) */
+  private final int[] outputLinks;
+
+  /**
+   * @param suggestions Suggestions to be indexed.
+   */
+  public SuggestionIndex(@Nonnull List<Suggestion> suggestions) {
+    this.suggestions = new ArrayList<>(suggestions);
+    this.literalBySuggestion = new IdentityHashMap<>();
+
+    // Build the trie of literals
+    Map<String, Integer> literals = new HashMap<>();
+    List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+    List<Integer> trieOutputs = new ArrayList<>();
+    trie.add(new TreeMap<>());
+    trieOutputs.add(Integer.valueOf(-1));
+    for (Suggestion suggestion : suggestions) {
+      String literal = suggestion.getRequiredLiteral();
+      if (literal == null) {
+        continue;
+      }
+      Integer literalId = literals.get(literal);
+      if (literalId == null) {
+        literalId = Integer.valueOf(literals.size());
+        literals.put(literal, literalId);
+        int state = 0;
+        for (int index = 0; index < literal.length(); index++) {
+          Character currentChar = Character.valueOf(literal.charAt(index));
+          Integer next = trie.get(state).get(currentChar);
+          if (next == null) {
+            next = Integer.valueOf(trie.size());
+            trie.get(state).put(currentChar, next);
+            trie.add(new TreeMap<>());
+            trieOutputs.add(Integer.valueOf(-1));
+          }
+          state = next.intValue();
+        }
+        trieOutputs.set(state, literalId);
+      }
+      literalBySuggestion.put(suggestion, literalId);
+    }
+    this.literalCount = literals.size();
+
+    // Freeze transitions
+    int stateCount = trie.size();
+    transitionStart = new int[stateCount + 1];
+    int transitionCount = 0;
+    for (int state = 0; state < stateCount; state++) {
+      transitionStart[state] = transitionCount;
+      transitionCount += trie.get(state).size();
+    }
+    transitionStart[stateCount] = transitionCount;
+    transitionChars = new char[transitionCount];
+    transitionTargets = new int[transitionCount];
+    outputs = new int[stateCount];
+    for (int state = 0; state < stateCount; state++) {
+      int transition = transitionStart[state];
+      for (Map.Entry<Character, Integer> entry : trie.get(state).entrySet()) {
+        transitionChars[transition] = entry.getKey().charValue();
+        transitionTargets[transition] = entry.getValue().intValue();
+        transition++;
+      }
+      outputs[state] = trieOutputs.get(state).intValue();
+    }
+
+    // Compute failure and output links (breadth first)
+    failures = new int[stateCount];
+    outputLinks = new int[stateCount];
+    Arrays.fill(outputLinks, -1);
+    int[] queue = new int[stateCount];
+    int queueBegin = 0;
+    int queueEnd = 0;
+    for (int transition = transitionStart[0]; transition < transitionStart[1]; transition++) {
+      queue[queueEnd++] = transitionTargets[transition];
+    }
+    while (queueBegin < queueEnd) {
+      int state = queue[queueBegin++];
+      for (int transition = transitionStart[state]; transition < transitionStart[state + 1]; transition++) {
+        int target = transitionTargets[transition];
+        char currentChar = transitionChars[transition];
+        int failure = failures[state];
+        int next = getTransition(failure, currentChar);
+        while ((next < 0) && (failure != 0)) {
+          failure = failures[failure];
+          next = getTransition(failure, currentChar);
+        }
+        failures[target] = (next >= 0) ? next : 0;
+        outputLinks[target] = (outputs[failures[target]] >= 0) ?
+            failures[target] : outputLinks[failures[target]];
+        queue[queueEnd++] = target;
+      }
+    }
+  }
+
+  /**
+   * @param otherSuggestions Suggestions.
+   * @return True if the index has been built for the same suggestions.
+   */
+  public boolean isFor(@Nonnull List<Suggestion> otherSuggestions) {
+    if (suggestions.size() != otherSuggestions.size()) {
+      return false;
+    }
+    for (int index = 0; index < suggestions.size(); index++) {
+      if (suggestions.get(index) != otherSuggestions.get(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Find the required literals in chunks of a text.
+   *
+   * @param contents Text.
+   * @param chunks Chunks of the text to be analyzed.
+   * @return Chunks containing the required literal of each suggestion.
+   */
+  @Nonnull
+  public Matches findLiterals(@Nonnull String contents, @Nonnull List<Interval> chunks) {
+    BitSet[] chunksByLiteral = new BitSet[literalCount];
+    for (int chunkNum = 0; chunkNum < chunks.size(); chunkNum++) {
+      Interval chunk = chunks.get(chunkNum);
+      int state = 0;
+      for (int index = chunk.getBeginIndex(); index < chunk.getEndIndex(); index++) {
+        char currentChar = contents.charAt(index);
+        int next = getTransition(state, currentChar);
+        while ((next < 0) && (state != 0)) {
+          state = failures[state];
+          next = getTransition(state, currentChar);
+        }
+        state = (next >= 0) ? next : 0;
+        int output = (outputs[state] >= 0) ? state : outputLinks[state];
+        while (output >= 0) {
+          int literal = outputs[output];
+          if (chunksByLiteral[literal] == null) {
+            chunksByLiteral[literal] = new BitSet();
+          }
+          chunksByLiteral[literal].set(chunkNum);
+          output = outputLinks[output];
+        }
+      }
+    }
+    BitSet allChunks = new BitSet();
+    allChunks.set(0, chunks.size());
+    return new Matches(chunksByLiteral, allChunks);
+  }
+
+  /**
+   * @param state State.
+   * @param currentChar Character.
+   * @return Target of the transition from the state for the character (-1 if none).
+   */
+  private int getTransition(int state, char currentChar) {
+    int low = transitionStart[state];
+    int high = transitionStart[state + 1] - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      char middleChar = transitionChars[middle];
+      if (middleChar < currentChar) {
+        low = middle + 1;
+      } else if (middleChar > currentChar) {
+        high = middle - 1;
+      } else {
+        return transitionTargets[middle];
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Chunks of a text containing the required literals.
+   */
+  class Matches {
+
+    /** Chunks containing each literal */
+    private final BitSet[] chunksByLiteral;
+
+    /** All chunks */
+    private final BitSet allChunks;
+
+    /**
+     * @param chunksByLiteral Chunks containing each literal.
+     * @param allChunks All chunks.
+     */
+    Matches(BitSet[] chunksByLiteral, BitSet allChunks) {
+      this.chunksByLiteral = chunksByLiteral;
+      this.allChunks = allChunks;
+    }
+
+    /**
+     * @param suggestion Suggestion.
+     * @return Chunks that may contain a match of the suggestion (must not be modified).
+     */
+    @Nonnull
+    public BitSet getChunks(Suggestion suggestion) {
+      Integer literal = literalBySuggestion.get(suggestion);
+      if (literal == null) {
+        return allChunks;
+      }
+      BitSet chunks = chunksByLiteral[literal.intValue()];
+      return (chunks != null) ? chunks : EMPTY;
+    }
+  }
+}
@@ -200,6 +200,10 @@ public enum EnumQueryResult {
       "Internal_API_Error_DBConnectionError",
       "Internal API Error: DB Connection Error",
       2, 60),
+  MAXLAG(
+      "maxlag",
+      "The replication lag of the database servers is too high",
+      5, 5),
 
   UNKNOWN_ERROR(
       "UnknownError",
@@ -8,6 +8,8 @@
 package org.wikipediacleaner.api.data;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -85,98 +87,107 @@ public class PageAnalysisUtils {
     MagicWord redirect = pageAnalysis.getWikiConfiguration().getMagicWordByType(SimpleMagicWordType.REDIRECT);
     String contents = pageAnalysis.getContents();
     int maxSize = contents.length();
+    // Index the requested links by normalized title
+    Map<String, List<Page>> linksByTitle = new HashMap<>();
+    for (Page link : links) {
+      if (link.getTitle() != null) {
+        linksByTitle.computeIfAbsent(
+            Page.normalizeTitle(link.getTitle()),
+            title -> new ArrayList<>()).add(link);
+      }
+    }
     boolean firstLink = true;
     for (PageElementInternalLink internalLink : internalLinks) {
-      for (Page link : links) {
-        if (Page.areSameTitle(link.getTitle(), internalLink.getLink())) {
-          int currentPos = internalLink.getEndIndex();
-          while ((currentPos < maxSize) && (contents.charAt(currentPos) == ' ')) {
-            currentPos++;
-          }
+      List<Page> matchingLinks = (internalLink.getLink() != null) ?
+          linksByTitle.get(Page.normalizeTitle(internalLink.getLink())) : null;
+      for (Page link : (matchingLinks != null) ? matchingLinks : Collections.<Page>emptyList()) {
+        int currentPos = internalLink.getEndIndex();
+        while ((currentPos < maxSize) && (contents.charAt(currentPos) == ' ')) {
+          currentPos++;
+        }
 
-          // Check if link is marked as needing help
-          boolean helpNeeded = false;
-          if (templatesAfter != null) {
-            if ((currentPos < maxSize) && (contents.charAt(currentPos) == '{')) {
-              PageElementTemplate nextTemplate = pageAnalysis.isInTemplate(currentPos);
-              if (nextTemplate != null) {
-                for (String templateAfter : templatesAfter) {
-                  if (Page.areSameTitle(templateAfter, nextTemplate.getTemplateName())) {
-                    helpNeeded = true;
-                  }
+        // Check if link is marked as needing help
+        boolean helpNeeded = false;
+        if (templatesAfter != null) {
+          if ((currentPos < maxSize) && (contents.charAt(currentPos) == '{')) {
+            PageElementTemplate nextTemplate = pageAnalysis.isInTemplate(currentPos);
+            if (nextTemplate != null) {
+              for (String templateAfter : templatesAfter) {
+                if (Page.areSameTitle(templateAfter, nextTemplate.getTemplateName())) {
+                  helpNeeded = true;
                 }
               }
             }
           }
+        }
 
-          // Check if link is marked as normal
-          boolean good = false;
-          if ((currentPos < maxSize) && (contents.charAt(currentPos) == '<')) {
-            ContentsComment nextComment = pageAnalysis.comments().getAt(currentPos);
-            if ((nextComment != null) && (nextComment.getComment() != null)) {
-              if (commentsAfter != null) {
-                for (String commentAfter : commentsAfter) {
-                  if (nextComment.getComment().length() >= commentAfter.length()) {
-                    String comment = nextComment.getComment().substring(0, commentAfter.length());
-                    if (comment.equalsIgnoreCase(commentAfter)) {
-                      good = true;
-                    }
+        // Check if link is marked as normal
+        boolean good = false;
+        if ((currentPos < maxSize) && (contents.charAt(currentPos) == '<')) {
+          ContentsComment nextComment = pageAnalysis.comments().getAt(currentPos);
+          if ((nextComment != null) && (nextComment.getComment() != null)) {
+            if (commentsAfter != null) {
+              for (String commentAfter : commentsAfter) {
+                if (nextComment.getComment().length() >= commentAfter.length()) {
+                  String comment = nextComment.getComment().substring(0, commentAfter.length());
+                  if (comment.equalsIgnoreCase(commentAfter)) {
+                    good = true;
                   }
                 }
               }
             }
           }
-          if (!good &&
-              (templatesIgnoreDab != null) &&
-              !templatesIgnoreDab.isEmpty()) {
-            PageElementTemplate template = pageAnalysis.isInTemplate(currentPos);
-            if (template != null) {
-              for (String[] currentTemplate : templatesIgnoreDab) {
-                if ((currentTemplate != null) &&
-                    (currentTemplate.length > 1) &&
-                    Page.areSameTitle(currentTemplate[0], template.getTemplateName())) {
-                  Parameter parameter = template.getParameterAtIndex(currentPos);
-                  if (parameter != null) {
-                    for (int index = 1; index < currentTemplate.length; index++) {
-                      if (parameter.getComputedName().equals(currentTemplate[index])) {
-                        good = true;
-                      }
+        }
+        if (!good &&
+            (templatesIgnoreDab != null) &&
+            !templatesIgnoreDab.isEmpty()) {
+          PageElementTemplate template = pageAnalysis.isInTemplate(currentPos);
+          if (template != null) {
+            for (String[] currentTemplate : templatesIgnoreDab) {
+              if ((currentTemplate != null) &&
+                  (currentTemplate.length > 1) &&
+                  Page.areSameTitle(currentTemplate[0], template.getTemplateName())) {
+                Parameter parameter = template.getParameterAtIndex(currentPos);
+                if (parameter != null) {
+                  for (int index = 1; index < currentTemplate.length; index++) {
+                    if (parameter.getComputedName().equals(currentTemplate[index])) {
+                      good = true;
                     }
                   }
                 }
               }
             }
           }
+        }
 
-          // Check if link is in fact a redirection
-          if (firstLink && (redirect != null)) {
-            int tmpPos = 0;
-            while ((contents.charAt(tmpPos) == ' ') &&
-                   (tmpPos < internalLink.getBeginIndex())) {
-              tmpPos++;
-            }
-            String redirectTag = null;
-            for (String alias : redirect.getAliases()) {
-              if (contents.startsWith(alias, tmpPos)) {
-                char next = contents.charAt(tmpPos + alias.length());
-                if ((next == ' ') || (next == '[')) {
-                  redirectTag = alias;
-                }
+        // Check if link is in fact a redirection
+        if (firstLink && (redirect != null)) {
+          int tmpPos = 0;
+          while ((contents.charAt(tmpPos) == ' ') &&
+                 (tmpPos < internalLink.getBeginIndex())) {
+            tmpPos++;
+          }
+          String redirectTag = null;
+          for (String alias : redirect.getAliases()) {
+            if (contents.startsWith(alias, tmpPos)) {
+              char next = contents.charAt(tmpPos + alias.length());
+              if ((next == ' ') || (next == '[')) {
+                redirectTag = alias;
               }
             }
-            if (redirectTag != null) {
-              tmpPos += redirectTag.length();
-              while (contents.charAt(tmpPos) == ' ') {
-                tmpPos++;
-              }
-              if (tmpPos == internalLink.getBeginIndex()) {
-                good = true;
-              }
+          }
+          if (redirectTag != null) {
+            tmpPos += redirectTag.length();
+            while (contents.charAt(tmpPos) == ' ') {
+              tmpPos++;
+            }
+            if (tmpPos == internalLink.getBeginIndex()) {
+              good = true;
             }
           }
-
-          notification.linkFound(link, internalLink, good, helpNeeded);
         }
+
+        notification.linkFound(link, internalLink, good, helpNeeded);
       }
       firstLink = false;
     }
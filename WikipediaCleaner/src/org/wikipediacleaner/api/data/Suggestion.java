@@ -39,6 +39,9 @@ public class Suggestion implements Comparable<Suggestion> {
   /** Regular expression pattern. */
   private final Pattern pattern;
 
+  /** Literal text contained in every match of the pattern (null if unknown). */
+  private final String requiredLiteral;
+
   /** True if the pattern is not a native WPCleaner pattern (AWB, ...) */
   private final boolean other;
 
@@ -162,6 +165,7 @@ public class Suggestion implements Comparable<Suggestion> {
       String chapter) {
     this.chapter = chapter;
     this.pattern = pattern;
+    this.requiredLiteral = extractRequiredLiteral(pattern);
     this.group = group;
     this.other = other;
     this.suggestions = new ArrayList<>();
@@ -189,6 +193,13 @@ public class Suggestion implements Comparable<Suggestion> {
     return pattern.pattern();
   }
 
+  /**
+   * @return Literal text contained in every match of the pattern (null if unknown).
+   */
+  public String getRequiredLiteral() {
+    return requiredLiteral;
+  }
+
   /**
    * @return Group to categorize the suggestion.
    */
@@ -303,6 +314,267 @@ public class Suggestion implements Comparable<Suggestion> {
     return list;
   }
 
+  // ==========================================================================
+  // Required literal
+  // ==========================================================================
+
+  /** Minimum length of a required literal */
+  private final static int MIN_LITERAL_LENGTH = 2;
+
+  /**
+   * Extract the longest literal text contained in every match of a pattern.
+   * 
+   * The analysis is conservative: only plain characters outside groups and character classes are used,
+   * and nothing is extracted for patterns with flags or with a top level alternation.
+   * 
+   * @param pattern Pattern.
+   * @return Literal text contained in every match of the pattern (null if unknown).
+   */
+  static String extractRequiredLiteral(Pattern pattern) {
+    if ((pattern == null) || (pattern.flags() != 0)) {
+      return null;
+    }
+    String text = pattern.pattern();
+    int length = text.length();
+    StringBuilder current = new StringBuilder();
+    String best = null;
+    boolean lastIsLiteral = false;
+    int index = 0;
+    while (index < length) {
+      char currentChar = text.charAt(index);
+      switch (currentChar) {
+      case '\\':
+        if (index + 1 >= length) {
+          return null;
+        }
+        char nextChar = text.charAt(index + 1);
+        if (!Character.isLetterOrDigit(nextChar)) {
+          current.append(nextChar);
+          lastIsLiteral = true;
+          index += 2;
+        } else {
+          best = keepLongestLiteral(best, current);
+          lastIsLiteral = false;
+          index = skipEscape(text, index);
+        }
+        break;
+
+      case '[':
+        best = keepLongestLiteral(best, current);
+        lastIsLiteral = false;
+        index = skipCharacterClass(text, index);
+        break;
+
+      case '(':
+        if ((index + 2 < length) && (text.charAt(index + 1) == '?') &&
+            (Character.isLetter(text.charAt(index + 2)) || (text.charAt(index + 2) == '-'))) {
+          // Inline flags
+          return null;
+        }
+        best = keepLongestLiteral(best, current);
+        lastIsLiteral = false;
+        index = skipGroup(text, index);
+        break;
+
+      case ')':
+      case '|':
+        return null;
+
+      case '.':
+      case '^':
+      case '$':
+        best = keepLongestLiteral(best, current);
+        lastIsLiteral = false;
+        index++;
+        break;
+
+      case '?':
+      case '*':
+      case '+':
+      case '{':
+        int minimum = 1;
+        if (currentChar == '{') {
+          int endQuantifier = text.indexOf('}', index);
+          if (endQuantifier < 0) {
+            return null;
+          }
+          int comma = text.indexOf(',', index);
+          String minText = text.substring(index + 1, ((comma > 0) && (comma < endQuantifier)) ? comma : endQuantifier);
+          try {
+            minimum = Integer.parseInt(minText.trim());
+          } catch (NumberFormatException e) {
+            return null;
+          }
+          index = endQuantifier + 1;
+        } else {
+          if (currentChar != '+') {
+            minimum = 0;
+          }
+          index++;
+        }
+        if (lastIsLiteral && (minimum == 0)) {
+          current.setLength(current.length() - 1);
+        }
+        best = keepLongestLiteral(best, current);
+        lastIsLiteral = false;
+        if ((index < length) && ((text.charAt(index) == '?') || (text.charAt(index) == '+'))) {
+          index++;
+        }
+        break;
+
+      default:
+        current.append(currentChar);
+        lastIsLiteral = true;
+        index++;
+        break;
+      }
+      if (index < 0) {
+        return null;
+      }
+    }
+    return keepLongestLiteral(best, current);
+  }
+
+  /**
+   * Keep the longest literal and reset the current literal.
+   * 
+   * @param best Longest literal so far.
+   * @param current Current literal.
+   * @return Longest literal.
+   */
+  private static String keepLongestLiteral(String best, StringBuilder current) {
+    if ((current.length() >= MIN_LITERAL_LENGTH) &&
+        ((best == null) || (current.length() > best.length()))) {
+      best = current.toString();
+    }
+    current.setLength(0);
+    return best;
+  }
+
+  /**
+   * @param text Pattern text.
+   * @param index Index of the backslash beginning an escape sequence followed by a letter or digit.
+   * @return Index after the escape sequence (-1 if incorrect).
+   */
+  private static int skipEscape(String text, int index) {
+    int length = text.length();
+    char escapedChar = text.charAt(index + 1);
+    index += 2;
+    switch (escapedChar) {
+    case 'Q':
+      int endQuote = text.indexOf("\\E", index);
+      return (endQuote < 0) ? length : endQuote + 2;
+    case 'x':
+      if ((index < length) && (text.charAt(index) == '{')) {
+        int endBrace = text.indexOf('}', index);
+        return (endBrace < 0) ? -1 : endBrace + 1;
+      }
+      return Math.min(index + 2, length);
+    case 'u':
+      return Math.min(index + 4, length);
+    case 'c':
+      return Math.min(index + 1, length);
+    case '0':
+      int octalCount = 0;
+      while ((octalCount < 3) && (index < length) &&
+             (text.charAt(index) >= '0') && (text.charAt(index) <= '7')) {
+        index++;
+        octalCount++;
+      }
+      return index;
+    case 'p':
+    case 'P':
+    case 'N':
+      if ((index < length) && (text.charAt(index) == '{')) {
+        int endBrace = text.indexOf('}', index);
+        return (endBrace < 0) ? -1 : endBrace + 1;
+      }
+      return Math.min(index + 1, length);
+    case 'k':
+      if ((index < length) && (text.charAt(index) == '<')) {
+        int endName = text.indexOf('>', index);
+        return (endName < 0) ? -1 : endName + 1;
+      }
+      return index;
+    default:
+      if (Character.isDigit(escapedChar)) {
+        while ((index < length) && Character.isDigit(text.charAt(index))) {
+          index++;
+        }
+      }
+      return index;
+    }
+  }
+
+  /**
+   * @param text Pattern text.
+   * @param index Index of the opening bracket of a character class.
+   * @return Index after the character class (-1 if incorrect).
+   */
+  private static int skipCharacterClass(String text, int index) {
+    int length = text.length();
+    index++;
+    if ((index < length) && (text.charAt(index) == '^')) {
+      index++;
+    }
+    if ((index < length) && (text.charAt(index) == ']')) {
+      index++;
+    }
+    while (index < length) {
+      char currentChar = text.charAt(index);
+      if (currentChar == '\\') {
+        index += 2;
+      } else if (currentChar == '[') {
+        index = skipCharacterClass(text, index);
+        if (index < 0) {
+          return -1;
+        }
+      } else if (currentChar == ']') {
+        return index + 1;
+      } else {
+        index++;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @param text Pattern text.
+   * @param index Index of the opening parenthesis of a group.
+   * @return Index after the group (-1 if incorrect).
+   */
+  private static int skipGroup(String text, int index) {
+    int length = text.length();
+    int depth = 0;
+    while (index < length) {
+      char currentChar = text.charAt(index);
+      if (currentChar == '\\') {
+        if ((index + 1 < length) && (text.charAt(index + 1) == 'Q')) {
+          int endQuote = text.indexOf("\\E", index + 2);
+          index = (endQuote < 0) ? length : endQuote + 2;
+        } else {
+          index += 2;
+        }
+      } else if (currentChar == '[') {
+        index = skipCharacterClass(text, index);
+        if (index < 0) {
+          return -1;
+        }
+      } else {
+        if (currentChar == '(') {
+          depth++;
+        } else if (currentChar == ')') {
+          depth--;
+          if (depth == 0) {
+            return index + 1;
+          }
+        }
+        index++;
+      }
+    }
+    return -1;
+  }
+
   // ==========================================================================
   // Chapters management
   // ==========================================================================
@@ -17,6 +17,7 @@ import java.util.List;
  */
 public class User {
 
+  public final static String RIGHT_APIHIGHLIMITS = "apihighlimits";
   public final static String RIGHT_DELETE = "delete";
   public final static String RIGHT_EDIT = "edit";
   public final static String RIGHT_MOVE = "move";
@@ -93,4 +94,11 @@ public class User {
     }
     return rights.contains(right);
   }
+
+  /**
+   * @return True if the user can use higher limits in API queries.
+   */
+  public boolean hasHighLimits() {
+    return hasRight(RIGHT_APIHIGHLIMITS) || isMemberOf("admin") || isMemberOf("bot");
+  }
 }
@@ -7,9 +7,9 @@
 
 package org.wikipediacleaner.api.data.analysis;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.wikipediacleaner.api.data.PageElementCategory;
@@ -43,21 +43,50 @@ public class Areas {
   /** Flag to activate areas checking */
   private static boolean CHECK_AREAS = false;
 
-  /** List of non wiki text areas */
-  private final List<Area> areas;
+  /** Initial capacity for the arrays of areas */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** Begin indexes of non wiki text areas, sorted */
+  private int[] beginIndexes;
+
+  /** End indexes of non wiki text areas, sorted */
+  private int[] endIndexes;
+
+  /** Areas added but not yet merged, each one packed as begin index (high bits) and end index (low bits) */
+  private long[] pendingAreas;
+
+  /** Number of areas added but not yet merged */
+  private int pendingSize;
 
   /**
    * Initialize areas.
    */
   public Areas() {
-    areas = new LinkedList<>();
+    beginIndexes = new int[0];
+    endIndexes = new int[0];
+    pendingAreas = new long[INITIAL_CAPACITY];
+    pendingSize = 0;
   }
 
   /**
    * @return List of areas.
    */
   public List<Area> getAreas() {
-    return Collections.unmodifiableList(areas);
+    int[] tmpBeginIndexes = beginIndexes;
+    int[] tmpEndIndexes = endIndexes;
+    int tmpSize = Math.min(tmpBeginIndexes.length, tmpEndIndexes.length);
+    List<Area> result = new ArrayList<>(tmpSize);
+    for (int position = 0; position < tmpSize; position++) {
+      result.add(new Area(tmpBeginIndexes[position], tmpEndIndexes[position]));
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * @return Number of areas.
+   */
+  public int size() {
+    return beginIndexes.length;
   }
 
   /**
@@ -65,17 +94,33 @@ public class Areas {
    * @return First index after area.
    */
   public int getEndArea(int index) {
-    for (Area area : areas) {
-      if (area.beginIndex > index) {
-        return index;
-      }
-      if (area.endIndex > index) {
-        return area.endIndex;
+    int[] tmpBeginIndexes = beginIndexes;
+    int[] tmpEndIndexes = endIndexes;
+
+    // Find the last area beginning at or before the index
+    int start = 0;
+    int end = Math.min(tmpBeginIndexes.length, tmpEndIndexes.length);
+    while (start < end) {
+      int position = (start + end) >>> 1;
+      if (tmpBeginIndexes[position] <= index) {
+        start = position + 1;
+      } else {
+        end = position;
       }
     }
+    if ((start > 0) && (tmpEndIndexes[start - 1] > index)) {
+      return tmpEndIndexes[start - 1];
+    }
     return index;
   }
 
+  /**
+   * @return Cursor for going forward through the areas.
+   */
+  public Cursor getCursor() {
+    return new Cursor(beginIndexes, endIndexes);
+  }
+
   /**
    * Add comments to non wiki text areas.
    * 
@@ -83,6 +128,7 @@ public class Areas {
    */
   public void addComments(List<ContentsComment> comments) {
     addContentsElements(comments);
+    mergeAreas();
   }
 
   /**
@@ -108,6 +154,7 @@ public class Areas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -128,6 +175,7 @@ public class Areas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -170,6 +218,7 @@ public class Areas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -179,6 +228,7 @@ public class Areas {
    */
   public void addCategories(List<PageElementCategory> categories) {
     addContentsElements(categories);
+    mergeAreas();
   }
 
   /**
@@ -199,6 +249,7 @@ public class Areas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -208,6 +259,7 @@ public class Areas {
    */
   public void addLanguageLinks(List<PageElementLanguageLink> links) {
     addContentsElements(links);
+    mergeAreas();
   }
 
   /**
@@ -217,6 +269,7 @@ public class Areas {
    */
   public void addISBN(List<PageElementISBN> isbns) {
     addContentsElements(isbns);
+    mergeAreas();
   }
 
   /**
@@ -226,6 +279,7 @@ public class Areas {
    */
   public void addISSN(List<PageElementISSN> issns) {
     addContentsElements(issns);
+    mergeAreas();
   }
 
   /**
@@ -235,6 +289,7 @@ public class Areas {
    */
   public void addPMID(List<PageElementPMID> pmids) {
     addContentsElements(pmids);
+    mergeAreas();
   }
 
   /**
@@ -244,6 +299,7 @@ public class Areas {
    */
   public void addRFC(List<PageElementRFC> rfcs) {
     addContentsElements(rfcs);
+    mergeAreas();
   }
 
   /**
@@ -280,6 +336,7 @@ public class Areas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -304,6 +361,7 @@ public class Areas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -313,6 +371,7 @@ public class Areas {
    */
   public void addMagicWords(List<PageElementMagicWord> magicWords) {
     addContentsElements(magicWords);
+    mergeAreas();
   }
 
   /**
@@ -322,6 +381,7 @@ public class Areas {
    */
   public void addParameters(List<PageElementParameter> parameters) {
     addContentsElements(parameters);
+    mergeAreas();
   }
 
   /**
@@ -339,6 +399,7 @@ public class Areas {
         addArea(endIndex - after - title.getSecondLevel(), endIndex - after);
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -361,6 +422,7 @@ public class Areas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -378,46 +440,63 @@ public class Areas {
 
   /**
    * Add an area to the list of non wiki text areas.
+   * The area is only memorized, {@link #mergeAreas()} has to be called afterwards.
+   * 
    * @param beginIndex Begin index.
    * @param endIndex End index.
    */
   private void addArea(int beginIndex, int endIndex) {
-    Iterator<Areas.Area> itArea = areas.iterator();
-    int currentIndex = 0;
-    while (itArea.hasNext()) {
-      Area area = itArea.next();
-      if (beginIndex <= area.endIndex) {
-        if (endIndex < area.beginIndex) {
-          areas.add(currentIndex, new Area(beginIndex, endIndex));
-          if (CHECK_AREAS) {
-            checkAreas();
-          }
-          return;
-        }
-        area.beginIndex = Math.min(area.beginIndex, beginIndex);
-        if (endIndex <= area.endIndex) {
-          return;
-        }
-        area.endIndex = endIndex;
-        while (itArea.hasNext()) {
-          Area tmpArea = itArea.next();
-          if (tmpArea.beginIndex > endIndex) {
-            if (CHECK_AREAS) {
-              checkAreas();
-            }
-            return;
-          }
-          area.endIndex = Math.max(area.endIndex, tmpArea.endIndex);
-          itArea.remove();
-        }
-        if (CHECK_AREAS) {
-          checkAreas();
-        }
-        return;
+    if (beginIndex >= endIndex) {
+      return;
+    }
+    if (pendingSize >= pendingAreas.length) {
+      pendingAreas = Arrays.copyOf(pendingAreas, pendingAreas.length * 2);
+    }
+    pendingAreas[pendingSize] = ((long) beginIndex << 32) | (endIndex & 0xFFFFFFFFL);
+    pendingSize++;
+  }
+
+  /**
+   * Merge the areas added since the last merge into the list of non wiki text areas.
+   */
+  private void mergeAreas() {
+    if (pendingSize == 0) {
+      return;
+    }
+    Arrays.sort(pendingAreas, 0, pendingSize);
+
+    // Merge both sorted lists of areas in a single pass
+    int size = beginIndexes.length;
+    int[] newBeginIndexes = new int[size + pendingSize];
+    int[] newEndIndexes = new int[size + pendingSize];
+    int newSize = 0;
+    int position = 0;
+    int pendingPosition = 0;
+    while ((position < size) || (pendingPosition < pendingSize)) {
+      int beginIndex;
+      int endIndex;
+      if ((pendingPosition >= pendingSize) ||
+          ((position < size) &&
+           (beginIndexes[position] <= (int) (pendingAreas[pendingPosition] >>> 32)))) {
+        beginIndex = beginIndexes[position];
+        endIndex = endIndexes[position];
+        position++;
+      } else {
+        beginIndex = (int) (pendingAreas[pendingPosition] >>> 32);
+        endIndex = (int) pendingAreas[pendingPosition];
+        pendingPosition++;
+      }
+      if ((newSize > 0) && (beginIndex <= newEndIndexes[newSize - 1])) {
+        newEndIndexes[newSize - 1] = Math.max(newEndIndexes[newSize - 1], endIndex);
+      } else {
+        newBeginIndexes[newSize] = beginIndex;
+        newEndIndexes[newSize] = endIndex;
+        newSize++;
       }
-      currentIndex++;
     }
-    areas.add(new Area(beginIndex, endIndex));
+    endIndexes = Arrays.copyOf(newEndIndexes, newSize);
+    beginIndexes = Arrays.copyOf(newBeginIndexes, newSize);
+    pendingSize = 0;
     if (CHECK_AREAS) {
       checkAreas();
     }
@@ -428,7 +507,7 @@ public class Areas {
    */
   public void checkAreas() {
     int previousEnd = -1;
-    for (Areas.Area area : areas) {
+    for (Areas.Area area : getAreas()) {
       if (area.beginIndex >= area.endIndex) {
         System.err.println("Error " + area);
       }
@@ -441,11 +520,58 @@ public class Areas {
 
   public void printAreas(String text) {
     System.err.println("Areas " + text + " :");
-    for (Area area : areas) {
+    for (Area area : getAreas()) {
       System.err.println(" " + area.getBeginIndex() + "->" + area.getEndIndex());
     }
   }
 
+  /**
+   * Cursor for going forward through the areas.
+   * The cursor works on the areas as they were when it was created.
+   */
+  public static class Cursor {
+
+    /** Begin indexes of the areas */
+    private final int[] beginIndexes;
+
+    /** End indexes of the areas */
+    private final int[] endIndexes;
+
+    /** Number of areas */
+    private final int size;
+
+    /** Current position in the areas */
+    private int position;
+
+    /**
+     * @param beginIndexes Begin indexes of the areas.
+     * @param endIndexes End indexes of the areas.
+     */
+    Cursor(int[] beginIndexes, int[] endIndexes) {
+      this.beginIndexes = beginIndexes;
+      this.endIndexes = endIndexes;
+      this.size = Math.min(beginIndexes.length, endIndexes.length);
+      this.position = 0;
+    }
+
+    /**
+     * Move the cursor forward to a given index.
+     * Indexes must be provided in increasing order.
+     * 
+     * @param index Current index.
+     * @return First index after area (or index if not in an area).
+     */
+    public int getEndArea(int index) {
+      while ((position < size) && (endIndexes[position] <= index)) {
+        position++;
+      }
+      if ((position < size) && (beginIndexes[position] <= index)) {
+        return endIndexes[position];
+      }
+      return index;
+    }
+  }
+
   /**
    * Utility class for memorizing an area.
    */
@@ -12,6 +12,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import javax.annotation.Nonnull;
 
@@ -43,6 +45,8 @@ import org.wikipediacleaner.api.data.PageElementTemplate;
 import org.wikipediacleaner.api.data.PageElementTitle;
 import org.wikipediacleaner.api.data.contents.ContentsElement;
 import org.wikipediacleaner.api.data.contents.ContentsElementComparator;
+import org.wikipediacleaner.api.data.contents.IntervalIndex;
+import org.wikipediacleaner.api.data.contents.KeyIndex;
 import org.wikipediacleaner.api.data.contents.comment.ContainerComment;
 import org.wikipediacleaner.api.data.contents.comment.ContentsComment;
 import org.wikipediacleaner.api.data.contents.magicword.FunctionMagicWordType;
@@ -73,6 +77,9 @@ public class PageAnalysis {
   /** True if spelling should be checked */
   private boolean checkSpelling;
 
+  /** True if the independent passes of a full analysis should be run concurrently */
+  private boolean parallelAnalysis;
+
   /**
    * @param page Page.
    * @param contents Page contents (may differ from page.getContents()).
@@ -86,6 +93,8 @@ public class PageAnalysis {
     Configuration config = Configuration.getConfiguration();
     checkSpelling = config.getBoolean(
         null, ConfigurationValueBoolean.SPELLING);
+    parallelAnalysis = config.getBoolean(
+        null, ConfigurationValueBoolean.PARALLEL_ANALYSIS);
   }
 
   /**
@@ -178,12 +187,30 @@ public class PageAnalysis {
     return checkSpelling;
   }
 
+  /**
+   * @param parallel True if the independent passes of a full analysis should be run concurrently.
+   */
+  public void shouldAnalyzeInParallel(boolean parallel) {
+    this.parallelAnalysis = parallel;
+  }
+
+  /**
+   * @return True if the independent passes of a full analysis should be run concurrently.
+   */
+  public boolean shouldAnalyzeInParallel() {
+    return parallelAnalysis;
+  }
+
   /**
    * Perform page analysis.
    * 
    * @param perf Performance analysis.
    */
   public void performFullPageAnalysis(AnalysisPerformance perf) {
+    if (parallelAnalysis) {
+      performParallelPageAnalysis(perf);
+      return;
+    }
     long time0 = System.nanoTime();
     level1Analysis();
     long time1 = System.nanoTime();
@@ -217,6 +244,80 @@ public class PageAnalysis {
     }
   }
 
+  /**
+   * Perform page analysis, running the independent passes concurrently.
+   * 
+   * Once the level 4 analysis is done, the level 5 passes (ISBN, ISSN, PMID, RFC)
+   * and the level 6 passes for tables and list items only depend on the previous levels:
+   * they are run on the common fork-join pool without holding any analysis lock,
+   * and their results are stored afterwards.
+   * Paragraphs depend on list items, so they are analyzed last.
+   * 
+   * @param perf Performance analysis (level 5 is the time for the concurrent passes).
+   */
+  private void performParallelPageAnalysis(AnalysisPerformance perf) {
+    long time0 = System.nanoTime();
+    level1Analysis();
+    long time1 = System.nanoTime();
+    level2Analysis();
+    long time2 = System.nanoTime();
+    level3Analysis();
+    long time3 = System.nanoTime();
+    level4Analysis();
+    long time4 = System.nanoTime();
+
+    // Run the independent passes concurrently
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    ForkJoinTask<List<PageElementISBN>> isbnTask = pool.submit(() -> PageElementISBN.analyzePage(this));
+    ForkJoinTask<List<PageElementISSN>> issnTask = pool.submit(() -> PageElementISSN.analyzePage(this));
+    ForkJoinTask<List<PageElementPMID>> pmidTask = pool.submit(() -> PageElementPMID.analyzePage(this));
+    ForkJoinTask<List<PageElementRFC>> rfcTask = pool.submit(() -> PageElementRFC.analyzePage(this));
+    ForkJoinTask<List<PageElementTable>> tableTask = pool.submit(() -> PageElementTable.analyzePage(this));
+    List<PageElementListItem> tmpListItems = PageElementListItem.analyzePage(this);
+    List<PageElementISBN> tmpIsbns = isbnTask.join();
+    List<PageElementISSN> tmpIssns = issnTask.join();
+    List<PageElementPMID> tmpPmids = pmidTask.join();
+    List<PageElementRFC> tmpRfcs = rfcTask.join();
+    List<PageElementTable> tmpTables = tableTask.join();
+
+    // Store the results, unless they have been computed meanwhile
+    synchronized (level5Lock) {
+      if (isbns == null) {
+        isbns = tmpIsbns;
+        areas.addISBN(isbns);
+      }
+      if (issns == null) {
+        issns = tmpIssns;
+        areas.addISSN(issns);
+      }
+      if (pmids == null) {
+        pmids = tmpPmids;
+        areas.addPMID(pmids);
+      }
+      if (rfcs == null) {
+        rfcs = tmpRfcs;
+        areas.addRFC(rfcs);
+      }
+    }
+    long time5 = System.nanoTime();
+    synchronized (level6Lock) {
+      if ((tables == null) && (listItems == null)) {
+        tables = tmpTables;
+        listItems = tmpListItems;
+        paragraphs = PageElementParagraph.analyzePage(this);
+      }
+    }
+    long time6 = System.nanoTime();
+    if (perf != null) {
+      perf.level1 += (time1 - time0);
+      perf.level2 += (time2 - time1);
+      perf.level3 += (time3 - time2);
+      perf.level4 += (time4 - time3);
+      perf.level5 += (time5 - time4);
+      perf.level6 += (time6 - time5);
+    }
+  }
+
   // ==========================================================================
   // Elements management
   // ==========================================================================
@@ -716,25 +817,11 @@ public class PageAnalysis {
       int maxIndex = contents.length();
       String text = contents.getText();
       int currentIndex = 0;
-      int areaIndex = 0;
-      List<Areas.Area> tmpAreas = new ArrayList<>();
-      tmpAreas.addAll(areas.getAreas());
+      Areas.Cursor areasCursor = areas.getCursor();
       while (currentIndex < maxIndex) {
 
         // Checking if the current index is in wiki text area.
-        boolean areaFound = false;
-        int nextIndex = currentIndex;
-        while ((areaIndex < tmpAreas.size()) && !areaFound) {
-          Areas.Area area = tmpAreas.get(areaIndex);
-          if (area.beginIndex > currentIndex) {
-            areaFound = true;
-          } else if (area.endIndex > currentIndex) {
-            areaFound = true;
-            nextIndex = area.endIndex;
-          } else {
-            areaIndex++;
-          }
-        }
+        int nextIndex = areasCursor.getEndArea(currentIndex);
         if (perf != null) {
           perf.stopPart("nextIndex");
         }
@@ -815,25 +902,11 @@ public class PageAnalysis {
       int maxIndex = contents.length();
       String text = contents.getText();
       int currentIndex = 0;
-      int areaIndex = 0;
-      List<Areas.Area> tmpAreas = new ArrayList<>();
-      tmpAreas.addAll(areas.getAreas());
+      Areas.Cursor areasCursor = areas.getCursor();
       while (currentIndex < maxIndex) {
 
         // Checking if the current index is in wiki text area.
-        boolean areaFound = false;
-        int nextIndex = currentIndex;
-        while ((areaIndex < tmpAreas.size()) && !areaFound) {
-          Areas.Area area = tmpAreas.get(areaIndex);
-          if (area.beginIndex > currentIndex) {
-            areaFound = true;
-          } else if (area.endIndex > currentIndex) {
-            areaFound = true;
-            nextIndex = area.endIndex;
-          } else {
-            areaIndex++;
-          }
-        }
+        int nextIndex = areasCursor.getEndArea(currentIndex);
 
         if (nextIndex > currentIndex) {
           currentIndex = nextIndex;
@@ -1283,6 +1356,24 @@ public class PageAnalysis {
     return contents.comments();
   }
 
+  /**
+   * Lock for creating the indexes on the various elements.
+   * The list of elements is always retrieved before taking this lock,
+   * so that an analysis is never run while holding it.
+   */
+  private final Object lockIndexes = new Object();
+
+  /**
+   * Normalize a name used as a key in the indexes on names.
+   * Names are normalized in the same way as by {@link Page#areSameTitle(String, String)}.
+   * 
+   * @param name Name (template name, link target, ...).
+   * @return Normalized name.
+   */
+  private static String normalizeKey(String name) {
+    return (name != null) ? Page.normalizeTitle(name) : null;
+  }
+
   // ==========================================================================
   // Titles management
   // ==========================================================================
@@ -1300,18 +1391,28 @@ public class PageAnalysis {
     return titles;
   }
 
+  /** Index on titles, created when needed */
+  private IntervalIndex<PageElementTitle> titlesIndex;
+
+  /**
+   * @return Index on titles.
+   */
+  private IntervalIndex<PageElementTitle> getTitlesIndex() {
+    List<PageElementTitle> tmpList = getTitles();
+    synchronized (lockIndexes) {
+      if (titlesIndex == null) {
+        titlesIndex = IntervalIndex.create(tmpList);
+      }
+      return titlesIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Next title.
    */
   public PageElementTitle getNextTitle(int currentIndex) {
-    List<PageElementTitle> tmpTitles = getTitles();
-    for (PageElementTitle title : tmpTitles) {
-      if (title.getBeginIndex() >= currentIndex) {
-        return title;
-      }
-    }
-    return null;
+    return getTitlesIndex().getNext(currentIndex);
   }
 
   /**
@@ -1319,14 +1420,7 @@ public class PageAnalysis {
    * @return Title if the current index is inside a title.
    */
   public PageElementTitle isInTitle(int currentIndex) {
-    List<PageElementTitle> tmpTitles = getTitles();
-    for (PageElementTitle title : tmpTitles) {
-      if ((title.getBeginIndex() <= currentIndex) &&
-          (title.getEndIndex() > currentIndex)) {
-        return title;
-      }
-    }
-    return null;
+    return getTitlesIndex().getFirstAt(currentIndex);
   }
 
   /**
@@ -1369,18 +1463,28 @@ public class PageAnalysis {
     return internalLinks;
   }
 
+  /** Index on internal links, created when needed */
+  private IntervalIndex<PageElementInternalLink> internalLinksIndex;
+
+  /**
+   * @return Index on internal links.
+   */
+  private IntervalIndex<PageElementInternalLink> getInternalLinksIndex() {
+    List<PageElementInternalLink> tmpList = getInternalLinks();
+    synchronized (lockIndexes) {
+      if (internalLinksIndex == null) {
+        internalLinksIndex = IntervalIndex.create(tmpList);
+      }
+      return internalLinksIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Next internal link.
    */
   public PageElementInternalLink getNextInternalLink(int currentIndex) {
-    List<PageElementInternalLink> tmpInternalLinks = getInternalLinks();
-    for (PageElementInternalLink link : tmpInternalLinks) {
-      if (link.getBeginIndex() >= currentIndex) {
-        return link;
-      }
-    }
-    return null;
+    return getInternalLinksIndex().getNext(currentIndex);
   }
 
   /**
@@ -1388,14 +1492,35 @@ public class PageAnalysis {
    * @return Internal link if the current index is inside an internal link.
    */
   public PageElementInternalLink isInInternalLink(int currentIndex) {
-    List<PageElementInternalLink> tmpLinks = getInternalLinks();
-    for (PageElementInternalLink link : tmpLinks) {
-      if ((link.getBeginIndex() <= currentIndex) &&
-          (link.getEndIndex() > currentIndex)) {
-        return link;
+    return getInternalLinksIndex().getFirstAt(currentIndex);
+  }
+
+  /** Index on internal links by target, created when needed */
+  private KeyIndex<String, PageElementInternalLink> internalLinksByTarget;
+
+  /**
+   * @return Index on internal links by normalized target.
+   */
+  private KeyIndex<String, PageElementInternalLink> getInternalLinksByTarget() {
+    List<PageElementInternalLink> tmpList = getInternalLinks();
+    synchronized (lockIndexes) {
+      if (internalLinksByTarget == null) {
+        internalLinksByTarget = KeyIndex.create(
+            tmpList, link -> normalizeKey(link.getLink()));
       }
+      return internalLinksByTarget;
     }
-    return null;
+  }
+
+  /**
+   * @param target Link target.
+   * @return All internal links to this target in the page analysis.
+   */
+  public List<PageElementInternalLink> getInternalLinks(String target) {
+    if (target == null) {
+      return null;
+    }
+    return getInternalLinksByTarget().get(normalizeKey(target));
   }
 
   /**
@@ -1456,18 +1581,28 @@ public class PageAnalysis {
     return images;
   }
 
+  /** Index on images, created when needed */
+  private IntervalIndex<PageElementImage> imagesIndex;
+
+  /**
+   * @return Index on images.
+   */
+  private IntervalIndex<PageElementImage> getImagesIndex() {
+    List<PageElementImage> tmpList = getImages();
+    synchronized (lockIndexes) {
+      if (imagesIndex == null) {
+        imagesIndex = IntervalIndex.create(tmpList);
+      }
+      return imagesIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Next image.
    */
   public PageElementImage getNextImage(int currentIndex) {
-    List<PageElementImage> tmpImages = getImages();
-    for (PageElementImage image : tmpImages) {
-      if (image.getBeginIndex() >= currentIndex) {
-        return image;
-      }
-    }
-    return null;
+    return getImagesIndex().getNext(currentIndex);
   }
 
   /**
@@ -1475,18 +1610,7 @@ public class PageAnalysis {
    * @return Image if the current index is inside an image.
    */
   public PageElementImage isInImage(int currentIndex) {
-    List<PageElementImage> tmpImages = getImages();
-    PageElementImage result = null;
-    for (PageElementImage image : tmpImages) {
-      if ((image.getBeginIndex() <= currentIndex) &&
-          (image.getEndIndex() > currentIndex)) {
-        if ((result == null) ||
-            (image.getBeginIndex() > result.getBeginIndex())) {
-          result = image;
-        }
-      }
-    }
-    return result;
+    return getImagesIndex().getLastAt(currentIndex);
   }
 
   // ==========================================================================
@@ -1506,18 +1630,28 @@ public class PageAnalysis {
     return externalLinks;
   }
 
+  /** Index on external links, created when needed */
+  private IntervalIndex<PageElementExternalLink> externalLinksIndex;
+
+  /**
+   * @return Index on external links.
+   */
+  private IntervalIndex<PageElementExternalLink> getExternalLinksIndex() {
+    List<PageElementExternalLink> tmpList = getExternalLinks();
+    synchronized (lockIndexes) {
+      if (externalLinksIndex == null) {
+        externalLinksIndex = IntervalIndex.create(tmpList);
+      }
+      return externalLinksIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Next external link.
    */
   public PageElementExternalLink getNextExternalLink(int currentIndex) {
-    List<PageElementExternalLink> tmpExternalLinks = getExternalLinks();
-    for (PageElementExternalLink link : tmpExternalLinks) {
-      if (link.getBeginIndex() >= currentIndex) {
-        return link;
-      }
-    }
-    return null;
+    return getExternalLinksIndex().getNext(currentIndex);
   }
 
   /**
@@ -1525,14 +1659,7 @@ public class PageAnalysis {
    * @return External link if the current index is inside an external link.
    */
   public PageElementExternalLink isInExternalLink(int currentIndex) {
-    List<PageElementExternalLink> tmpLinks = getExternalLinks();
-    for (PageElementExternalLink link : tmpLinks) {
-      if ((link.getBeginIndex() <= currentIndex) &&
-          (link.getEndIndex() > currentIndex)) {
-        return link;
-      }
-    }
-    return null;
+    return getExternalLinksIndex().getFirstAt(currentIndex);
   }
 
   // ==========================================================================
@@ -1552,6 +1679,39 @@ public class PageAnalysis {
     return templates;
   }
 
+  /** Index on templates, created when needed */
+  private IntervalIndex<PageElementTemplate> templatesIndex;
+
+  /**
+   * @return Index on templates.
+   */
+  private IntervalIndex<PageElementTemplate> getTemplatesIndex() {
+    List<PageElementTemplate> tmpList = getTemplates();
+    synchronized (lockIndexes) {
+      if (templatesIndex == null) {
+        templatesIndex = IntervalIndex.create(tmpList);
+      }
+      return templatesIndex;
+    }
+  }
+
+  /** Index on templates by name, created when needed */
+  private KeyIndex<String, PageElementTemplate> templatesByName;
+
+  /**
+   * @return Index on templates by normalized name.
+   */
+  private KeyIndex<String, PageElementTemplate> getTemplatesByName() {
+    List<PageElementTemplate> tmpList = getTemplates();
+    synchronized (lockIndexes) {
+      if (templatesByName == null) {
+        templatesByName = KeyIndex.create(
+            tmpList, template -> normalizeKey(template.getTemplateName()));
+      }
+      return templatesByName;
+    }
+  }
+
   /**
    * @param name Template name.
    * @return All templates with this name in the page analysis.
@@ -1560,16 +1720,7 @@ public class PageAnalysis {
     if (name == null) {
       return null;
     }
-    List<PageElementTemplate> tmpTemplates = getTemplates();
-    List<PageElementTemplate> result = new ArrayList<>();
-    if (tmpTemplates != null) {
-      for (PageElementTemplate template : tmpTemplates) {
-        if (Page.areSameTitle(name, template.getTemplateName())) {
-          result.add(template);
-        }
-      }
-    }
-    return result;
+    return new ArrayList<>(getTemplatesByName().get(normalizeKey(name)));
   }
 
   /**
@@ -1580,15 +1731,7 @@ public class PageAnalysis {
     if (name == null) {
       return null;
     }
-    List<PageElementTemplate> tmpTemplates = getTemplates();
-    if (tmpTemplates != null) {
-      for (PageElementTemplate template : tmpTemplates) {
-        if (Page.areSameTitle(name, template.getTemplateName())) {
-          return template;
-        }
-      }
-    }
-    return null;
+    return getTemplatesByName().getFirst(normalizeKey(name));
   }
 
   /**
@@ -1596,13 +1739,7 @@ public class PageAnalysis {
    * @return Next template.
    */
   public PageElementTemplate getNextTemplate(int currentIndex) {
-    List<PageElementTemplate> tmpTemplates = getTemplates();
-    for (PageElementTemplate template : tmpTemplates) {
-      if (template.getBeginIndex() >= currentIndex) {
-        return template;
-      }
-    }
-    return null;
+    return getTemplatesIndex().getNext(currentIndex);
   }
 
   /**
@@ -1610,15 +1747,7 @@ public class PageAnalysis {
    * @return Template if the current index is inside a template.
    */
   public PageElementTemplate isInTemplate(int currentIndex) {
-    List<PageElementTemplate> tmpTemplates = getTemplates();
-    PageElementTemplate result = null;
-    for (PageElementTemplate template : tmpTemplates) {
-      if ((template.getBeginIndex() <= currentIndex) &&
-          (template.getEndIndex() > currentIndex)) {
-        result = template;
-      }
-    }
-    return result;
+    return getTemplatesIndex().getLastAt(currentIndex);
   }
 
   // ==========================================================================
@@ -1638,20 +1767,28 @@ public class PageAnalysis {
     return parameters;
   }
 
+  /** Index on parameters, created when needed */
+  private IntervalIndex<PageElementParameter> parametersIndex;
+
+  /**
+   * @return Index on parameters.
+   */
+  private IntervalIndex<PageElementParameter> getParametersIndex() {
+    List<PageElementParameter> tmpList = getParameters();
+    synchronized (lockIndexes) {
+      if (parametersIndex == null) {
+        parametersIndex = IntervalIndex.create(tmpList);
+      }
+      return parametersIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Parameter if the current index is inside a parameter.
    */
   public PageElementParameter isInParameter(int currentIndex) {
-    List<PageElementParameter> tmpParameters = getParameters();
-    PageElementParameter result = null;
-    for (PageElementParameter parameter : tmpParameters) {
-      if ((parameter.getBeginIndex() <= currentIndex) &&
-          (parameter.getEndIndex() > currentIndex)) {
-        result = parameter;
-      }
-    }
-    return result;
+    return getParametersIndex().getLastAt(currentIndex);
   }
 
   // ==========================================================================
@@ -1671,20 +1808,28 @@ public class PageAnalysis {
     return functions;
   }
 
+  /** Index on functions, created when needed */
+  private IntervalIndex<PageElementFunction> functionsIndex;
+
+  /**
+   * @return Index on functions.
+   */
+  private IntervalIndex<PageElementFunction> getFunctionsIndex() {
+    List<PageElementFunction> tmpList = getFunctions();
+    synchronized (lockIndexes) {
+      if (functionsIndex == null) {
+        functionsIndex = IntervalIndex.create(tmpList);
+      }
+      return functionsIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Function if the current index is inside a function.
    */
   public PageElementFunction isInFunction(int currentIndex) {
-    List<PageElementFunction> tmpFunctions = getFunctions();
-    PageElementFunction result = null;
-    for (PageElementFunction function : tmpFunctions) {
-      if ((function.getBeginIndex() <= currentIndex) &&
-          (function.getEndIndex() > currentIndex)) {
-        result = function;
-      }
-    }
-    return result;
+    return getFunctionsIndex().getLastAt(currentIndex);
   }
 
   // ==========================================================================
@@ -1704,20 +1849,28 @@ public class PageAnalysis {
     return magicWords;
   }
 
+  /** Index on magic words, created when needed */
+  private IntervalIndex<PageElementMagicWord> magicWordsIndex;
+
+  /**
+   * @return Index on magic words.
+   */
+  private IntervalIndex<PageElementMagicWord> getMagicWordsIndex() {
+    List<PageElementMagicWord> tmpList = getMagicWords();
+    synchronized (lockIndexes) {
+      if (magicWordsIndex == null) {
+        magicWordsIndex = IntervalIndex.create(tmpList);
+      }
+      return magicWordsIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Magic word if the current index is inside a magic word.
    */
   public PageElementMagicWord isInMagicWord(int currentIndex) {
-    List<PageElementMagicWord> tmpMagicWords = getMagicWords();
-    PageElementMagicWord result = null;
-    for (PageElementMagicWord magicWord : tmpMagicWords) {
-      if ((magicWord.getBeginIndex() <= currentIndex) &&
-          (magicWord.getEndIndex() > currentIndex)) {
-        result = magicWord;
-      }
-    }
-    return result;
+    return getMagicWordsIndex().getLastAt(currentIndex);
   }
 
   // ==========================================================================
@@ -1729,21 +1882,24 @@ public class PageAnalysis {
    */
   private List<PageElementTag> tags;
 
+  /** Index on tags by type, created when needed */
+  private KeyIndex<TagType, PageElementTag> tagsByType;
+
   /**
-   * Lock for updating the tags categorized by type.
+   * Index on complete tags by type, created when needed.
+   * Complete tags are either full tags or opening tags associated with a closing tag.
    */
-  private final Object lockTagsByType = new Object();
+  private KeyIndex<TagType, PageElementTag> completeTagsByType;
 
   /**
-   * All tags in the page categorized by type.
+   * Lock for updating the interval indexes on tags of each type ({@link #tagsIndexByType}).
    */
-  private Map<TagType, List<PageElementTag>> tagsByType;
+  private final Object lockTagsByType = new Object();
 
   /**
-   * All complete tags in the page categorized by type.
-   * Complete tags are either full tags or opening tags associated with a closing tag.
+   * Indexes on tags in the page categorized by type.
    */
-  private Map<TagType, List<PageElementTag>> completeTagsByType;
+  private Map<TagType, IntervalIndex<PageElementTag>> tagsIndexByType;
 
   /**
    * @return All tags in the page.
@@ -1753,27 +1909,33 @@ public class PageAnalysis {
     return tags;
   }
 
+  /** Index on tags, created when needed */
+  private IntervalIndex<PageElementTag> tagsIndex;
+
+  /**
+   * @return Index on tags.
+   */
+  private IntervalIndex<PageElementTag> getTagsIndex() {
+    List<PageElementTag> tmpList = getTags();
+    synchronized (lockIndexes) {
+      if (tagsIndex == null) {
+        tagsIndex = IntervalIndex.create(tmpList);
+      }
+      return tagsIndex;
+    }
+  }
+
   /**
    * @param type Tag type.
    * @return All tags with this type in the page.
    */
   public List<PageElementTag> getTags(@Nonnull TagType type) {
-    synchronized (lockTagsByType) {
+    List<PageElementTag> tmpTags = getTags();
+    synchronized (lockIndexes) {
       if (tagsByType == null) {
-        tagsByType = new HashMap<>();
-      }
-      List<PageElementTag> result = tagsByType.get(type);
-      if (result == null) {
-        List<PageElementTag> tmpTags = getTags();
-        result = new ArrayList<>();
-        tagsByType.put(type, result);
-        for (PageElementTag tag : tmpTags) {
-          if (type.equals(tag.getType())) {
-            result.add(tag);
-          }
-        }
+        tagsByType = KeyIndex.create(tmpTags, PageElementTag::getType);
       }
-      return result;
+      return tagsByType.get(type);
     }
   }
 
@@ -1782,24 +1944,20 @@ public class PageAnalysis {
    * @return All complete tags with this type in the page.
    */
   public List<PageElementTag> getCompleteTags(@Nonnull TagType type) {
-    synchronized (lockTagsByType) {
+    List<PageElementTag> tmpTags = getTags();
+    synchronized (lockIndexes) {
       if (completeTagsByType == null) {
-        completeTagsByType = new HashMap<>();
-      }
-      List<PageElementTag> result = completeTagsByType.get(type);
-      if (result == null) {
-        List<PageElementTag> tmpTags = getTags(type);
-        result = new ArrayList<>();
-        completeTagsByType.put(type, result);
+        List<PageElementTag> completeTags = new ArrayList<>();
         for (PageElementTag tag : tmpTags) {
           if (tag.isFullTag()) {
-            result.add(tag);
+            completeTags.add(tag);
           } else if (!tag.isEndTag() && tag.isComplete()) {
-            result.add(tag);
+            completeTags.add(tag);
           }
         }
+        completeTagsByType = KeyIndex.create(completeTags, PageElementTag::getType);
       }
-      return result;
+      return completeTagsByType.get(type);
     }
   }
 
@@ -1832,13 +1990,7 @@ public class PageAnalysis {
    * @return Next tag.
    */
   public PageElementTag getNextTag(int currentIndex) {
-    List<PageElementTag> tmpTags = getTags();
-    for (PageElementTag tag : tmpTags) {
-      if (tag.getBeginIndex() >= currentIndex) {
-        return tag;
-      }
-    }
-    return null;
+    return getTagsIndex().getNext(currentIndex);
   }
 
   /**
@@ -1846,14 +1998,7 @@ public class PageAnalysis {
    * @return Tag if the current index is inside a tag.
    */
   public PageElementTag isInTag(int currentIndex) {
-    List<PageElementTag> tmpTags = getTags();
-    for (PageElementTag tag : tmpTags) {
-      if ((tag.getBeginIndex() <= currentIndex) &&
-          (tag.getEndIndex() > currentIndex)) {
-        return tag;
-      }
-    }
-    return null;
+    return getTagsIndex().getFirstAt(currentIndex);
   }
 
   /**
@@ -1863,13 +2008,18 @@ public class PageAnalysis {
    */
   public PageElementTag isInTag(int currentIndex, TagType tagType) {
     List<PageElementTag> tmpTags = getTags(tagType);
-    for (PageElementTag tag : tmpTags) {
-      if ((tag.getBeginIndex() <= currentIndex) &&
-          (tag.getEndIndex() > currentIndex)) {
-        return tag;
+    IntervalIndex<PageElementTag> index = null;
+    synchronized (lockTagsByType) {
+      if (tagsIndexByType == null) {
+        tagsIndexByType = new HashMap<>();
+      }
+      index = tagsIndexByType.get(tagType);
+      if (index == null) {
+        index = IntervalIndex.create(tmpTags);
+        tagsIndexByType.put(tagType, index);
       }
     }
-    return null;
+    return index.getFirstAt(currentIndex);
   }
 
   // ==========================================================================
@@ -1925,18 +2075,28 @@ public class PageAnalysis {
     return categories;
   }
 
+  /** Index on categories, created when needed */
+  private IntervalIndex<PageElementCategory> categoriesIndex;
+
+  /**
+   * @return Index on categories.
+   */
+  private IntervalIndex<PageElementCategory> getCategoriesIndex() {
+    List<PageElementCategory> tmpList = getCategories();
+    synchronized (lockIndexes) {
+      if (categoriesIndex == null) {
+        categoriesIndex = IntervalIndex.create(tmpList);
+      }
+      return categoriesIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Next category.
    */
   public PageElementCategory getNextCategory(int currentIndex) {
-    List<PageElementCategory> tmpCategories = getCategories();
-    for (PageElementCategory category : tmpCategories) {
-      if (category.getBeginIndex() >= currentIndex) {
-        return category;
-      }
-    }
-    return null;
+    return getCategoriesIndex().getNext(currentIndex);
   }
 
   /**
@@ -1944,14 +2104,35 @@ public class PageAnalysis {
    * @return Category if the current index is inside a category.
    */
   public PageElementCategory isInCategory(int currentIndex) {
-    List<PageElementCategory> tmpCategories = getCategories();
-    for (PageElementCategory category : tmpCategories) {
-      if ((category.getBeginIndex() <= currentIndex) &&
-          (category.getEndIndex() > currentIndex)) {
-        return category;
+    return getCategoriesIndex().getFirstAt(currentIndex);
+  }
+
+  /** Index on categories by name, created when needed */
+  private KeyIndex<String, PageElementCategory> categoriesByName;
+
+  /**
+   * @return Index on categories by normalized name.
+   */
+  private KeyIndex<String, PageElementCategory> getCategoriesByName() {
+    List<PageElementCategory> tmpList = getCategories();
+    synchronized (lockIndexes) {
+      if (categoriesByName == null) {
+        categoriesByName = KeyIndex.create(
+            tmpList, category -> normalizeKey(category.getName()));
       }
+      return categoriesByName;
     }
-    return null;
+  }
+
+  /**
+   * @param name Category name (without namespace).
+   * @return All categories with this name in the page analysis.
+   */
+  public List<PageElementCategory> getCategories(String name) {
+    if (name == null) {
+      return null;
+    }
+    return getCategoriesByName().get(normalizeKey(name));
   }
 
   // ==========================================================================
@@ -1971,18 +2152,28 @@ public class PageAnalysis {
     return interwikiLinks;
   }
 
+  /** Index on interwiki links, created when needed */
+  private IntervalIndex<PageElementInterwikiLink> interwikiLinksIndex;
+
+  /**
+   * @return Index on interwiki links.
+   */
+  private IntervalIndex<PageElementInterwikiLink> getInterwikiLinksIndex() {
+    List<PageElementInterwikiLink> tmpList = getInterwikiLinks();
+    synchronized (lockIndexes) {
+      if (interwikiLinksIndex == null) {
+        interwikiLinksIndex = IntervalIndex.create(tmpList);
+      }
+      return interwikiLinksIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Next interwiki link.
    */
   public PageElementInterwikiLink getNextInterwikiLink(int currentIndex) {
-    List<PageElementInterwikiLink> tmpLinks = getInterwikiLinks();
-    for (PageElementInterwikiLink link : tmpLinks) {
-      if (link.getBeginIndex() >= currentIndex) {
-        return link;
-      }
-    }
-    return null;
+    return getInterwikiLinksIndex().getNext(currentIndex);
   }
 
   /**
@@ -1990,14 +2181,7 @@ public class PageAnalysis {
    * @return Interwiki link if the current index is inside an interwiki link.
    */
   public PageElementInterwikiLink isInInterwikiLink(int currentIndex) {
-    List<PageElementInterwikiLink> tmpLinks = getInterwikiLinks();
-    for (PageElementInterwikiLink link : tmpLinks) {
-      if ((link.getBeginIndex() <= currentIndex) &&
-          (link.getEndIndex() > currentIndex)) {
-        return link;
-      }
-    }
-    return null;
+    return getInterwikiLinksIndex().getFirstAt(currentIndex);
   }
 
   // ==========================================================================
@@ -2017,18 +2201,28 @@ public class PageAnalysis {
     return languageLinks;
   }
 
+  /** Index on language links, created when needed */
+  private IntervalIndex<PageElementLanguageLink> languageLinksIndex;
+
+  /**
+   * @return Index on language links.
+   */
+  private IntervalIndex<PageElementLanguageLink> getLanguageLinksIndex() {
+    List<PageElementLanguageLink> tmpList = getLanguageLinks();
+    synchronized (lockIndexes) {
+      if (languageLinksIndex == null) {
+        languageLinksIndex = IntervalIndex.create(tmpList);
+      }
+      return languageLinksIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Next language link.
    */
   public PageElementLanguageLink getNextLanguageLink(int currentIndex) {
-    List<PageElementLanguageLink> tmpLinks = getLanguageLinks();
-    for (PageElementLanguageLink link : tmpLinks) {
-      if (link.getBeginIndex() >= currentIndex) {
-        return link;
-      }
-    }
-    return null;
+    return getLanguageLinksIndex().getNext(currentIndex);
   }
 
   /**
@@ -2036,14 +2230,7 @@ public class PageAnalysis {
    * @return Language link if the current index is inside a language link.
    */
   public PageElementLanguageLink isInLanguageLink(int currentIndex) {
-    List<PageElementLanguageLink> tmpLinks = getLanguageLinks();
-    for (PageElementLanguageLink link : tmpLinks) {
-      if ((link.getBeginIndex() <= currentIndex) &&
-          (link.getEndIndex() > currentIndex)) {
-        return link;
-      }
-    }
-    return null;
+    return getLanguageLinksIndex().getFirstAt(currentIndex);
   }
 
   // ==========================================================================
@@ -2063,19 +2250,28 @@ public class PageAnalysis {
     return isbns;
   }
 
+  /** Index on ISBNs, created when needed */
+  private IntervalIndex<PageElementISBN> isbnsIndex;
+
+  /**
+   * @return Index on ISBNs.
+   */
+  private IntervalIndex<PageElementISBN> getISBNsIndex() {
+    List<PageElementISBN> tmpList = getISBNs();
+    synchronized (lockIndexes) {
+      if (isbnsIndex == null) {
+        isbnsIndex = IntervalIndex.create(tmpList);
+      }
+      return isbnsIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return ISBN if the current index is inside an ISBN.
    */
   public PageElementISBN isInISBN(int currentIndex) {
-    List<PageElementISBN> tmpIsbns = getISBNs();
-    for (PageElementISBN isbn : tmpIsbns) {
-      if ((isbn.getBeginIndex() <= currentIndex) &&
-          (isbn.getEndIndex() > currentIndex)) {
-        return isbn;
-      }
-    }
-    return null;
+    return getISBNsIndex().getFirstAt(currentIndex);
   }
 
 
@@ -2092,19 +2288,28 @@ public class PageAnalysis {
     return issns;
   }
 
+  /** Index on ISSNs, created when needed */
+  private IntervalIndex<PageElementISSN> issnsIndex;
+
+  /**
+   * @return Index on ISSNs.
+   */
+  private IntervalIndex<PageElementISSN> getISSNsIndex() {
+    List<PageElementISSN> tmpList = getISSNs();
+    synchronized (lockIndexes) {
+      if (issnsIndex == null) {
+        issnsIndex = IntervalIndex.create(tmpList);
+      }
+      return issnsIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return ISSN if the current index is inside an ISSN.
    */
   public PageElementISSN isInISSN(int currentIndex) {
-    List<PageElementISSN> tmpIsbns = getISSNs();
-    for (PageElementISSN issn : tmpIsbns) {
-      if ((issn.getBeginIndex() <= currentIndex) &&
-          (issn.getEndIndex() > currentIndex)) {
-        return issn;
-      }
-    }
-    return null;
+    return getISSNsIndex().getFirstAt(currentIndex);
   }
 
   
@@ -2121,19 +2326,28 @@ public class PageAnalysis {
     return pmids;
   }
 
+  /** Index on PMIDs, created when needed */
+  private IntervalIndex<PageElementPMID> pmidsIndex;
+
+  /**
+   * @return Index on PMIDs.
+   */
+  private IntervalIndex<PageElementPMID> getPMIDsIndex() {
+    List<PageElementPMID> tmpList = getPMIDs();
+    synchronized (lockIndexes) {
+      if (pmidsIndex == null) {
+        pmidsIndex = IntervalIndex.create(tmpList);
+      }
+      return pmidsIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return PMID if the current index is inside a PMID.
    */
   public PageElementPMID isInPMID(int currentIndex) {
-    List<PageElementPMID> tmpPmids = getPMIDs();
-    for (PageElementPMID pmid : tmpPmids) {
-      if ((pmid.getBeginIndex() <= currentIndex) &&
-          (pmid.getEndIndex() > currentIndex)) {
-        return pmid;
-      }
-    }
-    return null;
+    return getPMIDsIndex().getFirstAt(currentIndex);
   }
 
   
@@ -2150,19 +2364,28 @@ public class PageAnalysis {
     return rfcs;
   }
 
+  /** Index on RFCs, created when needed */
+  private IntervalIndex<PageElementRFC> rfcsIndex;
+
+  /**
+   * @return Index on RFCs.
+   */
+  private IntervalIndex<PageElementRFC> getRFCsIndex() {
+    List<PageElementRFC> tmpList = getRFCs();
+    synchronized (lockIndexes) {
+      if (rfcsIndex == null) {
+        rfcsIndex = IntervalIndex.create(tmpList);
+      }
+      return rfcsIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return RFC if the current index is inside a RFC.
    */
   public PageElementRFC isInRFC(int currentIndex) {
-    List<PageElementRFC> tmpRfcs = getRFCs();
-    for (PageElementRFC rfc : tmpRfcs) {
-      if ((rfc.getBeginIndex() <= currentIndex) &&
-          (rfc.getEndIndex() > currentIndex)) {
-        return rfc;
-      }
-    }
-    return null;
+    return getRFCsIndex().getFirstAt(currentIndex);
   }
 
   // ==========================================================================
@@ -2180,12 +2403,28 @@ public class PageAnalysis {
     return paragraphs;
   }
 
+  /** Index on paragraphs, created when needed */
+  private IntervalIndex<PageElementParagraph> paragraphsIndex;
+
+  /**
+   * @return Index on paragraphs.
+   */
+  private IntervalIndex<PageElementParagraph> getParagraphsIndex() {
+    List<PageElementParagraph> tmpList = getParagraphs();
+    synchronized (lockIndexes) {
+      if (paragraphsIndex == null) {
+        paragraphsIndex = IntervalIndex.create(tmpList);
+      }
+      return paragraphsIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return Paragraph if the current index is inside a paragraph.
    */
   public PageElementParagraph isInParagraph(int currentIndex) {
-    return PageElementParagraph.isInParagraph(currentIndex, getParagraphs());
+    return getParagraphsIndex().getFirstAt(currentIndex);
   }
 
   // ==========================================================================
@@ -2203,12 +2442,28 @@ public class PageAnalysis {
     return listItems;
   }
 
+  /** Index on list items, created when needed */
+  private IntervalIndex<PageElementListItem> listItemsIndex;
+
+  /**
+   * @return Index on list items.
+   */
+  private IntervalIndex<PageElementListItem> getListItemsIndex() {
+    List<PageElementListItem> tmpList = getListItems();
+    synchronized (lockIndexes) {
+      if (listItemsIndex == null) {
+        listItemsIndex = IntervalIndex.create(tmpList);
+      }
+      return listItemsIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
    * @return List item if the current index is inside a list item.
    */
   public PageElementListItem isInListItem(int currentIndex) {
-    return PageElementListItem.isInListItem(currentIndex, getListItems());
+    return getListItemsIndex().getFirstAt(currentIndex);
   }
 
   // ==========================================================================
@@ -2226,12 +2481,28 @@ public class PageAnalysis {
     return tables;
   }
 
+  /** Index on tables, created when needed */
+  private IntervalIndex<PageElementTable> tablesIndex;
+
+  /**
+   * @return Index on tables.
+   */
+  private IntervalIndex<PageElementTable> getTablesIndex() {
+    List<PageElementTable> tmpList = getTables();
+    synchronized (lockIndexes) {
+      if (tablesIndex == null) {
+        tablesIndex = IntervalIndex.create(tmpList);
+      }
+      return tablesIndex;
+    }
+  }
+
   /**
    * @param currentIndex Current index.
-   * @return Table if the current index is inside a table.
+   * @return Innermost table if the current index is inside a table.
    */
   public PageElementTable isInTable(int currentIndex) {
-    return PageElementTable.isInTable(currentIndex, getTables());
+    return getTablesIndex().getLastAt(currentIndex);
   }
 
   // ==========================================================================
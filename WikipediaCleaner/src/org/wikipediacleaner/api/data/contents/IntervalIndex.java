@@ -0,0 +1,226 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.data.contents;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Immutable index for finding intervals containing a given index.
+ *
+ * Intervals are sorted by begin index (keeping the original order for equal begin indexes),
+ * and organized as an implicit balanced binary tree where each node memorizes
+ * the maximum end index of its sub-tree.
+ * Every lookup is then done in logarithmic time instead of a linear scan.
+ */
+public class IntervalIndex<T extends Interval> {
+
+  /** Empty index */
+  @SuppressWarnings("rawtypes")
+  private static final IntervalIndex EMPTY = new IntervalIndex<>(null);
+
+  /** Intervals sorted by begin index */
+  private final List<T> elements;
+
+  /** Begin index of each interval */
+  private final int[] beginIndexes;
+
+  /** End index of each interval */
+  private final int[] endIndexes;
+
+  /** Maximum end index of the sub-tree whose root is at each position */
+  private final int[] maxEndIndexes;
+
+  /**
+   * @param intervals List of intervals.
+   * @return Index for the list of intervals.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T extends Interval> IntervalIndex<T> create(List<T> intervals) {
+    if ((intervals == null) || intervals.isEmpty()) {
+      return EMPTY;
+    }
+    return new IntervalIndex<>(intervals);
+  }
+
+  /**
+   * @param intervals List of intervals.
+   */
+  private IntervalIndex(List<T> intervals) {
+    List<T> tmpElements = new ArrayList<>();
+    if (intervals != null) {
+      tmpElements.addAll(intervals);
+    }
+
+    // Stable sort, so the original order is kept for intervals with the same begin index
+    Collections.sort(tmpElements, (o1, o2) -> Integer.compare(o1.getBeginIndex(), o2.getBeginIndex()));
+    this.elements = Collections.unmodifiableList(tmpElements);
+    int size = tmpElements.size();
+    this.beginIndexes = new int[size];
+    this.endIndexes = new int[size];
+    this.maxEndIndexes = new int[size];
+    for (int position = 0; position < size; position++) {
+      T element = tmpElements.get(position);
+      beginIndexes[position] = element.getBeginIndex();
+      endIndexes[position] = element.getEndIndex();
+    }
+    computeMaxEndIndexes(0, size);
+  }
+
+  /**
+   * Compute the maximum end indexes of a sub-tree.
+   *
+   * @param start Position of the first element of the sub-tree.
+   * @param end Position after the last element of the sub-tree.
+   * @return Maximum end index of the sub-tree.
+   */
+  private int computeMaxEndIndexes(int start, int end) {
+    if (start >= end) {
+      return Integer.MIN_VALUE;
+    }
+    int position = (start + end) >>> 1;
+    int maxEndIndex = Math.max(
+        endIndexes[position],
+        Math.max(
+            computeMaxEndIndexes(start, position),
+            computeMaxEndIndexes(position + 1, end)));
+    maxEndIndexes[position] = maxEndIndex;
+    return maxEndIndex;
+  }
+
+  /**
+   * @return Intervals sorted by begin index.
+   */
+  public List<T> getAll() {
+    return elements;
+  }
+
+  /**
+   * @return Number of intervals.
+   */
+  public int size() {
+    return beginIndexes.length;
+  }
+
+  /**
+   * @param index Index in the contents.
+   * @return True if there's an interval containing the provided index.
+   */
+  public boolean isAt(int index) {
+    return findFirst(index, 0, beginIndexes.length) >= 0;
+  }
+
+  /**
+   * Find the interval containing a given index with the smallest begin index.
+   *
+   * @param index Index in the contents.
+   * @return First interval containing the provided index.
+   */
+  public T getFirstAt(int index) {
+    int position = findFirst(index, 0, beginIndexes.length);
+    return (position >= 0) ? elements.get(position) : null;
+  }
+
+  /**
+   * Find the interval containing a given index with the greatest begin index.
+   *
+   * @param index Index in the contents.
+   * @return Last interval containing the provided index.
+   */
+  public T getLastAt(int index) {
+    int position = findLast(index, 0, beginIndexes.length);
+    return (position >= 0) ? elements.get(position) : null;
+  }
+
+  /**
+   * Find the first interval beginning at or after a given index.
+   *
+   * @param index Index in the contents.
+   * @return First interval beginning at or after the provided index.
+   */
+  public T getNext(int index) {
+    int start = 0;
+    int end = beginIndexes.length;
+    while (start < end) {
+      int position = (start + end) >>> 1;
+      if (beginIndexes[position] < index) {
+        start = position + 1;
+      } else {
+        end = position;
+      }
+    }
+    return (start < beginIndexes.length) ? elements.get(start) : null;
+  }
+
+  /**
+   * Find the first position of an interval containing a given index in a sub-tree.
+   *
+   * @param index Index in the contents.
+   * @param start Position of the first element of the sub-tree.
+   * @param end Position after the last element of the sub-tree.
+   * @return Position of the first interval containing the index (-1 if none).
+   */
+  private int findFirst(int index, int start, int end) {
+    if (start >= end) {
+      return -1;
+    }
+    if (beginIndexes[start] > index) {
+      return -1;
+    }
+    int position = (start + end) >>> 1;
+    if (maxEndIndexes[position] <= index) {
+      return -1;
+    }
+    int result = findFirst(index, start, position);
+    if (result >= 0) {
+      return result;
+    }
+    if (beginIndexes[position] > index) {
+      return -1;
+    }
+    if (endIndexes[position] > index) {
+      return position;
+    }
+    return findFirst(index, position + 1, end);
+  }
+
+  /**
+   * Find the last position of an interval containing a given index in a sub-tree.
+   *
+   * @param index Index in the contents.
+   * @param start Position of the first element of the sub-tree.
+   * @param end Position after the last element of the sub-tree.
+   * @return Position of the last interval containing the index (-1 if none).
+   */
+  private int findLast(int index, int start, int end) {
+    if (start >= end) {
+      return -1;
+    }
+    if (beginIndexes[start] > index) {
+      return -1;
+    }
+    int position = (start + end) >>> 1;
+    if (maxEndIndexes[position] <= index) {
+      return -1;
+    }
+    if (beginIndexes[position] > index) {
+      return findLast(index, start, position);
+    }
+    int result = findLast(index, position + 1, end);
+    if (result >= 0) {
+      return result;
+    }
+    if (endIndexes[position] > index) {
+      return position;
+    }
+    return findLast(index, start, position);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.data.contents;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+
+/**
+ * Immutable index for finding elements by key (name, type, ...).
+ *
+ * Elements are grouped by key, keeping their original order for each key,
+ * so every lookup is done in constant time instead of a linear scan.
+ */
+public class KeyIndex<K, T> {
+
+  /** Empty index */
+  @SuppressWarnings("rawtypes")
+  private static final KeyIndex EMPTY = new KeyIndex<>(null, null);
+
+  /** Elements by key */
+  private final Map<K, List<T>> elements;
+
+  /**
+   * @param list List of elements.
+   * @param keyFunction Function computing the key of an element (elements with a null key are ignored).
+   * @return Index for the list of elements.
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, T> KeyIndex<K, T> create(List<T> list, Function<T, K> keyFunction) {
+    if ((list == null) || list.isEmpty()) {
+      return EMPTY;
+    }
+    return new KeyIndex<>(list, keyFunction);
+  }
+
+  /**
+   * @param list List of elements.
+   * @param keyFunction Function computing the key of an element.
+   */
+  private KeyIndex(List<T> list, Function<T, K> keyFunction) {
+    Map<K, List<T>> tmpElements = new HashMap<>();
+    if (list != null) {
+      for (T element : list) {
+        K key = keyFunction.apply(element);
+        if (key != null) {
+          tmpElements.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+        }
+      }
+    }
+    for (Map.Entry<K, List<T>> entry : tmpElements.entrySet()) {
+      entry.setValue(Collections.unmodifiableList(entry.getValue()));
+    }
+    this.elements = tmpElements;
+  }
+
+  /**
+   * @param key Key.
+   * @return Elements with this key, in their original order (empty list if none).
+   */
+  public List<T> get(K key) {
+    List<T> result = (key != null) ? elements.get(key) : null;
+    return (result != null) ? result : Collections.emptyList();
+  }
+
+  /**
+   * @param key Key.
+   * @return First element with this key (null if none).
+   */
+  public T getFirst(K key) {
+    List<T> result = (key != null) ? elements.get(key) : null;
+    return (result != null) ? result.get(0) : null;
+  }
+
+  /**
+   * @param key Key.
+   * @return True if there's an element with this key.
+   */
+  public boolean contains(K key) {
+    return (key != null) && elements.containsKey(key);
+  }
+
+  /**
+   * @return Number of distinct keys.
+   */
+  public int size() {
+    return elements.size();
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.dump;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * Input stream reading chunks of bytes produced by another thread.
+ *
+ * The producer calls {@link #put(byte[])} for each chunk and {@link #close(IOException)} at the end.
+ * The queue is bounded, so the producer is blocked when the consumer is late.
+ */
+class ChunkQueueInputStream extends InputStream {
+
+  /** Marker for the end of the stream */
+  private static final byte[] END = new byte[0];
+
+  /** Queue of chunks */
+  private final BlockingQueue<byte[]> queue;
+
+  /** Error reported by the producer */
+  private volatile IOException error;
+
+  /** Current chunk */
+  private byte[] current;
+
+  /** Position in the current chunk */
+  private int position;
+
+  /** True when the end of the stream has been reached */
+  private boolean finished;
+
+  /**
+   * @param capacity Maximum number of chunks waiting in the queue.
+   */
+  ChunkQueueInputStream(int capacity) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.current = null;
+    this.position = 0;
+    this.finished = false;
+  }
+
+  /**
+   * Add a chunk of bytes to the stream.
+   *
+   * @param chunk Chunk of bytes.
+   * @throws InterruptedException if interrupted while waiting for space in the queue.
+   */
+  void put(byte[] chunk) throws InterruptedException {
+    if ((chunk != null) && (chunk.length > 0)) {
+      queue.put(chunk);
+    }
+  }
+
+  /**
+   * Mark the end of the stream.
+   *
+   * @param exception Error encountered by the producer (null if none).
+   * @throws InterruptedException if interrupted while waiting for space in the queue.
+   */
+  void close(IOException exception) throws InterruptedException {
+    this.error = exception;
+    queue.put(END);
+  }
+
+  /**
+   * Wait for the next chunk if the current one is completely read.
+   *
+   * @return True if there's something to read.
+   * @throws IOException Error reported by the producer.
+   */
+  private boolean fillCurrent() throws IOException {
+    while (!finished && ((current == null) || (position >= current.length))) {
+      try {
+        current = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for data");
+      }
+      position = 0;
+      if (current == END) {
+        finished = true;
+      }
+    }
+    if (finished && (error != null)) {
+      throw error;
+    }
+    return !finished;
+  }
+
+  /**
+   * @return Next byte.
+   * @throws IOException Error reported by the producer.
+   * @see java.io.InputStream#read()
+   */
+  @Override
+  public int read() throws IOException {
+    if (!fillCurrent()) {
+      return -1;
+    }
+    int result = current[position] & 0xFF;
+    position++;
+    return result;
+  }
+
+  /**
+   * @param b Buffer into which data is read.
+   * @param off Offset in the buffer.
+   * @param len Maximum number of bytes to read.
+   * @return Number of bytes read.
+   * @throws IOException Error reported by the producer.
+   * @see java.io.InputStream#read(byte[], int, int)
+   */
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!fillCurrent()) {
+      return -1;
+    }
+    int count = Math.min(len, current.length - position);
+    System.arraycopy(current, position, b, off, count);
+    position += count;
+    return count;
+  }
+
+  /**
+   * @return Number of bytes available without blocking.
+   * @see java.io.InputStream#available()
+   */
+  @Override
+  public int available() {
+    if ((current == null) || finished) {
+      return 0;
+    }
+    return current.length - position;
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.dump;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+
+
+/**
+ * Index of a multistream wiki dump, giving the stream containing each page.
+ *
+ * Titles are stored in UTF-8 in direct (off-heap) buffers and sorted,
+ * so the index of a large wiki doesn't fill the heap with millions of strings,
+ * and the stream containing a page is found with a binary search.
+ */
+public class DumpIndex {
+
+  /** Suffix of the name of a multistream dump */
+  private static final String DUMP_SUFFIX = "-multistream.xml";
+
+  /** Suffix of the name of a multistream dump index */
+  private static final String INDEX_SUFFIX = "-multistream-index.txt";
+
+  /** Titles in UTF-8, in the order of the index file */
+  private final ByteBuffer titles;
+
+  /** Position of each title in the titles buffer (with an extra position at the end) */
+  private final IntBuffer titleStarts;
+
+  /** Stream containing each page, in the order of the index file */
+  private final IntBuffer titleStreams;
+
+  /** Pages sorted by title */
+  private final IntBuffer sortedTitles;
+
+  /** Offset of each stream in the dump */
+  private final long[] streamOffsets;
+
+  /**
+   * Find the index file of a multistream dump.
+   *
+   * @param dumpFile File containing the wiki dump.
+   * @return Index file if the dump is a multistream dump with its index file next to it
+   *         (compressed or not).
+   */
+  public static File findIndexFile(File dumpFile) {
+    if (dumpFile == null) {
+      return null;
+    }
+    String name = dumpFile.getName();
+    int multistream = name.lastIndexOf(DUMP_SUFFIX);
+    if (multistream < 0) {
+      return null;
+    }
+    String indexName = name.substring(0, multistream) + INDEX_SUFFIX;
+    File indexFile = new File(
+        dumpFile.getParentFile(),
+        indexName + name.substring(multistream + DUMP_SUFFIX.length()));
+    if (indexFile.isFile()) {
+      return indexFile;
+    }
+    indexFile = new File(dumpFile.getParentFile(), indexName);
+    if (indexFile.isFile()) {
+      return indexFile;
+    }
+    return null;
+  }
+
+  /**
+   * Load the index of a multistream dump.
+   *
+   * Each line of the index file is formatted as offset:page id:page title.
+   *
+   * @param indexFile Index file (possibly compressed with bzip2).
+   * @return Index of the multistream dump.
+   * @throws IOException Error reading the index file.
+   */
+  public static DumpIndex load(File indexFile) throws IOException {
+
+    // Read the index in heap arrays, the direct buffers are allocated once at the end:
+    // off-heap memory of discarded direct buffers is only released by the garbage collector.
+    byte[] titles = new byte[1 << 20];
+    int titlesSize = 0;
+    int[] titleStarts = new int[1 << 14];
+    int[] titleStreams = new int[1 << 14];
+    int titleCount = 0;
+    long[] streamOffsets = new long[1024];
+    int streamCount = 0;
+    try (InputStream fis = new BufferedInputStream(new FileInputStream(indexFile))) {
+      InputStream is = fis;
+      if (indexFile.getName().endsWith(".bz2")) {
+        is = new BZip2CompressorInputStream(fis, true);
+      }
+      BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+      String line = null;
+      while ((line = reader.readLine()) != null) {
+        int colon = line.indexOf(':');
+        int secondColon = (colon > 0) ? line.indexOf(':', colon + 1) : -1;
+        if (secondColon < 0) {
+          continue;
+        }
+        long offset = 0;
+        try {
+          offset = Long.parseLong(line.substring(0, colon));
+        } catch (NumberFormatException e) {
+          throw new IOException("Incorrect line in index file: " + line, e);
+        }
+        if ((streamCount == 0) || (streamOffsets[streamCount - 1] != offset)) {
+          if ((streamCount > 0) && (streamOffsets[streamCount - 1] > offset)) {
+            throw new IOException("Index file not sorted by offset: " + line);
+          }
+          if (streamCount >= streamOffsets.length) {
+            streamOffsets = Arrays.copyOf(streamOffsets, streamOffsets.length * 2);
+          }
+          streamOffsets[streamCount] = offset;
+          streamCount++;
+        }
+        byte[] title = line.substring(secondColon + 1).getBytes(StandardCharsets.UTF_8);
+        if (titles.length - titlesSize < title.length) {
+          titles = Arrays.copyOf(titles, newCapacity(titles.length, titlesSize + (long) title.length));
+        }
+        if (titleCount + 1 >= titleStarts.length) {
+          int capacity = newCapacity(titleStarts.length, titleCount + 2L);
+          titleStarts = Arrays.copyOf(titleStarts, capacity);
+          titleStreams = Arrays.copyOf(titleStreams, capacity);
+        }
+        titleStarts[titleCount] = titlesSize;
+        titleStreams[titleCount] = streamCount - 1;
+        titleCount++;
+        System.arraycopy(title, 0, titles, titlesSize, title.length);
+        titlesSize += title.length;
+      }
+    }
+    titleStarts[titleCount] = titlesSize;
+    if (titleCount >= Integer.MAX_VALUE / 4) {
+      throw new IOException("Index file too large");
+    }
+
+    // Copy the index in direct buffers of the exact size
+    ByteBuffer directTitles = ByteBuffer.allocateDirect(Math.max(titlesSize, 1));
+    directTitles.put(titles, 0, titlesSize);
+    directTitles.flip();
+    titles = null;
+    IntBuffer directTitleStarts = ByteBuffer.allocateDirect(4 * (titleCount + 1)).asIntBuffer();
+    directTitleStarts.put(titleStarts, 0, titleCount + 1);
+    directTitleStarts.flip();
+    titleStarts = null;
+    IntBuffer directTitleStreams = ByteBuffer.allocateDirect(4 * Math.max(titleCount, 1)).asIntBuffer();
+    directTitleStreams.put(titleStreams, 0, titleCount);
+    directTitleStreams.flip();
+    titleStreams = null;
+    return new DumpIndex(
+        directTitles, directTitleStarts, directTitleStreams,
+        Arrays.copyOf(streamOffsets, streamCount));
+  }
+
+  /**
+   * @param titles Titles in UTF-8.
+   * @param titleStarts Position of each title.
+   * @param titleStreams Stream containing each page.
+   * @param streamOffsets Offset of each stream.
+   */
+  private DumpIndex(
+      ByteBuffer titles, IntBuffer titleStarts, IntBuffer titleStreams,
+      long[] streamOffsets) {
+    this.titles = titles;
+    this.titleStarts = titleStarts;
+    this.titleStreams = titleStreams;
+    this.streamOffsets = streamOffsets;
+
+    // Sort pages by title
+    int size = titleStreams.limit();
+    int[] sorted = new int[size];
+    for (int page = 0; page < size; page++) {
+      sorted[page] = page;
+    }
+    int[] buffer = new int[size];
+    for (int width = 1; width < size; width *= 2) {
+      for (int begin = 0; begin < size; begin += 2 * width) {
+        int middle = Math.min(begin + width, size);
+        int end = Math.min(begin + 2 * width, size);
+        int left = begin;
+        int right = middle;
+        for (int pos = begin; pos < end; pos++) {
+          if ((left < middle) &&
+              ((right >= end) || (compareTitles(sorted[left], sorted[right]) <= 0))) {
+            buffer[pos] = sorted[left++];
+          } else {
+            buffer[pos] = sorted[right++];
+          }
+        }
+      }
+      int[] tmp = sorted;
+      sorted = buffer;
+      buffer = tmp;
+    }
+    this.sortedTitles = ByteBuffer.allocateDirect(4 * Math.max(size, 1)).asIntBuffer();
+    this.sortedTitles.put(sorted, 0, size);
+    this.sortedTitles.flip();
+  }
+
+  /**
+   * @return Number of pages in the index.
+   */
+  public int size() {
+    return titleStreams.limit();
+  }
+
+  /**
+   * @return Number of streams in the dump.
+   */
+  public int getStreamCount() {
+    return streamOffsets.length;
+  }
+
+  /**
+   * @return Offset of each stream in the dump.
+   */
+  public long[] getStreamOffsets() {
+    return streamOffsets.clone();
+  }
+
+  /**
+   * @param stream Stream number.
+   * @return Offset of the stream in the dump.
+   */
+  public long getStreamOffset(int stream) {
+    return streamOffsets[stream];
+  }
+
+  /**
+   * Find the stream containing a page.
+   *
+   * @param title Page title.
+   * @return Stream number containing the page (-1 if the page is not in the index).
+   */
+  public int findStream(String title) {
+    if (title == null) {
+      return -1;
+    }
+    byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = sortedTitles.limit() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int page = sortedTitles.get(middle);
+      int comparison = compareTitle(page, bytes);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return titleStreams.get(page);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Compare the titles of two pages (unsigned UTF-8 bytes, i.e. code point order).
+   *
+   * @param page1 First page.
+   * @param page2 Second page.
+   * @return Comparison result.
+   */
+  private int compareTitles(int page1, int page2) {
+    int pos1 = titleStarts.get(page1);
+    int end1 = titleStarts.get(page1 + 1);
+    int pos2 = titleStarts.get(page2);
+    int end2 = titleStarts.get(page2 + 1);
+    while ((pos1 < end1) && (pos2 < end2)) {
+      int comparison = Integer.compare(titles.get(pos1) & 0xFF, titles.get(pos2) & 0xFF);
+      if (comparison != 0) {
+        return comparison;
+      }
+      pos1++;
+      pos2++;
+    }
+    return Integer.compare(end1 - pos1, end2 - pos2);
+  }
+
+  /**
+   * Compare the title of a page with a title.
+   *
+   * @param page Page.
+   * @param title Title in UTF-8.
+   * @return Comparison result.
+   */
+  private int compareTitle(int page, byte[] title) {
+    int pos = titleStarts.get(page);
+    int end = titleStarts.get(page + 1);
+    int index = 0;
+    while ((pos < end) && (index < title.length)) {
+      int comparison = Integer.compare(titles.get(pos) & 0xFF, title[index] & 0xFF);
+      if (comparison != 0) {
+        return comparison;
+      }
+      pos++;
+      index++;
+    }
+    return Integer.compare(end - pos, title.length - index);
+  }
+
+  /**
+   * @param capacity Current capacity of an array.
+   * @param needed Capacity needed.
+   * @return New capacity of the array.
+   * @throws IOException if the array would be too large.
+   */
+  private static int newCapacity(int capacity, long needed) throws IOException {
+    long result = Math.max(2L * capacity, needed);
+    if (result > Integer.MAX_VALUE - 8) {
+      result = Integer.MAX_VALUE - 8;
+    }
+    if (result < needed) {
+      throw new IOException("Index file too large");
+    }
+    return (int) result;
+  }
+}
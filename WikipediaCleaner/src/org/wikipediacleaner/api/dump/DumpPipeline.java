@@ -0,0 +1,390 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.dump;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+
+
+/**
+ * Staged pipeline for processing wiki dumps.
+ *
+ * <ul>
+ * <li>Decompression stage: one thread reading the decompressed dump in chunks of bytes.</li>
+ * <li>Parsing stage: one thread parsing the XML and creating the pages.</li>
+ * <li>Analysis stage: several threads calling the page processor.</li>
+ * </ul>
+ * Stages are joined by bounded blocking queues, so a fast stage waits for a slower one
+ * instead of filling the memory.
+ */
+class DumpPipeline {
+
+  /** Logger */
+  private final Logger log = LoggerFactory.getLogger(DumpPipeline.class);
+
+  /** Size of the chunks of bytes passed from the decompression stage to the parsing stage */
+  private static final int CHUNK_SIZE = 256 * 1024;
+
+  /** Maximum number of chunks of bytes waiting for the parsing stage */
+  private static final int CHUNK_QUEUE_CAPACITY = 64;
+
+  /** Number of pages passed together from the parsing stage to the analysis stage */
+  private static final int BATCH_SIZE = 16;
+
+  /** Number of pages between each progress report */
+  private static final long PROGRESS_INTERVAL = 100000;
+
+  /** Marker for the end of the pages */
+  private static final List<Page> END = new ArrayList<>(0);
+
+  /** Page processor */
+  final PageProcessor processor;
+
+  /** Number of threads for the analysis stage */
+  private final int analysisThreads;
+
+  /** Queue of batches of pages waiting for the analysis stage */
+  private final BlockingQueue<List<Page>> pages;
+
+  /** Threads of the pipeline */
+  private final List<Thread> threads;
+
+  /** First error encountered by a stage */
+  private volatile Throwable failure;
+
+  /** Number of bytes produced by the decompression stage */
+  private final AtomicLong bytesDecompressed = new AtomicLong();
+
+  /** Number of pages produced by the parsing stage */
+  private final AtomicLong pagesParsed = new AtomicLong();
+
+  /** Number of pages processed by the analysis stage */
+  private final AtomicLong pagesProcessed = new AtomicLong();
+
+  /** Time (ns) spent by the decompression stage waiting for the parsing stage */
+  private final AtomicLong decompressionWait = new AtomicLong();
+
+  /** Time (ns) spent by the parsing stage waiting for the analysis stage */
+  private final AtomicLong parsingWait = new AtomicLong();
+
+  /** Time (ns) spent by the analysis stage waiting for the parsing stage */
+  private final AtomicLong analysisWait = new AtomicLong();
+
+  /**
+   * @param processor Page processor.
+   * @param analysisThreads Number of threads for the analysis stage.
+   */
+  DumpPipeline(PageProcessor processor, int analysisThreads) {
+    this.processor = processor;
+    this.analysisThreads = Math.max(1, analysisThreads);
+    this.pages = new ArrayBlockingQueue<>(Math.max(4, this.analysisThreads * 4));
+    this.threads = new ArrayList<>();
+  }
+
+  /**
+   * Process a dump.
+   * Returns only when all the pages of the dump have been processed.
+   *
+   * @param input Decompressed dump. It is read and closed by the decompression stage.
+   * @param name Name of the dump.
+   * @throws Exception Error encountered by a stage.
+   */
+  void process(InputStream input, String name) throws Exception {
+    long beginTime = System.nanoTime();
+    ChunkQueueInputStream chunks = new ChunkQueueInputStream(CHUNK_QUEUE_CAPACITY);
+    threads.add(createThread(() -> decompress(input, chunks), "Dump-decompress"));
+    threads.add(createThread(() -> parse(chunks), "Dump-parse"));
+    for (int thread = 0; thread < analysisThreads; thread++) {
+      threads.add(createThread(this::analyze, "Dump-analyze-" + thread));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    try {
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    } catch (InterruptedException e) {
+      abort(e);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      Thread.currentThread().interrupt();
+    }
+    logStatistics(name, System.nanoTime() - beginTime);
+    Throwable error = failure;
+    if (error instanceof Exception) {
+      throw (Exception) error;
+    }
+    if (error != null) {
+      throw new IOException(error);
+    }
+  }
+
+  /**
+   * Create a thread for a stage.
+   *
+   * Any error escaping the stage aborts the pipeline,
+   * so it's reported by {@link #process} and the other stages don't wait forever.
+   *
+   * @param stage Stage.
+   * @param name Name of the thread.
+   * @return Thread running the stage.
+   */
+  private Thread createThread(Runnable stage, String name) {
+    return new Thread(() -> {
+      try {
+        stage.run();
+      } catch (Throwable t) {
+        abort(t);
+      }
+    }, name);
+  }
+
+  /**
+   * Abort the pipeline after an error.
+   *
+   * @param error Error encountered by a stage.
+   */
+  private synchronized void abort(Throwable error) {
+    if (failure != null) {
+      return;
+    }
+    failure = error;
+    for (Thread thread : threads) {
+      if (thread != Thread.currentThread()) {
+        thread.interrupt();
+      }
+    }
+  }
+
+  /**
+   * Decompression stage: read the decompressed dump in chunks.
+   *
+   * @param input Decompressed dump.
+   * @param chunks Stream of chunks for the parsing stage.
+   */
+  private void decompress(InputStream input, ChunkQueueInputStream chunks) {
+    IOException error = null;
+    try (InputStream is = input) {
+      byte[] buffer = new byte[CHUNK_SIZE];
+      int length = 0;
+      int count = 0;
+      while ((count = is.read(buffer, length, buffer.length - length)) >= 0) {
+        length += count;
+        if (length >= buffer.length) {
+          putChunk(chunks, buffer, length);
+          buffer = new byte[CHUNK_SIZE];
+          length = 0;
+        }
+      }
+      putChunk(chunks, buffer, length);
+    } catch (IOException e) {
+      error = e;
+    } catch (InterruptedException e) {
+      abort(e);
+      return;
+    }
+    try {
+      chunks.close(error);
+    } catch (InterruptedException e) {
+      abort(e);
+    }
+  }
+
+  /**
+   * Pass a chunk of bytes to the parsing stage.
+   *
+   * @param chunks Stream of chunks for the parsing stage.
+   * @param buffer Buffer containing the bytes.
+   * @param length Number of bytes in the buffer.
+   * @throws InterruptedException if interrupted while waiting for the parsing stage.
+   */
+  private void putChunk(
+      ChunkQueueInputStream chunks,
+      byte[] buffer, int length) throws InterruptedException {
+    if (length <= 0) {
+      return;
+    }
+    long beginTime = System.nanoTime();
+    chunks.put((length < buffer.length) ? Arrays.copyOf(buffer, length) : buffer);
+    decompressionWait.addAndGet(System.nanoTime() - beginTime);
+    bytesDecompressed.addAndGet(length);
+  }
+
+  /**
+   * Parsing stage: parse the XML and pass pages to the analysis stage.
+   *
+   * @param chunks Stream of chunks from the decompression stage.
+   */
+  private void parse(ChunkQueueInputStream chunks) {
+    BatchingPageProcessor batcher = new BatchingPageProcessor();
+    try {
+      DumpReader reader = new DumpReader();
+      reader.setPageProcessor(batcher);
+      reader.read(chunks);
+      batcher.flush();
+    } catch (Exception e) {
+      abort(e);
+      return;
+    }
+    try {
+      for (int thread = 0; thread < analysisThreads; thread++) {
+        pages.put(END);
+      }
+    } catch (InterruptedException e) {
+      abort(e);
+    }
+  }
+
+  /**
+   * Analysis stage: call the page processor for each page.
+   */
+  private void analyze() {
+    try {
+      while (true) {
+        long beginTime = System.nanoTime();
+        List<Page> batch = pages.take();
+        analysisWait.addAndGet(System.nanoTime() - beginTime);
+        if (batch == END) {
+          return;
+        }
+        for (Page page : batch) {
+          try {
+            processor.processPage(page);
+          } catch (RuntimeException e) {
+            log.error("Error processing page {}", page.getTitle(), e);
+          }
+          long count = pagesProcessed.incrementAndGet();
+          if (count % PROGRESS_INTERVAL == 0) {
+            log.info(
+                "Dump pipeline has processed {} pages ({} parsed, {} MB decompressed)",
+                Long.valueOf(count),
+                Long.valueOf(pagesParsed.get()),
+                Long.valueOf(bytesDecompressed.get() >> 20));
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      abort(e);
+    }
+  }
+
+  /**
+   * Log statistics about the stages of the pipeline.
+   *
+   * @param name Name of the dump.
+   * @param duration Total duration (ns).
+   */
+  private void logStatistics(String name, long duration) {
+    double seconds = Math.max(duration, 1) / 1e9;
+    log.info(
+        "Dump pipeline for {} in {}s: " +
+        "decompression {} MB ({} MB/s, waited {}s), " +
+        "parsing {} pages ({} pages/s, waited {}s), " +
+        "analysis {} pages with {} threads ({} pages/s, waited {}s)",
+        name, Long.valueOf(Math.round(seconds)),
+        Long.valueOf(bytesDecompressed.get() >> 20),
+        Long.valueOf(Math.round((bytesDecompressed.get() >> 20) / seconds)),
+        Long.valueOf(decompressionWait.get() / 1000000000L),
+        Long.valueOf(pagesParsed.get()),
+        Long.valueOf(Math.round(pagesParsed.get() / seconds)),
+        Long.valueOf(parsingWait.get() / 1000000000L),
+        Long.valueOf(pagesProcessed.get()),
+        Integer.valueOf(analysisThreads),
+        Long.valueOf(Math.round(pagesProcessed.get() / seconds)),
+        Long.valueOf(analysisWait.get() / 1000000000L));
+  }
+
+  /**
+   * Page processor used by the parsing stage to pass pages in batches to the analysis stage.
+   */
+  private class BatchingPageProcessor implements PageProcessor {
+
+    /** Current batch of pages */
+    private List<Page> batch = new ArrayList<>(BATCH_SIZE);
+
+    /**
+     * @return Wiki.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#getWiki()
+     */
+    @Override
+    public EnumWikipedia getWiki() {
+      return processor.getWiki();
+    }
+
+    /**
+     * @param namespace Namespace.
+     * @return True if the processor should work on the namespace.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForNamespace(java.lang.Integer)
+     */
+    @Override
+    public boolean isForNamespace(Integer namespace) {
+      return processor.isForNamespace(namespace);
+    }
+
+    /**
+     * @param namespace Namespace.
+     * @param title Page title.
+     * @param redirect True if the page is a redirect.
+     * @return True if the processor should work on the page.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForPage(java.lang.Integer, java.lang.String, boolean)
+     */
+    @Override
+    public boolean isForPage(Integer namespace, String title, boolean redirect) {
+      return processor.isForPage(namespace, title, redirect);
+    }
+
+    /**
+     * @param page Page to be processed.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#processPage(org.wikipediacleaner.api.data.Page)
+     */
+    @Override
+    public void processPage(Page page) {
+      if (page == null) {
+        return;
+      }
+      pagesParsed.incrementAndGet();
+      batch.add(page);
+      if (batch.size() >= BATCH_SIZE) {
+        flush();
+      }
+    }
+
+    /**
+     * Pass the current batch of pages to the analysis stage.
+     */
+    void flush() {
+      if (batch.isEmpty()) {
+        return;
+      }
+      long beginTime = System.nanoTime();
+      try {
+        pages.put(batch);
+      } catch (InterruptedException e) {
+        // Parsing is aborted by stopping the decompression stage
+        Thread.currentThread().interrupt();
+        abort(e);
+      }
+      parsingWait.addAndGet(System.nanoTime() - beginTime);
+      batch = new ArrayList<>(BATCH_SIZE);
+    }
+  }
+}
@@ -11,17 +11,14 @@ package org.wikipediacleaner.api.dump;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
 
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xml.sax.InputSource;
 
 
 /**
@@ -35,17 +32,46 @@ public class DumpProcessor {
   /** Page processor */
   private final PageProcessor pageProcessor;
 
+  /** Number of threads for analyzing pages (0 to process everything in the calling thread) */
+  private final int analysisThreads;
+
   /**
    * Create a wiki dumps processor.
    * 
    * @param pageProcessor Page processor.
    */
   public DumpProcessor(PageProcessor pageProcessor) {
+    this(pageProcessor, 0);
+  }
+
+  /**
+   * Create a wiki dumps processor.
+   * 
+   * @param pageProcessor Page processor.
+   * @param analysisThreads Number of threads for analyzing pages.
+   *        If strictly positive, the dump is processed by a pipeline
+   *        (decompression, parsing and analysis in separate threads)
+   *        and the page processor must accept concurrent calls.
+   *        Otherwise, everything is done in the calling thread.
+   *        When a multistream dump is processed with its index file next to it,
+   *        streams are decompressed in parallel by these threads.
+   */
+  public DumpProcessor(PageProcessor pageProcessor, int analysisThreads) {
     this.pageProcessor = pageProcessor;
+    this.analysisThreads = analysisThreads;
+  }
+
+  /**
+   * @return Default number of threads for analyzing pages,
+   *         keeping processors available for decompression and parsing.
+   */
+  public static int getDefaultAnalysisThreads() {
+    return Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
   }
 
   /**
    * Process a wiki dump.
+   * Returns only when all pages have been processed.
    * 
    * @param file File containing the wiki dump.
    */
@@ -53,21 +79,26 @@ public class DumpProcessor {
     if (file == null) {
       return;
     }
+    if (analysisThreads > 0) {
+      File indexFile = DumpIndex.findIndexFile(file);
+      if (indexFile != null) {
+        processMultistreamDump(file, indexFile, false);
+      } else {
+        processDumpWithPipeline(file);
+      }
+      return;
+    }
     FileInputStream fis = null;
     BufferedInputStream bis = null;
     BZip2CompressorInputStream bzis = null;
     try {
       log.info("Starting dump processing for {}", file.getName());
-      SAXParserFactory factory = SAXParserFactory.newInstance();
-      SAXParser parser = factory.newSAXParser();
       fis = new FileInputStream(file);
       bis = new BufferedInputStream(fis);
       bzis = new BZip2CompressorInputStream(bis);
-      Reader reader = new InputStreamReader(bzis, StandardCharsets.UTF_8);
-      InputSource is = new InputSource(reader); 
-      DumpHandler dh = new DumpHandler();
-      dh.setPageProcessor(pageProcessor);
-      parser.parse(is, dh);
+      DumpReader reader = new DumpReader();
+      reader.setPageProcessor(pageProcessor);
+      reader.read(bzis);
       log.info("Finishing dump processing for {}", file.getName());
     } catch (Exception e) {
       log.error("Error processing dump file", e);
@@ -89,4 +120,96 @@ public class DumpProcessor {
       log.info("Finished closing dump file {}", file.getName());
     }
   }
+
+  /**
+   * Process a wiki dump with a pipeline.
+   * 
+   * @param file File containing the wiki dump.
+   */
+  private void processDumpWithPipeline(File file) {
+    try {
+      log.info("Starting dump processing for {} with {} analysis threads", file.getName(), analysisThreads);
+      FileInputStream fis = new FileInputStream(file);
+      InputStream is = null;
+      try {
+        is = new BZip2CompressorInputStream(new BufferedInputStream(fis));
+      } catch (IOException e) {
+        fis.close();
+        throw e;
+      }
+      DumpPipeline pipeline = new DumpPipeline(pageProcessor, analysisThreads);
+      pipeline.process(is, file.getName());
+      log.info("Finishing dump processing for {}", file.getName());
+    } catch (Exception e) {
+      log.error("Error processing dump file", e);
+    }
+  }
+
+  /**
+   * Process a multistream wiki dump.
+   * Returns only when all pages have been processed.
+   * 
+   * @param file File containing the wiki dump.
+   * @param indexFile File containing the index of the streams.
+   * @param ordered True to process the pages in the order of the dump, in the calling thread.
+   *        Otherwise, pages are processed in the threads decompressing the streams
+   *        and the page processor must accept concurrent calls.
+   */
+  public void processMultistreamDump(File file, File indexFile, boolean ordered) {
+    if ((file == null) || (indexFile == null)) {
+      return;
+    }
+    try {
+      log.info("Starting multistream dump processing for {}", file.getName());
+
+      // Decompression and parsing are done by the same threads as the analysis
+      int threads = ((analysisThreads > 0) ? analysisThreads : getDefaultAnalysisThreads()) + 2;
+      MultistreamDumpReader reader = new MultistreamDumpReader(pageProcessor, threads, ordered);
+      reader.process(file, indexFile);
+      log.info("Finishing dump processing for {}", file.getName());
+    } catch (Exception e) {
+      log.error("Error processing dump file", e);
+    }
+  }
+
+  /**
+   * Process some pages of a multistream wiki dump.
+   * Only the streams containing the pages are decompressed,
+   * other pages of these streams are also passed to the page processor.
+   * Pages are processed by the analysis threads if any, otherwise in the calling thread.
+   * Returns only when all pages have been processed.
+   * 
+   * @param file File containing the wiki dump.
+   * @param index Index of the wiki dump.
+   * @param titles Titles of the pages to be processed.
+   */
+  public void processPages(File file, DumpIndex index, Collection<String> titles) {
+    if ((file == null) || (index == null) || (titles == null)) {
+      return;
+    }
+    try {
+      int[] streams = new int[titles.size()];
+      int streamCount = 0;
+      int missing = 0;
+      for (String title : titles) {
+        int stream = index.findStream(title);
+        if (stream >= 0) {
+          streams[streamCount] = stream;
+          streamCount++;
+        } else {
+          missing++;
+        }
+      }
+      streams = Arrays.stream(streams, 0, streamCount).sorted().distinct().toArray();
+      log.info(
+          "Starting processing of {} pages in {} streams of {} ({} pages not in the dump)",
+          titles.size(), streams.length, file.getName(), missing);
+      int threads = ((analysisThreads > 0) ? analysisThreads : getDefaultAnalysisThreads()) + 2;
+      MultistreamDumpReader reader = new MultistreamDumpReader(pageProcessor, threads, analysisThreads <= 0);
+      reader.process(file, index.getStreamOffsets(), streams);
+      log.info("Finishing dump processing for {}", file.getName());
+    } catch (Exception e) {
+      log.error("Error processing dump file", e);
+    }
+  }
 }
@@ -0,0 +1,342 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.dump;
+
+import java.io.InputStream;
+import java.util.Arrays;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.PageRedirect;
+
+
+/**
+ * Pull reader for wiki dumps.
+ *
+ * The page processor is asked if it works on a page as soon as the title,
+ * the namespace and the redirect status are known, before the revision:
+ * the text of rejected pages is skipped without being copied.
+ * Buffers are reused between pages, so only the strings passed to the page processor are allocated.
+ */
+public class DumpReader {
+
+  /** Logger */
+  private final Logger log = LoggerFactory.getLogger(DumpReader.class);
+
+  /** Factory for creating XML readers */
+  private final XMLInputFactory factory;
+
+  /** Page processor */
+  private PageProcessor processor;
+
+  /** Number of pages read */
+  private long pageCount;
+
+  /** Page title */
+  private final CharBuffer title;
+
+  /** Name space */
+  private final CharBuffer namespace;
+
+  /** Page id */
+  private final CharBuffer pageId;
+
+  /** Redirect */
+  private String redirect;
+
+  /** Revision id */
+  private final CharBuffer revisionId;
+
+  /** Revision text */
+  private final CharBuffer revisionText;
+
+  /**
+   * Constructor.
+   */
+  public DumpReader() {
+    factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    pageCount = 0;
+    title = new CharBuffer(256);
+    namespace = new CharBuffer(16);
+    pageId = new CharBuffer(16);
+    revisionId = new CharBuffer(16);
+    revisionText = new CharBuffer(64 * 1024);
+  }
+
+  /**
+   * @param processor Page processor.
+   */
+  public void setPageProcessor(PageProcessor processor) {
+    this.processor = processor;
+  }
+
+  /**
+   * Read a dump and pass its pages to the page processor.
+   *
+   * @param input Decompressed dump (UTF-8).
+   * @throws XMLStreamException Error parsing the dump.
+   */
+  public void read(InputStream input) throws XMLStreamException {
+    XMLStreamReader reader = factory.createXMLStreamReader(input, "UTF-8");
+    try {
+      while (reader.hasNext()) {
+        if ((reader.next() == XMLStreamConstants.START_ELEMENT) &&
+            "page".equals(reader.getLocalName())) {
+          readPage(reader);
+        }
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * Read a page, the reader being just after the page start element.
+   *
+   * @param reader XML reader.
+   * @throws XMLStreamException Error parsing the dump.
+   */
+  private void readPage(XMLStreamReader reader) throws XMLStreamException {
+    cleanPageInformation();
+    increasePageCount();
+    int depth = 1;
+    boolean isInRevision = false;
+    boolean accepted = false;
+    CharBuffer current = null;
+    while (reader.hasNext()) {
+      switch (reader.next()) {
+      case XMLStreamConstants.START_ELEMENT:
+        depth++;
+        current = null;
+        String name = reader.getLocalName();
+        if (depth == 2) {
+          if ("title".equals(name)) {
+            current = title;
+          } else if ("ns".equals(name)) {
+            current = namespace;
+          } else if ("id".equals(name)) {
+            current = pageId;
+          } else if ("redirect".equals(name)) {
+            redirect = reader.getAttributeValue(null, "title");
+          } else if ("revision".equals(name)) {
+            if (!accepted) {
+              if (!isForPage()) {
+                skipPage(reader, depth);
+                return;
+              }
+              accepted = true;
+            }
+            isInRevision = true;
+            revisionId.clear();
+            revisionText.clear();
+          }
+        } else if ((depth == 3) && isInRevision) {
+          if ("id".equals(name)) {
+            current = revisionId;
+          } else if ("text".equals(name)) {
+            current = revisionText;
+          }
+        }
+        break;
+
+      case XMLStreamConstants.CHARACTERS:
+      case XMLStreamConstants.CDATA:
+        if (current != null) {
+          current.append(reader);
+        }
+        break;
+
+      case XMLStreamConstants.END_ELEMENT:
+        depth--;
+        current = null;
+        if (depth == 1) {
+          isInRevision = false;
+        } else if (depth == 0) {
+          if (accepted || isForPage()) {
+            processPage();
+          }
+          return;
+        }
+        break;
+
+      default:
+        break;
+      }
+    }
+  }
+
+  /**
+   * Skip the rest of a page without reading its contents.
+   *
+   * @param reader XML reader.
+   * @param depth Current depth in the page.
+   * @throws XMLStreamException Error parsing the dump.
+   */
+  private void skipPage(XMLStreamReader reader, int depth) throws XMLStreamException {
+    while ((depth > 0) && reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  /**
+   * @return True if the page processor works on the current page.
+   */
+  private boolean isForPage() {
+    if (processor == null) {
+      return false;
+    }
+    int namespaceNum = namespace.toInt();
+    if (namespaceNum == Integer.MIN_VALUE) {
+      log.error("Incorrect namespace {} for page {}", namespace, title);
+      return false;
+    }
+    return processor.isForPage(
+        Integer.valueOf(namespaceNum), title.toString(),
+        (redirect != null) && !redirect.isEmpty());
+  }
+
+  /**
+   * Create the current page and pass it to the page processor.
+   */
+  private void processPage() {
+    int pageIdNum = pageId.toInt();
+    if (pageIdNum == Integer.MIN_VALUE) {
+      log.error("Incorrect page id {} for page {}", pageId, title);
+      return;
+    }
+    Integer namespaceId = Integer.valueOf(namespace.toInt());
+    Page currentPage = DataManager.createSimplePage(
+        processor.getWiki(), title.toString(),
+        Integer.valueOf(pageIdNum), revisionId.toString(),
+        namespaceId);
+    currentPage.setNamespace(namespaceId);
+    currentPage.setContents(revisionText.toString());
+    if ((redirect != null) && !redirect.isEmpty()) {
+      PageRedirect redirects = currentPage.getRedirects();
+      redirects.isRedirect(true);
+      redirects.add(DataManager.createSimplePage(processor.getWiki(), redirect, null, null, null), null);
+    }
+    processor.processPage(currentPage);
+  }
+
+  /**
+   * Increase page count.
+   */
+  private void increasePageCount() {
+    pageCount++;
+    if (pageCount % 100000 == 0) {
+      log.info("Dump parser has gone through {} pages", pageCount);
+    }
+  }
+
+  /**
+   * Clean current page information.
+   */
+  private void cleanPageInformation() {
+    title.clear();
+    namespace.clear();
+    pageId.clear();
+    redirect = null;
+    revisionId.clear();
+    revisionText.clear();
+  }
+
+  /**
+   * Reusable buffer of characters.
+   */
+  private static class CharBuffer {
+
+    /** Characters */
+    private char[] chars;
+
+    /** Number of characters */
+    private int length;
+
+    /**
+     * @param capacity Initial capacity.
+     */
+    CharBuffer(int capacity) {
+      chars = new char[capacity];
+      length = 0;
+    }
+
+    /**
+     * Empty the buffer.
+     */
+    void clear() {
+      length = 0;
+    }
+
+    /**
+     * Append the current text of the reader, without creating an intermediate string.
+     *
+     * @param reader XML reader.
+     */
+    void append(XMLStreamReader reader) {
+      int count = reader.getTextLength();
+      if (length + count > chars.length) {
+        chars = Arrays.copyOf(chars, Math.max(2 * chars.length, length + count));
+      }
+      System.arraycopy(reader.getTextCharacters(), reader.getTextStart(), chars, length, count);
+      length += count;
+    }
+
+    /**
+     * @return Integer value of the buffer (Integer.MIN_VALUE if it's not an integer).
+     */
+    int toInt() {
+      if (length == 0) {
+        return Integer.MIN_VALUE;
+      }
+      boolean negative = (chars[0] == '-');
+      int index = negative ? 1 : 0;
+      if (index >= length) {
+        return Integer.MIN_VALUE;
+      }
+      long value = 0;
+      while (index < length) {
+        char currentChar = chars[index];
+        if ((currentChar < '0') || (currentChar > '9')) {
+          return Integer.MIN_VALUE;
+        }
+        value = value * 10 + (currentChar - '0');
+        if (value > Integer.MAX_VALUE) {
+          return Integer.MIN_VALUE;
+        }
+        index++;
+      }
+      return (int) (negative ? -value : value);
+    }
+
+    /**
+     * @return Contents of the buffer.
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+      return new String(chars, 0, length);
+    }
+  }
+}
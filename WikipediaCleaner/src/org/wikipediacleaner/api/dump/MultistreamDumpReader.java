@@ -0,0 +1,346 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.dump;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+
+
+/**
+ * Reader for multistream wiki dumps.
+ *
+ * Multistream dumps are made of independent bzip2 streams (100 pages per stream),
+ * and an index file gives the offset of each stream in the dump.
+ * Streams are decompressed and parsed in parallel on a fork-join pool.
+ */
+class MultistreamDumpReader {
+
+  /** Logger */
+  private final Logger log = LoggerFactory.getLogger(MultistreamDumpReader.class);
+
+  /** Prefix added before the contents of each stream to make a valid XML document */
+  private static final byte[] PREFIX = "<mediawiki>".getBytes(StandardCharsets.UTF_8);
+
+  /** Suffix added after the contents of each stream to make a valid XML document */
+  private static final byte[] SUFFIX = "</mediawiki>".getBytes(StandardCharsets.UTF_8);
+
+  /** Number of pages between each progress report */
+  private static final long PROGRESS_INTERVAL = 100000;
+
+  /** Page processor */
+  final PageProcessor processor;
+
+  /** Number of threads */
+  private final int threads;
+
+  /** True if pages should be processed in the order of the dump */
+  final boolean ordered;
+
+  /** Dump reader for each thread, so buffers are reused between streams */
+  private final ThreadLocal<DumpReader> readers = ThreadLocal.withInitial(DumpReader::new);
+
+  /** Number of bytes read from the dump */
+  private final AtomicLong bytesRead = new AtomicLong();
+
+  /** Number of bytes produced by the decompression */
+  private final AtomicLong bytesDecompressed = new AtomicLong();
+
+  /** Number of pages processed */
+  private final AtomicLong pagesProcessed = new AtomicLong();
+
+  /**
+   * @param processor Page processor.
+   * @param threads Number of threads.
+   * @param ordered True if pages should be processed in the order of the dump, in the calling thread.
+   *        Otherwise, pages are processed by the threads of the pool
+   *        and the page processor must accept concurrent calls.
+   */
+  MultistreamDumpReader(PageProcessor processor, int threads, boolean ordered) {
+    this.processor = processor;
+    this.threads = Math.max(1, threads);
+    this.ordered = ordered;
+  }
+
+  /**
+   * Read the offsets of the streams in the index file.
+   *
+   * Each line of the index file is formatted as offset:page id:page title.
+   *
+   * @param indexFile Index file (possibly compressed with bzip2).
+   * @return Sorted offsets of the streams.
+   * @throws IOException Error reading the index file.
+   */
+  static long[] readOffsets(File indexFile) throws IOException {
+    long[] offsets = new long[1024];
+    int count = 0;
+    try (InputStream fis = new BufferedInputStream(new FileInputStream(indexFile))) {
+      InputStream is = fis;
+      if (indexFile.getName().endsWith(".bz2")) {
+        is = new BZip2CompressorInputStream(fis, true);
+      }
+      BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+      String line = null;
+      while ((line = reader.readLine()) != null) {
+        int colon = line.indexOf(':');
+        if (colon <= 0) {
+          continue;
+        }
+        long offset = 0;
+        try {
+          offset = Long.parseLong(line.substring(0, colon));
+        } catch (NumberFormatException e) {
+          throw new IOException("Incorrect line in index file: " + line, e);
+        }
+        if ((count > 0) && (offsets[count - 1] == offset)) {
+          continue;
+        }
+        if (count >= offsets.length) {
+          offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[count] = offset;
+        count++;
+      }
+    }
+    offsets = Arrays.copyOf(offsets, count);
+    Arrays.sort(offsets);
+    return offsets;
+  }
+
+  /**
+   * Process a multistream dump.
+   * Returns only when all the pages of the dump have been processed.
+   *
+   * @param file File containing the wiki dump.
+   * @param indexFile Index file of the wiki dump.
+   * @throws Exception Error processing the dump.
+   */
+  void process(File file, File indexFile) throws Exception {
+    process(file, readOffsets(indexFile), null);
+  }
+
+  /**
+   * Process some streams of a multistream dump.
+   * Returns only when all the pages of the streams have been processed.
+   *
+   * @param file File containing the wiki dump.
+   * @param offsets Sorted offsets of all the streams of the dump.
+   * @param streams Sorted list of streams to be processed (null for all streams).
+   * @throws Exception Error processing the dump.
+   */
+  void process(File file, long[] offsets, int[] streams) throws Exception {
+    long beginTime = System.nanoTime();
+    int streamCount = (streams != null) ? streams.length : offsets.length;
+    log.info(
+        "Processing {} streams of {} with {} threads",
+        Integer.valueOf(streamCount), file.getName(), Integer.valueOf(threads));
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    Deque<ForkJoinTask<List<Page>>> tasks = new ArrayDeque<>();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      int maxTasks = threads * 4;
+      for (int streamNum = 0; streamNum < streamCount; streamNum++) {
+        int stream = (streams != null) ? streams[streamNum] : streamNum;
+        long begin = offsets[stream];
+        long end = (stream + 1 < offsets.length) ? offsets[stream + 1] : size;
+        if (tasks.size() >= maxTasks) {
+          waitForStream(tasks.removeFirst());
+        }
+        tasks.addLast(pool.submit(() -> readStream(channel, begin, end)));
+      }
+      while (!tasks.isEmpty()) {
+        waitForStream(tasks.removeFirst());
+      }
+    } finally {
+      for (ForkJoinTask<List<Page>> task : tasks) {
+        task.cancel(true);
+      }
+      pool.shutdownNow();
+      logStatistics(file.getName(), System.nanoTime() - beginTime);
+    }
+  }
+
+  /**
+   * Wait for the processing of a stream.
+   *
+   * @param task Task processing the stream.
+   * @throws Exception Error processing the stream.
+   */
+  private void waitForStream(ForkJoinTask<List<Page>> task) throws Exception {
+    List<Page> pages = null;
+    try {
+      pages = task.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+    for (Page page : pages) {
+      processPage(page);
+    }
+  }
+
+  /**
+   * Decompress and parse a stream.
+   *
+   * @param channel Channel on the dump.
+   * @param begin Offset of the beginning of the stream.
+   * @param end Offset of the end of the stream.
+   * @return Pages to be processed in the calling thread.
+   * @throws Exception Error processing the stream.
+   */
+  private List<Page> readStream(FileChannel channel, long begin, long end) throws Exception {
+    if (end - begin > Integer.MAX_VALUE) {
+      throw new IOException("Stream too large at offset " + begin);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate((int) (end - begin));
+    while (buffer.hasRemaining()) {
+      int count = channel.read(buffer, begin + buffer.position());
+      if (count < 0) {
+        throw new EOFException("Unexpected end of dump at offset " + (begin + buffer.position()));
+      }
+    }
+    bytesRead.addAndGet(buffer.capacity());
+
+    // Only the first stream is decompressed, so the end of the dump is ignored after the last stream
+    BZip2CompressorInputStream bzis = new BZip2CompressorInputStream(
+        new ByteArrayInputStream(buffer.array()), false);
+    InputStream is = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+        new ByteArrayInputStream(PREFIX), bzis, new ByteArrayInputStream(SUFFIX))));
+    StreamPageProcessor streamProcessor = new StreamPageProcessor();
+    DumpReader reader = readers.get();
+    reader.setPageProcessor(streamProcessor);
+    reader.read(is);
+    bytesDecompressed.addAndGet(bzis.getBytesRead());
+    return streamProcessor.pages;
+  }
+
+  /**
+   * Process a page.
+   *
+   * @param page Page to be processed.
+   */
+  void processPage(Page page) {
+    try {
+      processor.processPage(page);
+    } catch (RuntimeException e) {
+      log.error("Error processing page {}", page.getTitle(), e);
+    }
+    long count = pagesProcessed.incrementAndGet();
+    if (count % PROGRESS_INTERVAL == 0) {
+      log.info(
+          "Multistream dump has processed {} pages ({} MB decompressed)",
+          Long.valueOf(count),
+          Long.valueOf(bytesDecompressed.get() >> 20));
+    }
+  }
+
+  /**
+   * Log statistics about the processing.
+   *
+   * @param name Name of the dump.
+   * @param duration Total duration (ns).
+   */
+  private void logStatistics(String name, long duration) {
+    double seconds = Math.max(duration, 1) / 1e9;
+    log.info(
+        "Multistream dump {} in {}s with {} threads: " +
+        "read {} MB, decompressed {} MB ({} MB/s), processed {} pages ({} pages/s)",
+        name, Long.valueOf(Math.round(seconds)), Integer.valueOf(threads),
+        Long.valueOf(bytesRead.get() >> 20),
+        Long.valueOf(bytesDecompressed.get() >> 20),
+        Long.valueOf(Math.round((bytesDecompressed.get() >> 20) / seconds)),
+        Long.valueOf(pagesProcessed.get()),
+        Long.valueOf(Math.round(pagesProcessed.get() / seconds)));
+  }
+
+  /**
+   * Page processor used for each stream.
+   */
+  private class StreamPageProcessor implements PageProcessor {
+
+    /** Pages to be processed in the calling thread */
+    final List<Page> pages = new ArrayList<>();
+
+    /**
+     * @return Wiki.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#getWiki()
+     */
+    @Override
+    public EnumWikipedia getWiki() {
+      return processor.getWiki();
+    }
+
+    /**
+     * @param namespace Namespace.
+     * @return True if the processor should work on the namespace.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForNamespace(java.lang.Integer)
+     */
+    @Override
+    public boolean isForNamespace(Integer namespace) {
+      return processor.isForNamespace(namespace);
+    }
+
+    /**
+     * @param namespace Namespace.
+     * @param title Page title.
+     * @param redirect True if the page is a redirect.
+     * @return True if the processor should work on the page.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForPage(java.lang.Integer, java.lang.String, boolean)
+     */
+    @Override
+    public boolean isForPage(Integer namespace, String title, boolean redirect) {
+      return processor.isForPage(namespace, title, redirect);
+    }
+
+    /**
+     * @param page Page to be processed.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#processPage(org.wikipediacleaner.api.data.Page)
+     */
+    @Override
+    public void processPage(Page page) {
+      if (page == null) {
+        return;
+      }
+      if (ordered) {
+        pages.add(page);
+      } else {
+        MultistreamDumpReader.this.processPage(page);
+      }
+    }
+  }
+}
@@ -30,8 +30,22 @@ public interface PageProcessor {
    */
   public boolean isForNamespace(Integer namespace);
 
+  /**
+   * Tells if the processor should work on a page.
+   * Called before the text of the page is read, so rejected pages are skipped cheaply.
+   * 
+   * @param namespace Namespace.
+   * @param title Page title.
+   * @param redirect True if the page is a redirect.
+   * @return True if the processor should work on the page.
+   */
+  public default boolean isForPage(Integer namespace, String title, boolean redirect) {
+    return isForNamespace(namespace);
+  }
+
   /**
    * Process a page.
+   * May be called concurrently by several threads when the dump is processed by a pipeline.
    * 
    * @param page Page to be processed.
    */
@@ -49,7 +49,7 @@ public abstract class MediaWikiCallable<T> implements Callable<T>, MediaWikiList
     return false;
   }
 
-  protected EnumWikipedia getWikipedia() {
+  public EnumWikipedia getWikipedia() {
     return wikipedia;
   }
 }
@@ -0,0 +1,105 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Inflater;
+
+
+/**
+ * Pool of buffers and inflaters used for reading HTTP responses.
+ *
+ * Reusing them avoids allocating a large buffer and native inflater memory for each request.
+ */
+public class BufferPool {
+
+  /** Size of the buffers */
+  public static final int BUFFER_SIZE = 64 * 1024;
+
+  /** Maximum number of buffers or inflaters kept in the pool */
+  private static final int MAX_POOLED = 32;
+
+  /** Available buffers */
+  private static final BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(MAX_POOLED);
+
+  /** Available inflaters */
+  private static final BlockingQueue<Inflater> inflaters = new ArrayBlockingQueue<>(MAX_POOLED);
+
+  /**
+   * Utility class.
+   */
+  private BufferPool() {
+    // Nothing to do
+  }
+
+  /**
+   * @return Buffer of {@link #BUFFER_SIZE} bytes.
+   */
+  public static byte[] acquireBuffer() {
+    byte[] buffer = buffers.poll();
+    return (buffer != null) ? buffer : new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Give back a buffer to the pool.
+   *
+   * @param buffer Buffer obtained with {@link #acquireBuffer()}.
+   */
+  public static void releaseBuffer(byte[] buffer) {
+    if ((buffer != null) && (buffer.length == BUFFER_SIZE)) {
+      buffers.offer(buffer);
+    }
+  }
+
+  /**
+   * @return Inflater for raw deflate data (without zlib header).
+   */
+  public static Inflater acquireInflater() {
+    Inflater inflater = inflaters.poll();
+    return (inflater != null) ? inflater : new Inflater(true);
+  }
+
+  /**
+   * Give back an inflater to the pool.
+   *
+   * @param inflater Inflater obtained with {@link #acquireInflater()}.
+   */
+  public static void releaseInflater(Inflater inflater) {
+    if (inflater == null) {
+      return;
+    }
+    inflater.reset();
+    if (!inflaters.offer(inflater)) {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Read a stream until its end, discarding its content.
+   *
+   * @param stream Stream.
+   */
+  public static void drain(InputStream stream) {
+    if (stream == null) {
+      return;
+    }
+    byte[] buffer = acquireBuffer();
+    try {
+      while (stream.read(buffer) >= 0) {
+        //
+      }
+    } catch (IOException e) {
+      //
+    } finally {
+      releaseBuffer(buffer);
+    }
+  }
+}
@@ -16,6 +16,8 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -110,6 +112,31 @@ public class HttpUtils {
     return result;
   }
 
+  /**
+   * Comparator for sorting parameters, with secret parameters at the end.
+   */
+  protected static class ParameterComparator implements Comparator<Map.Entry<String, String>> {
+
+    /**
+     * Default constructor.
+     */
+    public ParameterComparator() {
+    }
+
+    @Override
+    public int compare(Map.Entry<String, String> o1, Map.Entry<String, String> o2) {
+      boolean isSecret1 = isSecretKey(o1.getKey());
+      boolean isSecret2 = isSecretKey(o2.getKey());
+      if (isSecret1 != isSecret2) {
+        if (isSecret2) {
+          return -1;
+        }
+        return 1;
+      }
+      return o1.getKey().compareToIgnoreCase(o2.getKey());
+    }
+  }
+
   /**
    * Debug text.
    * 
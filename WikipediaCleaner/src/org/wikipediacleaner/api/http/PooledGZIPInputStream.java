@@ -0,0 +1,286 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+
+/**
+ * Input stream decompressing GZIP data with a buffer and an inflater taken from {@link BufferPool}.
+ *
+ * Data is inflated directly into the array given by the caller,
+ * so no intermediate buffering is needed between this stream and the parser.
+ * Buffer and inflater are given back to the pool when the stream is closed.
+ */
+public class PooledGZIPInputStream extends InputStream {
+
+  /** GZIP magic number */
+  private static final int GZIP_MAGIC = 0x8b1f;
+
+  /** Deflate compression method */
+  private static final int METHOD_DEFLATE = 8;
+
+  /** Flag for header CRC */
+  private static final int FHCRC = 2;
+
+  /** Flag for extra fields */
+  private static final int FEXTRA = 4;
+
+  /** Flag for file name */
+  private static final int FNAME = 8;
+
+  /** Flag for comment */
+  private static final int FCOMMENT = 16;
+
+  /** Compressed stream */
+  private final InputStream in;
+
+  /** Buffer for compressed data */
+  private byte[] buffer;
+
+  /** Position of the first byte not consumed in the buffer */
+  private int position;
+
+  /** Number of bytes available in the buffer */
+  private int limit;
+
+  /** Inflater */
+  private Inflater inflater;
+
+  /** CRC of the uncompressed data of the current member */
+  private final CRC32 crc;
+
+  /** True when the end of the compressed stream has been reached */
+  private boolean eof;
+
+  /** Buffer for reading a single byte */
+  private final byte[] single;
+
+  /**
+   * @param in Compressed stream.
+   * @throws IOException Exception if the GZIP header can't be read.
+   */
+  public PooledGZIPInputStream(InputStream in) throws IOException {
+    this.in = in;
+    this.buffer = BufferPool.acquireBuffer();
+    this.position = 0;
+    this.limit = 0;
+    this.inflater = BufferPool.acquireInflater();
+    this.crc = new CRC32();
+    this.eof = false;
+    this.single = new byte[1];
+    try {
+      readHeader();
+    } catch (IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return Next uncompressed byte, or -1 at the end of the stream.
+   * @throws IOException Exception if the data can't be read.
+   * @see java.io.InputStream#read()
+   */
+  @Override
+  public int read() throws IOException {
+    return (read(single, 0, 1) == 1) ? (single[0] & 0xFF) : -1;
+  }
+
+  /**
+   * @param b Array receiving the uncompressed data.
+   * @param off Offset in the array.
+   * @param len Maximum number of bytes to read.
+   * @return Number of bytes read, or -1 at the end of the stream.
+   * @throws IOException Exception if the data can't be read.
+   * @see java.io.InputStream#read(byte[], int, int)
+   */
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (buffer == null) {
+      throw new IOException("Stream closed");
+    }
+    if (len == 0) {
+      return 0;
+    }
+    while (!eof) {
+      if (inflater.finished()) {
+        readTrailer();
+        continue;
+      }
+      if (inflater.needsDictionary()) {
+        throw new ZipException("Unexpected dictionary in GZIP data");
+      }
+      if (inflater.needsInput()) {
+        if ((position >= limit) && !fill()) {
+          throw new EOFException("Unexpected end of GZIP data");
+        }
+        inflater.setInput(buffer, position, limit - position);
+      }
+      int count = 0;
+      try {
+        count = inflater.inflate(b, off, len);
+      } catch (DataFormatException e) {
+        throw new ZipException("Invalid GZIP data: " + e.getMessage());
+      }
+      position = limit - inflater.getRemaining();
+      if (count > 0) {
+        crc.update(b, off, count);
+        return count;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return Estimate of the number of bytes that can be read without blocking.
+   * @see java.io.InputStream#available()
+   */
+  @Override
+  public int available() {
+    return ((buffer == null) || eof) ? 0 : 1;
+  }
+
+  /**
+   * Close the stream and give back the buffer and the inflater to the pool.
+   *
+   * @throws IOException Exception if the compressed stream can't be closed.
+   * @see java.io.InputStream#close()
+   */
+  @Override
+  public void close() throws IOException {
+    if (buffer != null) {
+      BufferPool.releaseBuffer(buffer);
+      BufferPool.releaseInflater(inflater);
+      buffer = null;
+      inflater = null;
+      in.close();
+    }
+  }
+
+  /**
+   * Read the header of a GZIP member.
+   *
+   * @throws IOException Exception if the header is not correct.
+   */
+  private void readHeader() throws IOException {
+    if (readUnsignedShort() != GZIP_MAGIC) {
+      throw new ZipException("Not in GZIP format");
+    }
+    if (readUnsignedByte() != METHOD_DEFLATE) {
+      throw new ZipException("Unsupported compression method");
+    }
+    int flags = readUnsignedByte();
+    skipBytes(6); // Modification time, extra flags, operating system
+    if ((flags & FEXTRA) != 0) {
+      skipBytes(readUnsignedShort());
+    }
+    if ((flags & FNAME) != 0) {
+      while (readUnsignedByte() != 0) {
+        //
+      }
+    }
+    if ((flags & FCOMMENT) != 0) {
+      while (readUnsignedByte() != 0) {
+        //
+      }
+    }
+    if ((flags & FHCRC) != 0) {
+      skipBytes(2);
+    }
+    crc.reset();
+    inflater.reset();
+  }
+
+  /**
+   * Read the trailer of a GZIP member, and the header of the next member if any.
+   *
+   * @throws IOException Exception if the trailer is not correct.
+   */
+  private void readTrailer() throws IOException {
+    long expectedCrc = readUnsignedInt();
+    long expectedSize = readUnsignedInt();
+    if ((expectedCrc != crc.getValue()) ||
+        (expectedSize != (inflater.getBytesWritten() & 0xFFFFFFFFL))) {
+      throw new ZipException("Corrupt GZIP trailer");
+    }
+
+    // Check for a concatenated member, ignoring trailing garbage
+    if ((position >= limit) && !fill()) {
+      eof = true;
+      return;
+    }
+    try {
+      readHeader();
+    } catch (IOException e) {
+      eof = true;
+    }
+  }
+
+  /**
+   * Fill the buffer with compressed data.
+   *
+   * @return False if the end of the compressed stream has been reached.
+   * @throws IOException Exception if the data can't be read.
+   */
+  private boolean fill() throws IOException {
+    int count = 0;
+    while (count == 0) {
+      count = in.read(buffer, 0, buffer.length);
+    }
+    if (count < 0) {
+      return false;
+    }
+    position = 0;
+    limit = count;
+    return true;
+  }
+
+  /**
+   * @return Next compressed byte.
+   * @throws IOException Exception if the end of the stream has been reached.
+   */
+  private int readUnsignedByte() throws IOException {
+    if ((position >= limit) && !fill()) {
+      throw new EOFException("Unexpected end of GZIP data");
+    }
+    return buffer[position++] & 0xFF;
+  }
+
+  /**
+   * @return Next 2 compressed bytes as a little-endian value.
+   * @throws IOException Exception if the end of the stream has been reached.
+   */
+  private int readUnsignedShort() throws IOException {
+    return readUnsignedByte() | (readUnsignedByte() << 8);
+  }
+
+  /**
+   * @return Next 4 compressed bytes as a little-endian value.
+   * @throws IOException Exception if the end of the stream has been reached.
+   */
+  private long readUnsignedInt() throws IOException {
+    return readUnsignedShort() | ((long) readUnsignedShort() << 16);
+  }
+
+  /**
+   * @param count Number of compressed bytes to skip.
+   * @throws IOException Exception if the end of the stream has been reached.
+   */
+  private void skipBytes(int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      readUnsignedByte();
+    }
+  }
+}
@@ -8,11 +8,9 @@
 package org.wikipediacleaner.api.http.hc3;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.TreeSet;
 
 import org.apache.commons.httpclient.HttpMethod;
@@ -56,28 +54,6 @@ public class Hc3HttpUtils extends HttpUtils {
     }
   }
 
-  private static class ParameterComparator implements Comparator<Map.Entry<String, String>> {
-
-    /**
-     * 
-     */
-    public ParameterComparator() {
-    }
-
-    @Override
-    public int compare(Entry<String, String> o1, Entry<String, String> o2) {
-      boolean isSecret1 = isSecretKey(o1.getKey());
-      boolean isSecret2 = isSecretKey(o2.getKey());
-      if (isSecret1 != isSecret2) {
-        if (isSecret2) {
-          return -1;
-        }
-        return 1;
-      }
-      return o1.getKey().compareToIgnoreCase(o2.getKey());
-    }
-    
-  }
   /**
    * Create an HTTP POST Method.
    * 
@@ -7,20 +7,33 @@
 
 package org.wikipediacleaner.api.http.hc5;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeSet;
 
+import org.apache.commons.compress.compressors.brotli.BrotliCompressorInputStream;
+import org.apache.commons.compress.compressors.brotli.BrotliUtils;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
 import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.impl.EnglishReasonPhraseCatalog;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
 import org.apache.hc.core5.net.URIBuilder;
+import org.wikipediacleaner.api.http.BufferPool;
 import org.wikipediacleaner.api.http.HttpUtils;
+import org.wikipediacleaner.api.http.PooledGZIPInputStream;
 
 
 /**
@@ -28,6 +41,10 @@ import org.wikipediacleaner.api.http.HttpUtils;
  */
 public class Hc5HttpUtils extends HttpUtils {
 
+  /** Encodings accepted for the responses: brotli only if a decoder is available */
+  private static final String ACCEPT_ENCODING =
+      BrotliUtils.isBrotliCompressionAvailable() ? "br, gzip" : "gzip";
+
   // ==========================================================================
   // HTTP methods for HTTP Components 5
   // ==========================================================================
@@ -70,21 +87,21 @@ public class Hc5HttpUtils extends HttpUtils {
     // Initialize POST method
     StringBuilder debugUrl = (DEBUG_URL) ? new StringBuilder("POST " + url) : null;
     HttpPost method = new HttpPost(new URIBuilder(url, StandardCharsets.UTF_8).build());
-    method.addHeader("Accept-Encoding", "gzip");
+    method.addHeader("Accept-Encoding", ACCEPT_ENCODING);
 
     // Manage query parameters
     if (properties != null) {
       boolean first = true;
       List<org.apache.hc.core5.http.NameValuePair> params = new ArrayList<>();
-      Iterator<Map.Entry<String, String>> iter = properties.entrySet().iterator();
-      while (iter.hasNext()) {
-        Map.Entry<String, String> property = iter.next();
+      TreeSet<Map.Entry<String, String>> sortedList = new TreeSet<>(new ParameterComparator());
+      sortedList.addAll(properties.entrySet());
+      for (Map.Entry<String, String> property : sortedList) {
         String key = property.getKey();
         String value = property.getValue();
         params.add(new BasicNameValuePair(key, value));
         first = fillDebugUrl(debugUrl, first, key, value);
       }
-      method.setEntity(new UrlEncodedFormEntity(params));
+      method.setEntity(new UrlEncodedFormEntity(params, StandardCharsets.UTF_8));
     }
 
     if (DEBUG_URL && (debugUrl != null)) {
@@ -122,11 +139,66 @@ public class Hc5HttpUtils extends HttpUtils {
 
     // Initialize GET Method
     HttpGet method = new HttpGet(uriBuilder.build());
-    method.addHeader("Accept-Encoding", "gzip");
+    method.addHeader("Accept-Encoding", ACCEPT_ENCODING);
 
     if (DEBUG_URL && (debugUrl != null)) {
       debugText(debugUrl.toString());
     }
     return method;
   }
+
+  // ==========================================================================
+  // HTTP responses for HTTP Components 5
+  // ==========================================================================
+
+  /**
+   * Open the content of a response.
+   * 
+   * @param response HTTP response.
+   * @return Content of the response, decompressed if needed.
+   * @throws IOException Exception if the content can't be read.
+   */
+  public static InputStream getResponseStream(ClassicHttpResponse response) throws IOException {
+    HttpEntity entity = response.getEntity();
+    if (entity == null) {
+      return new ByteArrayInputStream(new byte[0]);
+    }
+    InputStream stream = entity.getContent();
+    Header contentEncoding = response.getFirstHeader("Content-Encoding");
+    if (contentEncoding != null) {
+      String encoding = contentEncoding.getValue().trim();
+      if ("gzip".equalsIgnoreCase(encoding)) {
+        stream = new PooledGZIPInputStream(stream);
+      } else if ("br".equalsIgnoreCase(encoding)) {
+        stream = new BrotliCompressorInputStream(stream);
+      }
+    }
+    return stream;
+  }
+
+  /**
+   * Discard the content of a response without decompressing it.
+   * 
+   * @param response HTTP response.
+   */
+  public static void drainResponse(ClassicHttpResponse response) {
+    HttpEntity entity = response.getEntity();
+    if (entity == null) {
+      return;
+    }
+    try (InputStream stream = entity.getContent()) {
+      BufferPool.drain(stream);
+    } catch (IOException e) {
+      //
+    }
+  }
+
+  /**
+   * @param status HTTP status.
+   * @return Text describing the HTTP status.
+   */
+  public static String getStatusText(int status) {
+    String reason = EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ENGLISH);
+    return (reason != null) ? reason : Integer.toString(status);
+  }
 }
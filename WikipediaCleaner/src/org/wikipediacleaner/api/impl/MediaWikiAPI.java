@@ -7,42 +7,36 @@
 
 package org.wikipediacleaner.api.impl;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.zip.GZIPInputStream;
 
-import org.apache.commons.httpclient.Header;
-import org.apache.commons.httpclient.HttpClient;
-import org.apache.commons.httpclient.HttpMethod;
-import org.apache.commons.httpclient.HttpStatus;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.HttpStatus;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
 import org.jdom2.input.JDOMParseException;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wikipediacleaner.api.API;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.CaptchaException;
 import org.wikipediacleaner.api.RecentChangesListener;
+import org.wikipediacleaner.api.cache.PageContentStore;
+import org.wikipediacleaner.api.cache.PageMetadataCache;
 import org.wikipediacleaner.api.configuration.WPCConfiguration;
 import org.wikipediacleaner.api.configuration.WPCConfigurationBoolean;
 import org.wikipediacleaner.api.constants.ConnectionInformation;
@@ -61,8 +55,13 @@ import org.wikipediacleaner.api.data.Section;
 import org.wikipediacleaner.api.data.TemplateData;
 import org.wikipediacleaner.api.data.User;
 import org.wikipediacleaner.api.http.HttpUtils;
-import org.wikipediacleaner.api.http.hc3.Hc3HttpUtils;
+import org.wikipediacleaner.api.http.hc5.Hc5HttpUtils;
+import org.wikipediacleaner.api.request.ApiCoalescer;
+import org.wikipediacleaner.api.request.ApiEditDispatcher;
+import org.wikipediacleaner.api.request.ApiContinuation;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiScheduler;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 import org.wikipediacleaner.api.request.delete.ApiDeleteRequest;
 import org.wikipediacleaner.api.request.delete.ApiDeleteResult;
@@ -90,6 +89,8 @@ import org.wikipediacleaner.api.request.query.list.ApiCategoryMembersRequest;
 import org.wikipediacleaner.api.request.query.list.ApiCategoryMembersResult;
 import org.wikipediacleaner.api.request.query.list.ApiEmbeddedInRequest;
 import org.wikipediacleaner.api.request.query.list.ApiEmbeddedInResult;
+import org.wikipediacleaner.api.request.query.list.ApiJsonCategoryMembersResult;
+import org.wikipediacleaner.api.request.query.list.ApiJsonEmbeddedInResult;
 import org.wikipediacleaner.api.request.query.list.ApiLintErrorsRequest;
 import org.wikipediacleaner.api.request.query.list.ApiLintErrorsResult;
 import org.wikipediacleaner.api.request.query.list.ApiPagesWithPropRequest;
@@ -134,6 +135,7 @@ import org.wikipediacleaner.api.request.query.prop.ApiCategoriesRequest;
 import org.wikipediacleaner.api.request.query.prop.ApiCategoriesResult;
 import org.wikipediacleaner.api.request.query.prop.ApiInfoRequest;
 import org.wikipediacleaner.api.request.query.prop.ApiInfoResult;
+import org.wikipediacleaner.api.request.query.prop.ApiJsonRevisionsResult;
 import org.wikipediacleaner.api.request.query.prop.ApiLanguageLinksRequest;
 import org.wikipediacleaner.api.request.query.prop.ApiLanguageLinksResult;
 import org.wikipediacleaner.api.request.query.prop.ApiLinksHereRequest;
@@ -165,7 +167,6 @@ import org.wikipediacleaner.gui.swing.basic.Utilities;
 import org.wikipediacleaner.i18n.GT;
 import org.wikipediacleaner.utils.Configuration;
 import org.wikipediacleaner.utils.ConfigurationValueBoolean;
-import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
 /**
@@ -180,20 +181,14 @@ public class MediaWikiAPI implements API {
   private static boolean DEBUG_XML = false;
   private static final XMLOutputter xmlOutputter = new XMLOutputter(Format.getPrettyFormat());
 
-  private final HttpClient httpClient;
-
-  /**
-   * Time of last edit.
-   */
-  private final LinkedList<Long> lastEditTimes = new LinkedList<>();
-  private final Object editLock = new Object();
+  private final CloseableHttpClient httpClient;
 
   /**
    * Constructor.
    * 
    * @param httpClient HTTP client.
    */
-  public MediaWikiAPI(HttpClient httpClient) {
+  public MediaWikiAPI(CloseableHttpClient httpClient) {
     this.httpClient = httpClient;
   }
 
@@ -206,6 +201,8 @@ public class MediaWikiAPI implements API {
         null, ConfigurationValueBoolean.DEBUG_API);
     HttpUtils.updateConfiguration();
     ApiXmlResult.updateConfiguration();
+    ApiScheduler.updateConfiguration();
+    PageMetadataCache.updateConfiguration();
   }
 
   /**
@@ -216,6 +213,14 @@ public class MediaWikiAPI implements API {
     return MAX_PAGES_PER_QUERY;
   }
 
+  /**
+   * @param wiki Wiki.
+   * @return True if JSON results (read with the streaming parser) should be used instead of XML.
+   */
+  private static boolean useJson(EnumWikipedia wiki) {
+    return Configuration.getConfiguration().getBoolean(wiki, ConfigurationValueBoolean.JSON_API);
+  }
+
   // ==========================================================================
   // User and login
   // ==========================================================================
@@ -497,21 +502,28 @@ public class MediaWikiAPI implements API {
       Optional.ofNullable(wiki.getConnection().getEditToken()).ifPresent(value -> properties.put("token", value));
       properties.put("watchlist", forceWatch ? "watch" : "nochange");
       CommentManager.manageComment(wiki.getConfiguration(), properties, "summary", "tags", automatic);
-      checkTimeForEdit(wiki.getConnection().getUser(), page.getNamespace());
+      ApiEditDispatcher dispatcher = ApiEditDispatcher.getDispatcher(wiki);
       try {
-        do {
-          try {
-            return constructEdit(getRoot(wiki, properties, maxTry));
-          } catch (CaptchaException e) {
-            String captchaAnswer = getCaptchaAnswer(wiki, e);
-            if (captchaAnswer != null) {
-              properties.put("captchaid", e.getId());
-              properties.put("captchaword", captchaAnswer);
-            } else {
-              throw new APIException("CAPTCHA", e);
+        return dispatcher.execute(wiki.getConnection().getUser(), page.getNamespace(), () -> {
+          do {
+            try {
+              QueryResult result = constructEdit(getRoot(wiki, properties, maxTry));
+              PageMetadataCache.getCache(wiki).invalidate(page.getTitle());
+              return result;
+            } catch (CaptchaException e) {
+              String captchaAnswer = getCaptchaAnswer(wiki, e);
+              if (captchaAnswer != null) {
+                properties.put("captchaid", e.getId());
+                properties.put("captchaword", captchaAnswer);
+              } else {
+                throw new APIException("CAPTCHA", e);
+              }
+            } catch (JDOMParseException e) {
+              log.error("Error updating page {}: {}", page.getTitle(), e.getMessage());
+              throw new APIException("Error parsing XML", e);
             }
-          }
-        } while (true);
+          } while (true);
+        });
       } catch (APIException e) {
         if (handleGatewayTimeout && e.getHttpStatus() == HttpStatus.SC_GATEWAY_TIMEOUT) {
           log.warn("Gateway timeout, waiting to see if modification has been taken into account");
@@ -539,14 +551,13 @@ public class MediaWikiAPI implements API {
         } else if (queryResult == EnumQueryResult.BAD_TOKEN) {
           waitBeforeRetrying();
           log.warn("Retrieving tokens after a {} answer", queryResult.getCode());
-          retrieveTokens(wiki);
+          dispatcher.refreshEditToken(
+              wiki.getConnection(), properties.get("token"),
+              () -> new ApiTokensRequest(wiki, new ApiJsonTokensResult(wiki, httpClient)).loadCsrfToken());
         } else if (queryResult != null && !queryResult.shouldRetry()) {
           log.warn("Error updating page {}", page.getTitle());
           throw e;
         }
-      } catch (JDOMParseException e) {
-        log.error("Error updating page {}: {}", page.getTitle(), e.getMessage());
-        throw new APIException("Error parsing XML", e);
       }
     } while (true);
   }
@@ -564,13 +575,18 @@ public class MediaWikiAPI implements API {
     if ((pages == null) || (pages.isEmpty())) {
       return;
     }
+    PageMetadataCache cache = PageMetadataCache.getCache(wiki);
+    List<Page> missingPages = cache.fillRedirects(pages);
+    if (missingPages.isEmpty()) {
+      return;
+    }
     Map<String, String> properties = getProperties(ApiRequest.ACTION_QUERY);
     properties.put("redirects", "");
     StringBuilder titles = new StringBuilder();
-    for (int i = 0; i < pages.size();) {
+    for (int i = 0; i < missingPages.size();) {
       titles.setLength(0);
-      for (int j = 0; (j < MAX_PAGES_PER_QUERY) && (i < pages.size()); i++, j++) {
-        Page p = pages.get(i);
+      for (int j = 0; (j < MAX_PAGES_PER_QUERY) && (i < missingPages.size()); i++, j++) {
+        Page p = missingPages.get(i);
         if (j > 0) {
           titles.append("|");
         }
@@ -579,13 +595,14 @@ public class MediaWikiAPI implements API {
       properties.put("titles", titles.toString());
       try {
         updateRedirectStatus(
-            wiki, pages,
+            wiki, missingPages,
             getRoot(wiki, properties, ApiRequest.MAX_ATTEMPTS));
       } catch (JDOMParseException e) {
         log.error("Error retrieving redirects", e);
         throw new APIException("Error parsing XML", e);
       }
     }
+    cache.storeRedirects(missingPages);
   }
 
   /**
@@ -597,8 +614,7 @@ public class MediaWikiAPI implements API {
   private QueryResult constructEdit(Element root)
       throws APIException, CaptchaException {
 
-    XPathExpression<Element> xpa = XPathFactory.instance().compile(
-        "/api/edit", Filters.element());
+    ApiXPath xpa = ApiXPath.EDIT;
     Element node = xpa.evaluateFirst(root);
     if (node != null) {
       String result = node.getAttributeValue("result");
@@ -625,8 +641,7 @@ public class MediaWikiAPI implements API {
             pageId, node.getAttributeValue("title"),
             pageOldRevId, pageNewRevId);
       } else if ("Failure".equalsIgnoreCase(result)) {
-        XPathExpression<Element> xpaCaptcha = XPathFactory.instance().compile(
-            "./captcha", Filters.element());
+        ApiXPath xpaCaptcha = ApiXPath.CAPTCHA;
         Element captcha = xpaCaptcha.evaluateFirst(node);
         if (captcha != null) {
           CaptchaException exception = new CaptchaException("Captcha", captcha.getAttributeValue("type"));
@@ -659,8 +674,7 @@ public class MediaWikiAPI implements API {
       throw new APIException("Page is null");
     }
 
-    XPathExpression<Element> xpaPage = XPathFactory.instance().compile(
-        "/api/query/pages/page", Filters.element());
+    ApiXPath xpaPage = ApiXPath.QUERY_PAGES;
     Element node = xpaPage.evaluateFirst(root);
     if (node != null) {
       page.setNamespace(node.getAttributeValue("ns"));
@@ -673,19 +687,17 @@ public class MediaWikiAPI implements API {
       page.setPageId(node.getAttributeValue("pageid"));
       Optional.ofNullable(node.getAttributeValue("starttimestamp")).ifPresent(page::setStartTimestamp);
     }
-    XPathExpression<Element> xpa = XPathFactory.instance().compile(
-        "/api/query/pages/page" + "/revisions/rev", Filters.element());
+    ApiXPath xpa = ApiXPath.QUERY_PAGES_REVISIONS;
     node = xpa.evaluateFirst(root);
     if (node != null) {
-      XPathExpression<Element> xpaSlot = XPathFactory.instance().compile(
-          "slots/slot", Filters.element());
+      ApiXPath xpaSlot = ApiXPath.SLOTS;
       Element nodeSlot = xpaSlot.evaluateFirst(node);
       page.setContents(nodeSlot != null ? nodeSlot.getText() : node.getText());
       page.setExisting(Boolean.TRUE);
       page.setRevisionId(node.getAttributeValue("revid"));
       page.setContentsTimestamp(node.getAttributeValue("timestamp"));
     }
-    xpa = XPathFactory.instance().compile("/api/query/pages/page" + "/protection/pr", Filters.element());
+    xpa = ApiXPath.QUERY_PAGES_PROTECTION;
     for (Element prNode : xpa.evaluate(root)) {
       if ("edit".equals(prNode.getAttributeValue("type"))) {
         page.setEditProtectionLevel(prNode.getAttributeValue("level"));
@@ -705,12 +717,9 @@ public class MediaWikiAPI implements API {
       throw new APIException("Pages is null");
     }
 
-    XPathExpression<Element> xpaPage = XPathFactory.instance().compile(
-        "/api/query/pages/page", Filters.element());
-    XPathExpression<Element> xpaRev = XPathFactory.instance().compile(
-        "./revisions/rev", Filters.element());
-    XPathExpression<Element> xpaSlot = XPathFactory.instance().compile(
-        "./slots/slot", Filters.element());
+    ApiXPath xpaPage = ApiXPath.QUERY_PAGES;
+    ApiXPath xpaRev = ApiXPath.REVISIONS;
+    ApiXPath xpaSlot = ApiXPath.SLOTS;
     List<Element> resultPages = xpaPage.evaluate(root);
     for (Element currentPage : resultPages) {
       String title = currentPage.getAttributeValue("title");
@@ -933,13 +942,60 @@ public class MediaWikiAPI implements API {
       Collection<Page> pages, boolean usePageId,
       boolean withRedirects)
       throws APIException {
+    PageContentStore store = PageContentStore.getStore(wiki);
     applyInBatch(pages, subPages -> {
-      ApiRevisionsResult result = new ApiXmlRevisionsResult(wiki, httpClient);
-      ApiRevisionsRequest request = new ApiRevisionsRequest(wiki, result);
-      request.loadContent(subPages, usePageId, withRedirects);
+      ApiRevisionsRequest request = createRevisionsRequest(wiki);
+      if (store == null) {
+        request.loadContent(subPages, usePageId, withRedirects);
+        return;
+      }
+
+      // Check the last revision, and use the local store if it's already known
+      request.loadLastRevisionIds(subPages, usePageId);
+      List<Page> missingPages = new ArrayList<>();
+      for (Page page : subPages) {
+        if (!store.fill(page)) {
+          missingPages.add(page);
+        }
+      }
+      if (!missingPages.isEmpty()) {
+        request.loadContent(missingPages, usePageId, false);
+        for (Page page : missingPages) {
+          store.store(page);
+        }
+      }
+      if (withRedirects) {
+        request.loadRedirects(subPages);
+      }
     });
   }
 
+  /**
+   * Iterates over the members of a category, without sub-categories, with their contents.
+   * (<code>action=query</code>, <code>generator=categorymembers</code>, <code>prop=revisions</code>).
+   * 
+   * @param wiki Wiki.
+   * @param category Category.
+   * @return Iterator on the category members, loaded with their contents.
+   * @see <a href="http://www.mediawiki.org/wiki/API:Categorymembers">API:Categorymembers</a>
+   */
+  @Override
+  public ApiContinuation<Page> iterateCategoryMembersContents(
+      EnumWikipedia wiki, Page category) {
+    return createRevisionsRequest(wiki).iterateCategoryMembersContent(category);
+  }
+
+  /**
+   * @param wiki Wiki.
+   * @return Request for retrieving revisions.
+   */
+  private ApiRevisionsRequest createRevisionsRequest(EnumWikipedia wiki) {
+    ApiRevisionsResult result = useJson(wiki) ?
+        new ApiJsonRevisionsResult(wiki, httpClient) :
+        new ApiXmlRevisionsResult(wiki, httpClient);
+    return new ApiRevisionsRequest(wiki, result);
+  }
+
   /**
    * Retrieves the templates of <code>page</code>.
    * 
@@ -985,31 +1041,50 @@ public class MediaWikiAPI implements API {
         }
       }
     } else {
-      // Use __DISAMBIG__ magic word if possible
-      WPCConfiguration config = wiki.getConfiguration();
-      boolean useDisambig = config.getBoolean(
-          WPCConfigurationBoolean.DAB_USE_DISAMBIG_MAGIC_WORD);
-      if (useDisambig) {
-        ApiPagePropsResult result = new ApiXmlPagePropsResult(wiki, httpClient);
-        ApiPagePropsRequest request = new ApiPagePropsRequest(wiki, result);
-        request.setDisambiguationStatus(pages);
+      PageMetadataCache cache = PageMetadataCache.getCache(wiki);
+      List<Page> missingPages = forceApiCall ? pages : cache.fillDisambiguationStatus(pages);
+      if (missingPages.isEmpty()) {
         return;
       }
+      loadDisambiguationStatus(wiki, missingPages);
+      cache.storeDisambiguationStatus(missingPages);
+    }
+  }
 
-      // Use categories if possible
-      List<Page> dabCategories = wiki.getConfiguration().getDisambiguationCategories();
-      if ((dabCategories != null) && (!dabCategories.isEmpty())) {
-        ApiCategoriesResult result = new ApiXmlCategoriesResult(wiki, httpClient);
-        ApiCategoriesRequest request = new ApiCategoriesRequest(wiki, result);
-        request.setDisambiguationStatus(pages);
-        return;
-      }
+  /**
+   * Load the disambiguation flags of a list of <code>pages</code> through the API.
+   * 
+   * @param wiki Wiki.
+   * @param pages List of pages.
+   * @throws APIException Exception thrown by the API.
+   */
+  private void loadDisambiguationStatus(
+      EnumWikipedia wiki, List<Page> pages)
+      throws APIException {
+    // Use __DISAMBIG__ magic word if possible
+    WPCConfiguration config = wiki.getConfiguration();
+    boolean useDisambig = config.getBoolean(
+        WPCConfigurationBoolean.DAB_USE_DISAMBIG_MAGIC_WORD);
+    if (useDisambig) {
+      ApiPagePropsResult result = new ApiXmlPagePropsResult(wiki, httpClient);
+      ApiPagePropsRequest request = new ApiPagePropsRequest(wiki, result);
+      request.setDisambiguationStatus(pages);
+      return;
+    }
 
-      // Use templates otherwise
-      ApiTemplatesResult result = new ApiXmlTemplatesResult(wiki, httpClient);
-      ApiTemplatesRequest request = new ApiTemplatesRequest(wiki, result);
+    // Use categories if possible
+    List<Page> dabCategories = wiki.getConfiguration().getDisambiguationCategories();
+    if ((dabCategories != null) && (!dabCategories.isEmpty())) {
+      ApiCategoriesResult result = new ApiXmlCategoriesResult(wiki, httpClient);
+      ApiCategoriesRequest request = new ApiCategoriesRequest(wiki, result);
       request.setDisambiguationStatus(pages);
+      return;
     }
+
+    // Use templates otherwise
+    ApiTemplatesResult result = new ApiXmlTemplatesResult(wiki, httpClient);
+    ApiTemplatesRequest request = new ApiTemplatesRequest(wiki, result);
+    request.setDisambiguationStatus(pages);
   }
 
   /**
@@ -1166,7 +1241,9 @@ public class MediaWikiAPI implements API {
   public void retrieveCategoryMembers(
       EnumWikipedia wiki, Page category,
       int depth, boolean limit, int max) throws APIException {
-    ApiCategoryMembersResult result = new ApiXmlCategoryMembersResult(wiki, httpClient);
+    ApiCategoryMembersResult result = useJson(wiki) ?
+        new ApiJsonCategoryMembersResult(wiki, httpClient) :
+        new ApiXmlCategoryMembersResult(wiki, httpClient);
     ApiCategoryMembersRequest request = new ApiCategoryMembersRequest(wiki, result);
     request.loadCategoryMembers(category, depth, limit, max);
   }
@@ -1186,7 +1263,9 @@ public class MediaWikiAPI implements API {
   public void retrieveEmbeddedIn(
       EnumWikipedia wiki, Page page,
       List<Integer> namespaces, boolean limit) throws APIException {
-    ApiEmbeddedInResult result = new ApiXmlEmbeddedInResult(wiki, httpClient);
+    ApiEmbeddedInResult result = useJson(wiki) ?
+        new ApiJsonEmbeddedInResult(wiki, httpClient) :
+        new ApiXmlEmbeddedInResult(wiki, httpClient);
     ApiEmbeddedInRequest request = new ApiEmbeddedInRequest(wiki, result);
     request.loadEmbeddedIn(page, namespaces, limit);
   }
@@ -1573,74 +1652,23 @@ public class MediaWikiAPI implements API {
       Map<String, String> properties,
       int                 maxTry)
       throws JDOMParseException, APIException {
-    Element root;
-    HttpMethod method = null;
-    int attempt = 0;
-    for (;;) {
-      try {
-        attempt++;
-        method = createHttpMethod(wikipedia, properties);
-        int statusCode = httpClient.executeMethod(method);
-        if (statusCode != HttpStatus.SC_OK) {
-          String message = "URL access returned " + HttpStatus.getStatusText(statusCode);
-          log.error(message);
-          if (attempt >= maxTry) {
-            log.warn("Error. Maximum attempts count reached.");
-            throw new APIException(message, statusCode);
-          }
-          waitBeforeRetrying();
-        } else {
-          InputStream stream = method.getResponseBodyAsStream();
-          stream = new BufferedInputStream(stream);
-          Header contentEncoding = method.getResponseHeader("Content-Encoding");
-          if (contentEncoding != null) {
-            if (contentEncoding.getValue().equals("gzip")) {
-              stream = new GZIPInputStream(stream);
-            }
-          }
-          SAXBuilder sxb = new SAXBuilder();
-          Document document = sxb.build(stream);
-          traceDocument(document);
-          root = document.getRootElement();
-          checkForError(root);
-          return root;
-        }
-      } catch (JDOMParseException e) {
-        // NOTE: to deal with api.php login action being disabled.
-        String message = "JDOMParseException: " + e.getMessage();
-        log.error(message);
-        if (attempt > maxTry) {
-          log.warn("Error. Maximum attempts count reached.");
-          throw e;
-        }
-        waitBeforeRetrying();
-      } catch (JDOMException e) {
-        String message = "JDOMException: " + e.getMessage();
-        log.error(message);
-        if (attempt > maxTry) {
-          log.warn("Error. Maximum attempts count reached.");
-          throw new APIException("Error parsing XML result", e);
-        }
-        waitBeforeRetrying();
-      } catch (IOException e) {
-        String message = e.getClass().getName() + ": " + e.getMessage();
-        log.error(message);
-        if (attempt > maxTry) {
-          log.warn("Error. Maximum attempts count reached.");
-          throw new APIException("Error accessing MediaWiki", e);
-        }
-        waitBeforeRetrying();
-      } catch (APIException e) {
-        if (!e.shouldRetry() || (attempt > e.getMaxRetry())) {
-          throw e;
-        }
-        e.waitForRetry();
-      } finally {
-        if (method != null) {
-          method.releaseConnection();
-        }
+    try {
+      return ApiCoalescer.getCoalescer(wikipedia).execute(
+          properties, () -> ApiScheduler.getScheduler(wikipedia).execute(
+              httpClient, () -> createHttpMethod(wikipedia, properties), maxTry, stream -> {
+                SAXBuilder sxb = new SAXBuilder();
+                Document document = sxb.build(stream);
+                traceDocument(document);
+                Element root = document.getRootElement();
+                checkForError(root);
+                return root;
+              }));
+    } catch (APIException e) {
+      // NOTE: to deal with api.php login action being disabled.
+      if (e.getCause() instanceof JDOMParseException) {
+        throw (JDOMParseException) e.getCause();
       }
-      log.warn("Error. Trying again");
+      throw e;
     }
   }
 
@@ -1655,58 +1683,6 @@ public class MediaWikiAPI implements API {
     }
   }
 
-  /**
-   * Check current time to see if edit is authorized (wait if needed).
-   * 
-   * @param user Current user.
-   * @param namespace Name space for the edit.
-   */
-  private void checkTimeForEdit(User user, Integer namespace) {
-    Configuration config = Configuration.getConfiguration();
-    int minimumTime = config.getInt(null, ConfigurationValueInteger.TIME_BETWEEN_EDIT);
-    int maxEdits = 0;
-    if ((namespace == null) || (namespace % 2 == 0)) {
-      maxEdits = config.getInt(null, ConfigurationValueInteger.MAX_EDITS_PER_MINUTE);
-      if ((maxEdits > ConfigurationValueInteger.MAX_EDITS_PER_MINUTE_NORMAL) ||
-          (maxEdits <= 0)) {
-        if (!user.isMemberOf("admin") &&
-            !user.isMemberOf("bot")) {
-          maxEdits = ConfigurationValueInteger.MAX_EDITS_PER_MINUTE_NORMAL;
-        }
-      }
-    }
-    if ((minimumTime <= 0) && (maxEdits <= 0)) {
-      return;
-    }
-    synchronized (editLock) {
-      long currentTime = System.currentTimeMillis();
-      if ((minimumTime > 0) && (!lastEditTimes.isEmpty())) {
-        long lastEditTime = lastEditTimes.getLast();
-        if (currentTime < lastEditTime + minimumTime * 1000L) {
-          try {
-            Thread.sleep(lastEditTime + minimumTime * 1000L - currentTime);
-          } catch (InterruptedException e) {
-            // Nothing to do
-          }
-          currentTime = System.currentTimeMillis();
-        }
-      }
-      while ((!lastEditTimes.isEmpty()) &&
-             (lastEditTimes.getFirst() + 60 * 1000 <= currentTime)) {
-        lastEditTimes.removeFirst();
-      }
-      if ((maxEdits > 0) && (lastEditTimes.size() >= maxEdits)) {
-        try {
-          Thread.sleep(lastEditTimes.getFirst() + 60 * 1000 - currentTime);
-        } catch (InterruptedException e) {
-          // Nothing to do
-        }
-        currentTime = System.currentTimeMillis();
-      }
-      lastEditTimes.add(currentTime);
-    }
-  }
-
   /**
    * Create an HttpMethod.
    * 
@@ -1714,13 +1690,14 @@ public class MediaWikiAPI implements API {
    * @param properties Properties to drive the API.
    * @return HttpMethod.
    */
-  private HttpMethod createHttpMethod(
+  private HttpUriRequest createHttpMethod(
       EnumWikipedia       wikipedia,
       Map<String, String> properties) {
+    ApiScheduler.addMaxLag(properties);
     boolean getMethod = canUseGetMethod(properties);
     Configuration config = Configuration.getConfiguration();
     boolean useHttps = !config.getBoolean(null, ConfigurationValueBoolean.FORCE_HTTP_API);
-    return Hc3HttpUtils.createHttpMethod(
+    return Hc5HttpUtils.createMethod(
         wikipedia.getSettings().getApiURL(useHttps),
         properties,
         getMethod);
@@ -1753,8 +1730,7 @@ public class MediaWikiAPI implements API {
     }
     
     // Check for errors
-    XPathExpression<Element> xpa = XPathFactory.instance().compile(
-        "/api/error", Filters.element());
+    ApiXPath xpa = ApiXPath.ERROR;
     List<Element> listErrors = xpa.evaluate(root);
     if (listErrors != null) {
       for (Element currentNode : listErrors) {
@@ -1765,8 +1741,7 @@ public class MediaWikiAPI implements API {
     }
     
     // Check for warnings
-    xpa = XPathFactory.instance().compile(
-        "/api/warnings/*", Filters.element());
+    xpa = ApiXPath.WARNINGS;
     List<Element> listWarnings = xpa.evaluate(root);
     if (listWarnings != null) {
       for (Element currentNode : listWarnings) {
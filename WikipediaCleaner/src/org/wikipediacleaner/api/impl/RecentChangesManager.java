@@ -13,6 +13,7 @@ import java.util.List;
 
 import org.wikipediacleaner.api.API;
 import org.wikipediacleaner.api.RecentChangesListener;
+import org.wikipediacleaner.api.cache.PageMetadataCache;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.RecentChange;
 
@@ -80,6 +81,7 @@ class RecentChangesManager {
    * @param currentTime Current time.
    */
   public void fireRecentChanges(List<RecentChange> rc, Date currentTime) {
+    PageMetadataCache.getCache(wiki).invalidate(rc);
     for (RecentChangesListener listener : listeners) {
       listener.recentChanges(rc, currentTime);
     }
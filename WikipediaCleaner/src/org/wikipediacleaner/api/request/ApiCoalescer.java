@@ -0,0 +1,190 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+
+
+/**
+ * Coalescing of identical requests sent concurrently to a wiki.
+ *
+ * When a read-only request is sent while an identical request is still in progress,
+ * it waits for the request in progress and shares its result instead of being sent again.
+ * Shared results must therefore be treated as read-only by the callers.
+ */
+public class ApiCoalescer {
+
+  /** Actions that can be coalesced (read-only actions) */
+  private static final Set<String> COALESCED_ACTIONS = Set.of(
+      ApiRequest.ACTION_QUERY, ApiRequest.ACTION_PARSE, ApiRequest.ACTION_EXPAND);
+
+  // ==========================================================================
+  // Coalescers
+  // ==========================================================================
+
+  /** Coalescer for each wiki */
+  private static final Map<EnumWikipedia, ApiCoalescer> coalescers = new ConcurrentHashMap<>();
+
+  /**
+   * @param wiki Wiki.
+   * @return Coalescer for the requests sent to the wiki.
+   */
+  public static ApiCoalescer getCoalescer(EnumWikipedia wiki) {
+    return coalescers.computeIfAbsent(wiki, key -> new ApiCoalescer());
+  }
+
+  // ==========================================================================
+  // Coalescing
+  // ==========================================================================
+
+  /** Requests in progress by key */
+  private final Map<String, CompletableFuture<Object>> inProgress;
+
+  /** Number of requests actually sent */
+  private final LongAdder sentCount;
+
+  /** Number of requests sharing the result of a request in progress */
+  private final LongAdder sharedCount;
+
+  /**
+   * Constructor.
+   */
+  ApiCoalescer() {
+    this.inProgress = new ConcurrentHashMap<>();
+    this.sentCount = new LongAdder();
+    this.sharedCount = new LongAdder();
+  }
+
+  /**
+   * Execute a request, or share the result of an identical request in progress.
+   *
+   * @param <T> Type of the result.
+   * @param properties Properties defining the request.
+   * @param loader Loader executing the request.
+   * @return Result of the request.
+   * @throws APIException Exception thrown by the API.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(
+      Map<String, String> properties,
+      Loader<T> loader) throws APIException {
+    String key = getKey(properties);
+    if (key == null) {
+      return loader.load();
+    }
+
+    // Share the result of an identical request in progress
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inProgress.putIfAbsent(key, future);
+    if (existing != null) {
+      sharedCount.increment();
+      try {
+        return (T) existing.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new APIException("Interrupted while waiting for an identical request", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof APIException) {
+          throw (APIException) e.getCause();
+        }
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw new APIException("Error in an identical request", e.getCause());
+      }
+    }
+
+    // Execute the request
+    sentCount.increment();
+    try {
+      T result = loader.load();
+      future.complete(result);
+      return result;
+    } catch (Throwable e) {
+      // Any failure must complete the future, or threads sharing it would wait forever
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inProgress.remove(key, future);
+    }
+  }
+
+  /**
+   * @param properties Properties defining the request.
+   * @return Key identifying the request, null if the request can't be coalesced.
+   */
+  static String getKey(Map<String, String> properties) {
+    if ((properties == null) ||
+        !COALESCED_ACTIONS.contains(properties.get(ApiRequest.ACTION))) {
+      return null;
+    }
+    StringBuilder key = new StringBuilder();
+    for (Map.Entry<String, String> property : new TreeMap<>(properties).entrySet()) {
+      key.append(property.getKey());
+      key.append('=');
+      key.append(property.getValue());
+      key.append('\n');
+    }
+    return key.toString();
+  }
+
+  /**
+   * Loader executing a request.
+   *
+   * @param <T> Type of the result.
+   */
+  @FunctionalInterface
+  public interface Loader<T> {
+
+    /**
+     * @return Result of the request.
+     * @throws APIException Exception thrown by the API.
+     */
+    T load() throws APIException;
+  }
+
+  // ==========================================================================
+  // Metrics
+  // ==========================================================================
+
+  /**
+   * @return Number of requests actually sent.
+   */
+  public long getSentCount() {
+    return sentCount.sum();
+  }
+
+  /**
+   * @return Number of requests sharing the result of a request in progress.
+   */
+  public long getSharedCount() {
+    return sharedCount.sum();
+  }
+
+  /**
+   * @return Textual description of the metrics.
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return "sent=" + getSentCount() +
+        ", shared=" + getSharedCount();
+  }
+}
@@ -0,0 +1,233 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.wikipediacleaner.api.APIException;
+
+
+/**
+ * Lazy iterator on the results of a request using the continue protocol.
+ *
+ * Results are loaded by batches: while a batch is consumed,
+ * the next batch is loaded in the background with the continuation of the previous one.
+ * At most two batches are kept in memory.
+ *
+ * @param <T> Type of the results.
+ */
+public class ApiContinuation<T> implements Iterator<T>, AutoCloseable {
+
+  /** Executor for loading the next batches */
+  private static final ExecutorService executor = Executors.newCachedThreadPool(
+      new ThreadFactory());
+
+  /** Properties defining the request, updated with the continuation */
+  private final Map<String, String> properties;
+
+  /** Loader for each batch */
+  private final BatchLoader<T> loader;
+
+  /** Iterator on the current batch */
+  private Iterator<T> current;
+
+  /** Next batch being loaded (null if there's no more batch) */
+  private CompletableFuture<Batch<T>> next;
+
+  /**
+   * @param properties Properties defining the request.
+   * @param loader Loader for each batch.
+   */
+  public ApiContinuation(Map<String, String> properties, BatchLoader<T> loader) {
+    this.properties = properties;
+    this.loader = loader;
+    this.current = null;
+    this.next = loadNext();
+  }
+
+  /**
+   * @return True if there are more results.
+   * @throws ContinuationException Exception thrown if a batch couldn't be loaded.
+   * @see java.util.Iterator#hasNext()
+   */
+  @Override
+  public boolean hasNext() {
+    while ((current == null) || !current.hasNext()) {
+      if (next == null) {
+        return false;
+      }
+      Batch<T> batch = null;
+      try {
+        batch = next.join();
+      } catch (CompletionException e) {
+        next = null;
+        if (e.getCause() instanceof APIException) {
+          throw new ContinuationException((APIException) e.getCause());
+        }
+        throw e;
+      }
+      current = batch.results.iterator();
+      next = batch.shouldContinue ? loadNext() : null;
+    }
+    return true;
+  }
+
+  /**
+   * @return Next result.
+   * @throws ContinuationException Exception thrown if a batch couldn't be loaded.
+   * @see java.util.Iterator#next()
+   */
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  /**
+   * @return Stream of the results.
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+        false).onClose(this::close);
+  }
+
+  /**
+   * Stop loading the next batches.
+   *
+   * @see java.lang.AutoCloseable#close()
+   */
+  @Override
+  public void close() {
+    if (next != null) {
+      next.cancel(false);
+      next = null;
+    }
+    current = null;
+  }
+
+  /**
+   * Start loading the next batch in the background.
+   *
+   * @return Next batch being loaded.
+   */
+  private CompletableFuture<Batch<T>> loadNext() {
+    return CompletableFuture.supplyAsync(() -> {
+      List<T> results = new ArrayList<>();
+      try {
+        boolean shouldContinue = loader.load(properties, results);
+        return new Batch<>(results, shouldContinue);
+      } catch (APIException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+  /**
+   * Loader for a batch of results.
+   *
+   * @param <T> Type of the results.
+   */
+  @FunctionalInterface
+  public interface BatchLoader<T> {
+
+    /**
+     * Load a batch of results.
+     *
+     * @param properties Properties defining the request, to be updated with the continuation.
+     * @param results List to be filled with the results.
+     * @return True if request should be continued.
+     * @throws APIException Exception thrown by the API.
+     */
+    boolean load(Map<String, String> properties, List<T> results) throws APIException;
+  }
+
+  /**
+   * Exception thrown when a batch couldn't be loaded.
+   */
+  public static class ContinuationException extends RuntimeException {
+
+    /** Serialisation */
+    private static final long serialVersionUID = 3079564718201840931L;
+
+    /**
+     * @param cause Exception thrown by the API.
+     */
+    ContinuationException(APIException cause) {
+      super(cause.getMessage(), cause);
+    }
+
+    /**
+     * @return Exception thrown by the API.
+     * @see java.lang.Throwable#getCause()
+     */
+    @Override
+    public synchronized APIException getCause() {
+      return (APIException) super.getCause();
+    }
+  }
+
+  /**
+   * Batch of results.
+   *
+   * @param <T> Type of the results.
+   */
+  private static class Batch<T> {
+
+    /** Results */
+    final List<T> results;
+
+    /** True if request should be continued */
+    final boolean shouldContinue;
+
+    /**
+     * @param results Results.
+     * @param shouldContinue True if request should be continued.
+     */
+    Batch(List<T> results, boolean shouldContinue) {
+      this.results = results;
+      this.shouldContinue = shouldContinue;
+    }
+  }
+
+  /**
+   * Factory for the threads loading the batches.
+   */
+  private static class ThreadFactory implements java.util.concurrent.ThreadFactory {
+
+    /** Number of threads created */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * @param runnable Task to be run by the thread.
+     * @return New thread.
+     * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+     */
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "ApiContinuation-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
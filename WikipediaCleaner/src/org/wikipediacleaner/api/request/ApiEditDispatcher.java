@@ -0,0 +1,280 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request;
+
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.ConnectionInformation;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.User;
+import org.wikipediacleaner.utils.Configuration;
+import org.wikipediacleaner.utils.ConfigurationValueInteger;
+
+
+/**
+ * Dispatcher for the edits sent to a wiki.
+ *
+ * Each edit gets a time slot honoring the minimum time between edits
+ * and the maximum number of edits in any sliding window of a minute.
+ * The edit is then sent by the calling thread once its slot is reached:
+ * no lock is held while waiting for the slot or while sending the edit,
+ * so edits overlap when the schedule allows it.
+ */
+public class ApiEditDispatcher {
+
+  /** Logger */
+  private static final Logger log = LoggerFactory.getLogger(ApiEditDispatcher.class);
+
+  // ==========================================================================
+  // Dispatchers
+  // ==========================================================================
+
+  /** Dispatcher for each wiki */
+  private static final Map<EnumWikipedia, ApiEditDispatcher> dispatchers = new ConcurrentHashMap<>();
+
+  /**
+   * @param wiki Wiki.
+   * @return Dispatcher for the edits sent to the wiki.
+   */
+  public static ApiEditDispatcher getDispatcher(EnumWikipedia wiki) {
+    return dispatchers.computeIfAbsent(wiki, key -> new ApiEditDispatcher());
+  }
+
+  // ==========================================================================
+  // Dispatching
+  // ==========================================================================
+
+  /** Number of edits waiting for their slot */
+  private final AtomicInteger waitingCount;
+
+  /** Time of the slots given to edits during the last minute, in order */
+  private final LinkedList<Long> lastEditTimes;
+
+  /** Number of edits sent */
+  private final LongAdder editCount;
+
+  /** Lock for refreshing the edit token */
+  private final Object tokenLock;
+
+  /**
+   * Constructor.
+   */
+  ApiEditDispatcher() {
+    this.waitingCount = new AtomicInteger();
+    this.lastEditTimes = new LinkedList<>();
+    this.editCount = new LongAdder();
+    this.tokenLock = new Object();
+  }
+
+  /**
+   * Wait for a slot and send an edit from the calling thread.
+   *
+   * @param <T> Type of the result.
+   * @param user User doing the edit.
+   * @param namespace Name space of the edited page.
+   * @param task Task sending the edit.
+   * @return Result of the edit.
+   * @throws APIException Exception thrown by the API.
+   */
+  public <T> T execute(User user, Integer namespace, EditTask<T> task) throws APIException {
+    int minimumTime = Configuration.getConfiguration().getInt(
+        null, ConfigurationValueInteger.TIME_BETWEEN_EDIT);
+    return execute(minimumTime, getMaxEditsPerMinute(user, namespace), task);
+  }
+
+  /**
+   * Wait for a slot and send an edit from the calling thread.
+   *
+   * If the calling thread is interrupted while waiting for its slot, the edit is not sent.
+   *
+   * @param <T> Type of the result.
+   * @param minimumTime Minimum time (in s) between edits.
+   * @param maxEdits Maximum number of edits per minute, 0 if not limited.
+   * @param task Task sending the edit.
+   * @return Result of the edit.
+   * @throws APIException Exception thrown by the API.
+   */
+  <T> T execute(int minimumTime, int maxEdits, EditTask<T> task) throws APIException {
+    long delay = reserve(System.currentTimeMillis(), minimumTime, maxEdits);
+    if (delay > 0) {
+      log.debug("Waiting {}ms before next edit", Long.valueOf(delay));
+      waitingCount.incrementAndGet();
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new APIException("Interrupted while waiting to send an edit", e);
+      } finally {
+        waitingCount.decrementAndGet();
+      }
+    }
+    editCount.increment();
+    return task.run();
+  }
+
+  /**
+   * @param user User doing the edit.
+   * @param namespace Name space of the edited page.
+   * @return Maximum number of edits per minute, 0 if not limited.
+   */
+  private static int getMaxEditsPerMinute(User user, Integer namespace) {
+    if ((namespace != null) && (namespace % 2 != 0)) {
+      return 0;
+    }
+    int maxEdits = Configuration.getConfiguration().getInt(
+        null, ConfigurationValueInteger.MAX_EDITS_PER_MINUTE);
+    if ((maxEdits > ConfigurationValueInteger.MAX_EDITS_PER_MINUTE_NORMAL) ||
+        (maxEdits <= 0)) {
+      if ((user == null) ||
+          (!user.isMemberOf("admin") && !user.isMemberOf("bot"))) {
+        maxEdits = ConfigurationValueInteger.MAX_EDITS_PER_MINUTE_NORMAL;
+      }
+    }
+    return Math.max(maxEdits, 0);
+  }
+
+  /**
+   * Reserve the next slot for an edit.
+   *
+   * Slots are given in the order of the reservations,
+   * and may be in the future when several edits are waiting.
+   *
+   * @param now Current time.
+   * @param minimumTime Minimum time (in s) between edits.
+   * @param maxEdits Maximum number of edits per minute, 0 if not limited.
+   * @return Delay (in ms) before the reserved slot.
+   */
+  synchronized long reserve(long now, int minimumTime, int maxEdits) {
+    if ((minimumTime <= 0) && (maxEdits <= 0)) {
+      return 0;
+    }
+    long slot = now;
+    if (!lastEditTimes.isEmpty()) {
+      long lastEditTime = lastEditTimes.getLast().longValue();
+      slot = Math.max(slot, lastEditTime);
+      if (minimumTime > 0) {
+        slot = Math.max(slot, lastEditTime + minimumTime * 1000L);
+      }
+    }
+    while (!lastEditTimes.isEmpty() &&
+           (lastEditTimes.getFirst().longValue() + 60 * 1000 <= slot)) {
+      lastEditTimes.removeFirst();
+    }
+    if ((maxEdits > 0) && (lastEditTimes.size() >= maxEdits)) {
+      slot = Math.max(slot, lastEditTimes.get(lastEditTimes.size() - maxEdits).longValue() + 60 * 1000);
+    }
+    lastEditTimes.add(Long.valueOf(slot));
+    return slot - now;
+  }
+
+  // ==========================================================================
+  // Tokens
+  // ==========================================================================
+
+  /**
+   * Refresh the edit token after it has been rejected.
+   *
+   * The token is retrieved without holding the lock,
+   * and stored only if no other edit has already replaced the rejected token.
+   *
+   * @param connection Connection information holding the edit token.
+   * @param rejectedToken Token rejected by the API.
+   * @param loader Loader retrieving a new token.
+   * @throws APIException Exception thrown by the API.
+   */
+  public void refreshEditToken(
+      ConnectionInformation connection, String rejectedToken,
+      TokenLoader loader) throws APIException {
+    synchronized (tokenLock) {
+      if (!Objects.equals(connection.getEditToken(), rejectedToken)) {
+        return;
+      }
+    }
+    String token = loader.load();
+    if (token == null) {
+      return;
+    }
+    synchronized (tokenLock) {
+      if (Objects.equals(connection.getEditToken(), rejectedToken)) {
+        connection.setEditToken(token);
+        User user = connection.getUser();
+        if ((user != null) && user.hasRight(User.RIGHT_DELETE)) {
+          connection.setDeleteToken(token);
+        }
+      }
+    }
+  }
+
+  // ==========================================================================
+  // Metrics
+  // ==========================================================================
+
+  /**
+   * @return Number of edits waiting for their slot.
+   */
+  public int getWaitingCount() {
+    return waitingCount.get();
+  }
+
+  /**
+   * @return Number of edits sent.
+   */
+  public long getEditCount() {
+    return editCount.sum();
+  }
+
+  /**
+   * @return Textual description of the metrics.
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return "waiting=" + getWaitingCount() +
+        ", edits=" + getEditCount();
+  }
+
+  // ==========================================================================
+  // Edits
+  // ==========================================================================
+
+  /**
+   * Task sending an edit.
+   *
+   * @param <T> Type of the result.
+   */
+  @FunctionalInterface
+  public interface EditTask<T> {
+
+    /**
+     * @return Result of the edit.
+     * @throws APIException Exception thrown by the API.
+     */
+    T run() throws APIException;
+  }
+
+  /**
+   * Loader retrieving a new token.
+   */
+  @FunctionalInterface
+  public interface TokenLoader {
+
+    /**
+     * @return New token.
+     * @throws APIException Exception thrown by the API.
+     */
+    String load() throws APIException;
+  }
+}
@@ -7,19 +7,14 @@
 
 package org.wikipediacleaner.api.request;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.zip.GZIPInputStream;
 
-import org.apache.commons.httpclient.Header;
-import org.apache.commons.httpclient.HttpClient;
-import org.apache.commons.httpclient.HttpMethod;
-import org.apache.commons.httpclient.HttpStatus;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.wikipediacleaner.api.APIException;
@@ -30,6 +25,8 @@ import org.wikipediacleaner.utils.Configuration;
 import org.wikipediacleaner.utils.ConfigurationValueBoolean;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -53,6 +50,11 @@ public abstract class ApiJsonResult extends BasicApiResult {
    */
   protected final static JsonFactory factory = new JsonFactory();
 
+  /**
+   * JSON object mapper.
+   */
+  protected final static ObjectMapper mapper = new ObjectMapper(factory);
+
   /**
    * Update configuration.
    */
@@ -72,7 +74,7 @@ public abstract class ApiJsonResult extends BasicApiResult {
    */
   public ApiJsonResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -96,90 +98,84 @@ public abstract class ApiJsonResult extends BasicApiResult {
       Map<String, String> properties,
       int maxTry)
           throws APIException {
-    int attempt = 0;
-    for (;;) {
-      JsonNode root = null;
-      HttpMethod method = null;
-      InputStream stream = null;
-      try {
-        // Executing HTTP method
-        attempt++;
-        method = createHttpMethod(properties);
-        int statusCode = getHttpClient().executeMethod(method);
-
-        // Accessing response
-        stream = method.getResponseBodyAsStream();
-        stream = new BufferedInputStream(stream);
-        Header contentEncoding = method.getResponseHeader("Content-Encoding");
-        if (contentEncoding != null) {
-          if (contentEncoding.getValue().equals("gzip")) {
-            stream = new GZIPInputStream(stream);
-          }
-        }
-
-        // Read the response
-        if (statusCode == HttpStatus.SC_OK){
-          ObjectMapper mapper = new ObjectMapper(factory);
-          root = mapper.readValue(stream, JsonNode.class);
-          traceDocument(root);
-          checkForError(root);
-        } else {
-          try {
-            while (stream.read() >= 0) {
-              //
-            }
-          } catch (IOException e) {
-            //
-          }
-        }
+    return execute(properties, maxTry, stream -> {
+      JsonNode root = mapper.readValue(stream, JsonNode.class);
+      traceDocument(root);
+      checkForError(root);
+      return root;
+    });
+  }
 
-        // Act depending on the status
-        if (statusCode != HttpStatus.SC_OK) {
-          String message = "URL access returned " + HttpStatus.getStatusText(statusCode);
-          log.error(message);
-          if (attempt > maxTry) {
-            log.warn("Error. Maximum attempts count reached.");
-            throw new APIException(message);
-          }
-          try {
-            Thread.sleep(30000);
-          } catch (InterruptedException e) {
-            // Nothing
-          }
-        } else {
-          return root;
-        }
-      } catch (IOException e) {
-        String message = "IOException: " + e.getMessage();
-        log.error(message);
-        if (attempt > maxTry) {
-          log.warn("Error. Maximum attempts count reached.");
-          throw new APIException("Error accessing MediaWiki", e);
-        }
-        try {
-          Thread.sleep(30000);
-        } catch (InterruptedException e2) {
-          // Nothing
-        }
-      } catch (APIException e) {
-        if (!e.shouldRetry() || (attempt > e.getMaxRetry())) {
-          throw e;
+  /**
+   * Send a request to MediaWiki API and stream its answer to a handler.
+   * 
+   * The answer is requested with formatversion=2 and is read with the streaming parser,
+   * without building a tree for the whole answer:
+   * errors, warnings and continuation are managed here,
+   * and the other top level fields are passed to the handler.
+   * 
+   * @param properties Properties defining the request.
+   * @param maxTry Maximum number of tries.
+   * @param handler Handler for the top level fields of the answer.
+   * @return True if request should be continued.
+   * @throws APIException Exception thrown by the API.
+   */
+  protected boolean executeStreaming(
+      Map<String, String> properties,
+      int maxTry,
+      StreamingHandler handler)
+          throws APIException {
+    properties.put(ApiRequest.FORMAT_VERSION, ApiRequest.FORMAT_VERSION_2);
+    Map<String, String> continueProperties = execute(properties, maxTry, stream -> {
+      handler.reset();
+      Map<String, String> result = new HashMap<>();
+      try (JsonParser parser = factory.createParser(stream)) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+          throw new IOException("JSON object expected");
         }
-        e.waitForRetry();
-      } finally {
-        if (stream != null) {
-          try {
-            stream.close();
-          } catch (IOException e) {
-            log.warn("Error closing stream");
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String name = parser.getCurrentName();
+          parser.nextToken();
+          if ("error".equals(name)) {
+            reportError(parser.readValueAsTree());
+          } else if ("warnings".equals(name)) {
+            reportWarnings(parser.readValueAsTree());
+          } else if ("continue".equals(name)) {
+            readContinue(parser.readValueAsTree(), result);
+          } else {
+            handler.readField(name, parser);
           }
         }
-        if (method != null) {
-          method.releaseConnection();
-        }
       }
-      log.warn("Error. Trying again");
+      return result;
+    });
+    boolean result = false;
+    for (Entry<String, String> continueProperty : continueProperties.entrySet()) {
+      properties.put(continueProperty.getKey(), continueProperty.getValue());
+      if (!"".equals(continueProperty.getValue())) {
+        result = true;
+      }
     }
+    return result;
+  }
+
+  /**
+   * Send a request to MediaWiki API.
+   * 
+   * @param <T> Type of the answer.
+   * @param properties Properties defining the request.
+   * @param maxTry Maximum number of tries.
+   * @param reader Reader for the answer.
+   * @return Answer of MediaWiki API.
+   * @throws APIException Exception thrown by the API.
+   */
+  private <T> T execute(
+      Map<String, String> properties,
+      int maxTry,
+      ApiScheduler.ResponseReader<T> reader)
+          throws APIException {
+    return ApiScheduler.getScheduler(getWiki()).execute(
+        getHttpClient(), () -> createHttpMethod(properties), maxTry, reader);
   }
 
   /**
@@ -194,7 +190,19 @@ public abstract class ApiJsonResult extends BasicApiResult {
     }
     
     // Check for errors
-    JsonNode error = root.path("error");
+    reportError(root.path("error"));
+
+    // Check for warnings
+    reportWarnings(root.path("warnings"));
+  }
+
+  /**
+   * Report an error node.
+   * 
+   * @param error Error node.
+   * @throws APIException Exception for the error.
+   */
+  private void reportError(JsonNode error) throws APIException {
     if ((error != null) && !error.isMissingNode()) {
       String code = error.path("code").asText("?");
       String info = error.path("info").asText("?");
@@ -202,9 +210,14 @@ public abstract class ApiJsonResult extends BasicApiResult {
       log.warn(text);
       throw new APIException(text, code);
     }
+  }
 
-    // Check for warnings
-    JsonNode warnings = root.path("warnings");
+  /**
+   * Report a warnings node.
+   * 
+   * @param warnings Warnings node.
+   */
+  private void reportWarnings(JsonNode warnings) {
     if ((warnings != null) && !warnings.isMissingNode()) {
       log.warn("Warning reported: ");
       String query = warnings.path("query").asText();
@@ -232,8 +245,25 @@ public abstract class ApiJsonResult extends BasicApiResult {
     if ((root == null) || (queryContinue == null)) {
       return false;
     }
+    Map<String, String> continueProperties = new HashMap<>();
+    readContinue(root.path("continue"), continueProperties);
     boolean result = false;
-    JsonNode continueNode = root.path("continue");
+    for (Entry<String, String> continueProperty : continueProperties.entrySet()) {
+      properties.put(continueProperty.getKey(), continueProperty.getValue());
+      if (!"".equals(continueProperty.getValue())) {
+        result = true;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Read a continue node.
+   * 
+   * @param continueNode Continue node.
+   * @param properties Properties to be filled with the continue values.
+   */
+  private void readContinue(JsonNode continueNode, Map<String, String> properties) {
     if ((continueNode != null) && !continueNode.isMissingNode()) {
       Iterator<Entry<String, JsonNode>> continueIterator = continueNode.fields();
       while (continueIterator.hasNext()) {
@@ -242,13 +272,9 @@ public abstract class ApiJsonResult extends BasicApiResult {
         String value = continueElement.getValue().asText();
         if ((name != null) && (value != null)) {
           properties.put(name, value);
-          if (!"".equals(value)) {
-            result = true;
-          }
         }
       }
     }
-    return result;
   }
 
   /**
@@ -311,4 +337,25 @@ public abstract class ApiJsonResult extends BasicApiResult {
       System.out.println("**********  END OF DOCUMENT  **********");
     }
   }
+
+  /**
+   * Handler for the top level fields of an answer read with the streaming parser.
+   */
+  public interface StreamingHandler {
+
+    /**
+     * Forget what has been read in a previous attempt.
+     */
+    void reset();
+
+    /**
+     * Read a top level field.
+     * The parser is on the first token of the value, and the whole value must be consumed.
+     * 
+     * @param name Field name.
+     * @param parser JSON parser.
+     * @throws IOException Error reading the field.
+     */
+    void readField(String name, JsonParser parser) throws IOException;
+  }
 }
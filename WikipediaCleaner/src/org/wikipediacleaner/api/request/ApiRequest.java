@@ -16,7 +16,9 @@ import java.util.List;
 import java.util.Map;
 
 import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.User;
 import org.wikipediacleaner.utils.Configuration;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
@@ -113,6 +115,16 @@ public abstract class ApiRequest {
    */
   public final static String FORMAT_XML = "xml";
 
+  /**
+   * API format version.
+   */
+  public final static String FORMAT_VERSION = "formatversion";
+
+  /**
+   * API format version 2 (simpler JSON structure).
+   */
+  public final static String FORMAT_VERSION_2 = "2";
+
   // ==========================================================================
   // Limits
   // ==========================================================================
@@ -127,6 +139,11 @@ public abstract class ApiRequest {
    */
   public final static int MAX_PAGES_PER_QUERY = 50;
 
+  /**
+   * Maximum number of pages in a request for users with high limits.
+   */
+  public final static int MAX_PAGES_PER_QUERY_HIGH_LIMITS = 500;
+
   /**
    * Maximum size for an URL encoded list.
    */
@@ -152,6 +169,9 @@ public abstract class ApiRequest {
   /** Value to include current timestamp in the response */
   public final static String PROPERTY_CURRENT_TIMESTAMP_YES = "1";
 
+  /** Maximum replication lag (in seconds) accepted for the request */
+  public final static String PROPERTY_MAXLAG = "maxlag";
+
   // ==========================================================================
   // Wiki management
   // ==========================================================================
@@ -284,6 +304,36 @@ public abstract class ApiRequest {
     return buffer.toString();
   }
 
+  /**
+   * @return Maximum number of pages in a request for the current user.
+   */
+  protected int getMaxPagesPerQuery() {
+    User user = getWiki().getConnection().getUser();
+    if ((user != null) && user.hasHighLimits()) {
+      return MAX_PAGES_PER_QUERY_HIGH_LIMITS;
+    }
+    return MAX_PAGES_PER_QUERY;
+  }
+
+  /**
+   * @param category Category.
+   * @return Full name of the category, including the name space.
+   */
+  protected String getCategoryName(Page category) {
+    String categoryName = category.getTitle();
+    int colonIndex = categoryName.indexOf(':');
+    if (colonIndex < 0) {
+      categoryName = getWiki().getWikiConfiguration().getPageTitle(
+          Namespace.CATEGORY, categoryName);
+    } else {
+      Namespace namespaceCategory = getWiki().getWikiConfiguration().getNamespace(Namespace.CATEGORY);
+      if (!namespaceCategory.isPossibleName(categoryName.substring(0, colonIndex))) {
+        categoryName = getWiki().getWikiConfiguration().getPageTitle(Namespace.CATEGORY, categoryName);
+      }
+    }
+    return categoryName;
+  }
+
   /**
    * Get the maximum size authorized.
    * 
@@ -7,7 +7,7 @@
 
 package org.wikipediacleaner.api.request;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 
 
@@ -29,5 +29,5 @@ public interface ApiResult {
   /**
    * @return HTTP client for making requests.
    */
-  public HttpClient getHttpClient();
+  public CloseableHttpClient getHttpClient();
 }
@@ -0,0 +1,518 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.utils.DateUtils;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumQueryResult;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.http.hc5.Hc5HttpUtils;
+import org.wikipediacleaner.utils.Configuration;
+import org.wikipediacleaner.utils.ConfigurationValueInteger;
+
+
+/**
+ * Scheduler for the requests sent to a wiki.
+ *
+ * The number of requests sent concurrently to a wiki is limited,
+ * and failed requests are retried after a delay depending on the class of error:
+ * the delay requested by the server (Retry-After header) if any,
+ * otherwise an exponential backoff with jitter.
+ * When the server is overloaded or lagged, all requests to the wiki are paused.
+ */
+public class ApiScheduler {
+
+  /** Logger */
+  private static final Logger log = LoggerFactory.getLogger(ApiScheduler.class);
+
+  // ==========================================================================
+  // Configuration
+  // ==========================================================================
+
+  /** Maximum replication lag (in seconds) accepted for requests, 0 to disable */
+  private static int maxLag = ConfigurationValueInteger.MAX_LAG.getDefaultValue();
+
+  /**
+   * Update configuration.
+   */
+  public static void updateConfiguration() {
+    Configuration config = Configuration.getConfiguration();
+    maxLag = config.getInt(null, ConfigurationValueInteger.MAX_LAG);
+  }
+
+  /**
+   * Add the maximum replication lag to the properties of a request.
+   *
+   * @param properties Properties defining the request.
+   */
+  public static void addMaxLag(Map<String, String> properties) {
+    if ((properties != null) && (maxLag > 0)) {
+      properties.put(ApiRequest.PROPERTY_MAXLAG, Integer.toString(maxLag));
+    }
+  }
+
+  // ==========================================================================
+  // Schedulers
+  // ==========================================================================
+
+  /** Scheduler for each wiki */
+  private static final Map<EnumWikipedia, ApiScheduler> schedulers = new ConcurrentHashMap<>();
+
+  /**
+   * @param wiki Wiki.
+   * @return Scheduler for the requests sent to the wiki.
+   */
+  public static ApiScheduler getScheduler(EnumWikipedia wiki) {
+    return schedulers.computeIfAbsent(wiki, key -> new ApiScheduler(
+        Configuration.getConfiguration().getInt(null, ConfigurationValueInteger.MAX_API_REQUESTS)));
+  }
+
+  // ==========================================================================
+  // Scheduling
+  // ==========================================================================
+
+  /** Maximum delay (in ms) before retrying a request */
+  private static final long MAX_DELAY = 120000;
+
+  /** Maximum pause (in ms) requested by the server */
+  private static final long MAX_PAUSE = 600000;
+
+  /**
+   * Classes of errors.
+   */
+  enum ErrorClass {
+
+    /** Error accessing the server */
+    NETWORK(2000),
+
+    /** Server overloaded (HTTP 429 or 503) */
+    THROTTLED(10000),
+
+    /** Other HTTP errors */
+    HTTP(5000),
+
+    /** Replication lag higher than maxlag */
+    MAXLAG(5000),
+
+    /** Answer that can't be read */
+    PARSE(5000);
+
+    /** Base delay (in ms) before retrying */
+    final long baseDelay;
+
+    /**
+     * @param baseDelay Base delay (in ms) before retrying.
+     */
+    ErrorClass(long baseDelay) {
+      this.baseDelay = baseDelay;
+    }
+
+    /**
+     * @return True if all the requests to the wiki should be paused.
+     */
+    boolean shouldPause() {
+      return (this == THROTTLED) || (this == MAXLAG);
+    }
+  }
+
+  /** Budget of concurrent requests */
+  private final Semaphore budget;
+
+  /** Time (from System.currentTimeMillis()) until which requests are paused */
+  private final AtomicLong pausedUntil = new AtomicLong();
+
+  /** Number of requests waiting to be sent */
+  private final AtomicInteger queueDepth = new AtomicInteger();
+
+  /** Number of requests being sent */
+  private final AtomicInteger activeRequests = new AtomicInteger();
+
+  /** Number of requests sent */
+  private final LongAdder requestCount = new LongAdder();
+
+  /** Number of requests retried */
+  private final LongAdder retryCount = new LongAdder();
+
+  /** Total latency (in ns) of the requests */
+  private final LongAdder totalLatency = new LongAdder();
+
+  /** Maximum latency (in ns) of a request */
+  private final AtomicLong maxLatency = new AtomicLong();
+
+  /**
+   * @param maxRequests Maximum number of concurrent requests.
+   */
+  ApiScheduler(int maxRequests) {
+    this.budget = new Semaphore(Math.max(1, maxRequests), true);
+  }
+
+  /**
+   * Send a request and read its answer, retrying when possible.
+   *
+   * Network errors, HTTP errors and answers that can't be read are retried up to maxTry times.
+   * Errors reported by the API in the answer (including maxlag) are retried
+   * up to the limit defined for them in {@link EnumQueryResult}.
+   * Runtime exceptions are not retried.
+   *
+   * @param httpClient HTTP client for making requests.
+   * @param requestFactory Factory creating the request for each attempt.
+   * @param maxTry Maximum number of retries.
+   * @param reader Reader for the answer.
+   * @return Result of reading the answer.
+   * @throws APIException Exception thrown by the API.
+   */
+  public <T> T execute(
+      CloseableHttpClient httpClient,
+      Supplier<HttpUriRequest> requestFactory,
+      int maxTry,
+      ResponseReader<T> reader) throws APIException {
+    return execute(() -> httpClient.execute(requestFactory.get()), maxTry, reader);
+  }
+
+  /**
+   * Send a request and read its answer, retrying when possible.
+   *
+   * @param sender Sender of the request for each attempt.
+   * @param maxTry Maximum number of retries.
+   * @param reader Reader for the answer.
+   * @return Result of reading the answer.
+   * @throws APIException Exception thrown by the API.
+   */
+  <T> T execute(
+      RequestSender sender,
+      int maxTry,
+      ResponseReader<T> reader) throws APIException {
+    int attempt = 0;
+    for (;;) {
+      attempt++;
+      ErrorClass errorClass = null;
+      APIException failure = null;
+      long retryAfter = -1;
+      acquire();
+      long beginTime = System.nanoTime();
+      ClassicHttpResponse response = null;
+      InputStream stream = null;
+      try {
+        // Executing HTTP method
+        response = sender.send();
+        int statusCode = response.getCode();
+        retryAfter = getRetryAfter(response);
+
+        // Read the response
+        if (statusCode == HttpStatus.SC_OK) {
+          stream = Hc5HttpUtils.getResponseStream(response);
+          return reader.read(stream);
+        }
+        Hc5HttpUtils.drainResponse(response);
+        String message = "URL access returned " + Hc5HttpUtils.getStatusText(statusCode);
+        log.error(message);
+        failure = new APIException(message, statusCode);
+        errorClass =
+            ((statusCode == HttpStatus.SC_TOO_MANY_REQUESTS) ||
+             (statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE)) ?
+            ErrorClass.THROTTLED : ErrorClass.HTTP;
+      } catch (APIException e) {
+        if (!e.shouldRetry() || (attempt > e.getMaxRetry())) {
+          throw e;
+        }
+        failure = e;
+        if (e.getQueryResult() == EnumQueryResult.MAXLAG) {
+          errorClass = ErrorClass.MAXLAG;
+        }
+      } catch (IOException e) {
+        log.error("{}: {}", e.getClass().getName(), e.getMessage());
+        failure = new APIException("Error accessing MediaWiki", e);
+        errorClass = ErrorClass.NETWORK;
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        log.error("{}: {}", e.getClass().getName(), e.getMessage());
+        failure = new APIException("Error reading MediaWiki answer", e);
+        errorClass = ErrorClass.PARSE;
+      } finally {
+        close(stream, response);
+        release(System.nanoTime() - beginTime);
+      }
+
+      // Wait before retrying
+      if (errorClass == null) {
+        failure.waitForRetry();
+      } else {
+        if ((errorClass != ErrorClass.MAXLAG) && (attempt > maxTry)) {
+          log.warn("Error. Maximum attempts count reached.");
+          throw failure;
+        }
+        waitBeforeRetrying(errorClass, attempt, retryAfter);
+      }
+      retryCount.increment();
+      log.warn("Error. Trying again");
+    }
+  }
+
+  /**
+   * Wait for a slot in the budget of concurrent requests.
+   *
+   * @throws APIException Exception thrown if the wait is interrupted.
+   */
+  private void acquire() throws APIException {
+    queueDepth.incrementAndGet();
+    try {
+      waitForPause();
+      budget.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new APIException("Interrupted while waiting to send a request", e);
+    } finally {
+      queueDepth.decrementAndGet();
+    }
+    activeRequests.incrementAndGet();
+  }
+
+  /**
+   * Release a slot in the budget of concurrent requests.
+   *
+   * @param latency Latency (in ns) of the request.
+   */
+  private void release(long latency) {
+    activeRequests.decrementAndGet();
+    budget.release();
+    requestCount.increment();
+    totalLatency.add(latency);
+    maxLatency.accumulateAndGet(latency, Math::max);
+  }
+
+  /**
+   * Wait until the end of the pause requested by the server.
+   *
+   * @throws InterruptedException Exception thrown if the wait is interrupted.
+   */
+  private void waitForPause() throws InterruptedException {
+    for (;;) {
+      long delay = pausedUntil.get() - currentTime();
+      if (delay <= 0) {
+        return;
+      }
+      sleep(delay);
+    }
+  }
+
+  /**
+   * Wait after a problem occurred.
+   *
+   * @param errorClass Class of the error.
+   * @param attempt Number of the attempt which failed.
+   * @param retryAfter Delay (in ms) requested by the server, -1 if none.
+   */
+  private void waitBeforeRetrying(ErrorClass errorClass, int attempt, long retryAfter) {
+    long delay = computeDelay(errorClass, attempt, retryAfter);
+    if (errorClass.shouldPause()) {
+      long end = currentTime() + delay;
+      pausedUntil.accumulateAndGet(end, Math::max);
+    }
+    log.warn("Waiting {}ms after error of class {}", Long.valueOf(delay), errorClass);
+    try {
+      sleep(delay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return Current time (in ms).
+   */
+  long currentTime() {
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * Wait for a given delay.
+   *
+   * @param delay Delay (in ms).
+   * @throws InterruptedException Exception thrown if the wait is interrupted.
+   */
+  void sleep(long delay) throws InterruptedException {
+    Thread.sleep(delay);
+  }
+
+  /**
+   * Compute the delay before retrying a request.
+   *
+   * @param errorClass Class of the error.
+   * @param attempt Number of the attempt which failed.
+   * @param retryAfter Delay (in ms) requested by the server, -1 if none.
+   * @return Delay (in ms) before retrying.
+   */
+  static long computeDelay(ErrorClass errorClass, int attempt, long retryAfter) {
+    long delay = errorClass.baseDelay << Math.min(Math.max(attempt - 1, 0), 16);
+    delay = Math.min(delay, MAX_DELAY);
+    delay = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    if (retryAfter >= 0) {
+      delay = Math.max(delay, Math.min(retryAfter, MAX_PAUSE));
+    }
+    return delay;
+  }
+
+  /**
+   * @param response HTTP response.
+   * @return Delay (in ms) requested by the server in the Retry-After header, -1 if none.
+   */
+  static long getRetryAfter(HttpResponse response) {
+    Header header = response.getFirstHeader("Retry-After");
+    if ((header == null) || (header.getValue() == null)) {
+      return -1;
+    }
+    String value = header.getValue().trim();
+    try {
+      return Math.max(0, Long.parseLong(value) * 1000);
+    } catch (NumberFormatException e) {
+      // Not a number of seconds, should be an HTTP date
+    }
+    Date date = DateUtils.parseDate(value);
+    if (date == null) {
+      return -1;
+    }
+    return Math.max(0, date.getTime() - System.currentTimeMillis());
+  }
+
+  /**
+   * Close the answer of a request.
+   *
+   * @param stream Stream of the answer.
+   * @param response HTTP response.
+   */
+  private void close(InputStream stream, ClassicHttpResponse response) {
+    if (stream != null) {
+      try {
+        stream.close();
+      } catch (IOException e) {
+        log.warn("Error closing stream");
+      }
+    }
+    if (response != null) {
+      try {
+        response.close();
+      } catch (IOException e) {
+        log.warn("Error closing response");
+      }
+    }
+  }
+
+  // ==========================================================================
+  // Metrics
+  // ==========================================================================
+
+  /**
+   * @return Number of requests waiting to be sent.
+   */
+  public int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  /**
+   * @return Number of requests being sent.
+   */
+  public int getActiveRequests() {
+    return activeRequests.get();
+  }
+
+  /**
+   * @return Number of requests sent.
+   */
+  public long getRequestCount() {
+    return requestCount.sum();
+  }
+
+  /**
+   * @return Number of requests retried.
+   */
+  public long getRetryCount() {
+    return retryCount.sum();
+  }
+
+  /**
+   * @return Average latency (in ms) of the requests.
+   */
+  public long getAverageLatency() {
+    long count = requestCount.sum();
+    return (count > 0) ? totalLatency.sum() / count / 1000000 : 0;
+  }
+
+  /**
+   * @return Maximum latency (in ms) of a request.
+   */
+  public long getMaxLatency() {
+    return maxLatency.get() / 1000000;
+  }
+
+  /**
+   * @return Textual description of the metrics.
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return "queue=" + getQueueDepth() +
+        ", active=" + getActiveRequests() +
+        ", requests=" + getRequestCount() +
+        ", retries=" + getRetryCount() +
+        ", latency=" + getAverageLatency() + "ms" +
+        ", max latency=" + getMaxLatency() + "ms";
+  }
+
+  // ==========================================================================
+  // Sender and reader
+  // ==========================================================================
+
+  /**
+   * Sender of a request.
+   */
+  @FunctionalInterface
+  interface RequestSender {
+
+    /**
+     * @return HTTP response.
+     * @throws IOException Exception thrown when accessing the server.
+     */
+    ClassicHttpResponse send() throws IOException;
+  }
+
+  /**
+   * Reader for the answer of a request.
+   *
+   * @param <T> Type of the result.
+   */
+  @FunctionalInterface
+  public interface ResponseReader<T> {
+
+    /**
+     * @param stream Stream of the answer.
+     * @return Result of reading the answer.
+     * @throws Exception Exception thrown when reading the answer.
+     */
+    T read(InputStream stream) throws Exception;
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.jdom2.Element;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+
+
+/**
+ * Registry of precompiled XPath expressions used for reading MediaWiki API XML results.
+ *
+ * Compiling an XPath expression is much more expensive than evaluating it,
+ * so compiled expressions are kept in a pool shared by all threads:
+ * a compiled expression keeps an evaluation context and can't be used by two threads at once,
+ * so each evaluation borrows one from the pool and gives it back afterwards.
+ * The pool of an expression grows up to the number of concurrent evaluations,
+ * and doesn't depend on the number of threads (tasks on virtual threads reuse the same expressions).
+ */
+public final class ApiXPath {
+
+  /** Registry of expressions by path */
+  private static final Map<String, ApiXPath> registry = new ConcurrentHashMap<>();
+
+  // ==========================================================================
+  // Fixed paths
+  // ==========================================================================
+
+  /** Root of the answer */
+  public static final ApiXPath API = of("/api");
+
+  /** Errors */
+  public static final ApiXPath ERROR = of("/api/error");
+
+  /** Warnings */
+  public static final ApiXPath WARNINGS = of("/api/warnings/*");
+
+  /** Continuation */
+  public static final ApiXPath CONTINUE = of("/api/continue");
+
+  /** Edit result */
+  public static final ApiXPath EDIT = of("/api/edit");
+
+  /** Expanded text */
+  public static final ApiXPath EXPAND_WIKITEXT = of("/api/expandtemplates/wikitext");
+
+  /** Login result */
+  public static final ApiXPath LOGIN = of("/api/login");
+
+  /** Parse result */
+  public static final ApiXPath PARSE = of("/api/parse");
+
+  /** Sections of a parse result */
+  public static final ApiXPath PARSE_SECTIONS = of("/api/parse/sections/s");
+
+  /** Text of a parse result */
+  public static final ApiXPath PARSE_TEXT = of("/api/parse/text");
+
+  /** Tokens */
+  public static final ApiXPath TOKENS = of("/api/tokens");
+
+  /** Pages in the watch list */
+  public static final ApiXPath WATCHLIST_RAW = of("/api/watchlistraw/wr");
+
+  /** Abuse filters */
+  public static final ApiXPath QUERY_ABUSE_FILTERS = of("/api/query/abusefilters/filter");
+
+  /** Abuse log */
+  public static final ApiXPath QUERY_ABUSE_LOG = of("/api/query/abuselog/item");
+
+  /** Messages */
+  public static final ApiXPath QUERY_ALL_MESSAGES = of("/api/query/allmessages/message");
+
+  /** Back links */
+  public static final ApiXPath QUERY_BACKLINKS = of("/api/query/backlinks/bl");
+
+  /** Category members */
+  public static final ApiXPath QUERY_CATEGORY_MEMBERS = of("/api/query/categorymembers/cm");
+
+  /** Embedding pages */
+  public static final ApiXPath QUERY_EMBEDDED_IN = of("/api/query/embeddedin/ei");
+
+  /** Extensions */
+  public static final ApiXPath QUERY_EXTENSIONS = of("/api/query/extensions/ext");
+
+  /** General site information */
+  public static final ApiXPath QUERY_GENERAL = of("/api/query/general");
+
+  /** Linter categories */
+  public static final ApiXPath QUERY_GENERAL_LINTER = of("/api/query/general/linter/*");
+
+  /** Interwikis */
+  public static final ApiXPath QUERY_INTERWIKI_MAP = of("/api/query/interwikimap/iw");
+
+  /** Languages */
+  public static final ApiXPath QUERY_LANGUAGES = of("/api/query/languages/lang");
+
+  /** Lint errors */
+  public static final ApiXPath QUERY_LINT_ERRORS = of("/api/query/linterrors/_v");
+
+  /** Magic words */
+  public static final ApiXPath QUERY_MAGIC_WORDS = of("/api/query/magicwords/magicword");
+
+  /** Namespace aliases */
+  public static final ApiXPath QUERY_NAMESPACE_ALIASES = of("/api/query/namespacealiases/ns");
+
+  /** Namespaces */
+  public static final ApiXPath QUERY_NAMESPACES = of("/api/query/namespaces/ns");
+
+  /** Title normalization */
+  public static final ApiXPath QUERY_NORMALIZED = of("/api/query/normalized/n");
+
+  /** Pages */
+  public static final ApiXPath QUERY_PAGES = of("/api/query/pages/page");
+
+  /** Categories of the pages */
+  public static final ApiXPath QUERY_PAGES_CATEGORIES = of("/api/query/pages/page/categories/cl");
+
+  /** Language links of the pages */
+  public static final ApiXPath QUERY_PAGES_LANGLINKS = of("/api/query/pages/page/langlinks/ll");
+
+  /** Protections of the pages */
+  public static final ApiXPath QUERY_PAGES_PROTECTION = of("/api/query/pages/page/protection/pr");
+
+  /** Redirects to the pages */
+  public static final ApiXPath QUERY_PAGES_REDIRECTS = of("/api/query/pages/page/redirects/rd");
+
+  /** Revisions of the pages */
+  public static final ApiXPath QUERY_PAGES_REVISIONS = of("/api/query/pages/page/revisions/rev");
+
+  /** Pages with a property */
+  public static final ApiXPath QUERY_PAGES_WITH_PROP = of("/api/query/pageswithprop/page");
+
+  /** Protected titles */
+  public static final ApiXPath QUERY_PROTECTED_TITLES = of("/api/query/protectedtitles/pt");
+
+  /** Pages of a special page */
+  public static final ApiXPath QUERY_QUERY_PAGE = of("/api/query/querypage/results/page");
+
+  /** Random pages */
+  public static final ApiXPath QUERY_RANDOM = of("/api/query/random/page");
+
+  /** Recent changes */
+  public static final ApiXPath QUERY_RECENT_CHANGES = of("/api/query/recentchanges/rc");
+
+  /** Redirects */
+  public static final ApiXPath QUERY_REDIRECTS = of("/api/query/redirects/r");
+
+  /** Search results */
+  public static final ApiXPath QUERY_SEARCH = of("/api/query/search/p");
+
+  /** Special page aliases */
+  public static final ApiXPath QUERY_SPECIAL_PAGE_ALIASES = of("/api/query/specialpagealiases/specialpage");
+
+  /** Users */
+  public static final ApiXPath QUERY_USERS = of("/api/query/users/user");
+
+  /** Errors for editing (relative to a page) */
+  public static final ApiXPath ACTIONS_EDIT_ERROR = of("actions/edit/error");
+
+  /** Aliases (relative to a magic word or a special page) */
+  public static final ApiXPath ALIASES = of("aliases/alias");
+
+  /** Captcha (relative to an edit result) */
+  public static final ApiXPath CAPTCHA = of("captcha");
+
+  /** Categories (relative to a page) */
+  public static final ApiXPath CATEGORIES = of("categories/cl");
+
+  /** Groups (relative to a user) */
+  public static final ApiXPath GROUPS = of("groups/g");
+
+  /** Links (relative to a page) */
+  public static final ApiXPath LINKS = of("links/pl");
+
+  /** Links to a page (relative to a page) */
+  public static final ApiXPath LINKS_HERE = of("linkshere/lh");
+
+  /** Protection for editing (relative to a page) */
+  public static final ApiXPath PROTECTION_EDIT = of("protection/pr[@type=\"edit\"]");
+
+  /** Links through redirects (relative to a back link) */
+  public static final ApiXPath REDIRLINKS = of("redirlinks/bl");
+
+  /** Revisions (relative to a page) */
+  public static final ApiXPath REVISIONS = of("revisions/rev");
+
+  /** Rights (relative to a user) */
+  public static final ApiXPath RIGHTS = of("rights/r");
+
+  /** Slots (relative to a revision) */
+  public static final ApiXPath SLOTS = of("slots/slot");
+
+  /** Templates (relative to a page) */
+  public static final ApiXPath TEMPLATES = of("templates/tl");
+
+  // ==========================================================================
+  // Expression management
+  // ==========================================================================
+
+  /**
+   * @param path XPath expression selecting elements.
+   * @return Registered expression for the path.
+   */
+  public static ApiXPath of(String path) {
+    return registry.computeIfAbsent(path, ApiXPath::new);
+  }
+
+  /** XPath expression */
+  private final String path;
+
+  /** Compiled expressions not currently used */
+  private final Queue<XPathExpression<Element>> pool;
+
+  /**
+   * @param path XPath expression selecting elements.
+   */
+  private ApiXPath(String path) {
+    this.path = path;
+    this.pool = new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * @return XPath expression.
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * @return Compiled expression borrowed from the pool, to be given back with {@link #release}.
+   */
+  private XPathExpression<Element> acquire() {
+    XPathExpression<Element> expression = pool.poll();
+    if (expression == null) {
+      expression = XPathFactory.instance().compile(path, Filters.element());
+    }
+    return expression;
+  }
+
+  /**
+   * @param expression Compiled expression given back to the pool.
+   */
+  private void release(XPathExpression<Element> expression) {
+    pool.offer(expression);
+  }
+
+  /**
+   * @param context Context of the evaluation.
+   * @return Elements selected by the expression.
+   */
+  public List<Element> evaluate(Object context) {
+    XPathExpression<Element> expression = acquire();
+    try {
+      return expression.evaluate(context);
+    } finally {
+      release(expression);
+    }
+  }
+
+  /**
+   * @param context Context of the evaluation.
+   * @return First element selected by the expression.
+   */
+  public Element evaluateFirst(Object context) {
+    XPathExpression<Element> expression = acquire();
+    try {
+      return expression.evaluateFirst(context);
+    } finally {
+      release(expression);
+    }
+  }
+}
@@ -7,31 +7,21 @@
 
 package org.wikipediacleaner.api.request;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.zip.GZIPInputStream;
 
 import javax.annotation.Nonnull;
 
-import org.apache.commons.httpclient.Header;
-import org.apache.commons.httpclient.HttpClient;
-import org.apache.commons.httpclient.HttpMethod;
-import org.apache.commons.httpclient.HttpStatus;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Attribute;
 import org.jdom2.Document;
 import org.jdom2.Element;
-import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
 import org.jdom2.input.JDOMParseException;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
@@ -73,7 +63,7 @@ public abstract class ApiXmlResult extends BasicApiResult {
    */
   public ApiXmlResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -98,109 +88,16 @@ public abstract class ApiXmlResult extends BasicApiResult {
       Map<String, String> properties,
       int maxTry)
           throws JDOMParseException, APIException {
-    int attempt = 0;
-    for (;;) {
-      Element root = null;
-      HttpMethod method = null;
-      InputStream stream = null;
-      try {
-        // Executing HTTP method
-        attempt++;
-        method = createHttpMethod(properties);
-        int statusCode = getHttpClient().executeMethod(method);
-
-        // Accessing response
-        stream = method.getResponseBodyAsStream();
-        stream = new BufferedInputStream(stream);
-        Header contentEncoding = method.getResponseHeader("Content-Encoding");
-        if (contentEncoding != null) {
-          if (contentEncoding.getValue().equals("gzip")) {
-            stream = new GZIPInputStream(stream);
-          }
-        }
-        // for (Header header : method.getRequestHeaders()) {
-        //   System.out.println("Request header:" + header);
-        // }
-        // for (Header header : method.getResponseHeaders()) {
-        //   System.out.println("Response header:" + header);
-        // }
-
-        // Read the response
-        if (statusCode == HttpStatus.SC_OK){
-          SAXBuilder sxb = new SAXBuilder();
-          Document document = sxb.build(stream);
-          traceDocument(document);
-          root = document.getRootElement();
-          checkForError(root);
-        } else {
-          try {
-            while (stream.read() >= 0) {
-              //
-            }
-          } catch (IOException e) {
-            //
-          }
-        }
-
-        // Act depending on the status
-        if (statusCode != HttpStatus.SC_OK) {
-          String message = "URL access returned " + HttpStatus.getStatusText(statusCode);
-          log.error(message);
-          if (attempt > maxTry) {
-            log.warn("Error. Maximum attempts count reached.");
-            throw new APIException(message);
-          }
-          try {
-            Thread.sleep(30000);
-          } catch (InterruptedException e) {
-            // Nothing
-          }
-        } else {
-          return root;
-        }
-      } catch (JDOMException e) {
-        String message = "JDOMException: " + e.getMessage();
-        log.error(message);
-        if (attempt > maxTry) {
-          log.warn("Error. Maximum attempts count reached.");
-          throw new APIException("Error parsing XML result", e);
-        }
-        try {
-          Thread.sleep(30000);
-        } catch (InterruptedException e2) {
-          // Nothing
-        }
-      } catch (IOException e) {
-        String message = "IOException: " + e.getMessage();
-        log.error(message);
-        if (attempt > maxTry) {
-          log.warn("Error. Maximum attempts count reached.");
-          throw new APIException("Error accessing MediaWiki", e);
-        }
-        try {
-          Thread.sleep(30000);
-        } catch (InterruptedException e2) {
-          // Nothing
-        }
-      } catch (APIException e) {
-        if (!e.shouldRetry() || (attempt > e.getMaxRetry())) {
-          throw e;
-        }
-        e.waitForRetry();
-      } finally {
-        if (stream != null) {
-          try {
-            stream.close();
-          } catch (IOException e) {
-            log.warn("Error closing stream");
-          }
-        }
-        if (method != null) {
-          method.releaseConnection();
-        }
-      }
-      log.warn("Error. Trying again");
-    }
+    return ApiCoalescer.getCoalescer(getWiki()).execute(
+        properties, () -> ApiScheduler.getScheduler(getWiki()).execute(
+            getHttpClient(), () -> createHttpMethod(properties), maxTry, stream -> {
+              SAXBuilder sxb = new SAXBuilder();
+              Document document = sxb.build(stream);
+              traceDocument(document);
+              Element root = document.getRootElement();
+              checkForError(root);
+              return root;
+            }));
   }
 
   /**
@@ -215,8 +112,7 @@ public abstract class ApiXmlResult extends BasicApiResult {
     }
     
     // Check for errors
-    XPathExpression<Element> xpa = XPathFactory.instance().compile(
-        "/api/error", Filters.element());
+    ApiXPath xpa = ApiXPath.ERROR;
     List<Element> listErrors = xpa.evaluate(root);
     if (listErrors != null) {
       for (Element currentNode : listErrors) {
@@ -230,8 +126,7 @@ public abstract class ApiXmlResult extends BasicApiResult {
     }
     
     // Check for warnings
-    xpa = XPathFactory.instance().compile(
-        "/api/warnings/*", Filters.element());
+    xpa = ApiXPath.WARNINGS;
     List<Element> listWarnings = xpa.evaluate(root);
     if (listWarnings != null) {
       for (Element currentNode : listWarnings) {
@@ -255,12 +150,10 @@ public abstract class ApiXmlResult extends BasicApiResult {
       return false;
     }
     boolean result = false;
-    XPathExpression<Element> xpa = XPathFactory.instance().compile(
-        queryContinue, Filters.element());
+    ApiXPath xpa = ApiXPath.of(queryContinue);
     List<Element> results = xpa.evaluate(root);
     if ((results == null) || (results.isEmpty())) {
-      xpa = XPathFactory.instance().compile(
-          "/api/continue", Filters.element());
+      xpa = ApiXPath.CONTINUE;
       results = xpa.evaluate(root);
     }
     if (results != null) {
@@ -285,8 +178,7 @@ public abstract class ApiXmlResult extends BasicApiResult {
    */
   @Nonnull
   protected Optional<String> getCurrentTimestamp(Element root) {
-    XPathExpression<Element> xpa = XPathFactory.instance().compile(
-        "/api", Filters.element());
+    ApiXPath xpa = ApiXPath.API;
     return Optional
         .ofNullable(xpa.evaluateFirst(root))
         .map(node -> node.getAttributeValue("curtimestamp"));
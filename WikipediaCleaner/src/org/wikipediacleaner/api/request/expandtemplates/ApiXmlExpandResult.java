@@ -9,15 +9,13 @@ package org.wikipediacleaner.api.request.expandtemplates;
 
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -32,7 +30,7 @@ public class ApiXmlExpandResult extends ApiXmlResult implements ApiExpandResult
    */
   public ApiXmlExpandResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -48,8 +46,7 @@ public class ApiXmlExpandResult extends ApiXmlResult implements ApiExpandResult
       Map<String, String> properties)
           throws APIException {
     try {
-      XPathExpression<Element> xpaText = XPathFactory.instance().compile(
-          "/api/expandtemplates/wikitext", Filters.element());
+      ApiXPath xpaText = ApiXPath.EXPAND_WIKITEXT;
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
       Element text = xpaText.evaluateFirst(root);
       return (text != null) ? text.getText() : null;
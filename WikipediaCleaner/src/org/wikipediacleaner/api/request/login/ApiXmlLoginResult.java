@@ -9,16 +9,14 @@ package org.wikipediacleaner.api.request.login;
 
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
-import org.jdom2.filter.Filters;
 import org.jdom2.input.JDOMParseException;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumLoginResult;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.LoginResult;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -33,7 +31,7 @@ public class ApiXmlLoginResult extends ApiXmlResult implements ApiLoginResult {
    */
   public ApiXmlLoginResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -68,8 +66,7 @@ public class ApiXmlLoginResult extends ApiXmlResult implements ApiLoginResult {
    * @return Result of the login.
    */
   private LoginResult constructLogin(Element root)  {
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/login", Filters.element());
+      ApiXPath xpa = ApiXPath.LOGIN;
       Element node = xpa.evaluateFirst(root);
       if (node != null) {
         String result = node.getAttributeValue("result");
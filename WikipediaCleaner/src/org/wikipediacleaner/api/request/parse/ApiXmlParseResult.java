@@ -12,18 +12,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumQueryResult;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.data.Section;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -38,7 +36,7 @@ public class ApiXmlParseResult extends ApiXmlResult implements ApiParseResult {
    */
   public ApiXmlParseResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -54,8 +52,7 @@ public class ApiXmlParseResult extends ApiXmlResult implements ApiParseResult {
       Map<String, String> properties)
           throws APIException {
     try {
-      XPathExpression<Element> xpaText = XPathFactory.instance().compile(
-          "/api/parse/text", Filters.element());
+      ApiXPath xpaText = ApiXPath.PARSE_TEXT;
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
       Element text = xpaText.evaluateFirst(root);
       return (text != null) ? text.getText() : null;
@@ -89,8 +86,7 @@ public class ApiXmlParseResult extends ApiXmlResult implements ApiParseResult {
       }
 
       // Retrieve sections
-      XPathExpression<Element> xpaSections = XPathFactory.instance().compile(
-          "/api/parse/sections/s", Filters.element());
+      ApiXPath xpaSections = ApiXPath.PARSE_SECTIONS;
       List<Element> listSections = xpaSections.evaluate(root);
       List<Section> result = new ArrayList<>(listSections.size());
       Iterator<Element> itSection = listSections.iterator();
@@ -110,8 +106,7 @@ public class ApiXmlParseResult extends ApiXmlResult implements ApiParseResult {
       }
 
       // Retrieve revision id
-      XPathExpression<Element> xpaPage = XPathFactory.instance().compile(
-          "/api/parse", Filters.element());
+      ApiXPath xpaPage = ApiXPath.PARSE;
       Element parseNode = xpaPage.evaluateFirst(root);
       if ((parseNode != null) && (parseNode.getAttributeValue("revid") != null)) {
         page.setRevisionId(parseNode.getAttributeValue("revid"));
@@ -7,14 +7,13 @@
 
 package org.wikipediacleaner.api.request.query.list;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiContinuation;
 
 
 /**
@@ -90,6 +89,20 @@ public class ApiBacklinksRequest extends ApiListRequest {
    * @throws APIException Exception thrown by the API.
    */
   public void loadBacklinks(Page page, boolean redirects) throws APIException {
+    List<Page> list = collect(iterateBacklinks(page, redirects), Integer.MAX_VALUE);
+    page.setRelatedPages(Page.RelatedPages.BACKLINKS, list);
+  }
+
+  /**
+   * Iterate over the back links.
+   * 
+   * The next batch of back links is loaded while the current one is consumed.
+   * 
+   * @param page Page for which back links are requested.
+   * @param redirects True if it should also retrieve links through redirects.
+   * @return Iterator on the back links.
+   */
+  public ApiContinuation<Page> iterateBacklinks(Page page, boolean redirects) {
     Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
     properties.put(
         PROPERTY_LIST,
@@ -100,11 +113,8 @@ public class ApiBacklinksRequest extends ApiListRequest {
     }
     properties.put(PROPERTY_TITLE, page.getTitle());
     properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
-    List<Page> list = new ArrayList<>();
-    while (result.executeBacklinks(properties, page, list)) {
-      //
-    }
-    Collections.sort(list);
-    page.setRelatedPages(Page.RelatedPages.BACKLINKS, list);
+    return new ApiContinuation<>(
+        properties,
+        (tmpProperties, list) -> result.executeBacklinks(tmpProperties, page, list));
   }
 }
@@ -16,7 +16,6 @@ import java.util.Map.Entry;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
-import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
@@ -205,17 +204,7 @@ public class ApiCategoryMembersRequest extends ApiListRequest {
       Page currentCategory = entry.getKey();
       categories.remove(currentCategory);
       int currentDepth = entry.getValue().intValue();
-      String categoryName = currentCategory.getTitle();
-      int colonIndex = categoryName.indexOf(':');
-      if (colonIndex < 0) {
-        categoryName = getWiki().getWikiConfiguration().getPageTitle(
-            Namespace.CATEGORY, categoryName);
-      } else {
-        Namespace namespaceCategory = getWiki().getWikiConfiguration().getNamespace(Namespace.CATEGORY);
-        if (!namespaceCategory.isPossibleName(categoryName.substring(0, colonIndex))) {
-          categoryName = getWiki().getWikiConfiguration().getPageTitle(Namespace.CATEGORY, categoryName);
-        }
-      }
+      String categoryName = getCategoryName(currentCategory);
       boolean shouldAnalyze = true;
       if (currentDepth > depth) {
         shouldAnalyze = false;
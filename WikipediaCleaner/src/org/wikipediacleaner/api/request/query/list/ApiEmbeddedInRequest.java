@@ -7,14 +7,13 @@
 
 package org.wikipediacleaner.api.request.query.list;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiContinuation;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
@@ -88,6 +87,22 @@ public class ApiEmbeddedInRequest extends ApiListRequest {
   public void loadEmbeddedIn(
       Page page, List<Integer> namespaces,
       boolean limit) throws APIException {
+    int maxSize = getMaxSize(limit, ConfigurationValueInteger.MAX_EMBEDDED_IN);
+    List<Page> list = collect(iterateEmbeddedIn(page, namespaces), maxSize);
+    page.setRelatedPages(Page.RelatedPages.EMBEDDED_IN, list);
+  }
+
+  /**
+   * Iterate over the pages embedding a page.
+   * 
+   * The next batch of pages is loaded while the current one is consumed.
+   * 
+   * @param page Page for list of embedding pages is requested.
+   * @param namespaces List of name spaces to restrict result.
+   * @return Iterator on the pages embedding the page.
+   */
+  public ApiContinuation<Page> iterateEmbeddedIn(
+      Page page, List<Integer> namespaces) {
     Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
     properties.put(PROPERTY_LIST, PROPERTY_LIST_EMBEDDEDIN);
     properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
@@ -96,13 +111,6 @@ public class ApiEmbeddedInRequest extends ApiListRequest {
       properties.put(PROPERTY_NAMESPACE, constructList(namespaces));
     }
     properties.put(PROPERTY_TITLE, page.getTitle());
-    List<Page> list = new ArrayList<>();
-    int maxSize = getMaxSize(limit, ConfigurationValueInteger.MAX_EMBEDDED_IN);
-    while (result.executeEmbeddedIn(properties, list) &&
-           (list.size() < maxSize)) {
-      //
-    }
-    Collections.sort(list);
-    page.setRelatedPages(Page.RelatedPages.EMBEDDED_IN, list);
+    return new ApiContinuation<>(properties, result::executeEmbeddedIn);
   }
 }
@@ -0,0 +1,66 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.query.list;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Namespace;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiJsonResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+
+/**
+ * MediaWiki API JSON category members results.
+ */
+public class ApiJsonCategoryMembersResult extends ApiJsonResult implements ApiCategoryMembersResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonCategoryMembersResult(
+      EnumWikipedia wiki,
+      CloseableHttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute category members request.
+   *
+   * @param properties Properties defining request.
+   * @param list List to be filled with category members.
+   * @param categories Map of categories to be analyzed with their depth.
+   * @param depth Current depth of the analysis.
+   * @return True if request should be continued.
+   * @throws APIException Exception thrown by the API.
+   */
+  @Override
+  public boolean executeCategoryMembers(
+      Map<String, String> properties,
+      List<Page> list,
+      Map<Page, Integer> categories, int depth) throws APIException {
+    ApiJsonListHandler handler = new ApiJsonListHandler(getWiki(), "categorymembers");
+    boolean result = executeStreaming(properties, ApiRequest.MAX_ATTEMPTS, handler);
+    for (Page page : handler.pages) {
+      if ((page.getNamespace() != null) &&
+          (page.getNamespace().intValue() == Namespace.CATEGORY)) {
+        categories.put(page, depth + 1);
+      } else {
+        if (!list.contains(page)) {
+          list.add(page);
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.query.list;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiJsonResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+
+/**
+ * MediaWiki API JSON embedded in results.
+ */
+public class ApiJsonEmbeddedInResult extends ApiJsonResult implements ApiEmbeddedInResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonEmbeddedInResult(
+      EnumWikipedia wiki,
+      CloseableHttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute embedded in request.
+   *
+   * @param properties Properties defining request.
+   * @param list List to be filled with embedding pages.
+   * @return True if request should be continued.
+   * @throws APIException Exception thrown by the API.
+   */
+  @Override
+  public boolean executeEmbeddedIn(
+      Map<String, String> properties,
+      List<Page> list) throws APIException {
+    ApiJsonListHandler handler = new ApiJsonListHandler(getWiki(), "embeddedin");
+    boolean result = executeStreaming(properties, ApiRequest.MAX_ATTEMPTS, handler);
+    list.addAll(handler.pages);
+    return result;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.query.list;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiJsonResult.StreamingHandler;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+
+/**
+ * Handler reading a list of pages (formatversion=2) with the streaming parser.
+ */
+class ApiJsonListHandler implements StreamingHandler {
+
+  /** Wiki */
+  private final EnumWikipedia wiki;
+
+  /** Name of the list in the query part of the answer */
+  private final String listName;
+
+  /** Pages of the list */
+  final List<Page> pages = new ArrayList<>();
+
+  /**
+   * @param wiki Wiki.
+   * @param listName Name of the list in the query part of the answer.
+   */
+  ApiJsonListHandler(EnumWikipedia wiki, String listName) {
+    this.wiki = wiki;
+    this.listName = listName;
+  }
+
+  /**
+   * Forget what has been read in a previous attempt.
+   *
+   * @see org.wikipediacleaner.api.request.ApiJsonResult.StreamingHandler#reset()
+   */
+  @Override
+  public void reset() {
+    pages.clear();
+  }
+
+  /**
+   * @param name Field name.
+   * @param parser JSON parser.
+   * @throws IOException Error reading the field.
+   * @see org.wikipediacleaner.api.request.ApiJsonResult.StreamingHandler#readField(java.lang.String, com.fasterxml.jackson.core.JsonParser)
+   */
+  @Override
+  public void readField(String name, JsonParser parser) throws IOException {
+    if (!"query".equals(name) || (parser.currentToken() != JsonToken.START_OBJECT)) {
+      parser.skipChildren();
+      return;
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String queryName = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if (listName.equals(queryName) && (token == JsonToken.START_ARRAY)) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          pages.add(readPage(parser));
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  /**
+   * Read a page, the parser being on the start of the object.
+   *
+   * @param parser JSON parser.
+   * @return Page.
+   * @throws IOException Error reading the page.
+   */
+  private Page readPage(JsonParser parser) throws IOException {
+    String title = null;
+    Integer namespace = null;
+    Integer pageId = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      parser.nextToken();
+      if ("title".equals(name)) {
+        title = parser.getValueAsString();
+      } else if ("ns".equals(name)) {
+        namespace = Integer.valueOf(parser.getValueAsInt());
+      } else if ("pageid".equals(name)) {
+        pageId = Integer.valueOf(parser.getValueAsInt());
+      } else {
+        parser.skipChildren();
+      }
+    }
+    Page page = DataManager.getPage(wiki, title, null, null, null);
+    page.setNamespace(namespace);
+    page.setPageId(pageId);
+    return page;
+  }
+}
@@ -7,14 +7,13 @@
 
 package org.wikipediacleaner.api.request.query.list;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiContinuation;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
@@ -71,6 +70,21 @@ public class ApiLintErrorsRequest extends ApiListRequest {
 
     int maxSize = getMaxSize(limit, ConfigurationValueInteger.MAX_LINT_ERRORS);
     maxSize = Math.min(maxSize, max);
+    return collect(iterateLintErrors(category, namespace, withTemplates), maxSize);
+  }
+
+  /**
+   * Iterate over the lint errors.
+   * 
+   * The next batch of lint errors is loaded while the current one is consumed.
+   * 
+   * @param category Linter category.
+   * @param namespace Optional name space.
+   * @param withTemplates True to retrieve also templates causing the error.
+   * @return Iterator on the pages with the error.
+   */
+  public ApiContinuation<Page> iterateLintErrors(
+      String category, Integer namespace, boolean withTemplates) {
     Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
     properties.put(PROPERTY_LIST, PROPERTY_LIST_LINTERRORS);
     properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
@@ -79,13 +93,9 @@ public class ApiLintErrorsRequest extends ApiListRequest {
     if (namespace != null) {
       properties.put(PROPERTY_NAMESPACE, namespace.toString());
     }
-    List<Page> list = new ArrayList<>();
-    while (result.executeLinterCategory(
-        properties, list, category, withTemplates) &&
-        (list.size() < maxSize)) {
-      //
-    }
-    Collections.sort(list);
-    return list;
+    return new ApiContinuation<>(
+        properties,
+        (tmpProperties, list) -> result.executeLinterCategory(
+            tmpProperties, list, category, withTemplates));
   }
 }
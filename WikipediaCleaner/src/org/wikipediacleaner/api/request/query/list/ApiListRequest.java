@@ -7,7 +7,16 @@
 
 package org.wikipediacleaner.api.request.query.list;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiContinuation;
 import org.wikipediacleaner.api.request.ApiRequest;
 
 
@@ -77,4 +86,31 @@ public class ApiListRequest extends ApiRequest {
   protected ApiListRequest(EnumWikipedia wiki) {
     super(wiki);
   }
+
+  // ==========================================================================
+  // Request management
+  // ==========================================================================
+
+  /**
+   * Collect the results of a list request.
+   * 
+   * @param iterator Iterator on the results.
+   * @param maxSize Maximum number of results.
+   * @return Sorted list of distinct results.
+   * @throws APIException Exception thrown by the API.
+   */
+  protected static List<Page> collect(
+      ApiContinuation<Page> iterator, int maxSize) throws APIException {
+    Set<Page> pages = new LinkedHashSet<>();
+    try (iterator) {
+      while ((pages.size() < maxSize) && iterator.hasNext()) {
+        pages.add(iterator.next());
+      }
+    } catch (ApiContinuation.ContinuationException e) {
+      throw e.getCause();
+    }
+    List<Page> list = new ArrayList<>(pages);
+    Collections.sort(list);
+    return list;
+  }
 }
@@ -7,14 +7,13 @@
 
 package org.wikipediacleaner.api.request.query.list;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiContinuation;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
@@ -162,6 +161,20 @@ public class ApiSearchRequest extends ApiListRequest {
    */
   public void searchSimilarPages(
       Page page, boolean limit) throws APIException {
+    int maxSize = getMaxSize(limit, ConfigurationValueInteger.MAX_SEARCH);
+    List<Page> list = collect(iterateSimilarPages(page), maxSize);
+    page.setRelatedPages(Page.RelatedPages.SIMILAR_PAGES, list);
+  }
+
+  /**
+   * Iterate over the results of a search.
+   * 
+   * The next batch of results is loaded while the current one is consumed.
+   * 
+   * @param page Page for which similar pages are searched.
+   * @return Iterator on the similar pages.
+   */
+  public ApiContinuation<Page> iterateSimilarPages(Page page) {
     Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
     properties.put(
         PROPERTY_LIST,
@@ -175,12 +188,6 @@ public class ApiSearchRequest extends ApiListRequest {
     properties.put(PROPERTY_PROP, PROPERTY_PROP_TITLESNIPPET);
     //properties.put(PROPERTY_REDIRECTS, "true");
     properties.put(PROPERTY_SEARCH, "intitle:\"" + page.getTitle().replaceAll("\"", "\"\"") + "\"");
-    List<Page> list = new ArrayList<>();
-    int maxSize = getMaxSize(limit, ConfigurationValueInteger.MAX_SEARCH);
-    while (result.executeSearch(properties, list) && (list.size() < maxSize)) {
-      //
-    }
-    Collections.sort(list);
-    page.setRelatedPages(Page.RelatedPages.SIMILAR_PAGES, list);
+    return new ApiContinuation<>(properties, result::executeSearch);
   }
 }
@@ -11,16 +11,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.AbuseFilter;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -35,7 +33,7 @@ public class ApiXmlAbuseFiltersResult extends ApiXmlResult implements ApiAbuseFi
    */
   public ApiXmlAbuseFiltersResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -55,8 +53,7 @@ public class ApiXmlAbuseFiltersResult extends ApiXmlResult implements ApiAbuseFi
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve category members
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/abusefilters/filter", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_ABUSE_FILTERS;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
       while (iter.hasNext()) {
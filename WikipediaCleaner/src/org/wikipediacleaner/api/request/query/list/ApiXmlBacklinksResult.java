@@ -12,17 +12,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -38,7 +36,7 @@ public class ApiXmlBacklinksResult extends ApiXmlResult implements ApiBacklinksR
    */
   public ApiXmlBacklinksResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -61,12 +59,10 @@ public class ApiXmlBacklinksResult extends ApiXmlResult implements ApiBacklinksR
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve back links
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/backlinks/bl", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_BACKLINKS;
       List<Element> listBacklinks = xpa.evaluate(root);
       Iterator<Element> itBacklink = listBacklinks.iterator();
-      XPathExpression<Element> xpaRedirLinks = XPathFactory.instance().compile(
-          "redirlinks/bl", Filters.element());
+      ApiXPath xpaRedirLinks = ApiXPath.REDIRLINKS;
       while (itBacklink.hasNext()) {
         Element currentBacklink = itBacklink.next();
         Page link = DataManager.getPage(
@@ -11,16 +11,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.RecentChange;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -35,7 +33,7 @@ public class ApiXmlRecentChangesResult extends ApiXmlResult implements ApiRecent
    */
   public ApiXmlRecentChangesResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -56,8 +54,7 @@ public class ApiXmlRecentChangesResult extends ApiXmlResult implements ApiRecent
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Get recent changes list
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/recentchanges/rc", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_RECENT_CHANGES;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
       while (iter.hasNext()) {
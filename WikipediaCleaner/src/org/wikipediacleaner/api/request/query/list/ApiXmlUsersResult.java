@@ -12,16 +12,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.User;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -36,7 +34,7 @@ public class ApiXmlUsersResult extends ApiXmlResult implements ApiUsersResult {
    */
   public ApiXmlUsersResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -54,16 +52,14 @@ public class ApiXmlUsersResult extends ApiXmlResult implements ApiUsersResult {
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Get recent changes list
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/users/user", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_USERS;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
       while (iter.hasNext()) {
         Element currentNode = iter.next();
         User user = new User(currentNode.getAttributeValue("name"));
         List<String> groups = new ArrayList<>();
-        XPathExpression<Element> xpaGroups = XPathFactory.instance().compile(
-            "./groups/g", Filters.element());
+        ApiXPath xpaGroups = ApiXPath.GROUPS;
         List<Element> resultGroups = xpaGroups.evaluate(currentNode);
         Iterator<Element> itGroups = resultGroups.iterator();
         while (itGroups.hasNext()) {
@@ -71,8 +67,7 @@ public class ApiXmlUsersResult extends ApiXmlResult implements ApiUsersResult {
         }
         user.setGroups(groups);
         List<String> rights = new ArrayList<>();
-        XPathExpression<Element> xpaRights = XPathFactory.instance().compile(
-            "./rights/r", Filters.element());
+        ApiXPath xpaRights = ApiXPath.RIGHTS;
         List<Element> resultRights = xpaRights.evaluate(currentNode);
         Iterator<Element> itRights = resultRights.iterator();
         while (itRights.hasNext()) {
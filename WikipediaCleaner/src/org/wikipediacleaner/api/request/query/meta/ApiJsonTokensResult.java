@@ -9,7 +9,7 @@ package org.wikipediacleaner.api.request.query.meta;
 
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.User;
@@ -30,7 +30,7 @@ public class ApiJsonTokensResult extends ApiJsonResult implements ApiTokensResul
    */
   public ApiJsonTokensResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -62,4 +62,25 @@ public class ApiJsonTokensResult extends ApiJsonResult implements ApiTokensResul
       }
     }
   }
+
+  /**
+   * Execute token request without storing the token.
+   * 
+   * @param properties Properties defining request.
+   * @param tokenName Name of the token in the result.
+   * @return Token.
+   * @throws APIException Exception thrown by the API.
+   */
+  @Override
+  public String executeToken(Map<String, String> properties, String tokenName)
+      throws APIException {
+    JsonNode root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
+    if (root != null) {
+      JsonNode tokenNode = root.path("query").path("tokens").get(tokenName);
+      if (tokenNode != null) {
+        return tokenNode.textValue();
+      }
+    }
+    return null;
+  }
 }
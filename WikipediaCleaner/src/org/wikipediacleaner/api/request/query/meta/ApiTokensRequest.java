@@ -102,4 +102,20 @@ public class ApiTokensRequest extends ApiMetaRequest {
     properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
     result.executeTokens(properties);
   }
+
+  /**
+   * Load the CSRF token without storing it in the connection.
+   * 
+   * @return CSRF token.
+   * @throws APIException Exception thrown by the API.
+   */
+  public String loadCsrfToken() throws APIException {
+    Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
+    properties.put(
+        PROPERTY_META,
+        PROPERTY_META_TOKENS);
+    properties.put(PROPERTY_TYPE, PROPERTY_TYPE_CSRF);
+    properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
+    return result.executeToken(properties, TOKEN_CSRF);
+  }
 }
@@ -25,4 +25,14 @@ public interface ApiTokensResult extends ApiResult {
    * @throws APIException Exception thrown by the API.
    */
   public void executeTokens(Map<String, String> properties) throws APIException;
+
+  /**
+   * Execute token request without storing the token.
+   * 
+   * @param properties Properties defining request.
+   * @param tokenName Name of the token in the result.
+   * @return Token.
+   * @throws APIException Exception thrown by the API.
+   */
+  public String executeToken(Map<String, String> properties, String tokenName) throws APIException;
 }
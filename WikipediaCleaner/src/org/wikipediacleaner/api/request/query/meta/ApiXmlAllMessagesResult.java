@@ -11,15 +11,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -34,7 +32,7 @@ public class ApiXmlAllMessagesResult extends ApiXmlResult implements ApiAllMessa
    */
   public ApiXmlAllMessagesResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -53,8 +51,7 @@ public class ApiXmlAllMessagesResult extends ApiXmlResult implements ApiAllMessa
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve general information
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/allmessages/message", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_ALL_MESSAGES;
       Element generalNode = xpa.evaluateFirst(root);
       if (generalNode != null) {
         return generalNode.getValue();
@@ -83,8 +80,7 @@ public class ApiXmlAllMessagesResult extends ApiXmlResult implements ApiAllMessa
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve general information
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/allmessages/message", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_ALL_MESSAGES;
       List<Element> listMessages = xpa.evaluate(root);
       Iterator<Element> itMessages = listMessages.iterator();
       while (itMessages.hasNext()) {
@@ -14,12 +14,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.configuration.WikiConfiguration;
 import org.wikipediacleaner.api.constants.EnumCaseSensitiveness;
@@ -31,6 +28,7 @@ import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.SpecialPage;
 import org.wikipediacleaner.api.data.contents.magicword.MagicWord;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -45,7 +43,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
    */
   public ApiXmlSiteInfoResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -64,8 +62,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
       WikiConfiguration wikiConfiguration = getWiki().getWikiConfiguration();
 
       // Retrieve general information
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/general", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_GENERAL;
       Element generalNode = xpa.evaluateFirst(root);
       if (generalNode != null) {
         wikiConfiguration.setArticlePath(generalNode.getAttributeValue("articlepath"));
@@ -76,8 +73,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve name spaces
       HashMap<Integer, Namespace> namespaces = null;
-      xpa = XPathFactory.instance().compile(
-          "/api/query/namespaces/ns", Filters.element());
+      xpa = ApiXPath.QUERY_NAMESPACES;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
       namespaces = new HashMap<>();
@@ -93,8 +89,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
       }
 
       // Retrieve name space aliases
-      xpa = XPathFactory.instance().compile(
-          "/api/query/namespacealiases/ns", Filters.element());
+      xpa = ApiXPath.QUERY_NAMESPACE_ALIASES;
       results = xpa.evaluate(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -117,8 +112,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve languages
       List<Language> languages = new ArrayList<>();
-      xpa = XPathFactory.instance().compile(
-          "/api/query/languages/lang", Filters.element());
+      xpa = ApiXPath.QUERY_LANGUAGES;
       results = xpa.evaluate(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -131,8 +125,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve interwikis
       List<Interwiki> interwikis = new ArrayList<>();
-      xpa = XPathFactory.instance().compile(
-          "/api/query/interwikimap/iw", Filters.element());
+      xpa = ApiXPath.QUERY_INTERWIKI_MAP;
       results = xpa.evaluate(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -147,12 +140,10 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve magic words
       List<MagicWord> magicWords = new ArrayList<>();
-      xpa = XPathFactory.instance().compile(
-          "/api/query/magicwords/magicword", Filters.element());
+      xpa = ApiXPath.QUERY_MAGIC_WORDS;
       results = xpa.evaluate(root);
       iter = results.iterator();
-      XPathExpression<Element> xpaAlias = XPathFactory.instance().compile(
-          "./aliases/alias", Filters.element());
+      ApiXPath xpaAlias = ApiXPath.ALIASES;
       while (iter.hasNext()) {
         Element currentNode = iter.next();
         String magicWord = currentNode.getAttributeValue("name");
@@ -171,8 +162,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve special page aliases
       Map<String, SpecialPage> specialPages = new HashMap<>();
-      xpa = XPathFactory.instance().compile(
-          "/api/query/specialpagealiases/specialpage", Filters.element());
+      xpa = ApiXPath.QUERY_SPECIAL_PAGE_ALIASES;
       results = xpa.evaluate(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -194,8 +184,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve linter configuration
       List<LinterCategory> linterCategories = new ArrayList<>();
-      xpa = XPathFactory.instance().compile(
-          "/api/query/general/linter/*", Filters.element());
+      xpa = ApiXPath.QUERY_GENERAL_LINTER;
       results = xpa.evaluate(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -208,8 +197,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
       wikiConfiguration.setLinterCategories(linterCategories);
 
       // Retrieve extensions
-      xpa = XPathFactory.instance().compile(
-          "/api/query/extensions/ext", Filters.element());
+      xpa = ApiXPath.QUERY_EXTENSIONS;
       results = xpa.evaluate(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -0,0 +1,485 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.query.prop;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiJsonResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+
+/**
+ * MediaWiki API JSON results for properties.
+ *
+ * Results are read with the streaming parser (formatversion=2).
+ */
+public class ApiJsonPropertiesResult extends ApiJsonResult implements ApiPropertiesResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonPropertiesResult(
+      EnumWikipedia wiki,
+      CloseableHttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute redirect request.
+   *
+   * @param properties Properties defining request.
+   * @param pages Pages to be filled with redirect information.
+   * @throws APIException Exception thrown by the API.
+   */
+  @Override
+  public void executeRedirect(
+      Map<String, String> properties,
+      List<Page> pages) throws APIException {
+    QueryHandler handler = new QueryHandler();
+    executeStreaming(properties, ApiRequest.MAX_ATTEMPTS, handler);
+
+    // Manage redirects and missing pages
+    updateRedirect(handler, pages);
+  }
+
+  /**
+   * Update page information.
+   *
+   * @param pageInfo Information read for the page.
+   * @param page Page.
+   */
+  public void updatePageInformation(PageInfo pageInfo, Page page) {
+
+    // Retrieve basic page information
+    if (pageInfo.pageId != null) {
+      page.setPageId(pageInfo.pageId);
+    }
+    if (pageInfo.title != null) {
+      page.setTitle(pageInfo.title);
+    }
+    if (pageInfo.startTimestamp != null) {
+      page.setStartTimestamp(pageInfo.startTimestamp);
+    }
+    if (pageInfo.lastRevisionId != null) {
+      page.setRevisionId(pageInfo.lastRevisionId);
+    }
+    if (pageInfo.redirect) {
+      page.getRedirects().isRedirect(true);
+    }
+    if (pageInfo.missing) {
+      page.setExisting(Boolean.FALSE);
+    }
+
+    // Retrieve protection information
+    if (pageInfo.editProtectionLevel != null) {
+      page.setEditProtectionLevel(pageInfo.editProtectionLevel);
+    }
+  }
+
+  /**
+   * Retrieve the normalized title of a page.
+   *
+   * @param title Title.
+   * @param normalization Normalization information.
+   * @return Normalized title.
+   */
+  public String getNormalizedTitle(String title, Map<String, String> normalization) {
+    if ((title == null) || (normalization == null)) {
+      return title;
+    }
+    String tmp = normalization.get(title);
+    if (tmp != null) {
+      return tmp;
+    }
+    return title;
+  }
+
+  /**
+   * Update redirect and missing information of a list of pages.
+   *
+   * @param handler Information read from the answer.
+   * @param pages List of pages.
+   */
+  public void updateRedirect(QueryHandler handler, Collection<Page> pages) {
+    Map<String, String> normalization = handler.normalization;
+
+    // Analyzing redirects
+    for (RedirectInfo currentRedirect : handler.redirects) {
+      String fromPage = currentRedirect.from;
+      String toPage = currentRedirect.to;
+      for (Page p : pages) {
+
+        // Find if the redirect is already taken into account
+        boolean exists = false;
+        Iterator<Page> itPage = p.getRedirects().getIteratorWithPage();
+        while (itPage.hasNext()) {
+          Page tmp = itPage.next();
+          String title = getNormalizedTitle(tmp.getTitle(), normalization);
+          if (Page.areSameTitle(title, toPage)) {
+            exists = true;
+          }
+        }
+
+        // Add the redirect if needed
+        itPage = p.getRedirects().getIteratorWithPage();
+        while (itPage.hasNext()) {
+          Page tmp = itPage.next();
+          String title = getNormalizedTitle(tmp.getTitle(), normalization);
+          if (!exists && Page.areSameTitle(title, fromPage)) {
+            PageInfo to = null;
+            for (PageInfo page : handler.pages) {
+              if ((to == null) && Page.areSameTitle(toPage, page.title)) {
+                to = page;
+              }
+            }
+            if (to != null) {
+              Page pageTo = DataManager.getPage(
+                  p.getWikipedia(), to.title, null, null, null);
+              pageTo.setNamespace(to.namespace);
+              pageTo.setPageId(to.pageId);
+              p.getRedirects().add(pageTo, currentRedirect.toFragment);
+            }
+          }
+        }
+      }
+    }
+
+    // Retrieve extra information about the pages
+    for (Page p : pages) {
+      Iterator<Page> itPage = p.getRedirects().getIteratorWithPage();
+      while (itPage.hasNext()) {
+        Page tmp = itPage.next();
+        String title = getNormalizedTitle(tmp.getTitle(), normalization);
+        PageInfo page = null;
+        for (PageInfo tmpPage : handler.pages) {
+          if ((page == null) && title.equals(tmpPage.title)) {
+            page = tmpPage;
+          }
+        }
+        if (page != null) {
+
+          // Add information about missing pages
+          if (page.pageId != null) {
+            tmp.setExisting(Boolean.TRUE);
+          } else if (page.missing) {
+            tmp.setExisting(Boolean.FALSE);
+          }
+
+          // Add information about translated pages
+          if (page.editError) {
+            tmp.setEditProhibition(true);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Information about a page read from the answer.
+   */
+  public static class PageInfo {
+
+    /** Page identifier */
+    Integer pageId;
+
+    /** Page title */
+    String title;
+
+    /** Namespace */
+    Integer namespace;
+
+    /** True if the page is missing */
+    boolean missing;
+
+    /** True if the page is a redirect */
+    boolean redirect;
+
+    /** Start timestamp */
+    String startTimestamp;
+
+    /** Identifier of the last revision */
+    String lastRevisionId;
+
+    /** Protection level for editing */
+    String editProtectionLevel;
+
+    /** True if an error is reported for editing */
+    boolean editError;
+
+    /** Revision identifier of the last revision */
+    String revisionId;
+
+    /** Timestamp of the last revision */
+    String revisionTimestamp;
+
+    /** Contents of the main slot of the last revision */
+    String contents;
+  }
+
+  /**
+   * Information about a redirect read from the answer.
+   */
+  static class RedirectInfo {
+
+    /** Redirect title */
+    String from;
+
+    /** Target title */
+    String to;
+
+    /** Target fragment */
+    String toFragment;
+  }
+
+  /**
+   * Handler reading the query part of the answer.
+   */
+  public static class QueryHandler implements StreamingHandler {
+
+    /** Title normalization (key=From, value=To) */
+    final Map<String, String> normalization = new HashMap<>();
+
+    /** Redirects */
+    final List<RedirectInfo> redirects = new ArrayList<>();
+
+    /** Pages */
+    final List<PageInfo> pages = new ArrayList<>();
+
+    /** Current timestamp */
+    String currentTimestamp;
+
+    /**
+     * Forget what has been read in a previous attempt.
+     *
+     * @see org.wikipediacleaner.api.request.ApiJsonResult.StreamingHandler#reset()
+     */
+    @Override
+    public void reset() {
+      normalization.clear();
+      redirects.clear();
+      pages.clear();
+      currentTimestamp = null;
+    }
+
+    /**
+     * @param name Field name.
+     * @param parser JSON parser.
+     * @throws IOException Error reading the field.
+     * @see org.wikipediacleaner.api.request.ApiJsonResult.StreamingHandler#readField(java.lang.String, com.fasterxml.jackson.core.JsonParser)
+     */
+    @Override
+    public void readField(String name, JsonParser parser) throws IOException {
+      if ("curtimestamp".equals(name)) {
+        currentTimestamp = parser.getValueAsString();
+      } else if ("query".equals(name) && (parser.currentToken() == JsonToken.START_OBJECT)) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String queryName = parser.getCurrentName();
+          JsonToken token = parser.nextToken();
+          if ("normalized".equals(queryName) && (token == JsonToken.START_ARRAY)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+              RedirectInfo normalized = readRedirect(parser);
+              if ((normalized.from != null) && (normalized.to != null)) {
+                normalization.put(normalized.from, normalized.to);
+              }
+            }
+          } else if ("redirects".equals(queryName) && (token == JsonToken.START_ARRAY)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+              redirects.add(readRedirect(parser));
+            }
+          } else if ("pages".equals(queryName) && (token == JsonToken.START_ARRAY)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+              pages.add(readPage(parser));
+            }
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+
+    /**
+     * Read a redirect (or a normalization), the parser being on the start of the object.
+     *
+     * @param parser JSON parser.
+     * @return Redirect.
+     * @throws IOException Error reading the redirect.
+     */
+    private RedirectInfo readRedirect(JsonParser parser) throws IOException {
+      RedirectInfo redirect = new RedirectInfo();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        parser.nextToken();
+        if ("from".equals(name)) {
+          redirect.from = parser.getValueAsString();
+        } else if ("to".equals(name)) {
+          redirect.to = parser.getValueAsString();
+        } else if ("tofragment".equals(name)) {
+          redirect.toFragment = parser.getValueAsString();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return redirect;
+    }
+
+    /**
+     * Read a page, the parser being on the start of the object.
+     *
+     * @param parser JSON parser.
+     * @return Page.
+     * @throws IOException Error reading the page.
+     */
+    private PageInfo readPage(JsonParser parser) throws IOException {
+      PageInfo page = new PageInfo();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if ("pageid".equals(name)) {
+          page.pageId = Integer.valueOf(parser.getValueAsInt());
+        } else if ("title".equals(name)) {
+          page.title = parser.getValueAsString();
+        } else if ("ns".equals(name)) {
+          page.namespace = Integer.valueOf(parser.getValueAsInt());
+        } else if ("missing".equals(name)) {
+          page.missing = parser.getValueAsBoolean();
+        } else if ("redirect".equals(name)) {
+          page.redirect = parser.getValueAsBoolean();
+        } else if ("starttimestamp".equals(name)) {
+          page.startTimestamp = parser.getValueAsString();
+        } else if ("lastrevid".equals(name)) {
+          page.lastRevisionId = parser.getValueAsString();
+        } else if ("protection".equals(name) && (token == JsonToken.START_ARRAY)) {
+          readProtection(parser, page);
+        } else if ("actions".equals(name) && (token == JsonToken.START_OBJECT)) {
+          readActions(parser, page);
+        } else if ("revisions".equals(name) && (token == JsonToken.START_ARRAY)) {
+          readRevisions(parser, page);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return page;
+    }
+
+    /**
+     * Read protection information, the parser being on the start of the array.
+     *
+     * @param parser JSON parser.
+     * @param page Page.
+     * @throws IOException Error reading the protection.
+     */
+    private void readProtection(JsonParser parser, PageInfo page) throws IOException {
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        String type = null;
+        String level = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String name = parser.getCurrentName();
+          parser.nextToken();
+          if ("type".equals(name)) {
+            type = parser.getValueAsString();
+          } else if ("level".equals(name)) {
+            level = parser.getValueAsString();
+          } else {
+            parser.skipChildren();
+          }
+        }
+        if ("edit".equals(type)) {
+          page.editProtectionLevel = level;
+        }
+      }
+    }
+
+    /**
+     * Read actions information, the parser being on the start of the object.
+     *
+     * @param parser JSON parser.
+     * @param page Page.
+     * @throws IOException Error reading the actions.
+     */
+    private void readActions(JsonParser parser, PageInfo page) throws IOException {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if ("edit".equals(name) && (token == JsonToken.START_ARRAY)) {
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            page.editError = true;
+            parser.skipChildren();
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    /**
+     * Read revisions, the parser being on the start of the array.
+     * Only the first revision is kept.
+     *
+     * @param parser JSON parser.
+     * @param page Page.
+     * @throws IOException Error reading the revisions.
+     */
+    private void readRevisions(JsonParser parser, PageInfo page) throws IOException {
+      boolean first = true;
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        if (!first) {
+          parser.skipChildren();
+          continue;
+        }
+        first = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String name = parser.getCurrentName();
+          JsonToken token = parser.nextToken();
+          if ("revid".equals(name)) {
+            page.revisionId = parser.getValueAsString();
+          } else if ("timestamp".equals(name)) {
+            page.revisionTimestamp = parser.getValueAsString();
+          } else if ("slots".equals(name) && (token == JsonToken.START_OBJECT)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+              token = parser.nextToken();
+              if ((page.contents == null) && (token == JsonToken.START_OBJECT)) {
+                String contents = "";
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                  String slotName = parser.getCurrentName();
+                  parser.nextToken();
+                  if ("content".equals(slotName)) {
+                    contents = parser.getValueAsString();
+                  } else {
+                    parser.skipChildren();
+                  }
+                }
+                page.contents = contents;
+              } else {
+                parser.skipChildren();
+              }
+            }
+          } else {
+            parser.skipChildren();
+          }
+        }
+      }
+    }
+  }
+}
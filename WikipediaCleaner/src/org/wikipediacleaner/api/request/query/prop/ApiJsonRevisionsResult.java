@@ -0,0 +1,141 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.query.prop;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+
+/**
+ * MediaWiki API JSON revisions results.
+ *
+ * The contents of each page is read by the streaming parser directly from the answer,
+ * without building a tree for the whole answer.
+ */
+public class ApiJsonRevisionsResult extends ApiJsonPropertiesResult implements ApiRevisionsResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonRevisionsResult(
+      EnumWikipedia wiki,
+      CloseableHttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute last revision request.
+   *
+   * @param properties Properties defining request.
+   * @param pages Pages to be filled with last revision content.
+   * @return True if request should be continued.
+   * @throws APIException Exception thrown by the API.
+   */
+  @Override
+  public boolean executeLastRevision(
+      Map<String, String> properties,
+      Collection<Page> pages) throws APIException {
+    QueryHandler handler = new QueryHandler();
+    boolean result = executeStreaming(properties, ApiRequest.MAX_ATTEMPTS, handler);
+    updateLastRevision(handler, pages);
+    return result;
+  }
+
+  /**
+   * Execute last revision request for pages given by a generator.
+   *
+   * @param properties Properties defining request.
+   * @param pages List to be filled with pages and their last revision content.
+   * @return True if request should be continued.
+   * @throws APIException Exception thrown by the API.
+   */
+  @Override
+  public boolean executeGeneratedLastRevision(
+      Map<String, String> properties,
+      List<Page> pages) throws APIException {
+    QueryHandler handler = new QueryHandler();
+    boolean result = executeStreaming(properties, ApiRequest.MAX_ATTEMPTS, handler);
+    for (PageInfo pageInfo : handler.pages) {
+      if (pageInfo.contents != null) {
+        Page page = DataManager.createSimplePage(
+            getWiki(), pageInfo.title, pageInfo.pageId, null, pageInfo.namespace);
+        page.setNamespace(pageInfo.namespace);
+        if (handler.currentTimestamp != null) {
+          page.setStartTimestamp(handler.currentTimestamp);
+        }
+        updatePageInformation(pageInfo, page);
+        if (pageInfo.editError) {
+          page.setEditProhibition(true);
+        }
+        page.setContents(pageInfo.contents);
+        page.setExisting(Boolean.TRUE);
+        page.setRevisionId(pageInfo.revisionId);
+        page.setContentsTimestamp(pageInfo.revisionTimestamp);
+        pages.add(page);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Update pages with the last revision read from the answer.
+   *
+   * @param handler Information read from the answer.
+   * @param pages Pages to be filled with last revision content.
+   */
+  void updateLastRevision(QueryHandler handler, Collection<Page> pages) {
+
+    // Manage redirects and missing pages
+    updateRedirect(handler, pages);
+
+    // Retrieve pages
+    for (PageInfo pageInfo : handler.pages) {
+      for (Page tmpPage : pages) {
+        Iterator<Page> itPage = tmpPage.getRedirects().getIteratorWithPage();
+        while (itPage.hasNext()) {
+          Page page = itPage.next();
+          boolean samePage = false;
+          if ((pageInfo.pageId != null) && (page.getPageId() != null)) {
+            samePage = pageInfo.pageId.equals(page.getPageId());
+          } else {
+            samePage = Page.areSameTitle(page.getTitle(), pageInfo.title);
+            if (!samePage) {
+              String normalizedTitle = getNormalizedTitle(page.getTitle(), handler.normalization);
+              samePage = Page.areSameTitle(normalizedTitle, pageInfo.title);
+            }
+          }
+          if (samePage) {
+            page.setNamespace(pageInfo.namespace);
+            if (handler.currentTimestamp != null) {
+              page.setStartTimestamp(handler.currentTimestamp);
+            }
+            updatePageInformation(pageInfo, page);
+
+            // Retrieve revisions
+            if (!Boolean.FALSE.equals(page.isExisting()) && (pageInfo.contents != null)) {
+              page.setContents(pageInfo.contents);
+              page.setExisting(Boolean.TRUE);
+              page.setRevisionId(pageInfo.revisionId);
+              page.setContentsTimestamp(pageInfo.revisionTimestamp);
+            }
+          }
+        }
+      }
+    }
+  }
+}
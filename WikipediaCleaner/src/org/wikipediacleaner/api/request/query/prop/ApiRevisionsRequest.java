@@ -15,6 +15,9 @@ import java.util.Map;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiContinuation;
+import org.wikipediacleaner.api.request.query.list.ApiCategoryMembersRequest;
+import org.wikipediacleaner.api.request.query.list.ApiListRequest;
 
 
 /**
@@ -198,6 +201,65 @@ public class ApiRevisionsRequest extends ApiPropertiesRequest {
       Collection<Page> pages, boolean usePageId,
       boolean withRedirects) throws APIException {
 
+    Map<String, String> properties = getContentProperties(true);
+    addPages(properties, pages, usePageId);
+    while (result.executeLastRevision(properties, pages)) {
+      //
+    }
+    if (withRedirects) {
+      loadRedirects(pages);
+    }
+  }
+
+  /**
+   * Load identifier of the last revision of a page, without the content.
+   * 
+   * @param pages Pages for which last revision is requested.
+   * @param usePageId True if page identifiers should be used.
+   * @throws APIException Exception thrown by the API.
+   */
+  public void loadLastRevisionIds(
+      Collection<Page> pages, boolean usePageId) throws APIException {
+    Map<String, String> properties = getContentProperties(false);
+    addPages(properties, pages, usePageId);
+    while (result.executeLastRevision(properties, pages)) {
+      //
+    }
+  }
+
+  /**
+   * Load redirects information.
+   * 
+   * @param pages Pages for which redirects information is requested.
+   * @throws APIException Exception thrown by the API.
+   */
+  public void loadRedirects(Collection<Page> pages) throws APIException {
+    // TODO: move this to a base class ?
+    List<Page> redirectPages = new ArrayList<>();
+    for (Page page : pages) {
+      if (page.getRedirects().isRedirect()) {
+        redirectPages.add(page);
+      }
+    }
+    if (!redirectPages.isEmpty()) {
+      Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
+      properties.put(PROPERTY_REDIRECTS, "");
+      properties.put(PROPERTY_TITLES, constructListTitles(redirectPages));
+      result.executeRedirect(properties, redirectPages);
+    }
+  }
+
+  /**
+   * Add the list of pages to the properties.
+   * 
+   * @param properties Properties defining the request.
+   * @param pages List of pages.
+   * @param usePageId True if page identifiers should be used.
+   */
+  private void addPages(
+      Map<String, String> properties,
+      Collection<Page> pages, boolean usePageId) {
+
     // Check page identifiers
     if (usePageId) {
       for (Page page : pages) {
@@ -207,17 +269,55 @@ public class ApiRevisionsRequest extends ApiPropertiesRequest {
       }
     }
 
+    if (usePageId) {
+      properties.put(PROPERTY_PAGEIDS, constructListIds(pages));
+    } else {
+      properties.put(PROPERTY_TITLES, constructListTitles(pages));
+    }
+  }
+
+  /**
+   * Iterate over the members of a category, without sub-categories, with their content.
+   * 
+   * @param category Category for which members are requested.
+   * @return Iterator on the category members, loaded with their content.
+   */
+  public ApiContinuation<Page> iterateCategoryMembersContent(Page category) {
+    Map<String, String> properties = getContentProperties(true);
+    properties.put(PROPERTY_GENERATOR, ApiListRequest.PROPERTY_LIST_CATEGORYMEMBERS);
+    properties.put(
+        GENERATOR_PREFIX + ApiCategoryMembersRequest.PROPERTY_TITLE,
+        getCategoryName(category));
+    properties.put(
+        GENERATOR_PREFIX + ApiCategoryMembersRequest.PROPERTY_TYPE,
+        ApiCategoryMembersRequest.PROPERTY_TYPE_PAGE + "|" + ApiCategoryMembersRequest.PROPERTY_TYPE_FILE);
+    properties.put(
+        GENERATOR_PREFIX + ApiCategoryMembersRequest.PROPERTY_LIMIT,
+        Integer.toString(getMaxPagesPerQuery()));
+    return new ApiContinuation<>(properties, result::executeGeneratedLastRevision);
+  }
+
+  /**
+   * @param withContent True if the content of the last revision should be retrieved.
+   * @return Properties for retrieving the last revision.
+   */
+  private Map<String, String> getContentProperties(boolean withContent) {
     Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
     properties.put(
         PROPERTY_CURRENT_TIMESTAMP,
         PROPERTY_CURRENT_TIMESTAMP_YES);
-    properties.put(
-        PROPERTY_PROP,
-        PROPERTY_PROP_REVISIONS + "|" + PROPERTY_PROP_INFO);
     properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
-    properties.put(
-        PROPERTY_PROPERTIES,
-        PROPERTY_PROPERTIES_CONTENT + "|" + PROPERTY_PROPERTIES_IDS + "|" + PROPERTY_PROPERTIES_TIMESTAMP);
+    if (withContent) {
+      properties.put(
+          PROPERTY_PROP,
+          PROPERTY_PROP_REVISIONS + "|" + PROPERTY_PROP_INFO);
+      properties.put(
+          PROPERTY_PROPERTIES,
+          PROPERTY_PROPERTIES_CONTENT + "|" + PROPERTY_PROPERTIES_IDS + "|" + PROPERTY_PROPERTIES_TIMESTAMP);
+      properties.put(PROPERTY_SLOTS, PROPERTY_SLOTS_MAIN);
+    } else {
+      properties.put(PROPERTY_PROP, PROPERTY_PROP_INFO);
+    }
     properties.put(
         ApiInfoRequest.PROPERTY_PROPERTIES,
         ApiInfoRequest.PROPERTY_PROPERTIES_PROTECTION);
@@ -229,31 +329,6 @@ public class ApiRevisionsRequest extends ApiPropertiesRequest {
           ApiInfoRequest.PROPERTY_TEST_ACTIONS_DETAIL,
           ApiInfoRequest.PROPERTY_TEST_ACTIONS_DETAIL_FULL);
     }
-    properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
-    properties.put(PROPERTY_SLOTS, PROPERTY_SLOTS_MAIN);
-    if (usePageId) {
-      properties.put(PROPERTY_PAGEIDS, constructListIds(pages));
-    } else {
-      properties.put(PROPERTY_TITLES, constructListTitles(pages));
-    }
-    while (result.executeLastRevision(properties, pages)) {
-      //
-    }
-
-    // TODO: move this to a base class ?
-    if (withRedirects) {
-      List<Page> redirectPages = new ArrayList<>();
-      for (Page page : pages) {
-        if (page.getRedirects().isRedirect()) {
-          redirectPages.add(page);
-        }
-      }
-      if (!redirectPages.isEmpty()) {
-        properties = getProperties(ACTION_QUERY, result.getFormat());
-        properties.put(PROPERTY_REDIRECTS, "");
-        properties.put(PROPERTY_TITLES, constructListTitles(redirectPages));
-        result.executeRedirect(properties, redirectPages);
-      }
-    }
+    return properties;
   }
 }
@@ -8,6 +8,7 @@
 package org.wikipediacleaner.api.request.query.prop;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
@@ -30,4 +31,19 @@ public interface ApiRevisionsResult extends ApiPropertiesResult {
   public boolean executeLastRevision(
       Map<String, String> properties,
       Collection<Page> pages) throws APIException;
+
+  /**
+   * Execute last revision request for pages given by a generator.
+   * 
+   * Only pages for which the content is in the answer are added to the list,
+   * the other ones are in the answer to a continuation of the request.
+   * 
+   * @param properties Properties defining request.
+   * @param pages List to be filled with pages and their last revision content.
+   * @return True if request should be continued.
+   * @throws APIException Exception thrown by the API.
+   */
+  public boolean executeGeneratedLastRevision(
+      Map<String, String> properties,
+      List<Page> pages) throws APIException;
 }
@@ -13,18 +13,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 
 
 /**
@@ -38,7 +36,7 @@ public class ApiXmlCategoriesResult extends ApiXmlPropertiesResult implements Ap
    */
   public ApiXmlCategoriesResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -60,8 +58,7 @@ public class ApiXmlCategoriesResult extends ApiXmlPropertiesResult implements Ap
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve back links
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page/categories/cl", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES_CATEGORIES;
       List<Element> listCategories = xpa.evaluate(root);
       Iterator<Element> itCategory = listCategories.iterator();
       while (itCategory.hasNext()) {
@@ -110,12 +107,10 @@ public class ApiXmlCategoriesResult extends ApiXmlPropertiesResult implements Ap
       updateRedirect(root, pages);
 
       // Set disambiguation status
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
-      XPathExpression<Element> xpaCategory = XPathFactory.instance().compile(
-          "categories/cl", Filters.element());
+      ApiXPath xpaCategory = ApiXPath.CATEGORIES;
       List<Page> tmpPages = new ArrayList<>();
       while (iter.hasNext()) {
         Element currentNode = iter.next();
@@ -11,15 +11,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 
 
 /**
@@ -33,7 +31,7 @@ public class ApiXmlLanguageLinksResult extends ApiXmlPropertiesResult implements
    */
   public ApiXmlLanguageLinksResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -53,8 +51,7 @@ public class ApiXmlLanguageLinksResult extends ApiXmlPropertiesResult implements
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Set disambiguation status
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page/langlinks/ll", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES_LANGLINKS;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
       while (iter.hasNext()) {
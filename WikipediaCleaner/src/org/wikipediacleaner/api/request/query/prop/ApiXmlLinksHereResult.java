@@ -12,18 +12,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.data.Page.RelatedPages;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -38,7 +36,7 @@ public class ApiXmlLinksHereResult extends ApiXmlResult implements ApiLinksHereR
    */
   public ApiXmlLinksHereResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -62,12 +60,10 @@ public class ApiXmlLinksHereResult extends ApiXmlResult implements ApiLinksHereR
 
       // Retrieve links to page
       // TODO
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES;
       List<Element> listPages = xpa.evaluate(root);
       Iterator<Element> itPages = listPages.iterator();
-      XPathExpression<Element> xpaLinksHere = XPathFactory.instance().compile(
-          "./linkshere/lh", Filters.element());
+      ApiXPath xpaLinksHere = ApiXPath.LINKS_HERE;
       while (itPages.hasNext()) {
         Element currentPage = itPages.next();
         String title = currentPage.getAttributeValue("title");
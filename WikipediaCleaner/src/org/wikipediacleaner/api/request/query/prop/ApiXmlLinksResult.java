@@ -12,17 +12,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 
 
 /**
@@ -36,7 +34,7 @@ public class ApiXmlLinksResult extends ApiXmlPropertiesResult implements ApiLink
    */
   public ApiXmlLinksResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -61,12 +59,10 @@ public class ApiXmlLinksResult extends ApiXmlPropertiesResult implements ApiLink
       retrieveNormalization(root, normalization);
 
       // Retrieve back links
-      XPathExpression<Element> xpaPages = XPathFactory.instance().compile(
-          "/api/query/pages/page", Filters.element());
+      ApiXPath xpaPages = ApiXPath.QUERY_PAGES;
       List<Element> listPages = xpaPages.evaluate(root);
       Iterator<Element> itPage = listPages.iterator();
-      XPathExpression<Element> xpaLinks = XPathFactory.instance().compile(
-          "links/pl", Filters.element());
+      ApiXPath xpaLinks = ApiXPath.LINKS;
       while (itPage.hasNext()) {
         Element pageNode = itPage.next();
         String pageTitle = pageNode.getAttributeValue("title");
@@ -122,8 +118,7 @@ public class ApiXmlLinksResult extends ApiXmlPropertiesResult implements ApiLink
       retrieveNormalization(root, normalization);
 
       // Retrieve back links
-      XPathExpression<Element> xpaPages = XPathFactory.instance().compile(
-          "/api/query/pages/page", Filters.element());
+      ApiXPath xpaPages = ApiXPath.QUERY_PAGES;
       List<Element> listLinks = xpaPages.evaluate(root);
       Iterator<Element> itLinks = listLinks.iterator();
       while (itLinks.hasNext()) {
@@ -13,16 +13,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 
 
 /**
@@ -36,7 +34,7 @@ public class ApiXmlPagePropsResult extends ApiXmlPropertiesResult implements Api
    */
   public ApiXmlPagePropsResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -59,8 +57,7 @@ public class ApiXmlPagePropsResult extends ApiXmlPropertiesResult implements Api
       updateRedirect(root, pages);
 
       // Set disambiguation status
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
       List<Page> tmpPages = new ArrayList<>();
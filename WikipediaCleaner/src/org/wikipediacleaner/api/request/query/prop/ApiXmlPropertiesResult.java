@@ -14,18 +14,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -40,7 +38,7 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
    */
   public ApiXmlPropertiesResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -63,6 +61,7 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
       page.setTitle(attrTitle.getValue());
     }
     Optional.ofNullable(node.getAttributeValue("starttimestamp")).ifPresent(timestamp -> page.setStartTimestamp(timestamp));
+    Optional.ofNullable(node.getAttributeValue("lastrevid")).ifPresent(revisionId -> page.setRevisionId(revisionId));
     Attribute attrRedirect = node.getAttribute("redirect");
     if (attrRedirect != null) {
       page.getRedirects().isRedirect(true);
@@ -73,8 +72,7 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
     }
 
     // Retrieve protection information
-    XPathExpression<Element> xpaProtection = XPathFactory.instance().compile(
-        "protection/pr[@type=\"edit\"]", Filters.element());
+    ApiXPath xpaProtection = ApiXPath.PROTECTION_EDIT;
     List<Element> protectionNodes = xpaProtection.evaluate(node);
     for (Element protectionNode : protectionNodes) {
       if ("edit".equals(protectionNode.getAttributeValue("type"))) {
@@ -118,8 +116,7 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
     if (normalization == null) {
       return;
     }
-    XPathExpression<Element> xpaNormalized = XPathFactory.instance().compile(
-        "/api/query/normalized/n", Filters.element());
+    ApiXPath xpaNormalized = ApiXPath.QUERY_NORMALIZED;
     List<Element> listNormalized = xpaNormalized.evaluate(root);
     if ((listNormalized == null) || (listNormalized.isEmpty())) {
       return;
@@ -163,13 +160,11 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
   public void updateRedirect(Element root, Collection<Page> pages) throws JDOMException {
 
     // Retrieving redirects
-    XPathExpression<Element> xpaRedirects = XPathFactory.instance().compile(
-        "/api/query/redirects/r", Filters.element());
+    ApiXPath xpaRedirects = ApiXPath.QUERY_REDIRECTS;
     List<Element> listRedirects = xpaRedirects.evaluate(root);
 
     // Retrieving pages
-    XPathExpression<Element> xpaPages = XPathFactory.instance().compile(
-        "/api/query/pages/page", Filters.element());
+    ApiXPath xpaPages = ApiXPath.QUERY_PAGES;
     List<Element> listPages = xpaPages.evaluate(root);
 
     // Retrieving normalization information
@@ -222,8 +217,7 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
     }
 
     // Retrieve extra information about the pages
-    XPathExpression<Element> xpaEditErrors = XPathFactory.instance().compile(
-        "actions/edit/error", Filters.element());
+    ApiXPath xpaEditErrors = ApiXPath.ACTIONS_EDIT_ERROR;
     for (Page p : pages) {
       Iterator<Page> itPage = p.getRedirects().getIteratorWithPage();
       while (itPage.hasNext()) {
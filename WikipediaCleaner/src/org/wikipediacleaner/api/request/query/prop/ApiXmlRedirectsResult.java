@@ -11,17 +11,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 import org.wikipediacleaner.api.request.ApiXmlResult;
 
 
@@ -36,7 +34,7 @@ public class ApiXmlRedirectsResult extends ApiXmlResult implements ApiRedirectsR
    */
   public ApiXmlRedirectsResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -59,8 +57,7 @@ public class ApiXmlRedirectsResult extends ApiXmlResult implements ApiRedirectsR
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve redirects
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page/redirects/rd", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES_REDIRECTS;
       List<Element> listRedirects = xpa.evaluate(root);
       Iterator<Element> itRedirects = listRedirects.iterator();
       while (itRedirects.hasNext()) {
@@ -14,16 +14,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 
 
 /**
@@ -37,7 +36,7 @@ public class ApiXmlRevisionsResult extends ApiXmlPropertiesResult implements Api
    */
   public ApiXmlRevisionsResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -67,8 +66,7 @@ public class ApiXmlRevisionsResult extends ApiXmlPropertiesResult implements Api
       Optional<String> currentTimestamp = getCurrentTimestamp(root);
 
       // Retrieve pages
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
       while (iter.hasNext()) {
@@ -105,12 +103,10 @@ public class ApiXmlRevisionsResult extends ApiXmlPropertiesResult implements Api
   
               // Retrieve revisions
               if (!Boolean.FALSE.equals(page.isExisting())) {
-                XPathExpression<Element> xpaRevisions = XPathFactory.instance().compile(
-                    "revisions/rev", Filters.element());
+                ApiXPath xpaRevisions = ApiXPath.REVISIONS;
                 Element revNode = xpaRevisions.evaluateFirst(pageNode);
                 if (revNode != null) {
-                  XPathExpression<Element> xpaSlots = XPathFactory.instance().compile(
-                      "slots/slot", Filters.element());
+                  ApiXPath xpaSlots = ApiXPath.SLOTS;
                   Element slotNode = xpaSlots.evaluateFirst(revNode);
                   if (slotNode != null) {
                     page.setContents(slotNode.getText());
@@ -134,4 +130,55 @@ public class ApiXmlRevisionsResult extends ApiXmlPropertiesResult implements Api
       throw new APIException("Error parsing XML", e);
     }
   }
+
+  /**
+   * Execute last revision request for pages given by a generator.
+   * 
+   * @param properties Properties defining request.
+   * @param pages List to be filled with pages and their last revision content.
+   * @return True if request should be continued.
+   * @throws APIException Exception thrown by the API.
+   */
+  @Override
+  public boolean executeGeneratedLastRevision(
+      Map<String, String> properties,
+      List<Page> pages) throws APIException {
+    try {
+      Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
+      Optional<String> currentTimestamp = getCurrentTimestamp(root);
+
+      // Retrieve pages
+      ApiXPath xpa = ApiXPath.QUERY_PAGES;
+      ApiXPath xpaRevisions = ApiXPath.REVISIONS;
+      ApiXPath xpaSlots = ApiXPath.SLOTS;
+      ApiXPath xpaEditErrors = ApiXPath.ACTIONS_EDIT_ERROR;
+      for (Element pageNode : xpa.evaluate(root)) {
+        Element revNode = xpaRevisions.evaluateFirst(pageNode);
+        Element slotNode = (revNode != null) ? xpaSlots.evaluateFirst(revNode) : null;
+        if (slotNode != null) {
+          Page page = DataManager.createSimplePage(
+              getWiki(), pageNode.getAttributeValue("title"), null, null, null);
+          page.setNamespace(pageNode.getAttributeValue("ns"));
+          currentTimestamp.ifPresent(timestamp -> page.setStartTimestamp(timestamp));
+          updatePageInformation(pageNode, page);
+          if (!xpaEditErrors.evaluate(pageNode).isEmpty()) {
+            page.setEditProhibition(true);
+          }
+          page.setContents(slotNode.getText());
+          page.setExisting(Boolean.TRUE);
+          page.setRevisionId(revNode.getAttributeValue("revid"));
+          page.setContentsTimestamp(revNode.getAttributeValue("timestamp"));
+          pages.add(page);
+        }
+      }
+
+      // Retrieve continue
+      return shouldContinue(
+          root, "/api/query-continue/revisions",
+          properties);
+    } catch (JDOMException e) {
+      log.error("Error loading generated revisions", e);
+      throw new APIException("Error parsing XML", e);
+    }
+  }
 }
@@ -13,18 +13,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiXPath;
 
 
 /**
@@ -38,7 +36,7 @@ public class ApiXmlTemplatesResult extends ApiXmlPropertiesResult implements Api
    */
   public ApiXmlTemplatesResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -61,8 +59,7 @@ public class ApiXmlTemplatesResult extends ApiXmlPropertiesResult implements Api
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve back links
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES;
       List<Element> listTemplates = xpa.evaluate(root);
       Iterator<Element> itTemplate = listTemplates.iterator();
       while (itTemplate.hasNext()) {
@@ -111,12 +108,10 @@ public class ApiXmlTemplatesResult extends ApiXmlPropertiesResult implements Api
       updateRedirect(root, pages);
 
       // Set disambiguation status
-      XPathExpression<Element> xpa = XPathFactory.instance().compile(
-          "/api/query/pages/page", Filters.element());
+      ApiXPath xpa = ApiXPath.QUERY_PAGES;
       List<Element> results = xpa.evaluate(root);
       Iterator<Element> iter = results.iterator();
-      XPathExpression<Element> xpaTemplates = XPathFactory.instance().compile(
-          "templates/tl", Filters.element());
+      ApiXPath xpaTemplates = ApiXPath.TEMPLATES;
       List<Page> tmpPages = new ArrayList<>();
       while (iter.hasNext()) {
         Element currentNode = iter.next();
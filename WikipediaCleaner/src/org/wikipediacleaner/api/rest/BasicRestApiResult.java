@@ -9,12 +9,12 @@ package org.wikipediacleaner.api.rest;
 
 import java.util.Map;
 
-import org.apache.commons.httpclient.HttpClient;
-import org.apache.commons.httpclient.HttpMethod;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
-import org.wikipediacleaner.api.http.hc3.Hc3HttpUtils;
+import org.wikipediacleaner.api.http.hc5.Hc5HttpUtils;
 
 
 /**
@@ -35,7 +35,7 @@ public abstract class BasicRestApiResult implements RestApiResult {
   /**
    * HTTP client for making requests.
    */
-  private final HttpClient httpClient;
+  private final CloseableHttpClient httpClient;
 
   /**
    * @param wiki Wiki on which requests are made.
@@ -43,7 +43,7 @@ public abstract class BasicRestApiResult implements RestApiResult {
    */
   protected BasicRestApiResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     this.wiki = wiki;
     this.httpClient = httpClient;
   }
@@ -60,7 +60,7 @@ public abstract class BasicRestApiResult implements RestApiResult {
    * @return HTTP client for making requests.
    */
   @Override
-  public HttpClient getHttpClient() {
+  public CloseableHttpClient getHttpClient() {
     return httpClient;
   }
 
@@ -76,7 +76,7 @@ public abstract class BasicRestApiResult implements RestApiResult {
    * @param param Parameter for REST API method.
    * @return HttpMethod.
    */
-  protected HttpMethod createHttpMethod(
+  protected HttpUriRequest createHttpMethod(
       Map<String, String> properties, String path, String param) {
     String encodedPath = path;
     if ((param != null) && !param.isEmpty()) {
@@ -88,7 +88,7 @@ public abstract class BasicRestApiResult implements RestApiResult {
         // Nothing
       }*/
     }
-    return Hc3HttpUtils.createHttpMethod(
+    return Hc5HttpUtils.createMethod(
         getWiki().getSettings().getHostURL(true) + "/" + encodedPath,
         properties, false);
   }
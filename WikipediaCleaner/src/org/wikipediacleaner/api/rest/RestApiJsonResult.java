@@ -7,18 +7,12 @@
 
 package org.wikipediacleaner.api.rest;
 
-import java.io.BufferedInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Map;
-import java.util.zip.GZIPInputStream;
 
-import org.apache.commons.httpclient.Header;
-import org.apache.commons.httpclient.HttpClient;
-import org.apache.commons.httpclient.HttpMethod;
-import org.apache.commons.httpclient.HttpStatus;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.request.ApiScheduler;
 import org.wikipediacleaner.utils.Configuration;
 import org.wikipediacleaner.utils.ConfigurationValueBoolean;
 
@@ -62,7 +56,7 @@ public abstract class RestApiJsonResult extends BasicRestApiResult {
    */
   public RestApiJsonResult(
       EnumWikipedia wiki,
-      HttpClient httpClient) {
+      CloseableHttpClient httpClient) {
     super(wiki, httpClient);
   }
 
@@ -81,90 +75,14 @@ public abstract class RestApiJsonResult extends BasicRestApiResult {
       String path, String param,
       int maxTry)
           throws APIException {
-    int attempt = 0;
-    for (;;) {
-      JsonNode root = null;
-      HttpMethod method = null;
-      InputStream stream = null;
-      try {
-        // Executing HTTP method
-        attempt++;
-        method = createHttpMethod(properties, path, param);
-        int statusCode = getHttpClient().executeMethod(method);
-
-        // Accessing response
-        stream = method.getResponseBodyAsStream();
-        stream = new BufferedInputStream(stream);
-        Header contentEncoding = method.getResponseHeader("Content-Encoding");
-        if (contentEncoding != null) {
-          if (contentEncoding.getValue().equals("gzip")) {
-            stream = new GZIPInputStream(stream);
-          }
-        }
-
-        // Read the response
-        if (statusCode == HttpStatus.SC_OK){
+    return ApiScheduler.getScheduler(getWiki()).execute(
+        getHttpClient(), () -> createHttpMethod(properties, path, param), maxTry, stream -> {
           ObjectMapper mapper = new ObjectMapper(factory);
-          root = mapper.readValue(stream, JsonNode.class);
+          JsonNode root = mapper.readValue(stream, JsonNode.class);
           traceDocument(root);
           checkForError(root);
-        } else {
-          try {
-            while (stream.read() >= 0) {
-              //
-            }
-          } catch (IOException e) {
-            //
-          }
-        }
-
-        // Act depending on the status
-        if (statusCode != HttpStatus.SC_OK) {
-          String message = "URL access returned " + HttpStatus.getStatusText(statusCode);
-          log.error(message);
-          if (attempt > maxTry) {
-            log.warn("Error. Maximum attempts count reached.");
-            throw new APIException(message);
-          }
-          try {
-            Thread.sleep(30000);
-          } catch (InterruptedException e) {
-            // Nothing
-          }
-        } else {
           return root;
-        }
-      } catch (IOException e) {
-        String message = "IOException: " + e.getMessage();
-        log.error(message);
-        if (attempt > maxTry) {
-          log.warn("Error. Maximum attempts count reached.");
-          throw new APIException("Error accessing MediaWiki", e);
-        }
-        try {
-          Thread.sleep(30000);
-        } catch (InterruptedException e2) {
-          // Nothing
-        }
-      } catch (APIException e) {
-        if (!e.shouldRetry() || (attempt > e.getMaxRetry())) {
-          throw e;
-        }
-        e.waitForRetry();
-      } finally {
-        if (stream != null) {
-          try {
-            stream.close();
-          } catch (IOException e) {
-            log.warn("Error closing stream");
-          }
-        }
-        if (method != null) {
-          method.releaseConnection();
-        }
-      }
-      log.warn("Error. Trying again");
-    }
+        });
   }
 
   /**
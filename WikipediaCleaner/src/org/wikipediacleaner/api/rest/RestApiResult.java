@@ -7,7 +7,7 @@
 
 package org.wikipediacleaner.api.rest;
 
-import org.apache.commons.httpclient.HttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 
 
@@ -24,5 +24,5 @@ public interface RestApiResult {
   /**
    * @return HTTP client for making requests.
    */
-  public HttpClient getHttpClient();
+  public CloseableHttpClient getHttpClient();
 }
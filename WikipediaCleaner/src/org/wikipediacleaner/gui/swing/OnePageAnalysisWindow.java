@@ -1335,21 +1335,17 @@ public class OnePageAnalysisWindow
     // Comments for added categories / templates
     boolean isCategoryAdded = false;
     if ((addedCategories != null) && (analysis != null)) {
-      for (PageElementCategory category : analysis.getCategories()) {
-        for (String category2 : addedCategories) {
-          if (Page.areSameTitle(category.getName(), category2)) {
-            isCategoryAdded = true;
-          }
+      for (String category : addedCategories) {
+        if ((category != null) && !analysis.getCategories(category).isEmpty()) {
+          isCategoryAdded = true;
         }
       }
     }
     boolean isTemplateAdded = false;
     if ((addedTemplates != null) && (analysis != null)) {
-      for (PageElementTemplate template : analysis.getTemplates()) {
-        for (String template2 : addedTemplates) {
-          if (Page.areSameTitle(template.getTemplateName(), template2)) {
-            isTemplateAdded = true;
-          }
+      for (String template : addedTemplates) {
+        if (analysis.hasTemplate(template) != null) {
+          isTemplateAdded = true;
         }
       }
     }
@@ -1417,6 +1413,9 @@ public class OnePageAnalysisWindow
 
     // Check for new errors
     analysis.shouldCheckSpelling(shouldCheckSpelling());
+    if (analysis.shouldAnalyzeInParallel()) {
+      analysis.performFullPageAnalysis(null);
+    }
     List<CheckErrorPage> errorsFound = AlgorithmError.analyzeErrors(
         allAlgorithms, analysis, false);
     if (errorsFound != null) {
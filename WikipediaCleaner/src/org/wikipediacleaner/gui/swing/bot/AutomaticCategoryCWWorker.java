@@ -16,7 +16,7 @@ import org.wikipediacleaner.api.APIFactory;
 import org.wikipediacleaner.api.check.algorithm.CheckErrorAlgorithm;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
-import org.wikipediacleaner.api.data.Page.RelatedPages;
+import org.wikipediacleaner.api.request.ApiContinuation;
 import org.wikipediacleaner.gui.swing.basic.BasicWindow;
 
 
@@ -64,13 +64,16 @@ public class AutomaticCategoryCWWorker extends AutomaticFixWorker {
   public Object construct() {
     try {
       API api = APIFactory.getAPI();
-      api.retrieveCategoryMembers(getWikipedia(), category, 0, false, Integer.MAX_VALUE);
-      for (Page page : category.getRelatedPages(RelatedPages.CATEGORY_MEMBERS)) {
-        if (!shouldContinue()) {
-          return null;
+      try (ApiContinuation<Page> members = api.iterateCategoryMembersContents(getWikipedia(), category)) {
+        while (members.hasNext()) {
+          if (!shouldContinue()) {
+            return null;
+          }
+          analyzePage(members.next(), selectedAlgorithms, null, true);
         }
-        analyzePage(page, selectedAlgorithms, null);
       }
+    } catch (ApiContinuation.ContinuationException e) {
+      return e.getCause();
     } catch (APIException e) {
       return e;
     }
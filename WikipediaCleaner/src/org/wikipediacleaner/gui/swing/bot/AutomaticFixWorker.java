@@ -144,10 +144,27 @@ public abstract class AutomaticFixWorker extends BasicWorker {
       Page page,
       List<CheckErrorAlgorithm> algorithms,
       String prefix) throws APIException {
+    analyzePage(page, algorithms, prefix, false);
+  }
+
+  /**
+   * Analyze and fix a page.
+   * 
+   * @param page Page.
+   * @param algorithms List of algorithms.
+   * @param prefix Prefix for the message.
+   * @param contentsLoaded True if the contents of the page have already been retrieved.
+   * @throws APIException API errors.
+   */
+  protected void analyzePage(
+      Page page,
+      List<CheckErrorAlgorithm> algorithms,
+      String prefix,
+      boolean contentsLoaded) throws APIException {
 
     try {
       // Retrieve page analysis 
-      PageAnalysis analysis = getPageAnalysis(page);
+      PageAnalysis analysis = getPageAnalysis(page, contentsLoaded);
       if (analysis == null) {
         return;
       }
@@ -177,10 +194,11 @@ public abstract class AutomaticFixWorker extends BasicWorker {
 
   /**
    * @param page Page.
+   * @param contentsLoaded True if the contents of the page have already been retrieved.
    * @return Page analysis.
    * @throws APIException If a problem occurred.
    */
-  private PageAnalysis getPageAnalysis(Page page) throws APIException {
+  private PageAnalysis getPageAnalysis(Page page, boolean contentsLoaded) throws APIException {
 
     // Check if page should be ignored
     if (!selectedNamespaces.contains(page.getNamespace())) {
@@ -202,8 +220,10 @@ public abstract class AutomaticFixWorker extends BasicWorker {
     setText(GT._T("Analyzing page {0}", page.getTitle()));
 
     // Retrieve page content 
-    API api = APIFactory.getAPI();
-    api.retrieveContents(getWikipedia(), Collections.singletonList(page), true, false);
+    if (!contentsLoaded) {
+      API api = APIFactory.getAPI();
+      api.retrieveContents(getWikipedia(), Collections.singletonList(page), true, false);
+    }
     if (page.getEditProhibition()) {
       return null;
     }
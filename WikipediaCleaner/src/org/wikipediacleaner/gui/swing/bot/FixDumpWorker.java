@@ -13,16 +13,13 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wikipediacleaner.api.API;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.APIFactory;
-import org.wikipediacleaner.api.MediaWikiController;
 import org.wikipediacleaner.api.MediaWikiListener;
 import org.wikipediacleaner.api.check.CheckErrorResult;
 import org.wikipediacleaner.api.check.CheckErrorResult.ErrorLevel;
@@ -58,7 +55,7 @@ public class FixDumpWorker extends AutomaticFixWorker {
   AnalysisPerformance analysisTime;
 
   /** Count of pages analyzed */
-  int countAnalyzed;
+  final AtomicInteger countAnalyzed;
 
   /**
    * @param wiki Wiki.
@@ -81,7 +78,7 @@ public class FixDumpWorker extends AutomaticFixWorker {
         null, true, false, false);
     this.dumpFile = dumpFile;
     this.analysisTime = new AnalysisPerformance();
-    this.countAnalyzed = 0;
+    this.countAnalyzed = new AtomicInteger();
   }
 
   /** 
@@ -99,15 +96,9 @@ public class FixDumpWorker extends AutomaticFixWorker {
       return null;
     }
     CWPageProcessor pageProcessor = new CWPageProcessor(getWikipedia(), this, selectedNamespaces);
-    DumpProcessor dumpProcessor = new DumpProcessor(pageProcessor);
+    DumpProcessor dumpProcessor = new DumpProcessor(
+        pageProcessor, DumpProcessor.getDefaultAnalysisThreads());
     dumpProcessor.processDump(dumpFile);
-    while (!pageProcessor.hasFinished()) {
-      try {
-        Thread.sleep(100);
-      } catch (InterruptedException e) {
-        // Nothing to do
-      }
-    }
 
     return null;
   }
@@ -118,7 +109,7 @@ public class FixDumpWorker extends AutomaticFixWorker {
   void reportProgress() {
     StringBuilder buffer = new StringBuilder();
     buffer.append("\n");
-    buffer.append("Pages processed: " + countAnalyzed);
+    buffer.append("Pages processed: " + countAnalyzed.get());
     log.info(buffer.toString());
   }
 
@@ -141,7 +132,7 @@ public class FixDumpWorker extends AutomaticFixWorker {
     message.append(GT.__(
         "{0} page has been analyzed",
         "{0} pages have been analyzed",
-        countAnalyzed, Integer.toString(countAnalyzed)));
+        countAnalyzed.get(), Integer.toString(countAnalyzed.get())));
 
     // Log final message
     logCW.info(message.toString());
@@ -153,61 +144,6 @@ public class FixDumpWorker extends AutomaticFixWorker {
     }
   }
 
-  /**
-   * Controller for background tasks.
-   */
-  private class CWController extends MediaWikiController {
-
-    /**
-     * @param listener Listener to MediaWiki events.
-     */
-    public CWController(MediaWikiListener listener) {
-      super(listener);
-    }
-
-    /**
-     * @param task Task to be performed in background.
-     * @see org.wikipediacleaner.api.MediaWikiController#addTask(java.util.concurrent.Callable)
-     */
-    @Override
-    public void addTask(Callable<?> task) {
-      // hasFinished(); // To clean up done tasks
-      while (getRemainingTasksCount() > 10000) {
-        try {
-          // logCW.info("Too many tasks remaining, waiting a bit");
-          TimeUnit.MILLISECONDS.sleep(1000);
-        } catch (InterruptedException e) {
-          // Do nothing
-        }
-        cleanUpDone();
-      }
-      super.addTask(task);
-      cleanUpDone();
-    }
-
-    /**
-     * Clean up tasks that are done and finished.
-     */
-    private void cleanUpDone() {
-      while (getFirstResultIfDone() != null) {
-        // Do nothing, done result is simply removed from the list of tasks to clean up done tasks
-      }
-    }
-
-    /**
-     * @return True if all tasks are completed.
-     */
-    public boolean hasFinished() {
-      while (hasRemainingTask()) {
-        Future<?> result = getFirstResultIfDone();
-        if (result == null) {
-          return false;
-        }
-      }
-      return !hasRemainingTask();
-    }
-  }
-
   /**
    * Background task.
    */
@@ -257,12 +193,12 @@ public class FixDumpWorker extends AutomaticFixWorker {
         analyzePage(currentPage, selectedAlgorithms, null);
       }
 
-      countAnalyzed++;
-      if (countAnalyzed % 100000 == 0) {
+      int count = countAnalyzed.incrementAndGet();
+      if (count % 100000 == 0) {
         reportProgress();
       }
-      if (countAnalyzed % 1000 == 0) {
-        setText(GT._T("{0} pages processed", Integer.toString(countAnalyzed)));
+      if (count % 1000 == 0) {
+        setText(GT._T("{0} pages processed", Integer.toString(count)));
       }
       return page;
     }
@@ -282,9 +218,6 @@ public class FixDumpWorker extends AutomaticFixWorker {
     /** Namespaces to be analyzed */
     private final Set<Integer> namespaces;
 
-    /** Controller for background tasks */
-    private final CWController controller;
-
     /** API */
     private final API api;
 
@@ -303,7 +236,6 @@ public class FixDumpWorker extends AutomaticFixWorker {
       if (namespaces != null) {
         this.namespaces.addAll(namespaces);
       }
-      this.controller = new CWController(null);
       this.api = APIFactory.getAPI();
     }
 
@@ -337,14 +269,11 @@ public class FixDumpWorker extends AutomaticFixWorker {
       if (page == null) {
         return;
       }
-      controller.addTask(new CWPageCallable(wiki, listener, api, page));
-    }
-
-    /**
-     * @return True if all tasks are completed.
-     */
-    public boolean hasFinished() {
-      return controller.hasFinished();
+      try {
+        new CWPageCallable(wiki, listener, api, page).call();
+      } catch (APIException e) {
+        log.error("Error processing page {}", page.getTitle(), e);
+      }
     }
   }
 
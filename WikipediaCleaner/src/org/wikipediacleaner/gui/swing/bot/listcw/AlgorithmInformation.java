@@ -55,7 +55,7 @@ class AlgorithmInformation {
   /**
    * @return Errors found.
    */
-  public Map<String, Detection> getDetections() {
+  public synchronized Map<String, Detection> getDetections() {
     return detections;
   }
 
@@ -63,21 +63,21 @@ class AlgorithmInformation {
    * @param page   Page.
    * @param errors List of errors.
    */
-  public void addDetection(Page page, List<CheckErrorResult> errors) {
+  public synchronized void addDetection(Page page, List<CheckErrorResult> errors) {
     detections.put(page.getTitle(), new Detection(page, errors));
   }
 
   /**
    * @param time Time spent.
    */
-  public void addTimeSpent(long time) {
+  public synchronized void addTimeSpent(long time) {
     timeSpent += time;
   }
 
   /**
    * @return Time spent.
    */
-  public long getTimeSpent() {
+  public synchronized long getTimeSpent() {
     return timeSpent;
   }
 }
@@ -24,7 +24,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +49,7 @@ import org.wikipediacleaner.api.data.contents.comment.CommentBuilder;
 import org.wikipediacleaner.api.data.contents.ilink.InternalLinkBuilder;
 import org.wikipediacleaner.api.data.contents.tag.WikiTagType;
 import org.wikipediacleaner.api.data.contents.title.TitleBuilder;
+import org.wikipediacleaner.api.dump.DumpIndex;
 import org.wikipediacleaner.api.dump.DumpProcessor;
 import org.wikipediacleaner.api.dump.PageProcessor;
 import org.wikipediacleaner.api.execution.MediaWikiCallable;
@@ -92,10 +95,10 @@ public class ListCWWorker extends BasicWorker {
   AnalysisPerformance analysisTime;
 
   /** Count of pages analyzed */
-  int countAnalyzed;
+  final AtomicInteger countAnalyzed;
 
   /** Count of pages found with errors */
-  int countDetections;
+  final AtomicInteger countDetections;
 
   /**
    * @param wiki Wiki.
@@ -124,8 +127,8 @@ public class ListCWWorker extends BasicWorker {
       this.selectedNamespaces.add(Namespace.MAIN);
     }
     this.analysisTime = new AnalysisPerformance();
-    this.countAnalyzed = 0;
-    this.countDetections = 0;
+    this.countAnalyzed = new AtomicInteger();
+    this.countDetections = new AtomicInteger();
     this.checkWiki = checkWiki;
     this.onlyRecheck = false;
   }
@@ -158,8 +161,8 @@ public class ListCWWorker extends BasicWorker {
       this.selectedNamespaces.add(Namespace.MAIN);
     }
     this.analysisTime = new AnalysisPerformance();
-    this.countAnalyzed = 0;
-    this.countDetections = 0;
+    this.countAnalyzed = new AtomicInteger();
+    this.countDetections = new AtomicInteger();
     this.checkWiki = checkWiki;
     this.onlyRecheck = onlyRecheck;
   }
@@ -213,15 +216,25 @@ public class ListCWWorker extends BasicWorker {
         // Nothing to do
       }
     }
-    DumpProcessor dumpProcessor = new DumpProcessor(pageProcessor);
-    dumpProcessor.processDump(dumpFile);
-    while (!pageProcessor.hasFinished()) {
-      try {
-        Thread.sleep(100);
-      } catch (InterruptedException e) {
-        // Nothing to do
+    DumpProcessor dumpProcessor = new DumpProcessor(
+        pageProcessor, DumpProcessor.getDefaultAnalysisThreads());
+    DumpIndex dumpIndex = null;
+    if (onlyRecheck && (pageProcessor.getPagesListSize() > 0)) {
+      File indexFile = DumpIndex.findIndexFile(dumpFile);
+      if (indexFile != null) {
+        try {
+          logCW.info("Loading dump index {}", indexFile.getName());
+          dumpIndex = DumpIndex.load(indexFile);
+        } catch (IOException e) {
+          log.error("Error loading dump index", e);
+        }
       }
     }
+    if (dumpIndex != null) {
+      dumpProcessor.processPages(dumpFile, dumpIndex, pageProcessor.getPagesList());
+    } else {
+      dumpProcessor.processDump(dumpFile);
+    }
     logCW.info("Beginning of result output");
     for (AlgorithmInformation algorithm : selectedAlgorithms) {
       Map<String, Detection> pages = algorithm.getDetections();
@@ -653,7 +666,7 @@ public class ListCWWorker extends BasicWorker {
     message.append(GT.__(
         "{0} page has been analyzed",
         "{0} pages have been analyzed",
-        countAnalyzed, Integer.toString(countAnalyzed)));
+        countAnalyzed.get(), Integer.toString(countAnalyzed.get())));
     for (AlgorithmInformation algorithmInfo : selectedAlgorithms) {
       CheckErrorAlgorithm algorithm = algorithmInfo.algorithm;
       Map<String, Detection> pages = algorithmInfo.getDetections();
@@ -781,16 +794,16 @@ public class ListCWWorker extends BasicWorker {
                 algorithm.algorithm.getErrorNumberString(),
                 algorithm.algorithm.getShortDescription());
             algorithm.addDetection(currentPage, errors);
-            countDetections++;
+            countDetections.incrementAndGet();
           }
         }
       }
-      countAnalyzed++;
-      if (countAnalyzed % 100000 == 0) {
+      int count = countAnalyzed.incrementAndGet();
+      if (count % 100000 == 0) {
         reportProgress();
       }
-      if (countAnalyzed % 1000 == 0) {
-        setText(GT._T("{0} pages processed", Integer.toString(countAnalyzed)));
+      if (count % 1000 == 0) {
+        setText(GT._T("{0} pages processed", Integer.toString(count)));
       }
       return page;
     }
@@ -810,9 +823,6 @@ public class ListCWWorker extends BasicWorker {
     /** Namespaces to be analyzed */
     private final Set<Integer> namespaces;
 
-    /** Controller for background tasks */
-    private final CWController controller;
-
     /** API */
     private final API api;
 
@@ -834,7 +844,6 @@ public class ListCWWorker extends BasicWorker {
       if (namespaces != null) {
         this.namespaces.addAll(namespaces);
       }
-      this.controller = new CWController(null);
       this.api = APIFactory.getAPI();
     }
 
@@ -857,6 +866,16 @@ public class ListCWWorker extends BasicWorker {
       return pagesList.size();
     }
 
+    /**
+     * @return List of pages to check.
+     */
+    public List<String> getPagesList() {
+      if (pagesList == null) {
+        return Collections.emptyList();
+      }
+      return new ArrayList<>(pagesList);
+    }
+
     /**
      * Add a page to the list of pages to check.
      * 
@@ -868,7 +887,7 @@ public class ListCWWorker extends BasicWorker {
       }
       String title = page.getTitle();
       if (pagesList == null) {
-        pagesList = new HashSet<>();
+        pagesList = ConcurrentHashMap.newKeySet();
       }
       pagesList.add(title);
     }
@@ -885,6 +904,23 @@ public class ListCWWorker extends BasicWorker {
       return namespaces.contains(namespace);
     }
 
+    /**
+     * Tells if the processor should work on a page.
+     * 
+     * @param namespace Namespace.
+     * @param title Page title.
+     * @param redirect True if the page is a redirect.
+     * @return True if the processor should work on the page.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForPage(Integer, String, boolean)
+     */
+    @Override
+    public boolean isForPage(Integer namespace, String title, boolean redirect) {
+      if (!isForNamespace(namespace)) {
+        return false;
+      }
+      return (pagesList == null) || pagesList.contains(title);
+    }
+
     /**
      * @param page Page.
      * @see org.wikipediacleaner.api.dump.PageProcessor#processPage(org.wikipediacleaner.api.data.Page)
@@ -895,24 +931,16 @@ public class ListCWWorker extends BasicWorker {
         return;
       }
       if (pagesList == null) {
-        controller.addTask(new CWPageCallable(wiki, listener, api, page));
+        new CWPageCallable(wiki, listener, api, page).call();
         return;
       }
-      if (pagesList.contains(page.getTitle())) {
-        pagesList.remove(page.getTitle());
-        controller.addTask(new CWPageCallable(wiki, listener, api, page));
+      if (pagesList.remove(page.getTitle())) {
+        new CWPageCallable(wiki, listener, api, page).call();
         if (pagesList.size() % 1000 == 0) {
         	logCW.info("{} pages left in list", pagesList.size());
         }
       }
     }
-
-    /**
-     * @return True if all tasks are completed.
-     */
-    public boolean hasFinished() {
-      return controller.hasFinished();
-    }
   }
 
 }
@@ -100,6 +100,9 @@ public class FullAnalysisWorker extends BasicWorker {
       }
       setText("Analyzing data");
       PageAnalysis analysis = page.getAnalysis(page.getContents(), true);
+      if (analysis.shouldAnalyzeInParallel()) {
+        analysis.performFullPageAnalysis(null);
+      }
       AlgorithmError.analyzeErrors(algorithms, analysis, false);
     } catch (APIException e) {
       return e;
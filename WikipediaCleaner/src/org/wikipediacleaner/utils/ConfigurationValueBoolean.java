@@ -46,7 +46,9 @@ public enum ConfigurationValueBoolean {
   FORCE_HTTP_API("ForceHttpApi", false),
   FORCE_WATCH("ForceWatch", false),
   IGNORE_DAB_USER_NS("IgnoreDabUserNS", false),
+  JSON_API("JsonApi", false),
   MARK_EDIT_MINOR("MarkEditMinor", true),
+  PARALLEL_ANALYSIS("ParallelAnalysis", false),
   REMEMBER_LAST_PAGE("RememberLastPage", true),
   RESTORE_WINDOW("RestoreWindow", true),
   SAVE_LAST_REPLACEMENT("SaveLastReplacement", false),
@@ -62,6 +64,7 @@ public enum ConfigurationValueBoolean {
   UPDATE_DAB_WARNING("UpdateDabWarning", true),
   UPDATE_DAB_WARNING_ALL("UpdateDabWarningAll", true),
   UPDATE_DAB_WARNING_ENCY("UpdateDabWarningEncyclo", true),
+  VIRTUAL_THREADS("VirtualThreads", false),
   WIKICLEANER_COMMENT("WikiCleanerComment", true);
 
   /**
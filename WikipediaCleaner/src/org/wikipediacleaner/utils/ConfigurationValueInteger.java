@@ -24,16 +24,20 @@ public enum ConfigurationValueInteger {
   FONT_SIZE_EDITOR("EditorFontSize", 12),
   INTERROG_THREAD("InterrogationThreads", 30),
   MAXIMUM_PAGES("MaximumPages", 20),
+  MAX_API_REQUESTS("MaxApiRequests", 4),
   MAX_CATEGORY_MEMBERS("MaxCategoryMembers", 1000),
   MAX_DAYS_ABUSE_LOG("MaxDaysAbuseLog", 7),
   MAX_EDITS_PER_MINUTE("MaxEditsPerMinute", 0),
   MAX_EMBEDDED_IN("MaxEmbeddedIn", 1000),
+  MAX_LAG("MaxLag", 5),
   MAX_LINT_ERRORS("MaxLintErrors", 1000),
   MAX_PAGES_WITH_PROP("MaxPagesWithProp", 1000),
   MAX_PROTECTED_TITLES("MaxProtectedTitles", 1000),
   MAX_QUERY_PAGE("MaxQueryPage", 1000),
   MAX_SEARCH("MaxSearch", 1000),
   MENU_SIZE("MenuSize", 30),
+  PAGE_CACHE_SIZE("PageCacheSize", 20000),
+  PAGE_CACHE_TTL("PageCacheTTL", 600),
   PLAF_TYPE("LookAndFeelType", ConfigurationConstants.VALUE_PLAF_TYPE_WPCLEANER),
   SAVE_USER("SaveUser", ConfigurationConstants.VALUE_SAVE_USER_NAME),
   SLOW_REGEXP("SlowRegexp", 1000),
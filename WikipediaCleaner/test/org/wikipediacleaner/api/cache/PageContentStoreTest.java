@@ -0,0 +1,105 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.cache;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+/**
+ * Test class for the local store of page contents.
+ */
+public class PageContentStoreTest {
+
+  /** Temporary folder for the stores */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Test storing and reading contents, including after reopening the store.
+   * 
+   * @throws IOException Error with the store.
+   */
+  @Test
+  public void testStoreAndReopen() throws IOException {
+    File file = new File(folder.getRoot(), "test.dat");
+    String contents = "Some '''wiki''' text with accents: é è à";
+    PageContentStore store = new PageContentStore(file);
+    for (int pageId = 1; pageId <= 2000; pageId++) {
+      store.put(pageId, 10L * pageId, "2021-01-01T00:00:00Z", contents + pageId);
+    }
+    store.put(5, 51, "2021-02-01T00:00:00Z", "New contents");
+    assertNull(store.get(5, 50));
+    assertEquals("New contents", store.get(5, 51).contents);
+    assertNull(store.get(3000, 30000));
+    store.close();
+
+    store = new PageContentStore(file);
+    assertEquals(2000, store.size());
+    PageContentStore.Content content = store.get(1234, 12340);
+    assertNotNull(content);
+    assertEquals(contents + 1234, content.contents);
+    assertEquals("2021-01-01T00:00:00Z", content.timestamp);
+    assertEquals("New contents", store.get(5, 51).contents);
+    store.close();
+  }
+
+  /**
+   * Test that old revisions are removed when reopening the store.
+   * 
+   * @throws IOException Error with the store.
+   */
+  @Test
+  public void testCompact() throws IOException {
+    File file = new File(folder.getRoot(), "test.dat");
+    PageContentStore store = new PageContentStore(file);
+    for (int revisionId = 1; revisionId <= 2000; revisionId++) {
+      store.put(1 + revisionId % 2, revisionId, null, "Revision " + revisionId);
+    }
+    store.close();
+    long size = file.length();
+
+    store = new PageContentStore(file);
+    assertTrue(file.length() < size / 100);
+    assertEquals("Revision 1999", store.get(2, 1999).contents);
+    assertEquals("Revision 2000", store.get(1, 2000).contents);
+    store.close();
+  }
+
+  /**
+   * Test that an incomplete last record is ignored.
+   * 
+   * @throws IOException Error with the store.
+   */
+  @Test
+  public void testIncompleteRecord() throws IOException {
+    File file = new File(folder.getRoot(), "test.dat");
+    PageContentStore store = new PageContentStore(file);
+    store.put(1, 10, null, "First page");
+    store.put(2, 20, null, "Second page");
+    store.close();
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() - 3);
+    }
+
+    store = new PageContentStore(file);
+    assertEquals("First page", store.get(1, 10).contents);
+    assertNull(store.get(2, 20));
+    store.put(2, 21, null, "Second page again");
+    assertEquals("Second page again", store.get(2, 21).contents);
+    store.close();
+  }
+}
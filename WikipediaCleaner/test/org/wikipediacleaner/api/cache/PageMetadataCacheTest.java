@@ -0,0 +1,131 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.constants.EnumCaseSensitiveness;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.EnumWikipediaUtils;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Namespace;
+import org.wikipediacleaner.api.data.Page;
+
+
+/**
+ * Test class for the cache of page metadata.
+ */
+public class PageMetadataCacheTest {
+
+  /**
+   * Test filling pages with their redirect and disambiguation information.
+   */
+  @Test
+  public void testFill() {
+    EnumWikipedia wiki = EnumWikipediaUtils.getEN();
+    PageMetadataCache cache = new PageMetadataCache(wiki);
+    Page redirect = DataManager.createSimplePage(wiki, "Foo", 1, null, null);
+    redirect.setExisting(Boolean.TRUE);
+    redirect.getRedirects().isRedirect(true);
+    Page target = DataManager.createSimplePage(wiki, "Bar", 2, null, null);
+    target.setExisting(Boolean.TRUE);
+    redirect.getRedirects().add(target, "Section");
+    cache.storeRedirects(List.of(redirect));
+
+    Page page = DataManager.createSimplePage(wiki, "Foo", null, null, null);
+    assertTrue(cache.fillRedirects(List.of(page)).isEmpty());
+    assertTrue(page.getRedirects().isRedirect());
+    assertEquals("Bar", page.getRedirects().getTitle());
+    assertEquals(Integer.valueOf(1), page.getPageId());
+
+    // Disambiguation status is not known yet
+    page = DataManager.createSimplePage(wiki, "Foo", null, null, null);
+    assertEquals(1, cache.fillDisambiguationStatus(List.of(page)).size());
+    redirect.setDisambiguationPage(Boolean.TRUE);
+    cache.storeDisambiguationStatus(List.of(redirect));
+    assertTrue(cache.fillDisambiguationStatus(List.of(page)).isEmpty());
+    assertEquals(Boolean.TRUE, page.isDisambiguationPage());
+
+    // Redirect information doesn't lose the disambiguation status
+    cache.storeRedirects(List.of(redirect));
+    page = DataManager.createSimplePage(wiki, "Foo", null, null, null);
+    assertTrue(cache.fillDisambiguationStatus(List.of(page)).isEmpty());
+    assertEquals(3, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  /**
+   * Test invalidating pages, including redirects to modified pages.
+   */
+  @Test
+  public void testInvalidate() {
+    EnumWikipedia wiki = EnumWikipediaUtils.getEN();
+    PageMetadataCache cache = new PageMetadataCache(wiki);
+    Page redirect = DataManager.createSimplePage(wiki, "Foo", 1, null, null);
+    redirect.getRedirects().isRedirect(true);
+    redirect.getRedirects().add(DataManager.createSimplePage(wiki, "Bar", 2, null, null), null);
+    Page other = DataManager.createSimplePage(wiki, "Other", 3, null, null);
+    cache.storeRedirects(List.of(redirect, other));
+    assertEquals(2, cache.size());
+
+    cache.invalidate("Bar");
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.getInvalidationCount());
+    Page page = DataManager.createSimplePage(wiki, "Foo", null, null, null);
+    assertEquals(1, cache.fillRedirects(List.of(page)).size());
+    cache.clear();
+    assertEquals(0, cache.size());
+
+    // A redirect stored again with another target isn't invalidated by its previous target
+    cache.storeRedirects(List.of(redirect));
+    Page otherRedirect = DataManager.createSimplePage(wiki, "Foo", 1, null, null);
+    otherRedirect.getRedirects().isRedirect(true);
+    otherRedirect.getRedirects().add(DataManager.createSimplePage(wiki, "Baz", 4, null, null), null);
+    cache.storeRedirects(List.of(otherRedirect));
+    cache.invalidate("Bar");
+    assertEquals(1, cache.size());
+    cache.invalidate("Baz");
+    assertEquals(0, cache.size());
+    assertEquals(2, cache.getInvalidationCount());
+  }
+
+  /**
+   * Test the keys on a wiki where the main name space is case sensitive.
+   */
+  @Test
+  public void testCaseSensitive() {
+    EnumWikipedia wiki = EnumWikipedia.WIKTIONARY_EN;
+    List<Namespace> namespaces = new ArrayList<>();
+    namespaces.add(new Namespace(
+        Integer.toString(Namespace.MAIN), "", "",
+        EnumCaseSensitiveness.CASE_SENSITIVE, false));
+    namespaces.add(new Namespace(
+        Integer.toString(Namespace.CATEGORY), "Category", "Category",
+        EnumCaseSensitiveness.FIRST_LETTER, true));
+    wiki.getWikiConfiguration().setNamespaces(namespaces);
+    PageMetadataCache cache = new PageMetadataCache(wiki);
+    assertEquals("foo", cache.getKey("foo"));
+    assertEquals("Foo", cache.getKey("Foo"));
+    assertEquals("Category:Foo", cache.getKey("category:foo"));
+
+    Page lower = DataManager.createSimplePage(wiki, "foo", 1, null, null);
+    lower.setExisting(Boolean.TRUE);
+    cache.storeRedirects(List.of(lower));
+    Page upper = DataManager.createSimplePage(wiki, "Foo", null, null, null);
+    assertEquals(1, cache.fillRedirects(List.of(upper)).size());
+    cache.invalidate("Foo");
+    assertEquals(1, cache.size());
+    cache.invalidate("foo");
+    assertEquals(0, cache.size());
+  }
+}
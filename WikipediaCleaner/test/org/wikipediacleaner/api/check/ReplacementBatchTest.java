@@ -0,0 +1,63 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.check;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for ReplacementBatch.
+ */
+public class ReplacementBatchTest {
+
+  @Test
+  public void testNoReplacement() {
+    String contents = "Some text";
+    assertSame(contents, new ReplacementBatch(contents).apply());
+  }
+
+  @Test
+  public void testReplacements() {
+    ReplacementBatch batch = new ReplacementBatch("0123456789");
+    assertTrue(batch.add(7, 9, "b"));
+    assertTrue(batch.add(1, 3, "a"));
+    assertTrue(batch.add(5, 5, "+"));
+    assertTrue(batch.add(4, 5, null));
+    assertEquals("0a3+56b9", batch.apply());
+  }
+
+  @Test
+  public void testInsertionsAtSamePosition() {
+    ReplacementBatch batch = new ReplacementBatch("ab");
+    batch.add(1, 1, "1");
+    batch.add(1, 1, "2");
+    assertEquals("a12b", batch.apply());
+  }
+
+  @Test
+  public void testOverlaps() {
+    ReplacementBatch batch = new ReplacementBatch("0123456789");
+    batch.add(2, 6, "x");
+    batch.add(4, 8, "y");
+    batch.add(2, 3, "z");
+    batch.add(6, 7, "w");
+    assertEquals("01xw789", batch.apply());
+  }
+
+  @Test
+  public void testInvalid() {
+    ReplacementBatch batch = new ReplacementBatch("0123");
+    assertFalse(batch.add(-1, 2, "x"));
+    assertFalse(batch.add(3, 2, "x"));
+    assertFalse(batch.add(2, 5, "x"));
+    assertEquals(0, batch.size());
+    assertEquals("0123", batch.apply());
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.check.algorithm.a5xx.a50x.a501;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.data.Suggestion;
+import org.wikipediacleaner.api.data.contents.ContentsInterval;
+import org.wikipediacleaner.api.data.contents.Interval;
+
+
+/**
+ * Test class for the index of suggestions by required literal.
+ */
+public class SuggestionIndexTest {
+
+  /**
+   * Test finding literals in chunks, including overlapping literals.
+   */
+  @Test
+  public void testFindLiterals() {
+    Suggestion she = Suggestion.createNativeSuggestion("she", null, null);
+    Suggestion he = Suggestion.createNativeSuggestion("\\bhe\\b", null, null);
+    Suggestion hers = Suggestion.createNativeSuggestion("hers?", null, null);
+    Suggestion her = Suggestion.createNativeSuggestion("\\bher\\b", null, null);
+    Suggestion noLiteral = Suggestion.createNativeSuggestion("abc|def", null, null);
+    Suggestion notIndexed = Suggestion.createNativeSuggestion("xyz", null, null);
+    List<Suggestion> suggestions = Arrays.asList(she, he, hers, her, noLiteral);
+    SuggestionIndex index = new SuggestionIndex(suggestions);
+    assertTrue(index.isFor(new ArrayList<>(suggestions)));
+    assertFalse(index.isFor(Arrays.asList(she, he, hers, noLiteral)));
+
+    String text = "ushers|the|xyz|he said|";
+    List<Interval> chunks = new ArrayList<>();
+    int begin = 0;
+    int end = text.indexOf('|');
+    while (end >= 0) {
+      chunks.add(new ContentsInterval(begin, end));
+      begin = end + 1;
+      end = text.indexOf('|', begin);
+    }
+    SuggestionIndex.Matches matches = index.findLiterals(text, chunks);
+    assertEquals(bitSet(0), matches.getChunks(she));
+    assertEquals(bitSet(0, 1, 3), matches.getChunks(he));
+    assertEquals(bitSet(0), matches.getChunks(hers));
+    assertEquals(bitSet(0), matches.getChunks(her));
+    assertEquals(bitSet(0, 1, 2, 3), matches.getChunks(noLiteral));
+    assertEquals(bitSet(0, 1, 2, 3), matches.getChunks(notIndexed));
+  }
+
+  /**
+   * Check that every chunk with a match is selected on random texts.
+   */
+  @Test
+  public void testRandom() {
+    String[] patterns = {
+        "ab", "\\bba\\b", "abc", "bca", "c[ab]c", "(?:aa|bb)", "a+bc", "cab?a", "aaa", "abcabc",
+    };
+    List<Suggestion> suggestions = new ArrayList<>();
+    for (String pattern : patterns) {
+      suggestions.add(Suggestion.createNativeSuggestion(pattern, null, null));
+    }
+    SuggestionIndex index = new SuggestionIndex(suggestions);
+    Random random = new Random(42);
+    for (int test = 0; test < 200; test++) {
+      StringBuilder buffer = new StringBuilder();
+      int length = random.nextInt(200);
+      for (int i = 0; i < length; i++) {
+        buffer.append("abc ".charAt(random.nextInt(4)));
+      }
+      String text = buffer.toString();
+      List<Interval> chunks = new ArrayList<>();
+      int begin = 0;
+      while (begin < text.length()) {
+        int end = Math.min(text.length(), begin + random.nextInt(30));
+        chunks.add(new ContentsInterval(begin, end));
+        begin = end + random.nextInt(3);
+      }
+      SuggestionIndex.Matches matches = index.findLiterals(text, chunks);
+      for (Suggestion suggestion : suggestions) {
+        BitSet selected = matches.getChunks(suggestion);
+        String literal = suggestion.getRequiredLiteral();
+        for (int chunkNum = 0; chunkNum < chunks.size(); chunkNum++) {
+          Interval chunk = chunks.get(chunkNum);
+          String chunkText = text.substring(chunk.getBeginIndex(), chunk.getEndIndex());
+          String message = suggestion.getPatternText() + " in \"" + chunkText + "\"";
+          if (Pattern.compile(suggestion.getPatternText()).matcher(chunkText).find()) {
+            assertTrue("Chunk not selected for " + message, selected.get(chunkNum));
+          }
+          if (literal != null) {
+            assertEquals("Incorrect selection for " + message, chunkText.contains(literal), selected.get(chunkNum));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @param bits Bits to be set.
+   * @return Set of bits.
+   */
+  private static BitSet bitSet(int... bits) {
+    BitSet result = new BitSet();
+    for (int bit : bits) {
+      result.set(bit);
+    }
+    return result;
+  }
+}
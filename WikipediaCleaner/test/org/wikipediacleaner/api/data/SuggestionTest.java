@@ -0,0 +1,49 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import static org.junit.Assert.*;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for Suggestion.
+ */
+public class SuggestionTest {
+
+  @Test
+  public void testRequiredLiteral() {
+    checkRequiredLiteral("accomodation", "accomodation");
+    checkRequiredLiteral("\\b[Aa]ccomodations?\\b", "ccomodation");
+    checkRequiredLiteral("(?<![\\w])teh\\s+(?:first|last)", "teh");
+    checkRequiredLiteral("abc\\.?de", "abc");
+    checkRequiredLiteral("ab+cd", "ab");
+    checkRequiredLiteral("x{0,2}yz", "yz");
+    checkRequiredLiteral("\\[\\[foo", "[[foo");
+    checkRequiredLiteral("abc|def", null);
+    checkRequiredLiteral("(?i)abcdef", null);
+    checkRequiredLiteral("a.b.c", null);
+  }
+
+  @Test
+  public void testRequiredLiteralFlags() {
+    assertNull(Suggestion.extractRequiredLiteral(Pattern.compile("abcdef", Pattern.CASE_INSENSITIVE)));
+  }
+
+  /**
+   * @param regexp Regular expression.
+   * @param expected Expected required literal.
+   */
+  private void checkRequiredLiteral(String regexp, String expected) {
+    Pattern pattern = Pattern.compile(regexp);
+    assertEquals("Required literal of " + regexp, expected, Suggestion.extractRequiredLiteral(pattern));
+  }
+}
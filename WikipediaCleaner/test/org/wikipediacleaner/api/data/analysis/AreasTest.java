@@ -0,0 +1,170 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data.analysis;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.wikipediacleaner.api.data.contents.ContentsInterval;
+import org.wikipediacleaner.api.data.contents.comment.ContentsComment;
+
+
+/**
+ * Test class for non wiki text areas.
+ */
+public class AreasTest {
+
+  /** Contents used for creating the elements */
+  private static final Contents CONTENTS = Contents.createContents(StringUtils.repeat(' ', 2000));
+
+  /**
+   * Test on empty areas.
+   */
+  @Test
+  public void testEmpty() {
+    Areas areas = new Areas();
+    areas.addComments(null);
+    areas.addComments(new ArrayList<>());
+    assertEquals("Areas are not empty", 0, areas.size());
+    assertEquals("Index is in an area", 5, areas.getEndArea(5));
+    assertEquals("Index is in an area", 5, areas.getCursor().getEndArea(5));
+  }
+
+  /**
+   * Test merging overlapping and adjacent areas.
+   */
+  @Test
+  public void testMerge() {
+    Areas areas = new Areas();
+
+    // Overlapping areas added together, in any order
+    areas.addComments(createComments(20, 30, 10, 25, 50, 60));
+    checkAreas(areas, 10, 30, 50, 60);
+
+    // Adjacent area added later
+    areas.addComments(createComments(30, 40));
+    checkAreas(areas, 10, 40, 50, 60);
+
+    // Area contained in an existing area
+    areas.addComments(createComments(52, 59));
+    checkAreas(areas, 10, 40, 50, 60);
+
+    // Area joining two existing areas, and area before them
+    areas.addComments(createComments(35, 52, 0, 8));
+    checkAreas(areas, 0, 8, 10, 60);
+  }
+
+  /**
+   * Test finding the end of an area.
+   */
+  @Test
+  public void testGetEndArea() {
+    Areas areas = new Areas();
+    areas.addComments(createComments(10, 20, 30, 40));
+    assertEquals(0, areas.getEndArea(0));
+    assertEquals(9, areas.getEndArea(9));
+    assertEquals(20, areas.getEndArea(10));
+    assertEquals(20, areas.getEndArea(19));
+    assertEquals(20, areas.getEndArea(20));
+    assertEquals(25, areas.getEndArea(25));
+    assertEquals(40, areas.getEndArea(30));
+    assertEquals(40, areas.getEndArea(40));
+    assertEquals(100, areas.getEndArea(100));
+
+    // Cursor going forward
+    Areas.Cursor cursor = areas.getCursor();
+    assertEquals(0, cursor.getEndArea(0));
+    assertEquals(20, cursor.getEndArea(15));
+    assertEquals(20, cursor.getEndArea(20));
+    assertEquals(40, cursor.getEndArea(35));
+    assertEquals(100, cursor.getEndArea(100));
+
+    // Cursor works on the areas as they were when it was created
+    cursor = areas.getCursor();
+    areas.addComments(createComments(50, 60));
+    assertEquals(55, cursor.getEndArea(55));
+    assertEquals(60, areas.getEndArea(55));
+  }
+
+  /**
+   * Compare the areas with a simple computation on random areas.
+   */
+  @Test
+  public void testRandom() {
+    Random random = new Random(42);
+    for (int test = 0; test < 50; test++) {
+      Areas areas = new Areas();
+      boolean[] inArea = new boolean[CONTENTS.getText().length() + 1];
+      int steps = 1 + random.nextInt(5);
+      for (int step = 0; step < steps; step++) {
+        int count = random.nextInt(30);
+        int[] indexes = new int[2 * count];
+        for (int i = 0; i < count; i++) {
+          int begin = random.nextInt(inArea.length - 100);
+          int end = begin + 7 + random.nextInt(50);
+          indexes[2 * i] = begin;
+          indexes[2 * i + 1] = end;
+          for (int index = begin; index < end; index++) {
+            inArea[index] = true;
+          }
+        }
+        areas.addComments(createComments(indexes));
+      }
+
+      // Areas are sorted and separated
+      int previousEnd = -1;
+      for (Areas.Area area : areas.getAreas()) {
+        assertTrue("Empty area " + area, area.getBeginIndex() < area.getEndIndex());
+        assertTrue("Area not separated " + area, area.getBeginIndex() > previousEnd);
+        previousEnd = area.getEndIndex();
+      }
+
+      // Lookups give the end of the area
+      Areas.Cursor cursor = areas.getCursor();
+      for (int index = 0; index < inArea.length; index++) {
+        int expected = index;
+        while ((expected < inArea.length) && inArea[expected]) {
+          expected++;
+        }
+        assertEquals("Wrong end area for " + index, expected, areas.getEndArea(index));
+        assertEquals("Wrong end area with cursor for " + index, expected, cursor.getEndArea(index));
+      }
+    }
+  }
+
+  /**
+   * @param indexes Begin and end indexes of the comments.
+   * @return Comments.
+   */
+  private static List<ContentsComment> createComments(int... indexes) {
+    List<ContentsComment> result = new ArrayList<>();
+    for (int i = 0; i + 1 < indexes.length; i += 2) {
+      result.add(new ContentsComment(CONTENTS, new ContentsInterval(indexes[i], indexes[i + 1])));
+    }
+    return result;
+  }
+
+  /**
+   * @param areas Areas.
+   * @param indexes Expected begin and end indexes of the areas.
+   */
+  private static void checkAreas(Areas areas, int... indexes) {
+    List<Areas.Area> list = areas.getAreas();
+    assertEquals("Wrong number of areas", indexes.length / 2, list.size());
+    assertEquals("Wrong number of areas", indexes.length / 2, areas.size());
+    for (int i = 0; i < list.size(); i++) {
+      assertEquals("Wrong begin for area " + i, indexes[2 * i], list.get(i).getBeginIndex());
+      assertEquals("Wrong end for area " + i, indexes[2 * i + 1], list.get(i).getEndIndex());
+    }
+  }
+}
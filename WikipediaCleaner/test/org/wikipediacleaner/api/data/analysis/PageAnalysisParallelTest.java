@@ -0,0 +1,128 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data.analysis;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.EnumWikipediaUtils;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.PageElementTag;
+import org.wikipediacleaner.api.data.contents.ContentsElement;
+
+
+/**
+ * Test class for the analysis of a page with concurrent passes.
+ */
+public class PageAnalysisParallelTest {
+
+  /**
+   * Test on a simple page.
+   */
+  @Test
+  public void testSimplePage() {
+    testParallel(EnumWikipediaUtils.getEN(), "PageAnalysisTest_1");
+  }
+
+  /**
+   * Test on a big page from English wikipedia.
+   */
+  @Test
+  public void testEn_2020_in_science() {
+    testParallel(EnumWikipediaUtils.getEN(), "PageAnalysisTest_en_2020_in_science");
+  }
+
+  /**
+   * Test on a big page from English wikipedia.
+   */
+  @Test
+  public void testEn_Windows_10_version_history() {
+    testParallel(EnumWikipediaUtils.getEN(), "PageAnalysisTest_en_Windows_10_version_history");
+  }
+
+  /**
+   * Test on a big page from French wikipedia.
+   */
+  @Test
+  public void testFr_Liste_des_noms_de_famille_basques() {
+    testParallel(EnumWikipediaUtils.getFR(), "PageAnalysisTest_fr_Liste_des_noms_de_famille_basques");
+  }
+
+  /**
+   * Check that the analysis gives the same result with or without concurrent passes.
+   *
+   * @param wiki Wiki.
+   * @param fileName File name.
+   */
+  private static void testParallel(EnumWikipedia wiki, String fileName) {
+    Page page = DataManager.createSimplePage(wiki, fileName, null, null, null);
+    String text = PageAnalysisUtils.readFile(fileName + ".txt");
+    PageAnalysis sequential = new PageAnalysis(page, text);
+    sequential.shouldAnalyzeInParallel(false);
+    sequential.performFullPageAnalysis(null);
+    PageAnalysis parallel = new PageAnalysis(page, text);
+    parallel.shouldAnalyzeInParallel(true);
+    AnalysisPerformance perf = new AnalysisPerformance();
+    parallel.performFullPageAnalysis(perf);
+    assertEquals(
+        fileName,
+        describe(sequential),
+        describe(parallel));
+  }
+
+  /**
+   * @param analysis Page analysis.
+   * @return Description of the elements found by the analysis.
+   */
+  private static List<String> describe(PageAnalysis analysis) {
+    List<String> result = new ArrayList<>();
+    describe(result, analysis.comments().getAll());
+    for (PageElementTag tag : analysis.getTags()) {
+      PageElementTag matchingTag = tag.getMatchingTag();
+      result.add(
+          "Tag " + tag.getBeginIndex() + "-" + tag.getEndIndex() +
+          " matching " + ((matchingTag != null) ? matchingTag.getBeginIndex() : -1));
+    }
+    describe(result, analysis.getInternalLinks());
+    describe(result, analysis.getImages());
+    describe(result, analysis.getCategories());
+    describe(result, analysis.getInterwikiLinks());
+    describe(result, analysis.getLanguageLinks());
+    describe(result, analysis.getFunctions());
+    describe(result, analysis.getMagicWords());
+    describe(result, analysis.getTemplates());
+    describe(result, analysis.getParameters());
+    describe(result, analysis.getTitles());
+    describe(result, analysis.getExternalLinks());
+    describe(result, analysis.getISBNs());
+    describe(result, analysis.getISSNs());
+    describe(result, analysis.getPMIDs());
+    describe(result, analysis.getRFCs());
+    describe(result, analysis.getTables());
+    describe(result, analysis.getListItems());
+    describe(result, analysis.getParagraphs());
+    return result;
+  }
+
+  /**
+   * @param result Description of the elements.
+   * @param elements Elements to add to the description.
+   */
+  private static void describe(List<String> result, List<? extends ContentsElement> elements) {
+    for (ContentsElement element : elements) {
+      result.add(
+          element.getClass().getSimpleName() + " " +
+          element.getBeginIndex() + "-" + element.getEndIndex());
+    }
+  }
+}
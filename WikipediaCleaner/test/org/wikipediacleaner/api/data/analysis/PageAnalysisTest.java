@@ -13,6 +13,8 @@ import java.util.List;
 
 import org.junit.Test;
 import org.wikipediacleaner.api.constants.EnumWikipediaUtils;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.PageElementTable;
 import org.wikipediacleaner.api.data.contents.ContentsElement;
 import org.wikipediacleaner.api.data.contents.comment.ContainerComment;
 import org.wikipediacleaner.api.data.contents.tag.HtmlTagType;
@@ -60,6 +62,30 @@ public class PageAnalysisTest {
     checkParagraphs(analysis, 17);
   }
 
+  /**
+   * Test on nested tables.
+   */
+  @Test
+  public void testNestedTables() {
+
+    // Create contents and analysis
+    String text =
+        "{|\n|-\n| {{Foo|\n{|\n|-\n| inner\n|}\n}}\n|-\n| outer\n|}\n";
+    PageAnalysis analysis = new PageAnalysis(
+        DataManager.createSimplePage(EnumWikipediaUtils.getEN(), "NestedTables", null, null, null),
+        text);
+
+    // Check elements
+    checkTables(analysis, 2);
+    PageElementTable table = analysis.isInTable(text.indexOf("inner"));
+    assertNotNull("No table found for inner text", table);
+    assertEquals("Inner text is not in the inner table", 15, table.getBeginIndex());
+    table = analysis.isInTable(text.indexOf("outer"));
+    assertNotNull("No table found for outer text", table);
+    assertEquals("Outer text is not in the outer table", 0, table.getBeginIndex());
+    assertNull("Table found after the tables", analysis.isInTable(text.length()));
+  }
+
   /**
    * Test on a big page from English wikipedia.
    */
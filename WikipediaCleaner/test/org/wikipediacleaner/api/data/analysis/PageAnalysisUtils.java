@@ -56,7 +56,7 @@ public class PageAnalysisUtils {
    * @param fileName File name.
    * @return Contents of the test file.
    */
-  private static String readFile(String fileName) {
+  static String readFile(String fileName) {
     File testFile = new File("test/org/wikipediacleaner/api/data/analysis/" + fileName);
     try {
       return FileUtils.readFileToString(testFile, StandardCharsets.UTF_8);
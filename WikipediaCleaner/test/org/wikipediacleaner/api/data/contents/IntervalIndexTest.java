@@ -0,0 +1,104 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data.contents;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for index on intervals.
+ */
+public class IntervalIndexTest {
+
+  /**
+   * Test on an empty index.
+   */
+  @Test
+  public void testEmpty() {
+    IntervalIndex<ContentsInterval> index = IntervalIndex.create(null);
+    assertNotNull("Index is null", index);
+    assertEquals("Index is not empty", 0, index.size());
+    assertNull("Interval found in empty index", index.getFirstAt(0));
+    assertNull("Interval found in empty index", index.getLastAt(0));
+    assertNull("Interval found in empty index", index.getNext(0));
+    assertFalse("Interval found in empty index", index.isAt(0));
+  }
+
+  /**
+   * Test with nested intervals.
+   */
+  @Test
+  public void testNested() {
+    List<ContentsInterval> intervals = new ArrayList<>();
+    ContentsInterval outer = new ContentsInterval(0, 100);
+    ContentsInterval inner1 = new ContentsInterval(10, 20);
+    ContentsInterval inner2 = new ContentsInterval(30, 40);
+    ContentsInterval innermost = new ContentsInterval(32, 35);
+    ContentsInterval after = new ContentsInterval(150, 160);
+    intervals.add(outer);
+    intervals.add(inner1);
+    intervals.add(inner2);
+    intervals.add(innermost);
+    intervals.add(after);
+    IntervalIndex<ContentsInterval> index = IntervalIndex.create(intervals);
+
+    assertSame(outer, index.getFirstAt(33));
+    assertSame(innermost, index.getLastAt(33));
+    assertSame(inner2, index.getLastAt(36));
+    assertSame(outer, index.getLastAt(25));
+    assertNull(index.getFirstAt(100));
+    assertNull(index.getLastAt(120));
+    assertSame(after, index.getLastAt(150));
+    assertSame(inner2, index.getNext(21));
+    assertSame(inner2, index.getNext(30));
+    assertNull(index.getNext(151));
+  }
+
+  /**
+   * Compare the results of the index with a linear scan on random intervals.
+   */
+  @Test
+  public void testRandom() {
+    Random random = new Random(42);
+    for (int test = 0; test < 50; test++) {
+      List<ContentsInterval> intervals = new ArrayList<>();
+      int count = random.nextInt(200);
+      int begin = 0;
+      for (int i = 0; i < count; i++) {
+        begin += random.nextInt(10);
+        intervals.add(new ContentsInterval(begin, begin + 1 + random.nextInt(50)));
+      }
+      IntervalIndex<ContentsInterval> index = IntervalIndex.create(intervals);
+      for (int position = 0; position < begin + 60; position++) {
+        ContentsInterval first = null;
+        ContentsInterval last = null;
+        ContentsInterval next = null;
+        for (ContentsInterval interval : intervals) {
+          if (interval.containsIndex(position)) {
+            if (first == null) {
+              first = interval;
+            }
+            last = interval;
+          }
+          if ((next == null) && (interval.getBeginIndex() >= position)) {
+            next = interval;
+          }
+        }
+        assertSame("First interval at " + position, first, index.getFirstAt(position));
+        assertSame("Last interval at " + position, last, index.getLastAt(position));
+        assertSame("Next interval at " + position, next, index.getNext(position));
+      }
+    }
+  }
+}
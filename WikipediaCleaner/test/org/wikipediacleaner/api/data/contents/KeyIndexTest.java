@@ -0,0 +1,57 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data.contents;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for index on keys.
+ */
+public class KeyIndexTest {
+
+  /**
+   * Test on an empty index.
+   */
+  @Test
+  public void testEmpty() {
+    KeyIndex<String, String> index = KeyIndex.create(null, value -> value);
+    assertNotNull("Index is null", index);
+    assertEquals("Index is not empty", 0, index.size());
+    assertTrue("Element found in empty index", index.get("a").isEmpty());
+    assertNull("Element found in empty index", index.getFirst("a"));
+    assertFalse("Element found in empty index", index.contains("a"));
+  }
+
+  /**
+   * Test grouping elements by key, keeping their original order.
+   */
+  @Test
+  public void testGroups() {
+    List<String> values = new ArrayList<>(Arrays.asList("apple", "banana", "avocado", "cherry", "blueberry", ""));
+    KeyIndex<Character, String> index = KeyIndex.create(
+        values, value -> value.isEmpty() ? null : Character.valueOf(value.charAt(0)));
+    values.clear();
+
+    assertEquals(3, index.size());
+    assertEquals(Arrays.asList("apple", "avocado"), index.get(Character.valueOf('a')));
+    assertEquals(Arrays.asList("banana", "blueberry"), index.get(Character.valueOf('b')));
+    assertEquals(Collections.singletonList("cherry"), index.get(Character.valueOf('c')));
+    assertEquals("banana", index.getFirst(Character.valueOf('b')));
+    assertTrue(index.get(Character.valueOf('d')).isEmpty());
+    assertTrue(index.get(null).isEmpty());
+    assertFalse(index.contains(null));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2020  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.dump;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for index of multistream dumps.
+ */
+public class DumpIndexTest {
+
+  /**
+   * Test loading an index and finding the stream of each page.
+   *
+   * @throws IOException Error with the temporary index file.
+   */
+  @Test
+  public void testFindStream() throws IOException {
+    List<String> titles = new ArrayList<>();
+    Random random = new Random(42);
+    for (int page = 0; page < 5000; page++) {
+      titles.add("Page " + random.nextInt(1000000) + " " + page + ((page % 7 == 0) ? " été" : ""));
+    }
+    titles.add("Talk:Page");
+    titles.add("日本");
+    File indexFile = File.createTempFile("wpcleaner-multistream-index", ".txt");
+    try {
+      List<String> shuffled = new ArrayList<>(titles);
+      Collections.shuffle(shuffled, random);
+      try (PrintWriter writer = new PrintWriter(indexFile, StandardCharsets.UTF_8.name())) {
+        for (int page = 0; page < shuffled.size(); page++) {
+          writer.println((600 + (page / 100) * 1000) + ":" + page + ":" + shuffled.get(page));
+        }
+      }
+      DumpIndex index = DumpIndex.load(indexFile);
+      assertEquals("Incorrect number of pages", shuffled.size(), index.size());
+      assertEquals("Incorrect number of streams", (shuffled.size() + 99) / 100, index.getStreamCount());
+      for (int page = 0; page < shuffled.size(); page++) {
+        int stream = index.findStream(shuffled.get(page));
+        assertEquals("Incorrect stream for " + shuffled.get(page), page / 100, stream);
+        assertEquals(600 + stream * 1000, index.getStreamOffset(stream));
+      }
+      assertEquals(-1, index.findStream("Missing page"));
+      assertEquals(-1, index.findStream("Page"));
+      assertEquals(-1, index.findStream(""));
+    } finally {
+      indexFile.delete();
+    }
+  }
+
+  /**
+   * Test finding the index file of a dump.
+   *
+   * @throws IOException Error with the temporary files.
+   */
+  @Test
+  public void testFindIndexFile() throws IOException {
+    File dumpFile = File.createTempFile("wpcleaner", "-multistream.xml.bz2");
+    String name = dumpFile.getName();
+    File indexFile = new File(
+        dumpFile.getParentFile(),
+        name.substring(0, name.length() - "-multistream.xml.bz2".length()) + "-multistream-index.txt.bz2");
+    try {
+      assertNull(DumpIndex.findIndexFile(dumpFile));
+      assertTrue(indexFile.createNewFile());
+      assertEquals(indexFile, DumpIndex.findIndexFile(dumpFile));
+    } finally {
+      indexFile.delete();
+      dumpFile.delete();
+    }
+  }
+}
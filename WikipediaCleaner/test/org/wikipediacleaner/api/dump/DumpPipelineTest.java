@@ -0,0 +1,149 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.dump;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.EnumWikipediaUtils;
+import org.wikipediacleaner.api.data.Page;
+
+
+/**
+ * Test class for the staged pipeline processing dumps.
+ */
+public class DumpPipelineTest {
+
+  /**
+   * @param count Number of pages.
+   * @return Dump containing the pages.
+   */
+  private static ByteArrayInputStream createDump(int count) {
+    StringBuilder dump = new StringBuilder();
+    dump.append("<mediawiki><siteinfo><sitename>Wikipedia</sitename></siteinfo>\n");
+    for (int page = 0; page < count; page++) {
+      dump.append("<page><title>Page ").append(page).append("</title><ns>0</ns><id>").append(page + 1).append("</id>");
+      dump.append("<revision><id>").append(page + 100).append("</id>");
+      dump.append("<text xml:space=\"preserve\">Text of page ").append(page).append("</text></revision></page>\n");
+    }
+    dump.append("</mediawiki>\n");
+    return new ByteArrayInputStream(dump.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Test processing all the pages of a dump.
+   * 
+   * @throws Exception Error processing the dump.
+   */
+  @Test
+  public void testProcess() throws Exception {
+    TestProcessor processor = new TestProcessor(null);
+    new DumpPipeline(processor, 4).process(createDump(1000), "test");
+    assertEquals(1000, processor.count.get());
+  }
+
+  /**
+   * Test that a runtime exception on a page doesn't stop the processing.
+   * 
+   * @throws Exception Error processing the dump.
+   */
+  @Test
+  public void testRuntimeException() throws Exception {
+    TestProcessor processor = new TestProcessor(new IllegalStateException());
+    new DumpPipeline(processor, 4).process(createDump(1000), "test");
+    assertEquals(1000, processor.count.get());
+  }
+
+  /**
+   * Test that an error in every analysis thread is reported and doesn't block the pipeline.
+   * 
+   * @throws Exception Error processing the dump.
+   */
+  @Test(timeout = 60000)
+  public void testError() throws Exception {
+    TestProcessor processor = new TestProcessor(new StackOverflowError());
+    try {
+      new DumpPipeline(processor, 2).process(createDump(10000), "test");
+      fail("Error expected");
+    } catch (IOException e) {
+      assertTrue(e.getCause() instanceof StackOverflowError);
+    }
+  }
+
+  /**
+   * Page processor counting pages, and throwing an exception for the page "Page 5".
+   */
+  private static class TestProcessor implements PageProcessor {
+
+    /** Exception thrown for the page "Page 5" */
+    private final Throwable exception;
+
+    /** Number of pages processed */
+    final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * @param exception Exception thrown for the page "Page 5".
+     */
+    TestProcessor(Throwable exception) {
+      this.exception = exception;
+    }
+
+    /**
+     * @return Wiki.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#getWiki()
+     */
+    @Override
+    public EnumWikipedia getWiki() {
+      return EnumWikipediaUtils.getEN();
+    }
+
+    /**
+     * @param namespace Namespace.
+     * @return True for all namespaces.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForNamespace(java.lang.Integer)
+     */
+    @Override
+    public boolean isForNamespace(Integer namespace) {
+      return true;
+    }
+
+    /**
+     * @param namespace Namespace.
+     * @param title Page title.
+     * @param redirect True if the page is a redirect.
+     * @return True for all pages.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForPage(java.lang.Integer, java.lang.String, boolean)
+     */
+    @Override
+    public boolean isForPage(Integer namespace, String title, boolean redirect) {
+      return true;
+    }
+
+    /**
+     * @param page Page to be processed.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#processPage(org.wikipediacleaner.api.data.Page)
+     */
+    @Override
+    public void processPage(Page page) {
+      count.incrementAndGet();
+      if ((exception != null) && "Page 5".equals(page.getTitle())) {
+        if (exception instanceof Error) {
+          throw (Error) exception;
+        }
+        throw (RuntimeException) exception;
+      }
+    }
+  }
+}
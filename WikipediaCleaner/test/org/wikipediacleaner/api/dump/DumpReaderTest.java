@@ -0,0 +1,157 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.dump;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.EnumWikipediaUtils;
+import org.wikipediacleaner.api.data.Page;
+
+
+/**
+ * Test class for the pull reader of dumps.
+ */
+public class DumpReaderTest {
+
+  /**
+   * Test reading pages, with pages rejected before their text is read.
+   *
+   * @throws XMLStreamException Error parsing the dump.
+   */
+  @Test
+  public void testRead() throws XMLStreamException {
+    String longText = StringUtils.repeat("Long text with [[link]]. ", 5000);
+    StringBuilder dump = new StringBuilder();
+    dump.append("<mediawiki xmlns=\"http://www.mediawiki.org/xml/export-0.10/\" version=\"0.10\">\n");
+    dump.append("  <siteinfo>\n    <sitename>Wikipedia</sitename>\n    <namespaces>\n");
+    dump.append("      <namespace key=\"0\" case=\"first-letter\" />\n    </namespaces>\n  </siteinfo>\n");
+    appendPage(dump, "Article", 0, 12, null, 120, "Text with &lt;ref&gt; and é.");
+    appendPage(dump, "Talk:Article", 1, 13, null, 130, "Rejected text");
+    appendPage(dump, "Redirect", 0, 14, "Article", 140, "#REDIRECT [[Article]]");
+    appendPage(dump, "Long", 0, 15, null, 150, longText);
+    appendPage(dump, "Bad namespace", -99999999999L, 16, null, 160, "Bad");
+    dump.append("</mediawiki>\n");
+
+    TestProcessor processor = new TestProcessor();
+    DumpReader reader = new DumpReader();
+    reader.setPageProcessor(processor);
+    reader.read(new ByteArrayInputStream(dump.toString().getBytes(StandardCharsets.UTF_8)));
+
+    // Every page with a correct namespace is submitted before its text is read
+    assertEquals("[Article/0/false, Talk:Article/1/false, Redirect/0/true, Long/0/false]", processor.submitted.toString());
+
+    // Only accepted pages are processed
+    assertEquals("Incorrect number of processed pages", 3, processor.pages.size());
+    Page page = processor.pages.get(0);
+    assertEquals("Article", page.getTitle());
+    assertEquals(Integer.valueOf(0), page.getNamespace());
+    assertEquals(Integer.valueOf(12), page.getPageId());
+    assertEquals(Integer.valueOf(120), page.getRevisionId());
+    assertEquals("Text with <ref> and é.", page.getContents());
+    assertFalse("Page is a redirect", page.getRedirects().isRedirect());
+    page = processor.pages.get(1);
+    assertEquals("Redirect", page.getTitle());
+    assertEquals(Integer.valueOf(14), page.getPageId());
+    assertEquals("#REDIRECT [[Article]]", page.getContents());
+    assertTrue("Page is not a redirect", page.getRedirects().isRedirect());
+    page = processor.pages.get(2);
+    assertEquals("Long", page.getTitle());
+    assertEquals(longText, page.getContents());
+  }
+
+  /**
+   * @param dump Dump.
+   * @param title Page title.
+   * @param namespace Name space.
+   * @param pageId Page id.
+   * @param redirect Redirect target.
+   * @param revisionId Revision id.
+   * @param text Text (already escaped).
+   */
+  private static void appendPage(
+      StringBuilder dump, String title, long namespace, int pageId,
+      String redirect, int revisionId, String text) {
+    dump.append("  <page>\n");
+    dump.append("    <title>").append(title).append("</title>\n");
+    dump.append("    <ns>").append(namespace).append("</ns>\n");
+    dump.append("    <id>").append(pageId).append("</id>\n");
+    if (redirect != null) {
+      dump.append("    <redirect title=\"").append(redirect).append("\" />\n");
+    }
+    dump.append("    <revision>\n");
+    dump.append("      <id>").append(revisionId).append("</id>\n");
+    dump.append("      <contributor>\n        <id>1</id>\n      </contributor>\n");
+    dump.append("      <text bytes=\"").append(text.length()).append("\" xml:space=\"preserve\">");
+    dump.append(text).append("</text>\n");
+    dump.append("    </revision>\n");
+    dump.append("  </page>\n");
+  }
+
+  /**
+   * Page processor memorizing the pages.
+   */
+  private static class TestProcessor implements PageProcessor {
+
+    /** Pages submitted to the processor */
+    final List<String> submitted = new ArrayList<>();
+
+    /** Pages processed */
+    final List<Page> pages = new ArrayList<>();
+
+    /**
+     * @return Wiki.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#getWiki()
+     */
+    @Override
+    public EnumWikipedia getWiki() {
+      return EnumWikipediaUtils.getEN();
+    }
+
+    /**
+     * @param namespace Namespace.
+     * @return True for the main namespace.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForNamespace(java.lang.Integer)
+     */
+    @Override
+    public boolean isForNamespace(Integer namespace) {
+      return Integer.valueOf(0).equals(namespace);
+    }
+
+    /**
+     * @param namespace Namespace.
+     * @param title Page title.
+     * @param redirect True if the page is a redirect.
+     * @return True if the processor should work on the page.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isForPage(java.lang.Integer, java.lang.String, boolean)
+     */
+    @Override
+    public boolean isForPage(Integer namespace, String title, boolean redirect) {
+      submitted.add(title + "/" + namespace + "/" + redirect);
+      return PageProcessor.super.isForPage(namespace, title, redirect);
+    }
+
+    /**
+     * @param page Page to be processed.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#processPage(org.wikipediacleaner.api.data.Page)
+     */
+    @Override
+    public void processPage(Page page) {
+      pages.add(page);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.http;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for the GZIP stream using pooled buffers.
+ */
+public class PooledGZIPInputStreamTest {
+
+  /**
+   * @param data Data.
+   * @return Data compressed with GZIP.
+   * @throws IOException Error compressing the data.
+   */
+  private static byte[] compress(byte[] data) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(data);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * @param stream Stream.
+   * @return Content of the stream.
+   * @throws IOException Error reading the stream.
+   */
+  private static byte[] readAll(InputStream stream) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1000];
+    int count;
+    while ((count = stream.read(buffer)) >= 0) {
+      out.write(buffer, 0, count);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Test decompressing data larger than the pooled buffers.
+   *
+   * @throws IOException Error with the stream.
+   */
+  @Test
+  public void testLargeData() throws IOException {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 50000; i++) {
+      text.append("<page title=\"Page ").append(i).append("\">").append(i * 31 % 977).append("</page>\n");
+    }
+    byte[] data = text.toString().getBytes(StandardCharsets.UTF_8);
+    for (int round = 0; round < 3; round++) {
+      try (InputStream stream = new PooledGZIPInputStream(new ByteArrayInputStream(compress(data)))) {
+        assertArrayEquals(data, readAll(stream));
+        assertEquals(-1, stream.read());
+      }
+    }
+  }
+
+  /**
+   * Test decompressing concatenated members.
+   *
+   * @throws IOException Error with the stream.
+   */
+  @Test
+  public void testConcatenatedMembers() throws IOException {
+    byte[] first = compress("Hello, ".getBytes(StandardCharsets.UTF_8));
+    byte[] second = compress("world!".getBytes(StandardCharsets.UTF_8));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(first);
+    out.write(second);
+    try (InputStream stream = new PooledGZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      assertEquals("Hello, world!", new String(readAll(stream), StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * Test detecting corrupted data.
+   *
+   * @throws IOException Error with the stream.
+   */
+  @Test(expected = ZipException.class)
+  public void testCorruptTrailer() throws IOException {
+    byte[] data = compress("Some text".getBytes(StandardCharsets.UTF_8));
+    data[data.length - 8] ^= 0x55;
+    try (InputStream stream = new PooledGZIPInputStream(new ByteArrayInputStream(data))) {
+      readAll(stream);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.request;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for the coalescing of identical requests.
+ */
+public class ApiCoalescerTest {
+
+  /**
+   * Test that only read-only requests are coalesced, independently of the order of the properties.
+   */
+  @Test
+  public void testGetKey() {
+    Map<String, String> query = new HashMap<>();
+    query.put(ApiRequest.ACTION, ApiRequest.ACTION_QUERY);
+    query.put("titles", "Foo");
+    query.put("prop", "templates");
+    Map<String, String> reversed = new LinkedHashMap<>();
+    reversed.put("prop", "templates");
+    reversed.put("titles", "Foo");
+    reversed.put(ApiRequest.ACTION, ApiRequest.ACTION_QUERY);
+    assertNotNull(ApiCoalescer.getKey(query));
+    assertEquals(ApiCoalescer.getKey(query), ApiCoalescer.getKey(reversed));
+
+    Map<String, String> edit = new HashMap<>();
+    edit.put(ApiRequest.ACTION, ApiRequest.ACTION_EDIT);
+    edit.put("title", "Foo");
+    assertNull(ApiCoalescer.getKey(edit));
+  }
+
+  /**
+   * Test that a request sent while an identical one is in progress shares its result.
+   *
+   * @throws Exception Error in the test.
+   */
+  @Test
+  public void testSharedResult() throws Exception {
+    ApiCoalescer coalescer = new ApiCoalescer();
+    Map<String, String> properties = new HashMap<>();
+    properties.put(ApiRequest.ACTION, ApiRequest.ACTION_QUERY);
+    properties.put("titles", "Foo");
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ApiCoalescer.Loader<Object> loader = () -> {
+      calls.incrementAndGet();
+      started.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new Object();
+    };
+
+    CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> execute(coalescer, properties, loader));
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> execute(coalescer, properties, loader));
+    for (int i = 0; (i < 1000) && (coalescer.getSharedCount() == 0); i++) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+
+    assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+    assertEquals(1, calls.get());
+    assertEquals(1, coalescer.getSentCount());
+    assertEquals(1, coalescer.getSharedCount());
+
+    // Once finished, the request is sent again
+    execute(coalescer, properties, loader);
+    assertEquals(2, calls.get());
+  }
+
+  /**
+   * Test that a request sharing the result of a failing request receives the error.
+   *
+   * @throws Exception Error in the test.
+   */
+  @Test
+  public void testSharedError() throws Exception {
+    ApiCoalescer coalescer = new ApiCoalescer();
+    Map<String, String> properties = new HashMap<>();
+    properties.put(ApiRequest.ACTION, ApiRequest.ACTION_QUERY);
+    properties.put("titles", "Foo");
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ApiCoalescer.Loader<Object> loader = () -> {
+      started.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      throw new StackOverflowError("Broken loader");
+    };
+
+    CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> execute(coalescer, properties, loader));
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> execute(coalescer, properties, loader));
+    for (int i = 0; (i < 1000) && (coalescer.getSharedCount() == 0); i++) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+
+    for (CompletableFuture<Object> future : Arrays.asList(first, second)) {
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        fail("Error should have been received");
+      } catch (ExecutionException e) {
+        assertTrue("Unexpected error " + e.getCause(), e.getCause() instanceof StackOverflowError);
+      }
+    }
+    assertEquals(1, coalescer.getSentCount());
+    assertEquals(1, coalescer.getSharedCount());
+  }
+
+  /**
+   * @param coalescer Coalescer.
+   * @param properties Properties defining the request.
+   * @param loader Loader executing the request.
+   * @return Result of the request.
+   */
+  private static Object execute(
+      ApiCoalescer coalescer, Map<String, String> properties,
+      ApiCoalescer.Loader<Object> loader) {
+    try {
+      return coalescer.execute(properties, loader);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
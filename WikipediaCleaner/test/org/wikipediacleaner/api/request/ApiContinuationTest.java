@@ -0,0 +1,83 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.request;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.APIException;
+
+
+/**
+ * Test class for the iterator on requests using the continue protocol.
+ */
+public class ApiContinuationTest {
+
+  /** Property used for the continuation */
+  private final static String CONTINUE = "offset";
+
+  /**
+   * Create an iterator returning numbers by batches.
+   * 
+   * @param batchSize Size of each batch.
+   * @param total Total number of results.
+   * @return Iterator on the numbers.
+   */
+  private static ApiContinuation<Integer> createIterator(int batchSize, int total) {
+    Map<String, String> properties = new HashMap<>();
+    properties.put(CONTINUE, "0");
+    return new ApiContinuation<>(properties, (tmpProperties, results) -> {
+      int offset = Integer.parseInt(tmpProperties.get(CONTINUE));
+      int end = Math.min(offset + batchSize, total);
+      for (int value = offset; value < end; value++) {
+        results.add(Integer.valueOf(value));
+      }
+      tmpProperties.put(CONTINUE, Integer.toString(end));
+      return end < total;
+    });
+  }
+
+  /**
+   * Test that all the batches are iterated in order.
+   */
+  @Test
+  public void testIterate() {
+    try (ApiContinuation<Integer> iterator = createIterator(10, 35)) {
+      List<Integer> values = iterator.stream().collect(Collectors.toList());
+      assertEquals(35, values.size());
+      for (int value = 0; value < values.size(); value++) {
+        assertEquals(value, values.get(value).intValue());
+      }
+      assertFalse(iterator.hasNext());
+    }
+  }
+
+  /**
+   * Test that an error while loading a batch is reported to the caller.
+   */
+  @Test
+  public void testError() {
+    Map<String, String> properties = new HashMap<>();
+    try (ApiContinuation<Integer> iterator = new ApiContinuation<>(
+        properties,
+        (tmpProperties, results) -> {
+          throw new APIException("Failure");
+        })) {
+      iterator.hasNext();
+      fail("Exception expected");
+    } catch (ApiContinuation.ContinuationException e) {
+      assertEquals("Failure", e.getCause().getMessage());
+    }
+  }
+}
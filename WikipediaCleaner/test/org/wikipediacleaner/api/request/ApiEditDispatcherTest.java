@@ -0,0 +1,184 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.request;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.ConnectionInformation;
+
+
+/**
+ * Test class for the dispatcher of edits.
+ */
+public class ApiEditDispatcherTest {
+
+  /**
+   * Test the minimum time between edits.
+   */
+  @Test
+  public void testMinimumTime() {
+    ApiEditDispatcher dispatcher = new ApiEditDispatcher();
+    long now = 1000000;
+    assertEquals(0, dispatcher.reserve(now, 5, 0));
+    assertEquals(2000, dispatcher.reserve(now + 3000, 5, 0));
+    assertEquals(0, dispatcher.reserve(now + 11000, 5, 0));
+  }
+
+  /**
+   * Test that waiting edits get successive slots.
+   */
+  @Test
+  public void testSuccessiveSlots() {
+    ApiEditDispatcher dispatcher = new ApiEditDispatcher();
+    long now = 1000000;
+    assertEquals(0, dispatcher.reserve(now, 5, 0));
+    assertEquals(5000, dispatcher.reserve(now, 5, 0));
+    assertEquals(10000, dispatcher.reserve(now, 5, 0));
+    assertEquals(5000, dispatcher.reserve(now + 10000, 5, 0));
+  }
+
+  /**
+   * Test the maximum number of edits per minute.
+   */
+  @Test
+  public void testEditsPerMinute() {
+    ApiEditDispatcher dispatcher = new ApiEditDispatcher();
+    long now = 1000000;
+
+    // A burst of edits is allowed up to the maximum number of edits
+    assertEquals(0, dispatcher.reserve(now, 0, 4));
+    assertEquals(0, dispatcher.reserve(now, 0, 4));
+    assertEquals(0, dispatcher.reserve(now + 10000, 0, 4));
+    assertEquals(0, dispatcher.reserve(now + 20000, 0, 4));
+
+    // Then each edit waits for the edit sent a minute before it
+    assertEquals(60000, dispatcher.reserve(now, 0, 4));
+    assertEquals(50000, dispatcher.reserve(now + 10000, 0, 4));
+    assertEquals(0, dispatcher.reserve(now + 70000, 0, 4));
+    assertEquals(10000, dispatcher.reserve(now + 70000, 0, 4));
+  }
+
+  /**
+   * Test that no sliding window of a minute contains more than the maximum number of edits.
+   */
+  @Test
+  public void testSlidingWindow() {
+    Random random = new Random(42);
+    for (int run = 0; run < 100; run++) {
+      ApiEditDispatcher dispatcher = new ApiEditDispatcher();
+      int maxEdits = 1 + random.nextInt(10);
+      int minimumTime = random.nextInt(3);
+      long now = 1000000;
+      List<Long> slots = new ArrayList<>();
+      for (int edit = 0; edit < 50; edit++) {
+        now += random.nextInt(20000);
+        slots.add(Long.valueOf(now + dispatcher.reserve(now, minimumTime, maxEdits)));
+      }
+      for (int edit = 1; edit < slots.size(); edit++) {
+        long previous = slots.get(edit - 1).longValue();
+        assertTrue(slots.get(edit).longValue() >= previous + minimumTime * 1000L);
+        if (edit >= maxEdits) {
+          assertTrue(slots.get(edit).longValue() >= slots.get(edit - maxEdits).longValue() + 60000);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test refreshing the edit token.
+   *
+   * @throws APIException Exception thrown by the API.
+   */
+  @Test
+  public void testRefreshEditToken() throws APIException {
+    ApiEditDispatcher dispatcher = new ApiEditDispatcher();
+    ConnectionInformation connection = new ConnectionInformation();
+    connection.setEditToken("old");
+    AtomicInteger loads = new AtomicInteger();
+    dispatcher.refreshEditToken(connection, "old", () -> "new" + loads.incrementAndGet());
+    assertEquals("new1", connection.getEditToken());
+
+    // Token already replaced by another edit
+    dispatcher.refreshEditToken(connection, "old", () -> "new" + loads.incrementAndGet());
+    assertEquals("new1", connection.getEditToken());
+    assertEquals(1, loads.get());
+
+    // Token replaced by another edit while loading
+    dispatcher.refreshEditToken(connection, "new1", () -> {
+      connection.setEditToken("other");
+      return "new" + loads.incrementAndGet();
+    });
+    assertEquals("other", connection.getEditToken());
+  }
+
+  /**
+   * Test that an edit is not sent when the thread is interrupted while waiting for its slot.
+   *
+   * @throws InterruptedException Interrupted.
+   */
+  @Test
+  public void testInterrupted() throws InterruptedException {
+    ApiEditDispatcher dispatcher = new ApiEditDispatcher();
+    dispatcher.reserve(System.currentTimeMillis(), 60, 0);
+    AtomicBoolean sent = new AtomicBoolean();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    CountDownLatch started = new CountDownLatch(1);
+    Thread thread = new Thread(() -> {
+      started.countDown();
+      try {
+        dispatcher.execute(60, 0, () -> {
+          sent.set(true);
+          return null;
+        });
+      } catch (APIException e) {
+        error.set(e);
+      }
+    });
+    thread.start();
+    started.await();
+    while (dispatcher.getWaitingCount() == 0) {
+      Thread.sleep(1);
+    }
+    thread.interrupt();
+    thread.join(10000);
+    assertFalse(thread.isAlive());
+    assertFalse(sent.get());
+    assertTrue(error.get() instanceof APIException);
+    assertEquals(0, dispatcher.getEditCount());
+  }
+
+  /**
+   * Test that an error thrown while sending an edit reaches the caller.
+   */
+  @Test
+  public void testError() {
+    ApiEditDispatcher dispatcher = new ApiEditDispatcher();
+    try {
+      dispatcher.execute(0, 0, () -> {
+        throw new StackOverflowError();
+      });
+      fail("Error expected");
+    } catch (StackOverflowError e) {
+      // Expected
+    } catch (APIException e) {
+      fail("Error expected");
+    }
+    assertEquals(1, dispatcher.getEditCount());
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.request;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.junit.Test;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumQueryResult;
+import org.wikipediacleaner.api.request.ApiScheduler.ErrorClass;
+
+
+/**
+ * Test class for the scheduler of requests.
+ */
+public class ApiSchedulerTest {
+
+  /**
+   * Test the exponential backoff with jitter.
+   */
+  @Test
+  public void testComputeDelay() {
+    for (int attempt = 1; attempt <= 4; attempt++) {
+      long expected = ErrorClass.NETWORK.baseDelay << (attempt - 1);
+      for (int count = 0; count < 100; count++) {
+        long delay = ApiScheduler.computeDelay(ErrorClass.NETWORK, attempt, -1);
+        assertTrue("Delay too short: " + delay, delay >= expected / 2);
+        assertTrue("Delay too long: " + delay, delay <= expected);
+      }
+    }
+    long delay = ApiScheduler.computeDelay(ErrorClass.HTTP, 30, -1);
+    assertTrue("Delay not capped: " + delay, delay <= 120000);
+  }
+
+  /**
+   * Test that the delay requested by the server is honoured.
+   */
+  @Test
+  public void testComputeDelayWithRetryAfter() {
+    long delay = ApiScheduler.computeDelay(ErrorClass.MAXLAG, 1, 30000);
+    assertEquals(30000, delay);
+    delay = ApiScheduler.computeDelay(ErrorClass.MAXLAG, 1, 0);
+    assertTrue("Delay too short: " + delay, delay >= ErrorClass.MAXLAG.baseDelay / 2);
+  }
+
+  /**
+   * Test reading the Retry-After header.
+   */
+  @Test
+  public void testGetRetryAfter() {
+    BasicHttpResponse response = new BasicHttpResponse(HttpStatus.SC_SERVICE_UNAVAILABLE);
+    assertEquals(-1, ApiScheduler.getRetryAfter(response));
+    response.setHeader("Retry-After", "5");
+    assertEquals(5000, ApiScheduler.getRetryAfter(response));
+    response.setHeader("Retry-After", "Wed, 21 Oct 2015 07:28:00 GMT");
+    assertEquals(0, ApiScheduler.getRetryAfter(response));
+    response.setHeader("Retry-After", "soon");
+    assertEquals(-1, ApiScheduler.getRetryAfter(response));
+  }
+
+  /**
+   * Test that network and HTTP errors are retried with a delay depending on their class.
+   *
+   * @throws APIException Error in the test.
+   */
+  @Test
+  public void testRetry() throws APIException {
+    TestScheduler scheduler = new TestScheduler();
+    TestSender sender = new TestSender(
+        new IOException("Connection reset"),
+        Integer.valueOf(HttpStatus.SC_INTERNAL_SERVER_ERROR),
+        Integer.valueOf(HttpStatus.SC_OK));
+    assertEquals("ok", scheduler.execute(sender, 2, TestScheduler::readText));
+    assertEquals(3, scheduler.getRequestCount());
+    assertEquals(2, scheduler.getRetryCount());
+    assertEquals(2, scheduler.sleeps.size());
+    checkDelay(scheduler.sleeps.get(0), ErrorClass.NETWORK.baseDelay);
+    checkDelay(scheduler.sleeps.get(1), ErrorClass.HTTP.baseDelay * 2);
+  }
+
+  /**
+   * Test that an answer that can't be read is retried.
+   *
+   * @throws APIException Error in the test.
+   */
+  @Test
+  public void testRetryParseError() throws APIException {
+    TestScheduler scheduler = new TestScheduler();
+    TestSender sender = new TestSender(Integer.valueOf(HttpStatus.SC_OK), Integer.valueOf(HttpStatus.SC_OK));
+    List<String> read = new ArrayList<>();
+    String result = scheduler.execute(sender, 2, stream -> {
+      read.add(TestScheduler.readText(stream));
+      if (read.size() == 1) {
+        throw new Exception("Unexpected answer");
+      }
+      return read.get(read.size() - 1);
+    });
+    assertEquals("ok", result);
+    assertEquals(1, scheduler.getRetryCount());
+    checkDelay(scheduler.sleeps.get(0), ErrorClass.PARSE.baseDelay);
+  }
+
+  /**
+   * Test that requests are not retried more than maxTry times.
+   */
+  @Test
+  public void testMaxTry() {
+    TestScheduler scheduler = new TestScheduler();
+    TestSender sender = new TestSender(
+        Integer.valueOf(HttpStatus.SC_INTERNAL_SERVER_ERROR),
+        Integer.valueOf(HttpStatus.SC_INTERNAL_SERVER_ERROR),
+        Integer.valueOf(HttpStatus.SC_INTERNAL_SERVER_ERROR),
+        Integer.valueOf(HttpStatus.SC_OK));
+    try {
+      scheduler.execute(sender, 2, TestScheduler::readText);
+      fail("Request should have failed");
+    } catch (APIException e) {
+      assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, e.getHttpStatus());
+    }
+    assertEquals(3, scheduler.getRequestCount());
+    assertEquals(2, scheduler.getRetryCount());
+  }
+
+  /**
+   * Test that maxlag errors are retried up to their own limit and pause the requests.
+   */
+  @Test
+  public void testMaxLag() {
+    TestScheduler scheduler = new TestScheduler();
+    int maxRetry = EnumQueryResult.MAXLAG.getMaxRetry();
+    Object[] answers = new Object[maxRetry + 2];
+    for (int i = 0; i < answers.length; i++) {
+      answers[i] = Integer.valueOf(HttpStatus.SC_OK);
+    }
+    TestSender sender = new TestSender(answers);
+    try {
+      scheduler.execute(sender, 1, stream -> {
+        throw new APIException("Lagged", EnumQueryResult.MAXLAG.getCode());
+      });
+      fail("Request should have failed");
+    } catch (APIException e) {
+      assertEquals(EnumQueryResult.MAXLAG, e.getQueryResult());
+    }
+    assertEquals(maxRetry + 1, scheduler.getRequestCount());
+    assertEquals(maxRetry, scheduler.getRetryCount());
+    assertEquals(maxRetry, scheduler.sleeps.size());
+  }
+
+  /**
+   * Test that the delay requested by a throttling answer is honoured.
+   *
+   * @throws APIException Error in the test.
+   */
+  @Test
+  public void testThrottled() throws APIException {
+    TestScheduler scheduler = new TestScheduler();
+    BasicClassicHttpResponse throttled = new BasicClassicHttpResponse(HttpStatus.SC_TOO_MANY_REQUESTS);
+    throttled.setHeader("Retry-After", "60");
+    TestSender sender = new TestSender(throttled, Integer.valueOf(HttpStatus.SC_OK));
+    assertEquals("ok", scheduler.execute(sender, 2, TestScheduler::readText));
+    assertEquals(1, scheduler.sleeps.size());
+    assertEquals(60000, scheduler.sleeps.get(0).longValue());
+  }
+
+  /**
+   * Test that runtime exceptions are not retried.
+   *
+   * @throws APIException Error in the test.
+   */
+  @Test
+  public void testRuntimeException() throws APIException {
+    TestScheduler scheduler = new TestScheduler();
+    TestSender sender = new TestSender(Integer.valueOf(HttpStatus.SC_OK), Integer.valueOf(HttpStatus.SC_OK));
+    try {
+      scheduler.execute(sender, 2, stream -> {
+        throw new IllegalStateException("Bug");
+      });
+      fail("Runtime exception should have been thrown");
+    } catch (IllegalStateException e) {
+      assertEquals("Bug", e.getMessage());
+    }
+    assertEquals(1, scheduler.getRequestCount());
+    assertEquals(0, scheduler.getRetryCount());
+    assertTrue(scheduler.sleeps.isEmpty());
+  }
+
+  /**
+   * @param delay Delay.
+   * @param maxDelay Maximum delay for the attempt.
+   */
+  private static void checkDelay(Long delay, long maxDelay) {
+    assertTrue("Delay too short: " + delay, delay.longValue() >= maxDelay / 2);
+    assertTrue("Delay too long: " + delay, delay.longValue() <= maxDelay);
+  }
+
+  /**
+   * Scheduler with a simulated clock.
+   */
+  private static class TestScheduler extends ApiScheduler {
+
+    /** Current time */
+    private long time = 1000000;
+
+    /** Delays waited */
+    final List<Long> sleeps = new ArrayList<>();
+
+    /**
+     * Constructor.
+     */
+    TestScheduler() {
+      super(1);
+    }
+
+    /**
+     * @return Current time (in ms).
+     * @see org.wikipediacleaner.api.request.ApiScheduler#currentTime()
+     */
+    @Override
+    long currentTime() {
+      return time;
+    }
+
+    /**
+     * @param delay Delay (in ms).
+     * @see org.wikipediacleaner.api.request.ApiScheduler#sleep(long)
+     */
+    @Override
+    void sleep(long delay) {
+      sleeps.add(Long.valueOf(delay));
+      time += delay;
+    }
+
+    /**
+     * @param stream Stream of the answer.
+     * @return Text of the answer.
+     * @throws IOException Error reading the answer.
+     */
+    static String readText(InputStream stream) throws IOException {
+      return IOUtils.toString(stream, StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Sender returning predefined answers.
+   */
+  private static class TestSender implements ApiScheduler.RequestSender {
+
+    /** Answers: HTTP status, response or exception */
+    private final LinkedList<Object> answers = new LinkedList<>();
+
+    /**
+     * @param answers Answers.
+     */
+    TestSender(Object... answers) {
+      for (Object answer : answers) {
+        this.answers.add(answer);
+      }
+    }
+
+    /**
+     * @return HTTP response.
+     * @throws IOException Exception thrown when accessing the server.
+     * @see org.wikipediacleaner.api.request.ApiScheduler.RequestSender#send()
+     */
+    @Override
+    public ClassicHttpResponse send() throws IOException {
+      Object answer = answers.removeFirst();
+      if (answer instanceof IOException) {
+        throw (IOException) answer;
+      }
+      if (answer instanceof ClassicHttpResponse) {
+        return (ClassicHttpResponse) answer;
+      }
+      BasicClassicHttpResponse response = new BasicClassicHttpResponse(((Integer) answer).intValue());
+      response.setEntity(new StringEntity("ok"));
+      return response;
+    }
+  }
+}
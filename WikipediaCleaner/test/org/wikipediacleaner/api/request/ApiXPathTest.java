@@ -0,0 +1,101 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.request;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+import org.junit.Test;
+
+
+/**
+ * Test class for the registry of XPath expressions.
+ */
+public class ApiXPathTest {
+
+  /**
+   * @param pages Number of pages in the answer.
+   * @return Root of an answer.
+   * @throws IOException Error reading the answer.
+   * @throws JDOMException Error parsing the answer.
+   */
+  private static Element createAnswer(int pages) throws JDOMException, IOException {
+    StringBuilder answer = new StringBuilder();
+    answer.append("<?xml version=\"1.0\"?><api><query><pages>");
+    for (int page = 0; page < pages; page++) {
+      answer.append("<page title=\"Page ").append(page).append("\">");
+      answer.append("<revisions><rev revid=\"").append(page).append("\" /></revisions></page>");
+    }
+    answer.append("</pages></query></api>");
+    return new SAXBuilder().build(new StringReader(answer.toString())).getRootElement();
+  }
+
+  /**
+   * Test evaluating expressions.
+   * 
+   * @throws IOException Error reading the answer.
+   * @throws JDOMException Error parsing the answer.
+   */
+  @Test
+  public void testEvaluate() throws JDOMException, IOException {
+    Element root = createAnswer(3);
+    assertSame(ApiXPath.QUERY_PAGES, ApiXPath.of("/api/query/pages/page"));
+    List<Element> pages = ApiXPath.QUERY_PAGES.evaluate(root);
+    assertEquals(3, pages.size());
+    assertEquals("1", ApiXPath.REVISIONS.evaluateFirst(pages.get(1)).getAttributeValue("revid"));
+    assertNull(ApiXPath.ERROR.evaluateFirst(root));
+  }
+
+  /**
+   * Test evaluating the same expressions from many threads at once.
+   * 
+   * @throws Exception Error during the test.
+   */
+  @Test
+  public void testConcurrentEvaluation() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int task = 0; task < 64; task++) {
+        final int pageCount = 1 + task % 10;
+        results.add(executor.submit(() -> {
+          Element root = createAnswer(pageCount);
+          for (int iteration = 0; iteration < 100; iteration++) {
+            List<Element> pages = ApiXPath.QUERY_PAGES.evaluate(root);
+            if (pages.size() != pageCount) {
+              return Boolean.FALSE;
+            }
+            for (int page = 0; page < pageCount; page++) {
+              Element rev = ApiXPath.REVISIONS.evaluateFirst(pages.get(page));
+              if ((rev == null) || !Integer.toString(page).equals(rev.getAttributeValue("revid"))) {
+                return Boolean.FALSE;
+              }
+            }
+          }
+          return Boolean.TRUE;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertEquals(Boolean.TRUE, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
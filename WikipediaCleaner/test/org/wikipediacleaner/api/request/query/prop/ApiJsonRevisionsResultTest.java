@@ -0,0 +1,82 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2021  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.request.query.prop;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.EnumWikipediaUtils;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.query.prop.ApiJsonPropertiesResult.QueryHandler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+
+/**
+ * Test class for JSON revisions results read with the streaming parser.
+ */
+public class ApiJsonRevisionsResultTest {
+
+  /** Answer of the API for two pages, one of them being missing */
+  private final static String ANSWER =
+      "{\"batchcomplete\":true," +
+      "\"curtimestamp\":\"2021-03-01T10:00:00Z\"," +
+      "\"query\":{" +
+      "\"normalized\":[{\"fromencoded\":false,\"from\":\"foo\",\"to\":\"Foo\"}]," +
+      "\"pages\":[" +
+      "{\"pageid\":12,\"ns\":0,\"title\":\"Foo\"," +
+      "\"protection\":[{\"type\":\"edit\",\"level\":\"sysop\",\"expiry\":\"infinity\"}]," +
+      "\"revisions\":[{\"revid\":345,\"parentid\":344,\"timestamp\":\"2021-02-01T10:00:00Z\"," +
+      "\"slots\":{\"main\":{\"contentmodel\":\"wikitext\",\"contentformat\":\"text/x-wiki\"," +
+      "\"content\":\"Some [[text]]\"}}}]}," +
+      "{\"ns\":0,\"title\":\"Bar\",\"missing\":true}]}}";
+
+  @Test
+  public void testLastRevision() throws IOException {
+    EnumWikipedia wiki = EnumWikipediaUtils.getEN();
+    Page foo = DataManager.createSimplePage(wiki, "foo", null, null, null);
+    Page bar = DataManager.createSimplePage(wiki, "Bar", null, null, null);
+    List<Page> pages = new ArrayList<>();
+    pages.add(foo);
+    pages.add(bar);
+
+    // Read the answer
+    QueryHandler handler = new QueryHandler();
+    handler.reset();
+    try (JsonParser parser = new JsonFactory().createParser(ANSWER)) {
+      assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        parser.nextToken();
+        handler.readField(name, parser);
+      }
+    }
+    ApiJsonRevisionsResult result = new ApiJsonRevisionsResult(wiki, null);
+    result.updateLastRevision(handler, pages);
+
+    // Check the pages
+    assertEquals("Some [[text]]", foo.getContents());
+    assertEquals(Boolean.TRUE, foo.isExisting());
+    assertEquals(Integer.valueOf(12), foo.getPageId());
+    assertEquals("Foo", foo.getTitle());
+    assertEquals(Integer.valueOf(345), foo.getRevisionId());
+    assertEquals("2021-02-01T10:00:00Z", foo.getContentsTimestamp());
+    assertEquals("2021-03-01T10:00:00Z", foo.getStartTimestamp());
+    assertEquals("sysop", foo.getEditProtectionLevel());
+    assertEquals(Boolean.FALSE, bar.isExisting());
+  }
+}